@@ -160,6 +160,9 @@ public class FilterToSQL implements FilterVisitor, ExpressionVisitor {
     /** error message for exceptions */
     protected static final String IO_ERROR = "io problem writing filter";
 
+    /** Minimum number of feature ids for an id filter on a single column primary key to be encoded as an IN list */
+    protected static final int MIN_ID_IN_LIST_SIZE = 8;
+
     /** filter factory */
     protected static FilterFactory filterFactory = CommonFactoryFinder.getFilterFactory(null);
 
@@ -638,15 +641,7 @@ public Object visit(Or filter, Object extraData) {
                         out.write(" = ");
                         literals.get(0).accept(this, binding);
                     } else {
-                        out.write(" IN (");
-
-                        for (int i = 0; i < literalsSize; i++) {
-                            literals.get(i).accept(this, binding);
-                            if (i < literalsSize - 1) {
-                                out.write(", ");
-                            }
-                        }
-                        out.write(")");
+                        writeInValues(literals, binding, false);
                     }
 
                 } else {
@@ -1113,6 +1108,10 @@ public Object visit(Id filter, Object extraData) {
 
         LOGGER.finer("Exporting FID=" + ids);
         try {
+            if (isIdInListEncodable(filter)) {
+                encodeIdInList(filter);
+                return extraData;
+            }
             if (ids.size() > 1) {
                 out.write("(");
             }
@@ -1154,6 +1153,29 @@ public Object visit(Id filter, Object extraData) {
         return extraData;
     }
 
+    /** Returns true if the id filter is long enough to be encoded as an IN list on a single column primary key */
+    protected boolean isIdInListEncodable(Id filter) {
+        return primaryKey.getColumns().size() == 1 && filter.getIdentifiers().size() >= MIN_ID_IN_LIST_SIZE;
+    }
+
+    /** Encodes the id filter as an IN list on the primary key column */
+    protected void encodeIdInList(Id filter) throws IOException {
+        List<Literal> values = new ArrayList<>();
+        for (Identifier id : filter.getIdentifiers()) {
+            Object value = JDBCDataStore.decodeFID(primaryKey, id.toString(), false).get(0);
+            values.add(filterFactory.literal(value));
+        }
+        out.write("(");
+        // in case of join the pk column needs to be qualified with alias
+        if (filter instanceof JoinId) {
+            out.write(escapeName(((JoinId) filter).getAlias()));
+            out.write(".");
+        }
+        out.write(escapeName(primaryKey.getColumns().get(0).getName()));
+        writeInValues(values, null, false);
+        out.write(")");
+    }
+
     @Override
     public Object visit(BBOX filter, Object extraData) {
         return visitBinarySpatialOperator(filter, extraData);
@@ -1825,23 +1847,8 @@ protected void visitInFunction(Function function, boolean encodeAsExpression, bo
             // encode the attribute being tested, as is
             function.getParameters().get(0).accept(this, context);
 
-            if (negate) {
-                out.write(" NOT IN (");
-            } else {
-                out.write(" IN (");
-            }
-
             // encode all other values to be used
-            int size = parameters.size();
-            for (int i = 1; i < size; i++) {
-                Expression e = function.getParameters().get(i);
-                e.accept(this, context);
-
-                if (i < size - 1) {
-                    out.write(", ");
-                }
-            }
-            out.write(")");
+            writeInValues(parameters.subList(1, parameters.size()), context, negate);
 
             if (encodeAsExpression) {
                 out.write(")");
@@ -1851,6 +1858,27 @@ protected void visitInFunction(Function function, boolean encodeAsExpression, bo
         }
     }
 
+    /**
+     * Writes the list of values of an IN comparison, after the compared expression has been written. Used for the "in"
+     * functions, for equalities between the same property and multiple literals in an OR, and for long lists of feature
+     * ids. Subclasses can override to encode long lists more efficiently, e.g., as a single array parameter.
+     *
+     * @param values the values to be written
+     * @param context the binding of the compared expression, or null if unknown
+     * @param negate whether the comparison is a NOT IN
+     */
+    protected void writeInValues(List<? extends Expression> values, Class<?> context, boolean negate)
+            throws IOException {
+        out.write(negate ? " NOT IN (" : " IN (");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.write(", ");
+            }
+            values.get(i).accept(this, context);
+        }
+        out.write(")");
+    }
+
     /**
      * Returns the n-th parameter of a function, throwing an exception if the parameter is not there and has been marked
      * as mandatory
@@ -0,0 +1,58 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Streams rows into a table in bulk, see {@link SQLDialect#createBulkLoader}.
+ *
+ * <p>Values are set column by column, with columns indexed from 0 in the order provided when the loader was created,
+ * and then {@link #addRow()} is called. Rows may be sent to the database while they are added, but are only guaranteed
+ * to be stored once {@link #execute()} returns. Closing a loader that has not been executed discards the rows.
+ */
+public interface BulkLoader extends AutoCloseable {
+
+    /** Sets the value of a column in the current row, <code>null</code> included. */
+    void setValue(Object value, int column) throws IOException;
+
+    /**
+     * Sets the value of a geometry column in the current row.
+     *
+     * @param g The geometry, may be <code>null</code>
+     * @param dimension The number of dimensions to encode
+     * @param srid The spatial reference system identifier of the column
+     * @param column The column index
+     */
+    void setGeometryValue(Geometry g, int dimension, int srid, int column) throws IOException;
+
+    /** Completes the current row, a new one is started. */
+    void addRow() throws IOException, SQLException;
+
+    /**
+     * Completes the load.
+     *
+     * @return The number of rows stored in the table
+     */
+    long execute() throws IOException, SQLException;
+
+    /** Releases the loader, discarding the rows if it has not been executed. */
+    @Override
+    void close() throws SQLException;
+}
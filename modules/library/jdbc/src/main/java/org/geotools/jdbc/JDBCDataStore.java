@@ -260,6 +260,27 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
      */
     protected int batchInsertSize = 1;
 
+    /**
+     * The number of features updated or deleted in the same batch by the feature writers. By default 1, each update
+     * and delete is executed right away.
+     */
+    protected int batchUpdateSize = 1;
+
+    /**
+     * The number of features read ahead of the consumer by a background thread, see {@link #setPrefetchSize(int)}. By
+     * default 0, reads are not prefetched.
+     */
+    protected int prefetchSize = 0;
+
+    /** The number of threads decoding the prefetched geometries */
+    protected int prefetchDecoderThreads = 1;
+
+    /**
+     * The number of connections used to read large tables in parallel, splitting them in primary key ranges. By
+     * default 1, tables are read with a single connection.
+     */
+    protected int readThreads = 1;
+
     /** flag controlling whether primary key columns of a table are exposed via the feature type. */
     protected boolean exposePrimaryKeyColumns = false;
 
@@ -378,6 +399,74 @@ public void setBatchInsertSize(int batchInsertSize) {
         this.batchInsertSize = batchInsertSize;
     }
 
+    /** @return the number of features updated or deleted in the same batch by the feature writers */
+    public int getBatchUpdateSize() {
+        return batchUpdateSize;
+    }
+
+    /**
+     * Sets the number of features updated or deleted in the same batch by the feature writers. Updates changing the
+     * same attributes are sent as a single JDBC statement batch, deletes as a single statement binding the ids as an
+     * array when the dialect supports it (see {@link PreparedStatementSQLDialect#isArrayIdBindingSupported()}), as a
+     * statement batch otherwise.
+     *
+     * <p>Warning: as for {@link #setBatchInsertSize(int)}, changing this value from its default of 1 delays the
+     * modifications, and the feature updated and removed events, until the batch is full, the writer is flushed, or it
+     * is closed.
+     */
+    public void setBatchUpdateSize(int batchUpdateSize) {
+        this.batchUpdateSize = batchUpdateSize;
+    }
+
+    /** @return the number of features read ahead by a background thread, 0 if reads are not prefetched */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * Sets the number of features read ahead of the consumer. When positive, auto commit reads fetch the rows and
+     * decode the features on a background thread, buffering up to this number of features, so that the network and
+     * decoding work overlaps with the processing of the features already read.
+     *
+     * <p>The features read ahead are kept in memory, so the {@link Hints#FEATURE_REUSE} hint is ignored by prefetching
+     * readers.
+     */
+    public void setPrefetchSize(int prefetchSize) {
+        this.prefetchSize = prefetchSize;
+    }
+
+    /** @return the number of threads decoding the prefetched geometries */
+    public int getPrefetchDecoderThreads() {
+        return prefetchDecoderThreads;
+    }
+
+    /**
+     * Sets the number of threads decoding the geometries of prefetched features. With more than one thread the
+     * background reader only fetches the raw rows, and blocks of them are decoded in parallel, provided the dialect
+     * supports it (see {@link SQLDialect#isRawGeometryDecodingSupported(GeometryDescriptor, Connection, Hints)}).
+     * Has no effect unless {@link #setPrefetchSize(int)} is positive.
+     */
+    public void setPrefetchDecoderThreads(int prefetchDecoderThreads) {
+        this.prefetchDecoderThreads = prefetchDecoderThreads;
+    }
+
+    /** @return the number of connections used to read large tables in parallel */
+    public int getReadThreads() {
+        return readThreads;
+    }
+
+    /**
+     * Sets the number of connections used to read large tables in parallel. Unsorted and unpaged reads outside of
+     * transactions, and the visitors that can be split in partial calculations, are then run over disjoint ranges of
+     * a single column, integral primary key, each one read on a separate pooled connection.
+     *
+     * <p>Warning: each partitioned read borrows up to this number of connections at the same time, the connection pool
+     * must be sized accordingly.
+     */
+    public void setReadThreads(int readThreads) {
+        this.readThreads = readThreads;
+    }
+
     /**
      * Determines if the datastore creates feature types which include those columns / attributes which compose the
      * primary key.
@@ -1335,6 +1424,43 @@ ReferencedEnvelope mergeEnvelope(ReferencedEnvelope base, ReferencedEnvelope mer
         }
     }
 
+    /**
+     * Returns the minimum and maximum values of an integral primary key column, or null if the table is empty.
+     *
+     * @param featureType the feature type of the table
+     * @param column the primary key column
+     * @param cx the connection to use
+     */
+    long[] getPrimaryKeyRange(SimpleFeatureType featureType, String column, Connection cx) throws IOException {
+        StringBuffer sql = new StringBuffer();
+        sql.append("SELECT MIN(");
+        dialect.encodeColumnName(null, column, sql);
+        sql.append("), MAX(");
+        dialect.encodeColumnName(null, column, sql);
+        sql.append(") FROM ");
+
+        Statement st = null;
+        ResultSet rs = null;
+        try {
+            encodeTableName(featureType.getTypeName(), sql, null);
+            LOGGER.log(Level.FINE, "Computing the primary key range: {0}", sql);
+
+            st = cx.createStatement();
+            rs = st.executeQuery(sql.toString());
+            if (!rs.next()) {
+                return null;
+            }
+            long min = rs.getLong(1);
+            long max = rs.getLong(2);
+            return rs.wasNull() ? null : new long[] {min, max};
+        } catch (SQLException e) {
+            throw new IOException("Error occured computing the primary key range", e);
+        } finally {
+            closeSafe(rs);
+            closeSafe(st);
+        }
+    }
+
     /** Returns the count of the features for a particular feature type / table. */
     protected int getCount(SimpleFeatureType featureType, Query query, Connection cx) throws IOException {
 
@@ -1769,6 +1895,9 @@ protected void insert(Collection<? extends SimpleFeature> features, SimpleFeatur
         // first to figure out what the id will be, then the insert statement
         synchronized (this) {
             try {
+                if (insertBulk(features, featureType, cx, key)) {
+                    return;
+                }
                 if (dialect instanceof PreparedStatementSQLDialect) {
                     Map<InsertionClassifier, Collection<SimpleFeature>> kinds =
                             InsertionClassifier.classify(featureType, features);
@@ -1791,6 +1920,114 @@ protected void insert(Collection<? extends SimpleFeature> features, SimpleFeatur
         }
     }
 
+    /**
+     * Inserts the features with the {@link BulkLoader} of the dialect, if it provides one for the table and all the key
+     * values can be known before the insert.
+     *
+     * @return true if the features have been inserted, false if INSERT statements have to be used instead
+     */
+    private boolean insertBulk(
+            Collection<? extends SimpleFeature> features, SimpleFeatureType featureType, Connection cx, PrimaryKey key)
+            throws IOException, SQLException {
+        if (features.isEmpty()) {
+            return false;
+        }
+        // the attributes first, skipping the exposed pk columns, then the pk columns
+        Set<String> keyColumns = new HashSet<>();
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            keyColumns.add(col.getName());
+        }
+        List<AttributeDescriptor> attributes = new ArrayList<>();
+        List<String> columnNames = new ArrayList<>();
+        List<Class<?>> bindings = new ArrayList<>();
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            if (!keyColumns.contains(att.getLocalName())) {
+                attributes.add(att);
+                columnNames.add(att.getLocalName());
+                boolean enumMapped = att.getUserData().get(JDBC_ENUM_MAP) != null;
+                bindings.add(enumMapped ? Integer.class : att.getType().getBinding());
+            }
+        }
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            columnNames.add(col.getName());
+            bindings.add(col.getType());
+        }
+
+        try (BulkLoader loader =
+                dialect.createBulkLoader(databaseSchema, featureType.getTypeName(), columnNames, bindings, cx)) {
+            if (loader == null) {
+                return false;
+            }
+            List<SimpleFeature> useExistings = new ArrayList<>();
+            List<SimpleFeature> notUseExistings = new ArrayList<>();
+            for (SimpleFeature cur : features) {
+                (InsertionClassifier.useExisting(cur) ? useExistings : notUseExistings).add(cur);
+            }
+            KeysFetcher fromDB = notUseExistings.isEmpty() ? null : KeysFetcher.create(this, cx, false, key);
+            if (fromDB != null && !fromDB.canFetchBeforeInsert()) {
+                // keys generated during the insert, they could not be reported back
+                return false;
+            }
+
+            // all the key values are looked up before the first row is sent
+            List<List<Object>> existingKeys = null;
+            if (!useExistings.isEmpty()) {
+                KeysFetcher existing = KeysFetcher.create(this, cx, true, key);
+                existingKeys = existing.getKeyValues(cx, featureType, useExistings);
+            }
+            List<List<Object>> fromDBKeys =
+                    fromDB != null ? fromDB.getKeyValues(cx, featureType, notUseExistings) : null;
+
+            LOGGER.log(Level.FINE, "Inserting {0} features in bulk", features.size());
+            if (existingKeys != null) {
+                addBulkRows(loader, useExistings, existingKeys, attributes);
+            }
+            if (fromDBKeys != null) {
+                addBulkRows(loader, notUseExistings, fromDBKeys, attributes);
+            }
+            if (loader.execute() != features.size()) {
+                throw new IOException("Failed to insert some features");
+            }
+            return true;
+        }
+    }
+
+    private void addBulkRows(
+            BulkLoader loader,
+            List<SimpleFeature> features,
+            List<List<Object>> keyValues,
+            List<AttributeDescriptor> attributes)
+            throws IOException, SQLException {
+        for (int f = 0; f < features.size(); f++) {
+            SimpleFeature feature = features.get(f);
+            int i = 0;
+            for (AttributeDescriptor att : attributes) {
+                String colName = att.getLocalName();
+                Class binding = att.getType().getBinding();
+                Object value = feature.getAttribute(colName);
+                if (value == null && !att.isNillable()) {
+                    throw new IOException("Cannot set a NULL value on the not null column " + colName);
+                }
+
+                if (Geometry.class.isAssignableFrom(binding)) {
+                    Geometry g = linearize(value, binding);
+                    loader.setGeometryValue(g, getGeometryDimension(g, att), getGeometrySRID(g, att), i);
+                } else {
+                    EnumMapping mapping = (EnumMapping) att.getUserData().get(JDBC_ENUM_MAP);
+                    if (mapping != null) {
+                        value = mapping.fromValue((String) value);
+                    }
+                    loader.setValue(value, i);
+                }
+                i++;
+            }
+            for (Object value : keyValues.get(f)) {
+                loader.setValue(value, i++);
+            }
+            loader.addRow();
+        }
+    }
+
     /** Specialized insertion for dialects that are using prepared statements. */
     private void insertPS(
             Collection<SimpleFeature> features,
@@ -2026,18 +2263,7 @@ protected void update(
             throw new RuntimeException(e);
         }
         Set<String> pkColumnNames = getColumnNames(key);
-
-        // do a check to ensure that the update includes at least one non primary key column
-        boolean nonPkeyColumn = false;
-        for (AttributeDescriptor att : attributes) {
-            if (!pkColumnNames.contains(att.getLocalName())) {
-                nonPkeyColumn = true;
-            }
-        }
-        if (!nonPkeyColumn) {
-            throw new IllegalArgumentException("Illegal update, must include at least one non primary key column, "
-                    + "all primary key columns are ignored.");
-        }
+        checkUpdatedColumns(attributes, pkColumnNames);
         if (dialect instanceof PreparedStatementSQLDialect) {
             try {
                 PreparedStatement ps = updateSQLPS(featureType, attributes, values, filter, pkColumnNames, cx);
@@ -2071,6 +2297,17 @@ protected void update(
         }
     }
 
+    /** Checks that an update includes at least one non primary key column */
+    void checkUpdatedColumns(AttributeDescriptor[] attributes, Set<String> pkColumnNames) {
+        for (AttributeDescriptor att : attributes) {
+            if (!pkColumnNames.contains(att.getLocalName())) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Illegal update, must include at least one non primary key column, "
+                + "all primary key columns are ignored.");
+    }
+
     /** Deletes an existing feature in the database for a particular feature type / fid. */
     protected void delete(SimpleFeatureType featureType, String fid, Connection cx) throws IOException {
         Filter filter = filterFactory.id(Collections.singleton(filterFactory.featureId(fid)));
@@ -4190,30 +4427,42 @@ protected String deleteSQL(SimpleFeatureType featureType, Filter filter) throws
     /** Generates a 'DELETE FROM' prepared statement. */
     protected PreparedStatement deleteSQLPS(SimpleFeatureType featureType, Filter filter, Connection cx)
             throws SQLException {
+        PreparedFilterToSQL toSQL = null;
+        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+            toSQL = createPreparedFilterToSQL(featureType);
+        }
+        String sql = encodeDeleteSQLPS(featureType, filter, toSQL);
+
+        LOGGER.fine(sql);
+        PreparedStatement ps = cx.prepareStatement(sql);
+
+        if (toSQL != null) {
+            setPreparedFilterValues(ps, toSQL, 0, cx);
+        }
+
+        return ps;
+    }
+
+    /**
+     * Encodes the 'DELETE FROM' prepared statement sql, the values of the filter are collected by the filter encoder
+     */
+    String encodeDeleteSQLPS(SimpleFeatureType featureType, Filter filter, PreparedFilterToSQL toSQL)
+            throws SQLException {
         StringBuffer sql = new StringBuffer();
 
         sql.append("DELETE FROM ");
         encodeTableName(featureType.getTypeName(), sql, null);
 
-        PreparedFilterToSQL toSQL = null;
-        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+        if (toSQL != null) {
             // encode filter
             try {
-                toSQL = createPreparedFilterToSQL(featureType);
                 sql.append(" ").append(toSQL.encodeToString(filter));
             } catch (FilterToSQLException e) {
                 throw new RuntimeException(e);
             }
         }
 
-        LOGGER.fine(sql.toString());
-        PreparedStatement ps = cx.prepareStatement(sql.toString());
-
-        if (toSQL != null) {
-            setPreparedFilterValues(ps, toSQL, 0, cx);
-        }
-
-        return ps;
+        return sql.toString();
     }
 
     /** Generates a 'INSERT INFO' sql statement. */
@@ -4456,6 +4705,33 @@ protected PreparedStatement updateSQLPS(
             Set<String> pkColumnNames,
             Connection cx)
             throws IOException, SQLException {
+        PreparedFilterToSQL toSQL = null;
+        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+            toSQL = createPreparedFilterToSQL(featureType);
+        }
+        String sql = encodeUpdateSQLPS(featureType, attributes, values, filter, pkColumnNames, toSQL);
+
+        PreparedStatement ps = cx.prepareStatement(sql);
+        LOGGER.log(Level.FINE, "Updating features with prepared statement: {0}", sql);
+
+        setUpdateSQLPSValues(ps, attributes, values, pkColumnNames, toSQL, cx);
+
+        return ps;
+    }
+
+    /**
+     * Encodes the 'UPDATE' prepared statement sql, the values of the filter are collected by the filter encoder. The
+     * sql only depends on the updated attributes and on the filter structure, so it can be shared by updates of
+     * different features.
+     */
+    String encodeUpdateSQLPS(
+            SimpleFeatureType featureType,
+            AttributeDescriptor[] attributes,
+            Object[] values,
+            Filter filter,
+            Set<String> pkColumnNames,
+            PreparedFilterToSQL toSQL)
+            throws SQLException {
         PreparedStatementSQLDialect dialect = (PreparedStatementSQLDialect) getSQLDialect();
 
         StringBuffer sql = new StringBuffer();
@@ -4489,19 +4765,28 @@ protected PreparedStatement updateSQLPS(
         sql.setLength(sql.length() - 1);
         sql.append(" ");
 
-        PreparedFilterToSQL toSQL = null;
-        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+        if (toSQL != null) {
             // encode filter
             try {
-                toSQL = createPreparedFilterToSQL(featureType);
                 sql.append(" ").append(toSQL.encodeToString(filter));
             } catch (FilterToSQLException e) {
                 throw new RuntimeException(e);
             }
         }
 
-        PreparedStatement ps = cx.prepareStatement(sql.toString());
-        LOGGER.log(Level.FINE, "Updating features with prepared statement: {0}", sql);
+        return sql.toString();
+    }
+
+    /** Sets the updated values and the filter values of an 'UPDATE' prepared statement */
+    void setUpdateSQLPSValues(
+            PreparedStatement ps,
+            AttributeDescriptor[] attributes,
+            Object[] values,
+            Set<String> pkColumnNames,
+            PreparedFilterToSQL toSQL,
+            Connection cx)
+            throws IOException, SQLException {
+        PreparedStatementSQLDialect dialect = (PreparedStatementSQLDialect) getSQLDialect();
 
         int i = 0;
         int j = 0;
@@ -4536,8 +4821,6 @@ protected PreparedStatement updateSQLPS(
         if (toSQL != null) {
             setPreparedFilterValues(ps, toSQL, j, cx);
         }
-
-        return ps;
     }
 
     /**
@@ -104,6 +104,41 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
             false,
             1);
 
+    /** Number of features updated or deleted in the same batch by the feature writers */
+    public static final Param BATCH_UPDATE_SIZE = new Param(
+            "Batch update size",
+            Integer.class,
+            "Number of records updated or deleted in the same batch by the feature writers (default, 1).",
+            false,
+            1);
+
+    /** If positive, reads are prefetched by a background thread buffering this number of features */
+    public static final Param PREFETCH_SIZE = new Param(
+            "Prefetch size",
+            Integer.class,
+            "Number of features read ahead by a background thread while the previous ones are being processed "
+                    + "(default, 0, no prefetching). Applies to reads outside of transactions.",
+            false,
+            0);
+
+    /** Number of threads decoding the prefetched geometries */
+    public static final Param PREFETCH_DECODER_THREADS = new Param(
+            "Prefetch decoder threads",
+            Integer.class,
+            "Number of threads decoding the geometries of prefetched features (default, 1). "
+                    + "Only used when the prefetch size is positive.",
+            false,
+            1);
+
+    /** Number of connections used to read large tables in parallel */
+    public static final Param READ_THREADS = new Param(
+            "Read threads",
+            Integer.class,
+            "Number of connections used to read large tables in parallel, splitting them in primary key ranges "
+                    + "(default, 1, no parallel reads). The connection pool must be sized accordingly.",
+            false,
+            1);
+
     /** Maximum amount of time the pool will wait when trying to grab a new connection * */
     public static final Param MAXWAIT = new Param(
             "Connection timeout",
@@ -272,6 +307,25 @@ public final JDBCDataStore createDataStore(Map<String, ?> params) throws IOExcep
             dataStore.setBatchInsertSize(batchInsertSize);
         }
 
+        Integer batchUpdateSize = (Integer) BATCH_UPDATE_SIZE.lookUp(params);
+        if (batchUpdateSize != null && batchUpdateSize > 0) {
+            dataStore.setBatchUpdateSize(batchUpdateSize);
+        }
+
+        Integer prefetchSize = (Integer) PREFETCH_SIZE.lookUp(params);
+        if (prefetchSize != null && prefetchSize > 0) {
+            dataStore.setPrefetchSize(prefetchSize);
+        }
+        Integer decoderThreads = (Integer) PREFETCH_DECODER_THREADS.lookUp(params);
+        if (decoderThreads != null && decoderThreads > 0) {
+            dataStore.setPrefetchDecoderThreads(decoderThreads);
+        }
+
+        Integer readThreads = (Integer) READ_THREADS.lookUp(params);
+        if (readThreads != null && readThreads > 0) {
+            dataStore.setReadThreads(readThreads);
+        }
+
         // namespace
         String namespace = (String) NAMESPACE.lookUp(params);
 
@@ -407,6 +461,10 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(MINCONN.key, MINCONN);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(BATCH_UPDATE_SIZE.key, BATCH_UPDATE_SIZE);
+        parameters.put(PREFETCH_SIZE.key, PREFETCH_SIZE);
+        parameters.put(PREFETCH_DECODER_THREADS.key, PREFETCH_DECODER_THREADS);
+        parameters.put(READ_THREADS.key, READ_THREADS);
         parameters.put(MAXWAIT.key, MAXWAIT);
         if (getValidationQuery() != null) parameters.put(VALIDATECONN.key, VALIDATECONN);
         parameters.put(TEST_WHILE_IDLE.key, TEST_WHILE_IDLE);
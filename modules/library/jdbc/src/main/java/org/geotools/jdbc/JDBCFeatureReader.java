@@ -122,7 +122,7 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     protected int offset = 0;
 
     protected JDBCReaderCallback callback = JDBCReaderCallback.NULL;
-    private int[] attributeRsIndex;
+    int[] attributeRsIndex;
 
     /** enum support */
     EnumMapping[] enumMappings;
@@ -226,6 +226,12 @@ protected void init(JDBCFeatureSource featureSource, SimpleFeatureType featureTy
         FeatureFactory ff = hints != null ? (FeatureFactory) hints.get(Hints.FEATURE_FACTORY) : null;
         if (ff == null) ff = featureSource.getDataStore().getFeatureFactory();
         builder = new SimpleFeatureBuilder(featureType, ff);
+        // joined features are attached to the feature being returned, cannot reuse them
+        if (hints != null
+                && Boolean.TRUE.equals(hints.get(Hints.FEATURE_REUSE))
+                && (query == null || query.getJoins().isEmpty())) {
+            builder.setReuse(true);
+        }
 
         // find the primary key
         try {
@@ -336,18 +342,10 @@ public boolean hasNext() throws IOException {
 
     protected SimpleFeature readNextFeature() {
         // figure out the fid
-        String fid;
-
-        try {
-            fid = dataStore.encodeFID(pkey, rs, offset);
-            if (fid == null) {
-                // fid could be null during an outer join
-                return null;
-            }
-            // wrap the fid in the type name
-            fid = featureType.getTypeName() + "." + fid;
-        } catch (Exception e) {
-            throw new RuntimeException("Could not determine fid from primary key", e);
+        String fid = readFID();
+        if (fid == null) {
+            // fid could be null during an outer join
+            return null;
         }
 
         // round up attributes
@@ -400,37 +398,7 @@ protected SimpleFeature readNextFeature() {
                     }
 
                 } else {
-                    value = rs.getObject(offset + attributeRsIndex[i]);
-                }
-
-                // they value may need conversion. We let converters chew the initial
-                // value towards the target type, if the result is not the same as the
-                // original, then a conversion happened, and we may want to report it to the
-                // user (being the feature type reverse engineered, it's unlikely a true
-                // conversion will be needed)
-                if (value != null) {
-                    EnumMapping mapping = enumMappings[i];
-                    Object converted = null;
-                    if (mapping != null) {
-                        String keyAsString = Converters.convert(value, String.class);
-                        // if the mapping is not found in the enum, mimic QGIS behavior by placing the key in
-                        // parentheses as value
-                        value = Objects.requireNonNullElse(mapping.fromKey(keyAsString), "(" + keyAsString + ")");
-                        converted = value;
-                    } else {
-                        converted = dataStore.dialect.convertValue(value, type);
-                    }
-
-                    if (converted != null && converted != value) {
-                        value = converted;
-                        if (dataStore.getLogger().isLoggable(Level.FINER)) {
-                            String msg = value
-                                    + " is not of type "
-                                    + type.getType().getBinding().getName()
-                                    + ", value was converted";
-                            dataStore.getLogger().finer(msg);
-                        }
-                    }
+                    value = convertValue(i, type, rs.getObject(offset + attributeRsIndex[i]));
                 }
 
                 builder.add(value);
@@ -448,6 +416,80 @@ protected SimpleFeature readNextFeature() {
         }
     }
 
+    /** Returns the fid of the current row, wrapped in the type name, or null if the row has none */
+    String readFID() {
+        try {
+            String fid = dataStore.encodeFID(pkey, rs, offset);
+            if (fid == null) {
+                return null;
+            }
+            // wrap the fid in the type name
+            return featureType.getTypeName() + "." + fid;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not determine fid from primary key", e);
+        }
+    }
+
+    /** Converts a non geometric value read from the result set to the attribute type, mapping enumerations */
+    Object convertValue(int i, AttributeDescriptor type, Object value) {
+        // they value may need conversion. We let converters chew the initial
+        // value towards the target type, if the result is not the same as the
+        // original, then a conversion happened, and we may want to report it to the
+        // user (being the feature type reverse engineered, it's unlikely a true
+        // conversion will be needed)
+        if (value != null) {
+            EnumMapping mapping = enumMappings[i];
+            Object converted = null;
+            if (mapping != null) {
+                String keyAsString = Converters.convert(value, String.class);
+                // if the mapping is not found in the enum, mimic QGIS behavior by placing the key in
+                // parentheses as value
+                value = Objects.requireNonNullElse(mapping.fromKey(keyAsString), "(" + keyAsString + ")");
+                converted = value;
+            } else {
+                converted = dataStore.dialect.convertValue(value, type);
+            }
+
+            if (converted != null && converted != value) {
+                value = converted;
+                if (dataStore.getLogger().isLoggable(Level.FINER)) {
+                    String msg = value
+                            + " is not of type "
+                            + type.getType().getBinding().getName()
+                            + ", value was converted";
+                    dataStore.getLogger().finer(msg);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads the current row without building a feature, leaving the geometries in the raw form returned by
+     * {@link SQLDialect#getRawGeometryValue(GeometryDescriptor, ResultSet, int, Connection)}, so that they can be
+     * decoded on another thread.
+     *
+     * @param values Receives the attribute values
+     * @return The fid, or null if the row has none
+     */
+    String readRawRow(Object[] values) throws SQLException {
+        String fid = readFID();
+        if (fid == null) {
+            return null;
+        }
+        SQLDialect dialect = dataStore.getSQLDialect();
+        for (int i = 0; i < values.length; i++) {
+            AttributeDescriptor type = featureType.getDescriptor(i);
+            int column = offset + attributeRsIndex[i];
+            if (type instanceof GeometryDescriptor) {
+                values[i] = dialect.getRawGeometryValue((GeometryDescriptor) type, rs, column, cx);
+            } else {
+                values[i] = convertValue(i, type, rs.getObject(column));
+            }
+        }
+        return fid;
+    }
+
     protected void ensureNext() {
         if (next == null) {
             throw new IllegalStateException("Must call hasNext before calling next");
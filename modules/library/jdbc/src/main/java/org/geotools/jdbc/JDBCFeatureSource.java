@@ -29,6 +29,7 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.data.FeatureReader;
@@ -45,9 +46,12 @@
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.FilteringFeatureReader;
 import org.geotools.data.MaxFeatureReader;
+import org.geotools.data.PartitionedFeatureReader;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.ReTypeFeatureReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
@@ -60,6 +64,7 @@
 import org.geotools.filter.visitor.SimplifyingFilterVisitor;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
+import org.geotools.util.Converters;
 import org.geotools.util.factory.Hints;
 import org.geotools.util.factory.Hints.Key;
 import org.geotools.util.logging.Logging;
@@ -77,12 +82,27 @@ public class JDBCFeatureSource extends ContentFeatureSource {
      */
     public static final Hints.Key FILTER_THREE_WAY_LOGIC = new Hints.Key(Boolean.class);
 
+    /**
+     * Add this hint to the query to read the page of features following the cursor, as returned by
+     * {@link #getKeysetCursor(Query, SimpleFeature)} for the last feature of the previous page. The features are
+     * selected by comparing their sort keys with the ones in the cursor, instead of skipping the rows of the previous
+     * pages, the query start index is ignored. The query must be sorted the same way as the one used to create the
+     * cursor.
+     */
+    public static final Hints.Key KEYSET_CURSOR = new Hints.Key(String.class);
+
+    /** Minimum number of primary key values in each partition of a partitioned read */
+    static final long MIN_PARTITION_KEYS = 10000;
+
     private static final Logger LOGGER = Logging.getLogger(JDBCFeatureSource.class);
     private static final String REMARKS = "REMARKS";
 
     /** primary key of the table */
     PrimaryKey primaryKey;
 
+    /** The minimum number of keys per partition used by this source, modifiable for testing purposes */
+    long minPartitionKeys = MIN_PARTITION_KEYS;
+
     /**
      * Creates the new feature store.
      *
@@ -115,6 +135,7 @@ protected void addHints(Set<Key> hints) {
         // mark the features as detached, that is, the user can directly alter them
         // without altering the state of the datastore
         hints.add(Hints.FEATURE_DETACHED);
+        hints.add(Hints.FEATURE_REUSE);
         getDataStore().getSQLDialect().addSupportedHints(hints);
     }
 
@@ -135,6 +156,59 @@ public PrimaryKey getPrimaryKey() {
         return primaryKey;
     }
 
+    /**
+     * Returns the keyset pagination cursor positioned after the feature, to be used as the {@link #KEYSET_CURSOR} hint
+     * of the query reading the next page. Keyset pagination requires the query to be sorted on attributes that cannot
+     * be null, with all the primary key columns as a tie breaker, e.g. {@link SortBy#NATURAL_ORDER}. Queries without a
+     * sort return the features in no particular order, they cannot be paged with a cursor.
+     *
+     * @param query the query used to read the page
+     * @param feature the last feature of the page
+     * @return the cursor, or null if the query does not support keyset pagination
+     */
+    public String getKeysetCursor(Query query, SimpleFeature feature) {
+        KeysetPaging paging = KeysetPaging.create(this, query);
+        return paging != null ? paging.getCursor(feature) : null;
+    }
+
+    /**
+     * Returns the predicate selecting the features after the {@link #KEYSET_CURSOR} found in the query hints, or null
+     * if the query has no cursor
+     */
+    Filter getKeysetFilter(Query query) {
+        String cursor = getKeysetCursorHint(query);
+        if (cursor == null) {
+            return null;
+        }
+        KeysetPaging paging = KeysetPaging.create(this, query);
+        if (paging == null) {
+            throw new IllegalArgumentException("The query has a keyset cursor, but its sort does not support keyset "
+                    + "pagination, it must be sorted, end with the primary key and include only attributes that cannot "
+                    + "be null");
+        }
+        return paging.getSeekFilter(cursor);
+    }
+
+    private static String getKeysetCursorHint(Query query) {
+        Hints hints = query.getHints();
+        String cursor = hints != null ? (String) hints.get(KEYSET_CURSOR) : null;
+        return cursor != null && !cursor.isEmpty() ? cursor : null;
+    }
+
+    /** Applies the keyset cursor to the query, dropping the start index replaced by the seek predicate */
+    private static Query keysetQuery(Query query) {
+        Query result = new Query(query);
+        result.setStartIndex(null);
+        return result;
+    }
+
+    private Filter and(Filter preFilter, Filter keysetFilter) {
+        if (preFilter == null || preFilter == Filter.INCLUDE) {
+            return keysetFilter;
+        }
+        return getDataStore().getFilterFactory().and(preFilter, keysetFilter);
+    }
+
     /**
      * Sets the flag which will expose columns which compose a tables identifying or primary key, through feature type
      * attributes.
@@ -432,6 +506,12 @@ protected int getCountInternal(Query query) throws IOException {
         Filter preFilter = split[0];
         Filter postFilter = split[1];
 
+        // keyset pagination, the cursor replaces the offset
+        Filter keysetFilter = getKeysetFilter(query);
+        if (keysetFilter != null) {
+            query = keysetQuery(query);
+        }
+
         boolean manual = postFilter != null && postFilter != Filter.INCLUDE;
         if (!manual && !query.getJoins().isEmpty()) {
             // check any join post filters as well
@@ -469,7 +549,7 @@ protected int getCountInternal(Query query) throws IOException {
             Connection cx = store.getConnection(getState());
             try {
                 Query q = new Query(query);
-                q.setFilter(preFilter);
+                q.setFilter(keysetFilter != null ? and(preFilter, keysetFilter) : preFilter);
                 int count = store.getCount(getSchema(), q, cx);
                 // if native support for limit and offset is not implemented, we have to ajust the
                 // result
@@ -564,7 +644,8 @@ protected boolean canLimit(Query query) {
 
     @Override
     protected boolean canOffset(Query query) {
-        return getDataStore().getSQLDialect().isLimitOffsetSupported();
+        // with a keyset cursor the offset is ignored
+        return getDataStore().getSQLDialect().isLimitOffsetSupported() || getKeysetCursorHint(query) != null;
     }
 
     @Override
@@ -573,14 +654,45 @@ protected boolean canTransact() {
     }
 
     @Override
-    @SuppressWarnings("PMD.CloseResource") // the cx is passed to the reader which will close it
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+        // read large tables over parallel connections, if enabled
+        int readThreads = getDataStore().getReadThreads();
+        if (readThreads > 1 && canReadPartitioned(query)) {
+            // the features are buffered in queues, they cannot be reused
+            List<Partition<SimpleFeatureType, SimpleFeature>> partitions =
+                    getReaderPartitionsInternal(withoutFeatureReuse(query), readThreads);
+            if (partitions != null) {
+                SimpleFeatureType type =
+                        buildQueryAndReturnFeatureTypes(getSchema(), query.getPropertyNames(), null)[1];
+                return new PartitionedFeatureReader<>(type, partitions, getExecutor(query), true);
+            }
+        }
+        return getReaderInternal(query, null);
+    }
+
+    /**
+     * Returns a reader for the query, restricted to the features matching the partition filter, if not null. The
+     * partition filter can refer to the primary key columns, it is added to the pre filter after the filter split.
+     */
+    @SuppressWarnings("PMD.CloseResource") // the cx is passed to the reader which will close it
+    FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query, Filter partition)
+            throws IOException {
         // split the filter
         Filter[] split = splitFilter(query.getFilter(), query.getHints());
         Filter preFilter = split[0];
         Filter postFilter = split[1];
         boolean postFilterRequired = postFilter != null && postFilter != Filter.INCLUDE;
 
+        // keyset pagination, the cursor replaces the offset
+        Filter keysetFilter = getKeysetFilter(query);
+        if (keysetFilter != null) {
+            query = keysetQuery(query);
+            preFilter = and(preFilter, keysetFilter);
+        }
+        if (partition != null) {
+            preFilter = and(preFilter, partition);
+        }
+
         // rebuild a new query with the same params, but just the pre-filter
         Query preQuery = new Query(query);
         preQuery.setFilter(preFilter);
@@ -611,16 +723,31 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             }
 
             if (query.getJoins().isEmpty()) {
+                // read ahead on another thread, outside of transactions as the connection is not shared then
+                int prefetchSize = getDataStore().getPrefetchSize();
+                boolean prefetch = prefetchSize > 0
+                        && partition == null
+                        && getState().getTransaction() == Transaction.AUTO_COMMIT;
+                // the features read ahead are buffered, they cannot be reused
+                Query readerQuery = prefetch ? withoutFeatureReuse(query) : query;
+
                 // regular query
+                JDBCFeatureReader jdbcReader;
                 if (dialect instanceof PreparedStatementSQLDialect) {
                     PreparedStatement ps = getDataStore().selectSQLPS(querySchema, preQuery, cx);
-                    reader = new JDBCFeatureReader(ps, cx, this, querySchema, query);
+                    jdbcReader = new JDBCFeatureReader(ps, cx, this, querySchema, readerQuery);
                 } else {
                     // build up a statement for the content
                     String sql = getDataStore().selectSQL(querySchema, preQuery);
                     getDataStore().getLogger().fine(sql);
 
-                    reader = new JDBCFeatureReader(sql, cx, this, querySchema, query);
+                    jdbcReader = new JDBCFeatureReader(sql, cx, this, querySchema, readerQuery);
+                }
+                if (prefetch) {
+                    reader = new JDBCPrefetchingFeatureReader(
+                            jdbcReader, prefetchSize, getDataStore().getPrefetchDecoderThreads());
+                } else {
+                    reader = jdbcReader;
                 }
             } else {
                 JoinInfo join = JoinInfo.create(preQuery, this);
@@ -678,6 +805,114 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return reader;
     }
 
+    /** Returns true if the query reads the features in no particular order, and can thus be split in partitions */
+    boolean canReadPartitioned(Query query) {
+        return query.getJoins().isEmpty()
+                && (query.getSortBy() == null || query.getSortBy().length == 0)
+                && query.getStartIndex() == null
+                && query.isMaxFeaturesUnlimited()
+                && getKeysetCursorHint(query) == null
+                // the screen map is not thread safe
+                && (query.getHints() == null || query.getHints().get(Hints.SCREENMAP) == null);
+    }
+
+    /** Returns the executor service provided in the query hints, if any */
+    ExecutorService getExecutor(Query query) {
+        if (query.getHints() != null) {
+            return (ExecutorService) query.getHints().get(Hints.EXECUTOR_SERVICE);
+        }
+        return null;
+    }
+
+    /**
+     * Splits the table in ranges of a single column, integral primary key, each one read on a separate connection, so
+     * that visitors that can be split in partial calculations are run in parallel. Only enabled outside of
+     * transactions, when the store is configured to read with multiple threads, and for tables large enough to have
+     * at least {@link #MIN_PARTITION_KEYS} keys in each range.
+     */
+    @Override
+    protected List<Partition<SimpleFeatureType, SimpleFeature>> getReaderPartitionsInternal(
+            Query query, int partitions) throws IOException {
+        List<Filter> ranges = getPartitionRanges(partitions);
+        if (ranges == null) {
+            return null;
+        }
+        // each partition borrows its connection on the thread reading it
+        List<Partition<SimpleFeatureType, SimpleFeature>> result = new ArrayList<>(ranges.size());
+        for (Filter range : ranges) {
+            result.add(() -> getReaderInternal(query, range));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the filters selecting contiguous ranges of the primary key, in key order, or null if the table cannot be
+     * split
+     */
+    List<Filter> getPartitionRanges(int partitions) throws IOException {
+        if (partitions < 2
+                || getState().getTransaction() != Transaction.AUTO_COMMIT
+                || getDataStore().getVirtualTables().containsKey(entry.getTypeName())) {
+            return null;
+        }
+        PrimaryKey key = getPrimaryKey();
+        if (key == null || key instanceof NullPrimaryKey || key.getColumns().size() != 1) {
+            return null;
+        }
+        PrimaryKeyColumn column = key.getColumns().get(0);
+        Class<?> type = column.getType();
+        if (!Integer.class.equals(type) && !Long.class.equals(type) && !Short.class.equals(type)) {
+            return null;
+        }
+
+        long[] range;
+        Connection cx = getDataStore().getConnection(getState());
+        try {
+            range = getDataStore().getPrimaryKeyRange(getSchema(), column.getName(), cx);
+        } finally {
+            getDataStore().releaseConnection(cx, getState());
+        }
+        if (range == null) {
+            return null;
+        }
+        double keys = (double) range[1] - range[0] + 1;
+        int count = (int) Math.min(partitions, keys / minPartitionKeys);
+        if (count < 2) {
+            return null;
+        }
+
+        // the first and last ranges are open, in case keys got added in the meantime
+        FilterFactory ff = getDataStore().getFilterFactory();
+        PropertyName pk = ff.property(column.getName());
+        double step = keys / count;
+        List<Filter> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Filter lower = i > 0 ? ff.greaterOrEqual(pk, ff.literal(rangeBound(range[0], step, i, type))) : null;
+            Filter upper = i < count - 1 ? ff.less(pk, ff.literal(rangeBound(range[0], step, i + 1, type))) : null;
+            if (lower == null) {
+                ranges.add(upper);
+            } else if (upper == null) {
+                ranges.add(lower);
+            } else {
+                ranges.add(ff.and(lower, upper));
+            }
+        }
+        return ranges;
+    }
+
+    private static Object rangeBound(long min, double step, int i, Class<?> type) {
+        return Converters.convert(min + (long) (step * i), type);
+    }
+
+    /** Visits in parallel with as many partitions as read threads, unless the query hints say otherwise */
+    @Override
+    protected int getVisitorParallelism(Query query) {
+        if (query.getHints() != null && query.getHints().get(Hints.VISITOR_PARALLELISM) != null) {
+            return super.getVisitorParallelism(query);
+        }
+        return getDataStore().getReadThreads();
+    }
+
     SimpleFeatureType[] buildQueryAndReturnFeatureTypes(
             SimpleFeatureType featureType, String[] propertyNames, Filter filter) {
 
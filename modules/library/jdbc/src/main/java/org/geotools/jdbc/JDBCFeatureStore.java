@@ -22,6 +22,7 @@
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.geotools.api.data.FeatureEvent;
 import org.geotools.api.data.FeatureEvent.Type;
@@ -38,6 +39,7 @@
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
 import org.geotools.data.FilteringFeatureWriter;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
@@ -147,6 +149,11 @@ public PrimaryKey getPrimaryKey() {
         return delegate.getPrimaryKey();
     }
 
+    /** @see JDBCFeatureSource#getKeysetCursor(Query, SimpleFeature) */
+    public String getKeysetCursor(Query query, SimpleFeature feature) {
+        return delegate.getKeysetCursor(query, feature);
+    }
+
     /**
      * Sets the flag which will expose columns which compose a tables identifying or primary key, through feature type
      * attributes.
@@ -221,6 +228,17 @@ protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOEx
         return delegate.handleVisitor(query, visitor);
     }
 
+    @Override
+    protected List<Partition<SimpleFeatureType, SimpleFeature>> getReaderPartitionsInternal(
+            Query query, int partitions) throws IOException {
+        return delegate.getReaderPartitionsInternal(query, partitions);
+    }
+
+    @Override
+    protected int getVisitorParallelism(Query query) {
+        return delegate.getVisitorParallelism(query);
+    }
+
     //  /**
     //  * This method operates by delegating to the
     //  * {@link JDBCFeatureCollection#update(AttributeDescriptor[], Object[])}
@@ -344,6 +362,7 @@ public void modifyFeatures(Name[] names, Object[] values, Filter filter) throws
             Connection cx = null;
             @SuppressWarnings("PMD.CloseResource") // transaction closing managed elsewhere
             Transaction tx = getState().getTransaction();
+            beginResultCacheWrite();
             try {
                 cx = getDataStore().getConnection(tx);
 
@@ -383,6 +402,7 @@ public void modifyFeatures(Name[] names, Object[] values, Filter filter) throws
                     state.fireFeatureEvent(event);
                 }
             } finally {
+                endResultCacheWrite();
                 if (tx == null || tx == Transaction.AUTO_COMMIT) {
                     getDataStore().closeSafe(cx);
                 }
@@ -406,6 +426,7 @@ public void removeFeatures(Filter filter) throws IOException {
             Transaction tx = getState().getTransaction();
             Connection cx = null;
 
+            beginResultCacheWrite();
             try {
                 cx = getDataStore().getConnection(tx);
 
@@ -433,6 +454,7 @@ public void removeFeatures(Filter filter) throws IOException {
                     state.fireFeatureEvent(event);
                 }
             } finally {
+                endResultCacheWrite();
                 if (tx == null || tx == Transaction.AUTO_COMMIT) {
                     getDataStore().closeSafe(cx);
                 }
@@ -128,6 +128,10 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(NAMESPACE.key, NAMESPACE);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(BATCH_UPDATE_SIZE.key, BATCH_UPDATE_SIZE);
+        parameters.put(PREFETCH_SIZE.key, PREFETCH_SIZE);
+        parameters.put(PREFETCH_DECODER_THREADS.key, PREFETCH_DECODER_THREADS);
+        parameters.put(READ_THREADS.key, READ_THREADS);
         parameters.put(EXPOSE_PK.key, EXPOSE_PK);
         parameters.put(PK_METADATA_TABLE.key, PK_METADATA_TABLE);
         parameters.put(SQL_ON_BORROW.key, SQL_ON_BORROW);
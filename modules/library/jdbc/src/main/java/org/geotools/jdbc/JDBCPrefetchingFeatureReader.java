@@ -0,0 +1,397 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.FeatureFactory;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.data.PartitionedFeatureReader;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * A reader walking the result set of a {@link JDBCFeatureReader} on a background thread, so that the network round
+ * trips and the decoding of the features overlap with the processing of the features already returned.
+ *
+ * <p>The features are handed over in blocks, through a queue holding at most the configured number of features. When
+ * more than one decoder thread is requested, and the dialect supports it, the background thread only fetches the raw
+ * rows and each block is decoded by a separate task, with at most that number of blocks being decoded at the same
+ * time. The features are returned in result set order in both cases.
+ *
+ * <p>The wrapped reader, along with its statement and connection, is closed by the background thread as soon as the
+ * result set is exhausted, or once it notices that {@link #close()} has been called. {@link #close()} waits for this
+ * to happen, which might take as long as the fetch of the current block of rows.
+ */
+public class JDBCPrefetchingFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(JDBCPrefetchingFeatureReader.class);
+
+    /** The maximum number of features in a block */
+    static final int BLOCK_SIZE = 256;
+
+    /** Marks the end of the results */
+    private static final Object END = new Object();
+
+    /** How long the background thread waits on a full queue before checking if the reader got closed */
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    /** Wraps an exception thrown while reading the results */
+    private static final class Failure {
+        Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    JDBCFeatureReader delegate;
+
+    SimpleFeatureType featureType;
+
+    ExecutorService executor;
+
+    int blockSize;
+
+    /** The blocks of features, as futures, followed by {@link #END} or a {@link Failure} */
+    BlockingQueue<Object> blocks;
+
+    /** Released once the background thread closed the delegate */
+    CountDownLatch released = new CountDownLatch(1);
+
+    volatile boolean closed;
+
+    boolean done;
+
+    Iterator<SimpleFeature> current = Collections.emptyIterator();
+
+    SimpleFeature next;
+
+    /** Limits the blocks being decoded at the same time, null if the rows are decoded by the background thread */
+    Semaphore decoders;
+
+    // decoding state, grabbed upfront as the delegate forgets it when closed
+
+    SQLDialect dialect;
+
+    GeometryFactory geometryFactory;
+
+    FeatureFactory featureFactory;
+
+    Hints hints;
+
+    /**
+     * Starts reading ahead.
+     *
+     * @param delegate The reader to prefetch from, it should not reuse features, and it will be closed by this reader
+     * @param prefetchSize The maximum number of features read ahead
+     * @param decoderThreads The number of threads decoding the geometries
+     */
+    public JDBCPrefetchingFeatureReader(JDBCFeatureReader delegate, int prefetchSize, int decoderThreads)
+            throws IOException {
+        if (prefetchSize <= 0) {
+            throw new IllegalArgumentException("The prefetch size must be positive, but was " + prefetchSize);
+        }
+        this.delegate = delegate;
+        this.featureType = delegate.getFeatureType();
+        this.blockSize = Math.min(BLOCK_SIZE, prefetchSize);
+        this.blocks = new ArrayBlockingQueue<>(Math.max(1, prefetchSize / blockSize));
+        this.executor = PartitionedFeatureReader.getDefaultExecutor();
+        try {
+            if (decoderThreads > 1 && isRawDecodingSupported()) {
+                this.decoders = new Semaphore(decoderThreads);
+                this.dialect = delegate.dataStore.getSQLDialect();
+                this.geometryFactory = delegate.geometryFactory;
+                this.hints = delegate.hints;
+                this.featureFactory = (FeatureFactory) hints.get(Hints.FEATURE_FACTORY);
+                if (featureFactory == null) {
+                    featureFactory = delegate.dataStore.getFeatureFactory();
+                }
+            }
+            executor.submit(this::produce);
+        } catch (SQLException | RuntimeException e) {
+            delegate.close();
+            throw new IOException("Failed to start prefetching features", e);
+        }
+    }
+
+    /** Checks if the geometries can be decoded away from the result set */
+    private boolean isRawDecodingSupported() throws SQLException {
+        // the screen map is not thread safe and skips features before decoding them
+        if (delegate.hints == null || delegate.screenMap != null) {
+            return false;
+        }
+        boolean geometries = false;
+        for (AttributeDescriptor ad : featureType.getAttributeDescriptors()) {
+            if (ad instanceof GeometryDescriptor) {
+                GeometryDescriptor gd = (GeometryDescriptor) ad;
+                SQLDialect sqlDialect = delegate.dataStore.getSQLDialect();
+                if (!sqlDialect.isRawGeometryDecodingSupported(gd, delegate.cx, delegate.hints)) {
+                    return false;
+                }
+                geometries = true;
+            }
+        }
+        return geometries;
+    }
+
+    /** Reads the results into the queue, and closes the delegate */
+    private void produce() {
+        try {
+            if (decoders != null) {
+                produceRows();
+            } else {
+                produceFeatures();
+            }
+            offer(END);
+        } catch (Throwable t) {
+            offer(new Failure(t));
+        } finally {
+            try {
+                delegate.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to close the prefetched reader", e);
+            }
+            released.countDown();
+        }
+    }
+
+    /** Reads and decodes the features with the delegate */
+    private void produceFeatures() throws IOException {
+        List<SimpleFeature> block = new ArrayList<>(blockSize);
+        while (!closed && delegate.hasNext()) {
+            block.add(delegate.next());
+            if (block.size() == blockSize) {
+                if (!offer(CompletableFuture.completedFuture(block))) {
+                    return;
+                }
+                block = new ArrayList<>(blockSize);
+            }
+        }
+        if (!block.isEmpty()) {
+            offer(CompletableFuture.completedFuture(block));
+        }
+    }
+
+    /** Reads the raw rows, leaving the decoding to other threads */
+    private void produceRows() throws SQLException, InterruptedException {
+        ResultSet rs = delegate.rs;
+        JDBCReaderCallback callback = delegate.callback;
+        int attributeCount = featureType.getAttributeCount();
+        List<String> fids = new ArrayList<>(blockSize);
+        List<Object[]> rows = new ArrayList<>(blockSize);
+        try {
+            while (!closed) {
+                callback.beforeNext(rs);
+                boolean more = rs.next();
+                callback.afterNext(rs, more);
+                if (!more) {
+                    callback.finish(delegate);
+                    break;
+                }
+                Object[] values = new Object[attributeCount];
+                String fid = delegate.readRawRow(values);
+                if (fid != null) {
+                    fids.add(fid);
+                    rows.add(values);
+                }
+                if (rows.size() == blockSize) {
+                    if (!decode(fids, rows)) {
+                        return;
+                    }
+                    fids = new ArrayList<>(blockSize);
+                    rows = new ArrayList<>(blockSize);
+                }
+            }
+        } catch (SQLException e) {
+            callback.rowError(e);
+            throw e;
+        }
+        if (!closed && !rows.isEmpty()) {
+            decode(fids, rows);
+        }
+    }
+
+    /** Queues the decoding of a block of rows, returns false if the reader got closed in the meantime */
+    private boolean decode(List<String> fids, List<Object[]> rows) throws InterruptedException {
+        while (!decoders.tryAcquire(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (closed) {
+                return false;
+            }
+        }
+        Future<List<SimpleFeature>> block;
+        try {
+            block = executor.submit(() -> {
+                try {
+                    return buildFeatures(fids, rows);
+                } finally {
+                    decoders.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            decoders.release();
+            throw e;
+        }
+        return offer(block);
+    }
+
+    /** Decodes the geometries of a block of rows and builds the features */
+    private List<SimpleFeature> buildFeatures(List<String> fids, List<Object[]> rows) throws IOException {
+        SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType, featureFactory);
+        List<SimpleFeature> features = new ArrayList<>(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            Object[] values = rows.get(r);
+            for (int i = 0; i < values.length; i++) {
+                AttributeDescriptor ad = featureType.getDescriptor(i);
+                if (ad instanceof GeometryDescriptor) {
+                    GeometryDescriptor gd = (GeometryDescriptor) ad;
+                    Geometry geometry = dialect.decodeRawGeometryValue(gd, values[i], geometryFactory, hints);
+                    // if not set, set the crs from descriptor
+                    if (geometry != null && geometry.getUserData() == null) {
+                        geometry.setUserData(gd.getCoordinateReferenceSystem());
+                    }
+                    values[i] = geometry;
+                }
+            }
+            builder.addAll(values);
+            features.add(builder.buildFeature(fids.get(r)));
+        }
+        return features;
+    }
+
+    /** Adds an item to the queue, returns false if the reader got closed (or interrupted) in the meantime */
+    private boolean offer(Object item) {
+        try {
+            while (!closed) {
+                if (blocks.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("hasNext() returned false");
+        }
+        SimpleFeature result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (closed) {
+            throw new IOException("Reader has been closed");
+        }
+        while (next == null) {
+            if (current.hasNext()) {
+                next = current.next();
+            } else if (done) {
+                return false;
+            } else {
+                current = take().iterator();
+            }
+        }
+        return true;
+    }
+
+    /** Waits for the next block of features, an empty one if the end of the results has been reached */
+    @SuppressWarnings("unchecked")
+    private List<SimpleFeature> take() throws IOException {
+        try {
+            Object item = blocks.take();
+            if (item == END) {
+                done = true;
+                return Collections.emptyList();
+            } else if (item instanceof Failure) {
+                done = true;
+                throw failure(((Failure) item).cause);
+            }
+            return ((Future<List<SimpleFeature>>) item).get();
+        } catch (ExecutionException e) {
+            done = true;
+            throw failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next features");
+        }
+    }
+
+    private IOException failure(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException("Failed to read features", cause);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // drop the features read ahead, unblocking the background thread
+        for (Object item : blocks) {
+            if (item instanceof Future) {
+                ((Future<?>) item).cancel(false);
+            }
+        }
+        blocks.clear();
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the prefetched reader to close");
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.geotools.jdbc;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -24,6 +25,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.logging.Level;
 import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -32,20 +34,32 @@
 import org.geotools.api.filter.Id;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentState;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 
+/**
+ * Updates and removes features in the database. When the data store batch update size is greater than one, the
+ * modifications are buffered and executed in batches, when the batch is full, the writer is flushed, or it is closed.
+ */
 public class JDBCUpdateFeatureWriter extends JDBCFeatureReader
-        implements FeatureWriter<SimpleFeatureType, SimpleFeature> {
+        implements FeatureWriter<SimpleFeatureType, SimpleFeature>, Flushable {
 
     ResultSetFeature last;
     ReferencedEnvelope lastBounds;
 
+    /** The pending modifications, or null if they are executed right away */
+    ModificationBatch batch;
+
+    /** The notifications of the pending modifications, issued once they are executed */
+    List<Runnable> pendingEvents = new ArrayList<>();
+
     public JDBCUpdateFeatureWriter(String sql, Connection cx, JDBCFeatureSource featureSource, Query query)
             throws SQLException, IOException {
 
         super(sql, cx, featureSource, featureSource.getSchema(), query);
         md = rs.getMetaData();
         last = new ResultSetFeature(rs, cx);
+        batch = createBatch(cx);
     }
 
     public JDBCUpdateFeatureWriter(PreparedStatement ps, Connection cx, JDBCFeatureSource featureSource, Query query)
@@ -54,6 +68,15 @@ public JDBCUpdateFeatureWriter(PreparedStatement ps, Connection cx, JDBCFeatureS
         super(ps, cx, featureSource, featureSource.getSchema(), query);
         md = rs.getMetaData();
         last = new ResultSetFeature(rs, ps.getConnection());
+        batch = createBatch(ps.getConnection());
+    }
+
+    private ModificationBatch createBatch(Connection cx) throws SQLException, IOException {
+        int batchSize = dataStore.getBatchUpdateSize();
+        if (batchSize > 1 && cx.getMetaData().supportsBatchUpdates()) {
+            return new ModificationBatch(dataStore, featureType, cx, batchSize);
+        }
+        return null;
     }
 
     @Override
@@ -80,11 +103,24 @@ public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuch
     @Override
     public void remove() throws IOException {
         try {
+            ContentEntry entry = featureSource.getEntry();
+            ContentState state = entry.getState(this.tx);
+            if (batch != null) {
+                batch.delete(last.getID());
+                if (state.hasListener()) {
+                    // the feature is reused by the next call, keep a copy for the notification
+                    SimpleFeature removed = SimpleFeatureBuilder.copy(last);
+                    pendingEvents.add(() -> state.fireFeatureRemoved(featureSource, removed));
+                }
+                if (batch.isFull()) {
+                    flush();
+                }
+                return;
+            }
+
             dataStore.delete(featureType, last.getID(), st.getConnection());
 
             // issue notification
-            ContentEntry entry = featureSource.getEntry();
-            ContentState state = entry.getState(this.tx);
             if (state.hasListener()) {
                 state.fireFeatureRemoved(featureSource, last);
             }
@@ -115,12 +151,26 @@ public void write() throws IOException {
                 }
             }
 
+            ContentEntry entry = featureSource.getEntry();
+            ContentState state = entry.getState(this.tx);
+            if (batch != null) {
+                batch.update(fid, changed.toArray(new AttributeDescriptor[changed.size()]), values.toArray());
+                if (state.hasListener()) {
+                    // the feature is reused by the next call, keep a copy for the notification
+                    SimpleFeature updated = SimpleFeatureBuilder.copy(last);
+                    ReferencedEnvelope bounds = lastBounds;
+                    pendingEvents.add(() -> state.fireFeatureUpdated(featureSource, updated, bounds));
+                }
+                if (batch.isFull()) {
+                    flush();
+                }
+                return;
+            }
+
             // do the write
             dataStore.update(featureType, changed, values, filter, st.getConnection());
 
             // issue notification
-            ContentEntry entry = featureSource.getEntry();
-            ContentState state = entry.getState(this.tx);
             if (state.hasListener()) {
                 state.fireFeatureUpdated(featureSource, last, lastBounds);
             }
@@ -129,12 +179,38 @@ public void write() throws IOException {
         }
     }
 
+    /** Executes the pending modifications, if any */
+    @Override
+    public void flush() throws IOException {
+        if (batch == null || batch.size() == 0) {
+            return;
+        }
+        try {
+            int count = batch.execute();
+            LOGGER.log(Level.FINE, "Executed a batch of feature modifications, {0} rows affected", count);
+            for (Runnable event : pendingEvents) {
+                event.run();
+            }
+        } finally {
+            pendingEvents.clear();
+        }
+    }
+
     @Override
+    @SuppressWarnings("PMD.UseTryWithResources")
     public void close() throws IOException {
-        super.close();
-        if (last != null) {
-            last.close();
-            last = null;
+        try {
+            flush();
+        } finally {
+            if (batch != null) {
+                batch.close();
+                batch = null;
+            }
+            super.close();
+            if (last != null) {
+                last.close();
+                last = null;
+            }
         }
     }
 }
@@ -48,7 +48,8 @@ public boolean hasNext() throws IOException {
         // check parent
         boolean hasNext = super.hasNext();
         if (!hasNext) {
-            // update phase is up, switch to insert mode
+            // update phase is up, execute the pending updates and switch to insert mode
+            flush();
             inserter = new JDBCInsertFeatureWriter(this);
             return inserter.hasNext();
         }
@@ -85,6 +86,16 @@ public void write() throws IOException {
         super.write();
     }
 
+    @Override
+    public void flush() throws IOException {
+        if (inserter != null) {
+            inserter.flush();
+            return;
+        }
+
+        super.flush();
+    }
+
     @Override
     public void close() throws IOException {
         if (inserter != null) {
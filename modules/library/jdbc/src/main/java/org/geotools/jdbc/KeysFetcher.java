@@ -116,6 +116,23 @@ public void setKeyValues(
         }
     }
 
+    /**
+     * Returns the key values of features about to be inserted, in the order of the primary key columns, and reports the
+     * feature ids as user data. Only usable if {@link #canFetchBeforeInsert()}.
+     */
+    public List<List<Object>> getKeyValues(
+            Connection cx, SimpleFeatureType featureType, Collection<? extends SimpleFeature> features)
+            throws IOException, SQLException {
+        List<List<Object>> result = new ArrayList<>(features.size());
+        for (SimpleFeature feature : features) {
+            List<Object> keyValues = getNextValues(cx, feature);
+            String fid = featureType.getTypeName() + "." + JDBCDataStore.encodeFID(keyValues);
+            feature.getUserData().put("fid", fid);
+            result.add(keyValues);
+        }
+        return result;
+    }
+
     public abstract void addKeyColumns(StringBuffer sql);
 
     public abstract void addKeyBindings(StringBuffer sql);
@@ -132,6 +149,11 @@ public abstract void postInsert(SimpleFeatureType featureType, SimpleFeature fea
     /** @return true if some key values must be fetched after insert. */
     public abstract boolean isPostInsert();
 
+    /** @return true if all the key values can be known before insert, even when they are usually fetched after. */
+    public boolean canFetchBeforeInsert() {
+        return !isPostInsert();
+    }
+
     /**
      * @return true if some key value is auto generated by the database and we need to execute the statement passing the
      *     Statement.RETURN_GENERATED_KEYS flag
@@ -307,6 +329,16 @@ public boolean isPostInsert() {
             return false;
         }
 
+        @Override
+        public boolean canFetchBeforeInsert() {
+            for (KeyFetcher fetcher : fetchers) {
+                if (!fetcher.canFetchBeforeInsert()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private List<Object> getLastValues(Connection cx, Statement st) throws SQLException {
             List<Object> last = new ArrayList<>();
             for (KeyFetcher fetcher : fetchers) {
@@ -324,6 +356,30 @@ public List<Object> getNextValues(Connection cx, SimpleFeature feature) throws I
             return ret;
         }
 
+        @Override
+        public List<List<Object>> getKeyValues(
+                Connection cx, SimpleFeatureType featureType, Collection<? extends SimpleFeature> features)
+                throws IOException, SQLException {
+            // fetch the values column by column, sequences can then provide all of them at once
+            List<List<Object>> columns = new ArrayList<>(fetchers.size());
+            for (KeyFetcher fetcher : fetchers) {
+                columns.add(fetcher.getNext(cx, features.size()));
+            }
+            List<List<Object>> result = new ArrayList<>(features.size());
+            int i = 0;
+            for (SimpleFeature feature : features) {
+                List<Object> keyValues = new ArrayList<>(fetchers.size());
+                for (List<Object> column : columns) {
+                    keyValues.add(column.get(i));
+                }
+                String fid = featureType.getTypeName() + "." + JDBCDataStore.encodeFID(keyValues);
+                feature.getUserData().put("fid", fid);
+                result.add(keyValues);
+                i++;
+            }
+            return result;
+        }
+
         @Override
         public boolean hasAutoGeneratedKeys() {
             for (KeyFetcher fetcher : fetchers) {
@@ -342,6 +398,15 @@ private abstract static class KeyFetcher {
 
         public abstract Object getNext(Connection cx) throws IOException, SQLException;
 
+        /** Returns the next <code>count</code> values */
+        public List<Object> getNext(Connection cx, int count) throws IOException, SQLException {
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(getNext(cx));
+            }
+            return values;
+        }
+
         KeyFetcher(JDBCDataStore ds, PrimaryKeyColumn col) {
             this.col = col;
             StringBuffer colName = new StringBuffer();
@@ -370,6 +435,10 @@ public Object getLastValue(Connection cx) throws SQLException {
 
         public abstract boolean isPostInsert();
 
+        public boolean canFetchBeforeInsert() {
+            return !isPostInsert();
+        }
+
         public boolean isAutoGenerated() {
             return false;
         }
@@ -575,5 +644,17 @@ public Object getNext(Connection cx) throws IOException, SQLException {
                 return ds.getSQLDialect().getNextSequenceValue(ds.getDatabaseSchema(), sequenceName, cx);
             }
         }
+
+        @Override
+        public boolean canFetchBeforeInsert() {
+            return true;
+        }
+
+        /** Fetches values ahead of the insert, even if the dialect would look them up after it */
+        @Override
+        public List<Object> getNext(Connection cx, int count) throws IOException, SQLException {
+            String sequenceName = ((SequencedPrimaryKeyColumn) col).getSequenceName();
+            return ds.getSQLDialect().getNextSequenceValues(ds.getDatabaseSchema(), sequenceName, count, cx);
+        }
     }
 }
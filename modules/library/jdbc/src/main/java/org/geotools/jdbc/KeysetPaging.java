@@ -0,0 +1,223 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.util.Converters;
+
+/**
+ * Keyset (seek) pagination support.
+ *
+ * <p>A query sorted on attributes that cannot be null, followed by all the primary key columns (as
+ * {@link SortBy#NATURAL_ORDER}, {@link SortBy#REVERSE_ORDER}, or as exposed primary key attributes), sorts the features
+ * in a unique, stable order. Such a query can be paged by remembering the sort values of the last feature of a page,
+ * the cursor, and selecting the next page with a predicate on those values, instead of having the database skip the
+ * rows of all the previous pages with an OFFSET.
+ *
+ * <p>The predicate is expanded as <code>k1 &gt; v1 OR (k1 = v1 AND k2 &gt; v2) OR ...</code>, with a leading
+ * <code>k1 &gt;= v1</code> bound allowing an index range scan, rather than using row value comparisons, which are not
+ * supported by all databases and cannot mix ascending and descending keys.
+ */
+class KeysetPaging {
+
+    /** A sort key of the query */
+    static class SortKey {
+        /** The attribute or primary key column name */
+        final String name;
+
+        final Class<?> binding;
+
+        final boolean ascending;
+
+        /** The position in the primary key, or -1 if the key is not a primary key column */
+        final int pkIndex;
+
+        SortKey(String name, Class<?> binding, boolean ascending, int pkIndex) {
+            this.name = name;
+            this.binding = binding;
+            this.ascending = ascending;
+            this.pkIndex = pkIndex;
+        }
+    }
+
+    final PrimaryKey key;
+
+    final List<SortKey> sortKeys;
+
+    final FilterFactory ff;
+
+    KeysetPaging(PrimaryKey key, List<SortKey> sortKeys, FilterFactory ff) {
+        this.key = key;
+        this.sortKeys = sortKeys;
+        this.ff = ff;
+    }
+
+    /**
+     * Returns the keyset paging of the query, or null if it has no sort, its sort does not end with the primary key, or
+     * includes attributes that can be null. A query without sort returns the rows in an arbitrary order, which can
+     * change between pages, so there is no position to seek from.
+     */
+    static KeysetPaging create(JDBCFeatureSource source, Query query) {
+        PrimaryKey key = source.getPrimaryKey();
+        if (key == null || key instanceof NullPrimaryKey || key.getColumns().isEmpty()) {
+            return null;
+        }
+        SortBy[] sortBy = query.getSortBy();
+        if (sortBy == null || sortBy.length == 0) {
+            return null;
+        }
+
+        SimpleFeatureType schema = source.getSchema();
+        List<SortKey> sortKeys = new ArrayList<>();
+        Set<String> sortedPkColumns = new HashSet<>();
+        for (SortBy sort : sortBy) {
+            boolean ascending = sort.getSortOrder() != SortOrder.DESCENDING;
+            if (SortBy.NATURAL_ORDER.equals(sort) || SortBy.REVERSE_ORDER.equals(sort)) {
+                List<PrimaryKeyColumn> columns = key.getColumns();
+                for (int i = 0; i < columns.size(); i++) {
+                    PrimaryKeyColumn column = columns.get(i);
+                    sortKeys.add(new SortKey(column.getName(), column.getType(), ascending, i));
+                    sortedPkColumns.add(column.getName());
+                }
+            } else {
+                PropertyName property = sort.getPropertyName();
+                AttributeDescriptor descriptor =
+                        property != null ? schema.getDescriptor(property.getPropertyName()) : null;
+                if (descriptor == null || descriptor instanceof GeometryDescriptor) {
+                    return null;
+                }
+                String name = descriptor.getLocalName();
+                int pkIndex = getPkIndex(key, name);
+                // nulls are sorted, but never selected by the seek predicate
+                if (pkIndex < 0 && descriptor.isNillable()) {
+                    return null;
+                }
+                sortKeys.add(new SortKey(name, descriptor.getType().getBinding(), ascending, pkIndex));
+                if (pkIndex >= 0) {
+                    sortedPkColumns.add(name);
+                }
+            }
+        }
+        if (sortedPkColumns.size() < key.getColumns().size()) {
+            return null;
+        }
+
+        return new KeysetPaging(key, sortKeys, source.getDataStore().getFilterFactory());
+    }
+
+    private static int getPkIndex(PrimaryKey key, String name) {
+        List<PrimaryKeyColumn> columns = key.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the cursor positioned after the feature, or null if the feature misses one of the sort values. The
+     * cursor is an opaque, url safe string.
+     */
+    String getCursor(SimpleFeature feature) {
+        List<Object> pkValues = JDBCDataStore.decodeFID(key, feature.getID(), false);
+        StringBuilder sb = new StringBuilder();
+        for (SortKey sortKey : sortKeys) {
+            Object value;
+            if (sortKey.pkIndex >= 0) {
+                value = sortKey.pkIndex < pkValues.size() ? pkValues.get(sortKey.pkIndex) : null;
+            } else {
+                value = feature.getAttribute(sortKey.name);
+            }
+            String text = Converters.convert(value, String.class);
+            if (text == null) {
+                return null;
+            }
+            if (sb.length() > 0) {
+                sb.append(",");
+            }
+            sb.append(URLEncoder.encode(text, StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the predicate selecting the features sorted after the cursor position
+     *
+     * @throws IllegalArgumentException if the cursor was not created for this sort
+     */
+    Filter getSeekFilter(String cursor) {
+        String[] values;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            values = decoded.split(",", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor: " + cursor, e);
+        }
+        if (values.length != sortKeys.size()) {
+            throw new IllegalArgumentException("Invalid keyset cursor, it was not created for this sort: " + cursor);
+        }
+
+        List<Filter> alternatives = new ArrayList<>();
+        List<Filter> equalities = new ArrayList<>();
+        Filter bound = null;
+        for (int i = 0; i < values.length; i++) {
+            SortKey sortKey = sortKeys.get(i);
+            Object value = Converters.convert(URLDecoder.decode(values[i], StandardCharsets.UTF_8), sortKey.binding);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Invalid keyset cursor, cannot convert " + values[i] + " to " + sortKey.binding.getName());
+            }
+            PropertyName property = ff.property(sortKey.name);
+            Literal literal = ff.literal(value);
+
+            Filter after = sortKey.ascending ? ff.greater(property, literal) : ff.less(property, literal);
+            if (equalities.isEmpty()) {
+                alternatives.add(after);
+                bound = sortKey.ascending ? ff.greaterOrEqual(property, literal) : ff.lessOrEqual(property, literal);
+            } else {
+                List<Filter> conditions = new ArrayList<>(equalities);
+                conditions.add(after);
+                alternatives.add(ff.and(conditions));
+            }
+            equalities.add(ff.equals(property, literal));
+        }
+
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        return ff.and(bound, ff.or(alternatives));
+    }
+}
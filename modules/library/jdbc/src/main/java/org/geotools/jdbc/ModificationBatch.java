@@ -0,0 +1,302 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.identity.FeatureId;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Collects the updates and deletes of a feature writer and sends them to the database in batches.
+ *
+ * <p>Updates changing the same attributes share the same prepared statement, and are executed as a single JDBC batch.
+ * Deletes are executed as a single statement binding the feature ids as an array when the dialect supports it (see
+ * {@link PreparedStatementSQLDialect#isArrayIdBindingSupported()}), as a JDBC batch otherwise. Dialects not based on
+ * prepared statements send the generated sql as a JDBC batch too.
+ *
+ * <p>Modifications of different features can be executed in a different order than they were queued, a feature
+ * modified twice causes the pending modifications to be executed first.
+ */
+class ModificationBatch {
+
+    static final Logger LOGGER = Logging.getLogger(ModificationBatch.class);
+
+    /** Key of the batch of updates for dialects not using prepared statements */
+    static final String BASIC_UPDATE = "UPDATE";
+
+    /** Key of the batch of deletes for dialects not using prepared statements */
+    static final String BASIC_DELETE = "DELETE";
+
+    /** A statement and the ids of the features it modifies, in batch order */
+    static class Group {
+        final Statement st;
+        final boolean delete;
+        final List<String> fids = new ArrayList<>();
+
+        Group(Statement st, boolean delete) {
+            this.st = st;
+            this.delete = delete;
+        }
+    }
+
+    final JDBCDataStore dataStore;
+    final SimpleFeatureType featureType;
+    final Connection cx;
+    final int batchSize;
+    final SQLDialect dialect;
+    final Set<String> pkColumnNames;
+    final boolean arrayDeletes;
+
+    /** The JDBC batches, keyed by sql for prepared statements */
+    final Map<String, Group> groups = new LinkedHashMap<>();
+
+    /** The ids of the features deleted by a single statement */
+    final List<String> deletes = new ArrayList<>();
+
+    /** The ids of all the pending modifications */
+    final Set<String> pending = new HashSet<>();
+
+    /** Number of rows modified by the executions forced by features modified twice */
+    int executedCount;
+
+    ModificationBatch(JDBCDataStore dataStore, SimpleFeatureType featureType, Connection cx, int batchSize)
+            throws IOException {
+        this.dataStore = dataStore;
+        this.featureType = featureType;
+        this.cx = cx;
+        this.batchSize = batchSize;
+        this.dialect = dataStore.getSQLDialect();
+        PrimaryKey key = dataStore.getPrimaryKey(featureType);
+        this.pkColumnNames = JDBCDataStore.getColumnNames(key);
+        this.arrayDeletes = dialect instanceof PreparedStatementSQLDialect
+                && ((PreparedStatementSQLDialect) dialect).isArrayIdBindingSupported()
+                && key.getColumns().size() == 1;
+    }
+
+    /** Number of pending modifications */
+    int size() {
+        return pending.size();
+    }
+
+    /** Returns true if the batch reached its configured size and should be executed */
+    boolean isFull() {
+        return size() >= batchSize;
+    }
+
+    /** Queues the update of the specified attributes of a feature */
+    void update(String fid, AttributeDescriptor[] attributes, Object[] values) throws IOException {
+        if (attributes == null || attributes.length == 0) {
+            LOGGER.warning("Update called with no attributes, doing nothing.");
+            return;
+        }
+        dataStore.checkUpdatedColumns(attributes, pkColumnNames);
+        addPending(fid);
+
+        Id filter = idFilter(Collections.singleton(fid));
+        try {
+            if (dialect instanceof PreparedStatementSQLDialect) {
+                PreparedFilterToSQL toSQL = dataStore.createPreparedFilterToSQL(featureType);
+                String sql = dataStore.encodeUpdateSQLPS(featureType, attributes, values, filter, pkColumnNames, toSQL);
+                Group group = groups.get(sql);
+                if (group == null) {
+                    LOGGER.log(Level.FINE, "Batching feature updates with prepared statement: {0}", sql);
+                    PreparedStatement ps = cx.prepareStatement(sql);
+                    group = addGroup(sql, ps, false);
+                    ((PreparedStatementSQLDialect) dialect).onUpdate(ps, cx, featureType);
+                }
+                PreparedStatement ps = (PreparedStatement) group.st;
+                dataStore.setUpdateSQLPSValues(ps, attributes, values, pkColumnNames, toSQL, cx);
+                ps.addBatch();
+                group.fids.add(fid);
+            } else {
+                String sql = dataStore.updateSQL(featureType, attributes, values, filter, pkColumnNames);
+                Group group = groups.get(BASIC_UPDATE);
+                if (group == null) {
+                    group = addGroup(BASIC_UPDATE, cx.createStatement(), false);
+                    ((BasicSQLDialect) dialect).onUpdate(group.st, cx, featureType);
+                }
+                LOGGER.log(Level.FINE, "Batching feature update: {0}", sql);
+                group.st.addBatch(sql);
+                group.fids.add(fid);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Error occured batching the update of feature " + fid, e);
+        }
+    }
+
+    /** Queues the delete of a feature */
+    void delete(String fid) throws IOException {
+        addPending(fid);
+        if (arrayDeletes) {
+            deletes.add(fid);
+            return;
+        }
+
+        Id filter = idFilter(Collections.singleton(fid));
+        try {
+            if (dialect instanceof PreparedStatementSQLDialect) {
+                PreparedFilterToSQL toSQL = dataStore.createPreparedFilterToSQL(featureType);
+                String sql = dataStore.encodeDeleteSQLPS(featureType, filter, toSQL);
+                Group group = groups.get(sql);
+                if (group == null) {
+                    LOGGER.log(Level.FINE, "Batching feature deletes with prepared statement: {0}", sql);
+                    PreparedStatement ps = cx.prepareStatement(sql);
+                    group = addGroup(sql, ps, true);
+                    ((PreparedStatementSQLDialect) dialect).onDelete(ps, cx, featureType);
+                }
+                PreparedStatement ps = (PreparedStatement) group.st;
+                dataStore.setPreparedFilterValues(ps, toSQL, 0, cx);
+                ps.addBatch();
+                group.fids.add(fid);
+            } else {
+                String sql = dataStore.deleteSQL(featureType, filter);
+                Group group = groups.get(BASIC_DELETE);
+                if (group == null) {
+                    group = addGroup(BASIC_DELETE, cx.createStatement(), true);
+                    ((BasicSQLDialect) dialect).onDelete(group.st, cx, featureType);
+                }
+                LOGGER.log(Level.FINE, "Batching feature delete: {0}", sql);
+                group.st.addBatch(sql);
+                group.fids.add(fid);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Error occured batching the delete of feature " + fid, e);
+        }
+    }
+
+    /**
+     * Executes the pending modifications
+     *
+     * @return the number of modified rows, statements not reporting their count are assumed to have modified one row
+     */
+    int execute() throws IOException {
+        int count = executedCount;
+        executedCount = 0;
+        try {
+            if (!deletes.isEmpty()) {
+                count += executeDeletes();
+            }
+            for (Group group : groups.values()) {
+                count += executeGroup(group);
+            }
+        } finally {
+            close();
+        }
+        return count;
+    }
+
+    /** Closes the statements and discards the pending modifications */
+    void close() {
+        for (Group group : groups.values()) {
+            dataStore.closeSafe(group.st);
+        }
+        groups.clear();
+        deletes.clear();
+        pending.clear();
+    }
+
+    private void addPending(String fid) throws IOException {
+        if (pending.contains(fid)) {
+            // keep the modifications of the same feature in order
+            executedCount = execute();
+        }
+        pending.add(fid);
+    }
+
+    private Group addGroup(String key, Statement st, boolean delete) {
+        Group group = new Group(st, delete);
+        groups.put(key, group);
+        return group;
+    }
+
+    private Id idFilter(Collection<String> fids) {
+        FilterFactory ff = dataStore.getFilterFactory();
+        Set<FeatureId> ids = new LinkedHashSet<>();
+        for (String fid : fids) {
+            ids.add(ff.featureId(fid));
+        }
+        return ff.id(ids);
+    }
+
+    private int executeDeletes() throws IOException {
+        PreparedStatementSQLDialect psDialect = (PreparedStatementSQLDialect) dialect;
+        PreparedFilterToSQL toSQL = dataStore.createPreparedFilterToSQL(featureType);
+        PreparedStatement ps = null;
+        try {
+            String sql = dataStore.encodeDeleteSQLPS(featureType, idFilter(deletes), toSQL);
+            LOGGER.log(Level.FINE, "Deleting {0} features with: {1}", new Object[] {deletes.size(), sql});
+            ps = cx.prepareStatement(sql);
+            psDialect.onDelete(ps, cx, featureType);
+            dataStore.setPreparedFilterValues(ps, toSQL, 0, cx);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Error occured deleting a batch of " + deletes.size() + " features", e);
+        } finally {
+            dataStore.closeSafe(ps);
+        }
+    }
+
+    private int executeGroup(Group group) throws IOException {
+        try {
+            int count = 0;
+            for (int rows : group.st.executeBatch()) {
+                count += rows == Statement.SUCCESS_NO_INFO ? 1 : Math.max(rows, 0);
+            }
+            return count;
+        } catch (BatchUpdateException e) {
+            // drivers either stop at the first failure, or mark the failed statements
+            int[] counts = e.getUpdateCounts();
+            int failed = counts != null ? counts.length : 0;
+            for (int i = 0; counts != null && i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    failed = i;
+                    break;
+                }
+            }
+            String action = group.delete ? "deleting" : "updating";
+            if (failed < group.fids.size()) {
+                String fid = group.fids.get(failed);
+                String position = "statement " + (failed + 1) + " of " + group.fids.size();
+                throw new IOException("Error occured " + action + " feature " + fid + ", " + position, e);
+            }
+            throw new IOException("Error occured " + action + " a batch of " + group.fids.size() + " features", e);
+        } catch (SQLException e) {
+            String action = group.delete ? "deleting" : "updating";
+            throw new IOException("Error occured " + action + " a batch of " + group.fids.size() + " features", e);
+        }
+    }
+}
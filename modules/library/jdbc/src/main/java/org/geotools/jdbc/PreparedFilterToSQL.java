@@ -150,6 +150,15 @@ public Object visit(Id filter, Object extraData) {
             throw new RuntimeException("Must set a primary key before trying to encode FIDFilters");
         }
 
+        if (isIdInListEncodable(filter)) {
+            try {
+                encodeIdInList(filter);
+            } catch (IOException e) {
+                throw new RuntimeException(IO_ERROR, e);
+            }
+            return extraData;
+        }
+
         Set ids = filter.getIdentifiers();
 
         List<PrimaryKeyColumn> columns = primaryKey.getColumns();
@@ -299,6 +299,17 @@ public PreparedFilterToSQL createPreparedFilterToSQL() {
         return f2s;
     }
 
+    /**
+     * Returns true if the filter encoder binds long id lists on a single column primary key as a single array
+     * parameter. When supported, the feature writers delete a batch of features with a single statement instead of a
+     * JDBC batch of single feature deletes.
+     *
+     * <p>Defaults to false, subclasses should override along with {@link #createPreparedFilterToSQL()}.
+     */
+    public boolean isArrayIdBindingSupported() {
+        return false;
+    }
+
     // callback methods
     /**
      * Callback invoked before a SELECT statement is executed against the database.
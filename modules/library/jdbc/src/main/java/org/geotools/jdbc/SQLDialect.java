@@ -776,6 +776,38 @@ public Geometry decodeGeometryValue(
         return decodeGeometryValue(descriptor, rs, columnName, factory, cx, hints);
     }
 
+    /**
+     * Returns true if the geometries of a column can be read from the result set with
+     * {@link #getRawGeometryValue(GeometryDescriptor, ResultSet, int, Connection)} and decoded later, possibly on
+     * another thread, with {@link #decodeRawGeometryValue(GeometryDescriptor, Object, GeometryFactory, Hints)}.
+     * Prefetching readers use this to decode geometries in parallel.
+     *
+     * <p>The default implementation returns <code>false</code>.
+     */
+    public boolean isRawGeometryDecodingSupported(GeometryDescriptor descriptor, Connection cx, Hints hints)
+            throws SQLException {
+        return false;
+    }
+
+    /**
+     * Reads the value of a geometry column without decoding it, only called if
+     * {@link #isRawGeometryDecodingSupported(GeometryDescriptor, Connection, Hints)} returned true. Implementations
+     * must return <code>null</code> for null geometries, and a value that stays valid after the result set moved on.
+     */
+    public Object getRawGeometryValue(GeometryDescriptor descriptor, ResultSet rs, int column, Connection cx)
+            throws SQLException {
+        throw new UnsupportedOperationException("Raw geometry decoding is not supported");
+    }
+
+    /**
+     * Decodes a value returned by {@link #getRawGeometryValue(GeometryDescriptor, ResultSet, int, Connection)}. Can be
+     * called by several threads at the same time.
+     */
+    public Geometry decodeRawGeometryValue(
+            GeometryDescriptor descriptor, Object value, GeometryFactory factory, Hints hints) throws IOException {
+        throw new UnsupportedOperationException("Raw geometry decoding is not supported");
+    }
+
     /**
      * Encodes the primary key definition in a CREATE TABLE statement.
      *
@@ -1052,6 +1084,28 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    /**
+     * Obtains the next values of a sequence, as {@link #getNextSequenceValue(String, String, Connection)} would do if
+     * called <code>count</code> times.
+     *
+     * <p>The default implementation calls {@link #getNextSequenceValue(String, String, Connection)} for each value,
+     * subclasses are encouraged to fetch all the values in a single round trip.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param sequenceName The name of the sequence.
+     * @param count The number of values needed.
+     * @param cx The database connection.
+     * @return The next values of the sequence, in order
+     */
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getNextSequenceValue(schemaName, sequenceName, cx));
+        }
+        return values;
+    }
+
     /**
      * Encodes how to get the next sequence value from the DB.
      *
@@ -1061,6 +1115,28 @@ public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return null;
     }
 
+    /**
+     * Creates a loader streaming new rows into a table in bulk, for databases having a faster way to load data than
+     * batched INSERT statements. The datastore uses it, when available, to insert features whose primary key values
+     * are all known before the insert.
+     *
+     * <p>The default implementation returns <code>null</code>, meaning bulk loading is not supported. Implementations
+     * should also return <code>null</code> if any of the column types cannot be loaded in bulk, the datastore will then
+     * fall back on INSERT statements.
+     *
+     * @param schemaName The database schema, may be <code>null</code>
+     * @param tableName The table to load
+     * @param columnNames The names of the loaded columns, in the order their values are set
+     * @param bindings The java types of the loaded columns
+     * @param cx The database connection, should not be closed
+     * @return A bulk loader, or <code>null</code>
+     */
+    public BulkLoader createBulkLoader(
+            String schemaName, String tableName, List<String> columnNames, List<Class<?>> bindings, Connection cx)
+            throws SQLException {
+        return null;
+    }
+
     /**
      * Returns true if this dialect can encode both {@linkplain Query#getStartIndex()} and
      * {@linkplain Query#getMaxFeatures()} into native SQL.
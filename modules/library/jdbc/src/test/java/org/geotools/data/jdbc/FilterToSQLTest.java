@@ -227,6 +227,19 @@ public void testIdFilterMulti() throws Exception {
         Assert.assertEquals("WHERE ((id = 'fid1') OR (id = 'fid2'))", output.toString());
     }
 
+    @Test
+    public void testIdFilterInList() throws Exception {
+        Set<FeatureId> fids = new LinkedHashSet<>();
+        for (int i = 1; i <= FilterToSQL.MIN_ID_IN_LIST_SIZE; i++) {
+            fids.add(ff.featureId("fid" + i));
+        }
+        Id id = ff.id(fids);
+
+        encoder.encode(id);
+        Assert.assertEquals(
+                "WHERE (id IN ('fid1', 'fid2', 'fid3', 'fid4', 'fid5', 'fid6', 'fid7', 'fid8'))", output.toString());
+    }
+
     @Test
     public void testIdFilterSingle() throws Exception {
         Set<FeatureId> fids = new LinkedHashSet<>();
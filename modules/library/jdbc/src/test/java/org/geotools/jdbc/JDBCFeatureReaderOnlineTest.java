@@ -18,16 +18,22 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.Transaction;
 import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.PropertyDescriptor;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.util.factory.Hints;
 import org.junit.Test;
 import org.locationtech.jts.geom.Geometry;
 
@@ -65,4 +71,57 @@ public void testNext() throws Exception {
             assertTrue(g.getUserData() instanceof CoordinateReferenceSystem);
         }
     }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        FilterFactory ff = dataStore.getFilterFactory();
+        Query query = new Query(tname("ft1"));
+        query.setSortBy(ff.sort(aname("intProperty"), SortOrder.ASCENDING));
+        List<SimpleFeature> expected = readAll(query);
+        assertTrue(expected.size() > 1);
+
+        // buffering a single feature, the features are read and decoded in lockstep
+        dataStore.setPrefetchSize(1);
+        // the buffered features cannot be reused
+        query.getHints().put(Hints.FEATURE_REUSE, Boolean.TRUE);
+        for (int decoderThreads : new int[] {1, 2}) {
+            dataStore.setPrefetchDecoderThreads(decoderThreads);
+            try (FeatureReader reader = dataStore.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+                assertTrue(reader instanceof JDBCPrefetchingFeatureReader);
+            }
+            List<SimpleFeature> actual = readAll(query);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getID(), actual.get(i).getID());
+                assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+                Geometry g = (Geometry) actual.get(i).getDefaultGeometry();
+                assertTrue(g.getUserData() instanceof CoordinateReferenceSystem);
+            }
+            assertNotSame(actual.get(0), actual.get(1));
+        }
+    }
+
+    @Test
+    public void testPrefetchEarlyClose() throws Exception {
+        dataStore.setPrefetchSize(1);
+        dataStore.setPrefetchDecoderThreads(2);
+        // more readers than pooled connections, would block if the connections were not released
+        for (int i = 0; i < 20; i++) {
+            try (FeatureReader reader = dataStore.getFeatureReader(new Query(tname("ft1")), Transaction.AUTO_COMMIT)) {
+                assertTrue(reader.hasNext());
+                assertNotNull(reader.next());
+            }
+        }
+    }
+
+    private List<SimpleFeature> readAll(Query query) throws Exception {
+        List<SimpleFeature> features = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                dataStore.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            while (reader.hasNext()) {
+                features.add(reader.next());
+            }
+        }
+        return features;
+    }
 }
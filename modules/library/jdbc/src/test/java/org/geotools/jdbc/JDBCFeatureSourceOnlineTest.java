@@ -19,12 +19,16 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNotNull;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import org.geotools.api.data.Query;
@@ -474,6 +478,91 @@ public void testNaturalSortingdesc() throws Exception {
         }
     }
 
+    @Test
+    public void testKeysetPaging() throws Exception {
+        assertEquals(Arrays.asList(0, 1, 2), readKeysetPages(SortBy.NATURAL_ORDER));
+        assertEquals(Arrays.asList(2, 1, 0), readKeysetPages(SortBy.REVERSE_ORDER));
+    }
+
+    @Test
+    @SuppressWarnings("PMD.UnusedLocalVariable")
+    public void testKeysetPagingUnsorted() throws Exception {
+        // without a sort the rows come in no particular order, there is no position to seek from
+        Query q = new Query(featureSource.getSchema().getTypeName());
+        q.setMaxFeatures(1);
+        SimpleFeature first = DataUtilities.first(featureSource.getFeatures(q));
+        assertNotNull(first);
+        assertNull(featureSource.getKeysetCursor(q, first));
+
+        // a cursor cannot be applied to an unsorted query either
+        Query sorted = new Query(q);
+        sorted.setSortBy(SortBy.NATURAL_ORDER);
+        String cursor = featureSource.getKeysetCursor(sorted, first);
+        assertNotNull(cursor);
+        q.getHints().put(JDBCFeatureSource.KEYSET_CURSOR, cursor);
+        try (SimpleFeatureIterator it = featureSource.getFeatures(q).features()) {
+            fail("Should have failed, the query is not sorted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /** Reads ft1 one feature at a time, passing the cursor of each page to the next query */
+    private List<Integer> readKeysetPages(SortBy sort) throws Exception {
+        List<Integer> values = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            Query q = new Query(featureSource.getSchema().getTypeName());
+            q.setSortBy(sort);
+            q.setMaxFeatures(1);
+            if (cursor != null) {
+                // the start index is ignored when a cursor is provided
+                q.setStartIndex(100);
+                q.getHints().put(JDBCFeatureSource.KEYSET_CURSOR, cursor);
+            }
+            SimpleFeatureCollection features = featureSource.getFeatures(q);
+            try (SimpleFeatureIterator it = features.features()) {
+                if (!it.hasNext()) {
+                    assertEquals(0, features.size());
+                    return values;
+                }
+                assertEquals(1, features.size());
+                SimpleFeature f = it.next();
+                values.add(((Number) f.getAttribute(aname("intProperty"))).intValue());
+                assertFalse(it.hasNext());
+                cursor = featureSource.getKeysetCursor(q, f);
+                assertNotNull(cursor);
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionedRead() throws Exception {
+        dataStore.setReadThreads(2);
+        featureSource.getFeatureSource().minPartitionKeys = 1;
+        // only tables with a single column, integral primary key can be split
+        List<Filter> ranges = featureSource.getFeatureSource().getPartitionRanges(2);
+        assumeNotNull(ranges);
+        assertEquals(2, ranges.size());
+
+        List<Integer> values = new ArrayList<>();
+        try (SimpleFeatureIterator it = featureSource.getFeatures().features()) {
+            while (it.hasNext()) {
+                values.add(((Number) it.next().getAttribute(aname("intProperty"))).intValue());
+            }
+        }
+        Collections.sort(values);
+        assertEquals(Arrays.asList(0, 1, 2), values);
+
+        // not split inside a transaction
+        try (Transaction t = new DefaultTransaction()) {
+            featureSource.setTransaction(t);
+            assertNull(featureSource.getFeatureSource().getPartitionRanges(2));
+        } finally {
+            featureSource.setTransaction(Transaction.AUTO_COMMIT);
+        }
+    }
+
     @Test
     public void testFeatureIteratorNextContract() throws Exception {
         try (SimpleFeatureIterator features = featureSource.getFeatures().features()) {
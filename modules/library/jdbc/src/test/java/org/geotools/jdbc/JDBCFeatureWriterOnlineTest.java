@@ -22,10 +22,15 @@
 import static org.junit.Assert.assertTrue;
 
 import java.io.Flushable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.SimpleFeatureStore;
 import org.geotools.api.data.Transaction;
 import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.junit.Test;
 
 /**
@@ -63,4 +68,44 @@ public void testFlushableAppends() throws Exception {
             assertTrue(writer instanceof Flushable);
         }
     }
+
+    @Test
+    public void testBatchedUpdatesAndDeletes() throws Exception {
+        dataStore.setBatchUpdateSize(2);
+        FeatureEventWatcher watcher = new FeatureEventWatcher();
+        SimpleFeatureStore featureStore = (SimpleFeatureStore) dataStore.getFeatureSource(tname("ft1"));
+        featureStore.addFeatureListener(watcher);
+
+        try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                dataStore.getFeatureWriter(tname("ft1"), Transaction.AUTO_COMMIT)) {
+            assertTrue(writer instanceof Flushable);
+            while (writer.hasNext()) {
+                SimpleFeature feature = writer.next();
+                String name = (String) feature.getAttribute(aname("stringProperty"));
+                if ("zero".equals(name)) {
+                    feature.setAttribute(aname("doubleProperty"), 10d);
+                    writer.write();
+                } else if ("one".equals(name)) {
+                    writer.remove();
+                } else if ("two".equals(name)) {
+                    // a different set of updated columns, goes in a different statement
+                    feature.setAttribute(aname("stringProperty"), "deux");
+                    feature.setAttribute(aname("intProperty"), 22);
+                    writer.write();
+                }
+            }
+        }
+        assertEquals(3, watcher.count);
+
+        Map<String, SimpleFeature> features = new HashMap<>();
+        try (SimpleFeatureIterator it = featureStore.getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                features.put((String) feature.getAttribute(aname("stringProperty")), feature);
+            }
+        }
+        assertEquals(2, features.size());
+        assertEquals(10d, ((Number) features.get("zero").getAttribute(aname("doubleProperty"))).doubleValue(), 0d);
+        assertEquals(22, ((Number) features.get("deux").getAttribute(aname("intProperty"))).intValue());
+    }
 }
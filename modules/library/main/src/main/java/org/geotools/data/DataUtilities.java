@@ -2085,6 +2085,27 @@ private static Object createValue(AttributeDescriptor descriptor, String rawText
         }
         return value;
     }
+
+    /**
+     * Rough estimate of the heap memory used by a feature, its geometries and its attributes. Meant to bound the number
+     * of features kept in memory before spilling them to disk, not for exact accounting.
+     *
+     * @param feature feature to measure
+     * @return estimated size in bytes
+     */
+    public static long estimateSize(SimpleFeature feature) {
+        long size = 64;
+        for (Object value : feature.getAttributes()) {
+            if (value instanceof Geometry) {
+                size += 64 + 24L * ((Geometry) value).getNumPoints();
+            } else if (value instanceof String) {
+                size += 48 + 2L * ((String) value).length();
+            } else {
+                size += 24;
+            }
+        }
+        return size;
+    }
     /**
      * Produce a String encoding of SimpleFeature for use with {@link #createFeature}.
      *
@@ -16,13 +16,14 @@
  */
 package org.geotools.data;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.geotools.api.feature.GeometryAttribute;
 import org.geotools.api.feature.IllegalAttributeException;
@@ -44,18 +45,27 @@
  *
  * <p>This is used to simulate the functionality of a database including transaction independence.
  *
+ * <p>Large edit sessions can be kept out of the heap by setting a spill threshold, either with {@link #Diff(long)} or
+ * with the {@link #SPILL_THRESHOLD_KEY} system property: once the estimated size of the added and modified features
+ * held in memory exceeds it, they are moved to a temporary file and read back on access. Only the feature ids, their
+ * file offsets and a spatial index of the feature ids are kept in memory. The file is deleted when the diff is cleared.
+ *
  * @author Jody Garnett
  */
 public class Diff {
+
+    /** System property setting the spill threshold of new diffs, in bytes. By default features are never spilled. */
+    public static final String SPILL_THRESHOLD_KEY = "org.geotools.data.diff.spillThreshold";
+
     /** Map of modified features; by feature id */
-    private final Map<String, SimpleFeature> modifiedFeatures;
+    private final SpillableFeatureMap modifiedFeatures;
 
     /**
      * Map of added features; by feature id.
      *
      * <p>Note deleted features are represented as a null value recorded against their feature id
      */
-    private final Map<String, SimpleFeature> addedFeatures;
+    private final SpillableFeatureMap addedFeatures;
 
     /** List of added feature ids; values stored in added above */
     private final List<String> addedFidList;
@@ -103,17 +113,33 @@ public class Diff {
     /** counter used to genreate the "next" new feature id */
     public int nextFID = 0;
 
-    /** Spatial index; allowing quick qccess to features */
+    /** Spatial index of the feature ids; allowing quick qccess to features */
     private SpatialIndex spatialIndex;
 
+    /** Estimated size of the in memory features above which they are moved to disk, negative to disable */
+    private final long spillThreshold;
+
+    /** Holds the features moved out of memory */
+    final DiffSpillFile spillFile = new DiffSpillFile();
+
     /** Simple object used for locking */
     final Object mutex;
 
-    /** Create an empty Diff */
+    /** Create an empty Diff, using the spill threshold set by the {@link #SPILL_THRESHOLD_KEY} system property */
     public Diff() {
+        this(Long.getLong(SPILL_THRESHOLD_KEY, -1));
+    }
+
+    /**
+     * Create an empty Diff moving features to disk once their estimated size exceeds the threshold
+     *
+     * @param spillThreshold The threshold in bytes, a negative value keeps all features in memory
+     */
+    public Diff(long spillThreshold) {
         // private fields
-        modifiedFeatures = new ConcurrentHashMap<>();
-        addedFeatures = new ConcurrentHashMap<>();
+        this.spillThreshold = spillThreshold;
+        modifiedFeatures = new SpillableFeatureMap(spillFile);
+        addedFeatures = new SpillableFeatureMap(spillFile);
         addedFidList = new CopyOnWriteArrayList<>();
 
         // public "views" requiring synchronised( mutex )
@@ -124,11 +150,16 @@ public Diff() {
         mutex = this;
     }
 
-    /** Diff copy. */
+    /** Diff copy. Spilled features are copied to a spill file of the new diff. */
     public Diff(Diff other) {
         // copy data
-        modifiedFeatures = new ConcurrentHashMap<>(other.modifiedFeatures);
-        addedFeatures = new ConcurrentHashMap<>(other.addedFeatures);
+        spillThreshold = other.spillThreshold;
+        modifiedFeatures = new SpillableFeatureMap(spillFile);
+        addedFeatures = new SpillableFeatureMap(spillFile);
+        synchronized (other.mutex) {
+            copy(other.modifiedFeatures, modifiedFeatures);
+            copy(other.addedFeatures, addedFeatures);
+        }
         addedFidList = new CopyOnWriteArrayList<>(other.addedFidList);
 
         // create public "views"
@@ -140,6 +171,14 @@ public Diff(Diff other) {
         mutex = this;
     }
 
+    /** Copies the features, spilling them as the threshold is reached */
+    private void copy(SpillableFeatureMap source, SpillableFeatureMap target) {
+        for (Entry<String, SimpleFeature> entry : source.entrySet()) {
+            target.put(entry.getKey(), entry.getValue());
+            checkSpill();
+        }
+    }
+
     /**
      * Check if modifiedFeatures and addedFeatures are empty.
      *
@@ -158,6 +197,32 @@ public void clear() {
             addedFidList.clear();
             modifiedFeatures.clear();
             spatialIndex = new Quadtree();
+            spillFile.close();
+        }
+    }
+
+    /** Spill threshold, in bytes, negative if features are always kept in memory */
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /** Whether some of the features have been moved to disk */
+    public boolean isSpilled() {
+        synchronized (mutex) {
+            return !addedFeatures.spilled.isEmpty() || !modifiedFeatures.spilled.isEmpty();
+        }
+    }
+
+    /** Moves the in memory features to disk once their estimated size exceeds the threshold */
+    private void checkSpill() {
+        if (spillThreshold < 0 || addedFeatures.memoryUsage + modifiedFeatures.memoryUsage <= spillThreshold) {
+            return;
+        }
+        try {
+            addedFeatures.spill();
+            modifiedFeatures.spill();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to move the diff features to disk", e);
         }
     }
 
@@ -181,10 +246,9 @@ public void modify(String fid, SimpleFeature f) {
                 old = modifiedFeatures.get(fid);
                 modifiedFeatures.put(fid, f);
             }
-            if (old != null) {
-                spatialIndex.remove(ReferencedEnvelope.reference(old.getBounds()), old);
-            }
-            addToSpatialIndex(f);
+            removeFromSpatialIndex(fid, old);
+            addToSpatialIndex(fid, f);
+            checkSpill();
         }
     }
 
@@ -192,14 +256,28 @@ public void add(String fid, SimpleFeature f) {
         synchronized (mutex) {
             addedFeatures.put(fid, f);
             addedFidList.add(fid); // preserve order features are added in
-            addToSpatialIndex(f);
+            addToSpatialIndex(fid, f);
+            checkSpill();
         }
     }
 
     protected void addToSpatialIndex(SimpleFeature f) {
+        if (f != null) {
+            addToSpatialIndex(f.getID(), f);
+        }
+    }
+
+    /** Indexes the feature id by the feature bounds */
+    protected void addToSpatialIndex(String fid, SimpleFeature f) {
         if (f != null && f.getDefaultGeometry() != null) {
             BoundingBox bounds = f.getBounds();
-            if (!bounds.isEmpty()) spatialIndex.insert(ReferencedEnvelope.reference(bounds), f);
+            if (!bounds.isEmpty()) spatialIndex.insert(ReferencedEnvelope.reference(bounds), fid);
+        }
+    }
+
+    private void removeFromSpatialIndex(String fid, SimpleFeature old) {
+        if (old != null && old != NULL && old.getDefaultGeometry() != null) {
+            spatialIndex.remove(ReferencedEnvelope.reference(old.getBounds()), fid);
         }
     }
 
@@ -215,16 +293,26 @@ public void remove(String fid) {
                 old = modifiedFeatures.get(fid);
                 modifiedFeatures.put(fid, Diff.NULL);
             }
-            if (old != null) {
-                spatialIndex.remove(ReferencedEnvelope.reference(old.getBounds()), old);
-            }
+            removeFromSpatialIndex(fid, old);
         }
     }
 
+    /** Returns the added and modified features whose bounds intersect the envelope */
     @SuppressWarnings("unchecked")
     public List<SimpleFeature> queryIndex(Envelope env) {
         synchronized (mutex) {
-            return spatialIndex.query(env);
+            List<String> fids = spatialIndex.query(env);
+            List<SimpleFeature> result = new ArrayList<>(fids.size());
+            for (String fid : fids) {
+                SimpleFeature f = modifiedFeatures.get(fid);
+                if (f == null) {
+                    f = addedFeatures.get(fid);
+                }
+                if (f != null && f != NULL) {
+                    result.add(f);
+                }
+            }
+            return result;
         }
     }
 
@@ -289,8 +377,8 @@ protected Quadtree copySTRtreeFrom(Diff diff) {
             while (i.hasNext()) {
                 Entry<String, SimpleFeature> e = i.next();
                 SimpleFeature f = e.getValue();
-                if (!diff.modifiedFeatures.containsKey(f.getID())) {
-                    tree.insert(ReferencedEnvelope.reference(f.getBounds()), f);
+                if (!diff.modifiedFeatures.containsKey(e.getKey()) && f.getDefaultGeometry() != null) {
+                    tree.insert(ReferencedEnvelope.reference(f.getBounds()), e.getKey());
                 }
             }
             Iterator<Entry<String, SimpleFeature>> j =
@@ -298,7 +386,9 @@ protected Quadtree copySTRtreeFrom(Diff diff) {
             while (j.hasNext()) {
                 Entry<String, SimpleFeature> e = j.next();
                 SimpleFeature f = e.getValue();
-                tree.insert(ReferencedEnvelope.reference(f.getBounds()), f);
+                if (f != NULL && f.getDefaultGeometry() != null) {
+                    tree.insert(ReferencedEnvelope.reference(f.getBounds()), e.getKey());
+                }
             }
         }
 
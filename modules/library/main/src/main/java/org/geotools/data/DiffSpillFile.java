@@ -0,0 +1,182 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.data.sort.SimpleFeatureIO;
+import org.geotools.data.store.ContentFeatureStore;
+import org.geotools.feature.FeatureTypes;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Temporary file holding the features a {@link Diff} moved out of memory. Features are appended with
+ * {@link SimpleFeatureIO} and read back by offset, a feature written again is appended at the end, leaving the old
+ * copy unreferenced. The file is deleted on {@link #close()}.
+ *
+ * <p>Only features of the type of the first feature written can be stored, and only if they carry no user data besides
+ * the provided fid hints and the original feature link, since neither the feature nor the geometry user data survive
+ * the round trip.
+ */
+class DiffSpillFile {
+
+    static final Logger LOGGER = Logging.getLogger(DiffSpillFile.class);
+
+    /**
+     * User data keys that can be dropped: the fid hints are implied by the fid the feature is stored under, the
+     * original feature link is only used while writing the feature in the diff
+     */
+    static final Set<Object> TRANSIENT_USER_DATA =
+            Set.of(Hints.USE_PROVIDED_FID, Hints.PROVIDED_FID, ContentFeatureStore.ORIGINAL_FEATURE_KEY);
+
+    /** Bindings {@link SimpleFeatureIO} writes natively, other values are serialized */
+    static final Set<Class<?>> NATIVE_BINDINGS = Set.of(
+            Boolean.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            String.class,
+            Date.class,
+            java.sql.Date.class,
+            java.sql.Time.class,
+            java.sql.Timestamp.class);
+
+    /** Longest string surely fitting the 64KB limit of {@link java.io.DataOutput#writeUTF(String)} */
+    static final int MAX_STRING_LENGTH = SimpleFeatureIO.MAX_BYTES_LENGTH / 3;
+
+    SimpleFeatureType schema;
+
+    File file;
+
+    SimpleFeatureIO io;
+
+    long length;
+
+    /**
+     * Appends the feature to the file
+     *
+     * @return The offset of the feature, or null if the feature cannot be stored and has to stay in memory
+     */
+    synchronized Long write(SimpleFeature feature) throws IOException {
+        if (schema == null) {
+            schema = feature.getFeatureType();
+        }
+        SimpleFeature normalized = normalize(feature);
+        if (normalized == null) {
+            return null;
+        }
+        if (io == null) {
+            file = File.createTempFile("diff", ".features");
+            io = new SimpleFeatureIO(file, schema);
+        }
+        // reads move the file pointer around
+        long offset = length;
+        io.seek(offset);
+        io.write(normalized);
+        length = io.getOffset();
+        return offset;
+    }
+
+    /** Reads back the feature written at the specified offset */
+    synchronized SimpleFeature read(long offset) throws IOException {
+        if (io == null) {
+            throw new IOException("The spill file has been closed");
+        }
+        io.seek(offset);
+        return io.read();
+    }
+
+    /** Amount of disk space used by the file, in bytes */
+    synchronized long getLength() {
+        return length;
+    }
+
+    /** Closes and deletes the file */
+    synchronized void close() {
+        if (io != null) {
+            try {
+                io.close(true);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to remove the diff spill file " + file, e);
+            }
+            io = null;
+            file = null;
+            length = 0;
+        }
+    }
+
+    /**
+     * Returns a feature whose values match the bindings {@link SimpleFeatureIO} relies on, or null if the feature
+     * cannot be stored without losing information
+     */
+    private SimpleFeature normalize(SimpleFeature feature) {
+        if (feature.getFeatureType() != schema && !FeatureTypes.equals(feature.getFeatureType(), schema)) {
+            return null;
+        }
+        if (!TRANSIENT_USER_DATA.containsAll(feature.getUserData().keySet())) {
+            return null;
+        }
+        SimpleFeatureBuilder builder = null;
+        for (int i = 0; i < schema.getAttributeCount(); i++) {
+            Object value = feature.getAttribute(i);
+            if (value == null) {
+                continue;
+            }
+            AttributeDescriptor descriptor = schema.getDescriptor(i);
+            Class<?> binding = descriptor.getType().getBinding();
+            if (value instanceof Geometry) {
+                Geometry geometry = (Geometry) value;
+                if (geometry.getUserData() != null || !binding.isInstance(value)) {
+                    return null;
+                }
+            } else if (value instanceof String && ((String) value).length() > MAX_STRING_LENGTH) {
+                // might not fit in the modified UTF-8 encoding used for strings
+                return null;
+            } else if (NATIVE_BINDINGS.contains(binding)) {
+                if (value.getClass() != binding) {
+                    Object converted = Converters.convert(value, binding);
+                    if (converted == null) {
+                        return null;
+                    }
+                    if (builder == null) {
+                        builder = new SimpleFeatureBuilder(schema);
+                        builder.init(feature);
+                    }
+                    builder.set(i, converted);
+                }
+            } else if (!(value instanceof Serializable)) {
+                return null;
+            }
+        }
+        return builder == null ? feature : builder.buildFeature(feature.getID());
+    }
+}
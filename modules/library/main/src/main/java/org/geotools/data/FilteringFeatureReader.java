@@ -23,8 +23,11 @@
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.IllegalAttributeException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
+import org.geotools.data.statistics.FeatureStatistics;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.filter.visitor.BindingFilterVisitor;
 
 /**
@@ -54,8 +57,25 @@
      * @param filter Filter used to limit the results of featureReader
      */
     public FilteringFeatureReader(FeatureReader<T, F> featureReader, Filter filter) {
+        this(featureReader, filter, null);
+    }
+
+    /**
+     * Creates a new instance of AbstractFeatureReader, ordering the filter evaluation using the statistics of the
+     * features
+     *
+     * @param featureReader FeatureReader<SimpleFeatureType, SimpleFeature> being filtered
+     * @param filter Filter used to limit the results of featureReader
+     * @param statistics The statistics of the features read, or null if not available
+     */
+    public FilteringFeatureReader(FeatureReader<T, F> featureReader, Filter filter, FeatureStatistics statistics) {
         this.featureReader = featureReader;
-        this.filter = (Filter) filter.accept(new BindingFilterVisitor(featureReader.getFeatureType()), null);
+        T schema = featureReader.getFeatureType();
+        Filter bound = (Filter) filter.accept(new BindingFilterVisitor(schema), null);
+        // bind attribute indexes and literals once, rather than on each evaluation
+        this.filter = schema instanceof SimpleFeatureType
+                ? FilterCompiler.compile(bound, (SimpleFeatureType) schema, statistics)
+                : bound;
         next = null;
     }
 
@@ -0,0 +1,309 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A {@link FeatureReader} merging the contents of a list of partitions, each one opened and drained by its own task in
+ * the provided {@link ExecutorService} into a bounded queue.
+ *
+ * <p>In ordered mode the features are returned partition by partition, following the list order, so if the
+ * partitions are contiguous ranges of the same source the natural order of the source is preserved. In unordered
+ * mode the features are returned as soon as any of the partitions produces them.
+ *
+ * <p>Each partition reader is opened and closed by the task draining it, on the same thread, as some readers hold
+ * resources bound to the thread that acquired them (e.g., file locks). Partitions whose task did not get a chance to
+ * run are never opened. The reader waits for all the partitions to be released before returning from
+ * {@link #close()}.
+ */
+public class PartitionedFeatureReader<T extends FeatureType, F extends Feature> implements FeatureReader<T, F> {
+
+    static final Logger LOGGER = Logging.getLogger(PartitionedFeatureReader.class);
+
+    /** The default number of features buffered for each partition */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /** Marks the end of a partition */
+    private static final Object END = new Object();
+
+    /** How long the producers wait on a full queue before checking if the reader got closed */
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private static ExecutorService DEFAULT_EXECUTOR;
+
+    /**
+     * Opens the reader of a partition, called by the thread draining it
+     *
+     * @param <T> The feature type
+     * @param <F> The feature
+     */
+    @FunctionalInterface
+    public interface Partition<T extends FeatureType, F extends Feature> {
+
+        /** Opens the partition reader, the caller is responsible for closing it */
+        FeatureReader<T, F> open() throws IOException;
+    }
+
+    /** Wraps an exception thrown while reading a partition */
+    private static final class Failure {
+        Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    T featureType;
+
+    List<Partition<T, F>> partitions;
+
+    List<BlockingQueue<Object>> queues;
+
+    List<Future<?>> futures;
+
+    AtomicBoolean[] claimed;
+
+    CountDownLatch released;
+
+    volatile boolean closed;
+
+    boolean ordered;
+
+    int current;
+
+    int completed;
+
+    F next;
+
+    /**
+     * Builds a reader buffering {@link #DEFAULT_QUEUE_SIZE} features per partition
+     *
+     * @param featureType The feature type returned by all the partition readers
+     * @param partitions The partitions, at least one is required
+     * @param executor The executor used to drain the partitions, if null a shared daemon thread pool will be used
+     * @param ordered If true the partitions will be returned one after the other, following the list order
+     */
+    public PartitionedFeatureReader(
+            T featureType, List<? extends Partition<T, F>> partitions, ExecutorService executor, boolean ordered) {
+        this(featureType, partitions, executor, ordered, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Builds a reader
+     *
+     * @param featureType The feature type returned by all the partition readers
+     * @param partitions The partitions, at least one is required
+     * @param executor The executor used to drain the partitions, if null a shared daemon thread pool will be used
+     * @param ordered If true the partitions will be returned one after the other, following the list order
+     * @param queueSize The number of features buffered for each partition
+     */
+    public PartitionedFeatureReader(
+            T featureType,
+            List<? extends Partition<T, F>> partitions,
+            ExecutorService executor,
+            boolean ordered,
+            int queueSize) {
+        if (partitions == null || partitions.isEmpty()) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("The queue size must be positive, but was " + queueSize);
+        }
+        this.partitions = new ArrayList<>(partitions);
+        this.featureType = featureType;
+        this.ordered = ordered;
+        this.queues = new ArrayList<>();
+        if (ordered) {
+            for (int i = 0; i < partitions.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(queueSize));
+            }
+        } else {
+            queues.add(new ArrayBlockingQueue<>(queueSize * partitions.size()));
+        }
+        this.claimed = new AtomicBoolean[partitions.size()];
+        this.released = new CountDownLatch(partitions.size());
+
+        ExecutorService service = executor != null ? executor : getDefaultExecutor();
+        this.futures = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            claimed[i] = new AtomicBoolean();
+            final int partition = i;
+            futures.add(service.submit(() -> drain(partition)));
+        }
+    }
+
+    /**
+     * Returns the shared executor used when none is provided, a cached pool of daemon threads
+     *
+     * @return The default executor
+     */
+    public static synchronized ExecutorService getDefaultExecutor() {
+        if (DEFAULT_EXECUTOR == null) {
+            DEFAULT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "GeoTools partitioned reader");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return DEFAULT_EXECUTOR;
+    }
+
+    private BlockingQueue<Object> getQueue(int partition) {
+        return ordered ? queues.get(partition) : queues.get(0);
+    }
+
+    /** Opens a partition and copies all its features into its queue, closing it on the same thread */
+    private void drain(int partition) {
+        if (!claimed[partition].compareAndSet(false, true)) {
+            // close() got here first and already released the partition
+            return;
+        }
+        BlockingQueue<Object> queue = getQueue(partition);
+        FeatureReader<T, F> reader = null;
+        try {
+            if (!closed) {
+                reader = partitions.get(partition).open();
+            }
+            while (reader != null && !closed && reader.hasNext()) {
+                if (!offer(queue, reader.next())) {
+                    return;
+                }
+            }
+        } catch (Throwable t) {
+            offer(queue, new Failure(t));
+        } finally {
+            try {
+                if (reader != null) {
+                    reader.close();
+                }
+            } catch (Throwable t) {
+                LOGGER.log(Level.FINE, "Failed to close partition reader", t);
+            }
+            offer(queue, END);
+            released.countDown();
+        }
+    }
+
+    /** Adds an item to the queue, returns false if the reader got closed (or interrupted) in the meantime */
+    private boolean offer(BlockingQueue<Object> queue, Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public T getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public F next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("hasNext() returned false");
+        }
+        F result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() throws IOException {
+        if (closed) {
+            throw new IOException("Reader has been closed");
+        }
+        while (next == null) {
+            if (ordered ? current >= queues.size() : completed >= partitions.size()) {
+                return false;
+            }
+            Object item;
+            try {
+                item = getQueue(current).take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the next feature");
+            }
+            if (item == END) {
+                if (ordered) {
+                    current++;
+                } else {
+                    completed++;
+                }
+            } else if (item instanceof Failure) {
+                Throwable cause = ((Failure) item).cause;
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("Failed to read partition", cause);
+            } else {
+                next = (F) item;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < partitions.size(); i++) {
+            if (claimed[i].compareAndSet(false, true)) {
+                // the task did not start yet, the partition was never opened
+                futures.get(i).cancel(false);
+                released.countDown();
+            }
+        }
+        // unblock the producers stuck on a full queue
+        for (BlockingQueue<Object> queue : queues) {
+            queue.clear();
+        }
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the partition readers to close");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.api.feature.simple.SimpleFeature;
+
+/**
+ * Map of features by feature id used by {@link Diff}, keeping the features in memory until {@link #spill()}
+ * moves them to a {@link DiffSpillFile}, leaving only their offset in memory. Spilled features are read back on access.
+ *
+ * <p>Like the {@link ConcurrentHashMap} it replaces, iterators are weakly consistent: a feature spilled while iterating
+ * might be returned twice. Modifications are expected to happen while synchronized on the owning {@link Diff}.
+ */
+class SpillableFeatureMap extends AbstractMap<String, SimpleFeature> {
+
+    /** Features still in memory */
+    final Map<String, SimpleFeature> memory = new ConcurrentHashMap<>();
+
+    /** Offsets of the features in the spill file */
+    final Map<String, Long> spilled = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of the in memory features not yet offered to the spill file. Features the file rejected stay in memory, but
+     * are not offered again until replaced, so that spilling does not scan them over and over.
+     */
+    final Set<String> pending = new HashSet<>();
+
+    final DiffSpillFile file;
+
+    /** Estimated size of the features held in memory */
+    long memoryUsage;
+
+    SpillableFeatureMap(DiffSpillFile file) {
+        this.file = file;
+    }
+
+    @Override
+    public SimpleFeature get(Object key) {
+        SimpleFeature feature = memory.get(key);
+        if (feature == null) {
+            Long offset = spilled.get(key);
+            if (offset != null) {
+                return read(offset);
+            }
+        }
+        return feature;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return memory.containsKey(key) || spilled.containsKey(key);
+    }
+
+    /**
+     * Stores the feature in memory, replacing any spilled copy
+     *
+     * @return The previous feature if it was held in memory, null otherwise
+     */
+    @Override
+    public SimpleFeature put(String key, SimpleFeature value) {
+        spilled.remove(key);
+        pending.add(key);
+        SimpleFeature old = memory.put(key, value);
+        memoryUsage += estimateSize(value) - estimateSize(old);
+        return old;
+    }
+
+    /**
+     * Removes the feature
+     *
+     * @return The removed feature if it was held in memory, null otherwise
+     */
+    @Override
+    public SimpleFeature remove(Object key) {
+        spilled.remove(key);
+        pending.remove(key);
+        SimpleFeature old = memory.remove(key);
+        memoryUsage -= estimateSize(old);
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return memory.size() + spilled.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return memory.isEmpty() && spilled.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        spilled.clear();
+        pending.clear();
+        memoryUsage = 0;
+    }
+
+    @Override
+    public Set<Entry<String, SimpleFeature>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, SimpleFeature>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return SpillableFeatureMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Moves the features put in memory since the last call to the spill file, the ones the file cannot store stay in
+     * memory
+     */
+    void spill() throws IOException {
+        for (Iterator<String> keys = pending.iterator(); keys.hasNext(); ) {
+            String key = keys.next();
+            SimpleFeature feature = memory.get(key);
+            if (feature != null && feature != Diff.NULL) {
+                Long offset = file.write(feature);
+                if (offset != null) {
+                    // publish the spilled copy before removing the in memory one
+                    spilled.put(key, offset);
+                    memory.remove(key);
+                    memoryUsage -= estimateSize(feature);
+                }
+            }
+            keys.remove();
+        }
+    }
+
+    private SimpleFeature read(long offset) {
+        try {
+            return file.read(offset);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read back a feature from the diff spill file", e);
+        }
+    }
+
+    /** Estimated memory used by a map value, removals marked with {@link Diff#NULL} do not count */
+    static long estimateSize(SimpleFeature f) {
+        if (f == null || f == Diff.NULL) {
+            return 0;
+        }
+        return DataUtilities.estimateSize(f);
+    }
+
+    /** Returns the in memory entries first, then reads the spilled ones */
+    class EntryIterator implements Iterator<Entry<String, SimpleFeature>> {
+
+        Iterator<Entry<String, SimpleFeature>> memoryEntries = memory.entrySet().iterator();
+
+        Iterator<Entry<String, Long>> spilledEntries = spilled.entrySet().iterator();
+
+        @Override
+        public boolean hasNext() {
+            return memoryEntries.hasNext() || spilledEntries.hasNext();
+        }
+
+        @Override
+        public Entry<String, SimpleFeature> next() {
+            if (memoryEntries.hasNext()) {
+                return memoryEntries.next();
+            } else if (spilledEntries.hasNext()) {
+                Entry<String, Long> entry = spilledEntries.next();
+                return new SimpleImmutableEntry<>(entry.getKey(), read(entry.getValue()));
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
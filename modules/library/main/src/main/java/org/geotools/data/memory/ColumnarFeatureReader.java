@@ -0,0 +1,118 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.filter.BatchEvaluator;
+import org.geotools.filter.FilterCompiler;
+
+/**
+ * Reads the features of a {@link ColumnarTable}, building them only for the candidate rows, and only returning the
+ * ones matching the filter. Filters are compiled against the table schema and evaluated on blocks of features.
+ */
+class ColumnarFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    /** Number of features built and filtered at once */
+    static final int BLOCK_SIZE = 256;
+
+    ColumnarTable table;
+
+    /** The candidate rows, or null to scan the whole table */
+    int[] rows;
+
+    /** Number of rows to read */
+    int count;
+
+    int position;
+
+    Filter filter;
+
+    /** The current block of features, and the ones matching the filter in it */
+    List<SimpleFeature> block = new ArrayList<>(BLOCK_SIZE);
+
+    BitSet selection = new BitSet(BLOCK_SIZE);
+
+    int blockPosition;
+
+    ColumnarFeatureReader(ColumnarTable table, int[] rows, Filter filter) {
+        this.table = table;
+        this.rows = rows;
+        // rows appended after the reader opened are not returned
+        this.count = rows != null ? rows.length : table.size();
+        this.filter = filter == null ? Filter.INCLUDE : FilterCompiler.compile(filter, table.schema);
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return table.schema;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (table == null) {
+            return false;
+        }
+        int next = selection.nextSetBit(blockPosition);
+        while (next < 0 && position < count) {
+            readBlock();
+            next = selection.nextSetBit(0);
+        }
+        blockPosition = next < 0 ? block.size() : next;
+        return next >= 0;
+    }
+
+    private void readBlock() {
+        block.clear();
+        int end = Math.min(count, position + BLOCK_SIZE);
+        for (; position < end; position++) {
+            block.add(table.getFeature(rows != null ? rows[position] : position));
+        }
+        selection.clear();
+        selection.set(0, block.size());
+        BatchEvaluator.filter(filter, block, selection);
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, NoSuchElementException {
+        if (table == null) {
+            throw new IOException("Feature reader has been closed");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more features");
+        }
+        SimpleFeature result = block.get(blockPosition);
+        selection.clear(blockPosition);
+        blockPosition++;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        table = null;
+        rows = null;
+        block = null;
+        selection = null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.io.IOException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * Read access to the features held by a {@link ColumnarMemoryDataStore}. Filters are evaluated natively, using the
+ * table indexes to restrict the rows to be read whenever possible.
+ */
+public class ColumnarFeatureSource extends ContentFeatureSource {
+
+    public ColumnarFeatureSource(ContentEntry entry, Query query) {
+        super(entry, query);
+    }
+
+    /** Access parent ColumnarMemoryDataStore. */
+    @Override
+    public ColumnarMemoryDataStore getDataStore() {
+        return (ColumnarMemoryDataStore) super.getDataStore();
+    }
+
+    ColumnarTable getTable() throws IOException {
+        return getDataStore().table(entry.getName());
+    }
+
+    @Override
+    protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+        if (query.getFilter() == Filter.INCLUDE) {
+            return getTable().getBounds();
+        }
+        // feature by feature scan required
+        return null;
+    }
+
+    @Override
+    protected int getCountInternal(Query query) throws IOException {
+        if (query.getFilter() == Filter.INCLUDE) {
+            return getTable().size();
+        }
+        // feature by feature count required
+        return -1;
+    }
+
+    @Override
+    protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+        ColumnarTable table = getTable();
+        Filter filter = query.getFilter();
+        int[] rows = null;
+        if (filter != null && filter != Filter.INCLUDE) {
+            rows = new ColumnarQuery(table).query(filter);
+        }
+        return new ColumnarFeatureReader(table, rows, filter);
+    }
+
+    @Override
+    protected boolean canFilter(Query query) {
+        return true;
+    }
+
+    @Override
+    protected SimpleFeatureType buildFeatureType() throws IOException {
+        return getTable().schema;
+    }
+}
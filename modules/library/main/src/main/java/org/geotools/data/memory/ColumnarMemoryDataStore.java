@@ -0,0 +1,170 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ContentDataStore;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.feature.FeatureTypes;
+
+/**
+ * A read only, append only, in memory data store keeping features column by column, as an alternative to
+ * {@link MemoryDataStore} for large data sets.
+ *
+ * <p>Numbers, dates and booleans are stored in primitive arrays, strings are dictionary encoded and geometries packed
+ * in coordinate arrays, so each feature costs a fraction of a {@link SimpleFeature} object, and features are only built
+ * when read. Spatial filters on the default geometry are answered by a Sort-Tile-Recursive packed R-tree, feature id
+ * filters by a fid map, and equality, range and between filters on numbers, dates and strings by sorted column indexes,
+ * all built lazily on the first query after an append. Other filters scan the columns.
+ *
+ * <p>Geometries lose their user data and SRID, and M ordinates, while {@link java.sql.Timestamp} values and values of
+ * types not listed above are kept as they are.
+ */
+public class ColumnarMemoryDataStore extends ContentDataStore {
+
+    Map<Name, ColumnarTable> tables = new ConcurrentHashMap<>();
+
+    public ColumnarMemoryDataStore() {
+        super();
+    }
+
+    /** Builds the store and loads the features of the collection */
+    public ColumnarMemoryDataStore(SimpleFeatureCollection collection) throws IOException {
+        addFeatures(collection);
+    }
+
+    /**
+     * Appends the features of the collection, creating their type if needed
+     *
+     * @throws IOException If the collection schema is incompatible with the one of an existing type with the same name
+     */
+    public void addFeatures(SimpleFeatureCollection collection) throws IOException {
+        ColumnarTable table = table(collection.getSchema());
+        table.lock.writeLock().lock();
+        try (SimpleFeatureIterator it = collection.features()) {
+            while (it.hasNext()) {
+                table.add(it.next());
+            }
+        } finally {
+            table.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the features, creating their types if needed
+     *
+     * @throws IOException If a feature schema is incompatible with the one of an existing type with the same name
+     */
+    public void addFeatures(Collection<SimpleFeature> features) throws IOException {
+        for (SimpleFeature feature : features) {
+            table(feature.getFeatureType()).addAll(Collections.singletonList(feature));
+        }
+    }
+
+    /** Approximate memory used by the features of the specified type, in bytes */
+    public long getMemoryUsage(String typeName) throws IOException {
+        return table(name(typeName)).getMemoryUsage();
+    }
+
+    /** Returns the table of the schema, creating it if needed */
+    ColumnarTable table(SimpleFeatureType schema) throws IOException {
+        synchronized (tables) {
+            ColumnarTable table = tables.get(schema.getName());
+            if (table == null) {
+                table = new ColumnarTable(schema);
+                tables.put(schema.getName(), table);
+            } else if (!FeatureTypes.equals(table.schema, schema)) {
+                throw new IOException("Type "
+                        + schema.getName()
+                        + " schema "
+                        + table.schema
+                        + " incompatible with provided "
+                        + schema);
+            }
+            return table;
+        }
+    }
+
+    ColumnarTable table(Name typeName) throws IOException {
+        ColumnarTable table = tables.get(typeName);
+        if (table == null) {
+            throw new IOException("Type name " + typeName + " not found");
+        }
+        return table;
+    }
+
+    @Override
+    protected List<Name> createTypeNames() {
+        List<Name> names = new ArrayList<>(tables.keySet());
+        Collections.sort(names, (n1, n2) -> n1.toString().compareTo(n2.toString()));
+        return names;
+    }
+
+    @Override
+    protected ContentFeatureSource createFeatureSource(ContentEntry entry) {
+        return new ColumnarFeatureSource(entry, Query.ALL);
+    }
+
+    /**
+     * Adds an empty type, to be filled with {@link #addFeatures(SimpleFeatureCollection)}
+     *
+     * @throws IOException If the type already exists
+     */
+    @Override
+    public void createSchema(SimpleFeatureType featureType) throws IOException {
+        synchronized (tables) {
+            if (tables.containsKey(featureType.getName())) {
+                throw new IOException(featureType.getName() + " already exists");
+            }
+            tables.put(featureType.getName(), new ColumnarTable(featureType));
+        }
+    }
+
+    @Override
+    public void removeSchema(Name typeName) throws IOException {
+        if (typeName != null) {
+            // graceful remove, its fine if the type has never been registered
+            synchronized (tables) {
+                tables.remove(typeName);
+                entries.remove(typeName);
+            }
+        }
+    }
+
+    @Override
+    public void removeSchema(String typeName) throws IOException {
+        for (Name name : tables.keySet()) {
+            if (name.getLocalPart().equals(typeName)) {
+                removeSchema(name);
+                return;
+            }
+        }
+    }
+}
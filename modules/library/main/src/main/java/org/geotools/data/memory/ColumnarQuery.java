@@ -0,0 +1,142 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.Arrays;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.identity.Identifier;
+import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.api.filter.spatial.Contains;
+import org.geotools.api.filter.spatial.Crosses;
+import org.geotools.api.filter.spatial.Equals;
+import org.geotools.api.filter.spatial.Intersects;
+import org.geotools.api.filter.spatial.Overlaps;
+import org.geotools.api.filter.spatial.Touches;
+import org.geotools.api.filter.spatial.Within;
+import org.geotools.data.memory.ColumnarTable.Column;
+import org.geotools.data.memory.ColumnarTable.NumericColumn;
+import org.geotools.data.memory.ColumnarTable.StringColumn;
+import org.geotools.data.util.SortedIndexQuery;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Uses the indexes of a {@link ColumnarTable} to find the rows that might match a filter: feature ids are looked up in
+ * the fid map, spatial filters on the default geometry in the spatial index, equality, range and between comparisons
+ * in the column indexes. The result is a superset of the matching rows, the filter still needs to be evaluated on the
+ * features read.
+ */
+class ColumnarQuery extends SortedIndexQuery {
+
+    ColumnarTable table;
+
+    ColumnarQuery(ColumnarTable table) {
+        this.table = table;
+    }
+
+    @Override
+    protected int[] queryOther(Filter filter) {
+        if (filter instanceof Id) {
+            return query((Id) filter);
+        } else if (filter instanceof BinarySpatialOperator) {
+            return query((BinarySpatialOperator) filter);
+        }
+        return null;
+    }
+
+    @Override
+    protected Class<?> getRangeBinding(String property) {
+        if (!(table.getColumn(property) instanceof NumericColumn)) {
+            return null;
+        }
+        return table.schema.getDescriptor(property).getType().getBinding();
+    }
+
+    @Override
+    protected int[] range(String property, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        // ranges are looked up inclusive, the filter evaluation takes care of strict comparisons
+        return table.range((NumericColumn) table.getColumn(property), min, max);
+    }
+
+    @Override
+    protected int[] equalTo(String property, String value) {
+        Column column = table.getColumn(property);
+        return column instanceof StringColumn ? table.equalTo((StringColumn) column, value) : null;
+    }
+
+    private int[] query(Id id) {
+        int[] rows = new int[id.getIdentifiers().size()];
+        int count = 0;
+        for (Identifier identifier : id.getIdentifiers()) {
+            int row = table.getRow(String.valueOf(identifier.getID()));
+            if (row >= 0) {
+                rows[count++] = row;
+            }
+        }
+        rows = Arrays.copyOf(rows, count);
+        Arrays.sort(rows);
+        // the same id might have been listed more than once
+        return union(rows, new int[0]);
+    }
+
+    private int[] query(BinarySpatialOperator spatial) {
+        // only the operators implying an envelope intersection can use the index
+        if (!(spatial instanceof BBOX
+                || spatial instanceof Intersects
+                || spatial instanceof Contains
+                || spatial instanceof Within
+                || spatial instanceof Overlaps
+                || spatial instanceof Crosses
+                || spatial instanceof Touches
+                || spatial instanceof Equals)) {
+            return null;
+        }
+        Expression e1 = spatial.getExpression1();
+        Expression e2 = spatial.getExpression2();
+        if (e1 instanceof Literal && e2 instanceof PropertyName) {
+            Expression tmp = e1;
+            e1 = e2;
+            e2 = tmp;
+        }
+        if (!(e1 instanceof PropertyName) || !(e2 instanceof Literal) || !isDefaultGeometry((PropertyName) e1)) {
+            return null;
+        }
+        Object value = ((Literal) e2).getValue();
+        Envelope envelope;
+        if (value instanceof Geometry) {
+            envelope = ((Geometry) value).getEnvelopeInternal();
+        } else if (value instanceof Envelope) {
+            envelope = (Envelope) value;
+        } else {
+            return null;
+        }
+        return table.queryEnvelope(envelope);
+    }
+
+    private boolean isDefaultGeometry(PropertyName property) {
+        if (table.geometryColumn < 0) {
+            return false;
+        }
+        String name = property.getPropertyName();
+        return "".equals(name) || table.schema.indexOf(name) == table.geometryColumn;
+    }
+}
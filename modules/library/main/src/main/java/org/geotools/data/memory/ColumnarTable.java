@@ -0,0 +1,776 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * The features of a single type, stored column by column: numbers, dates and booleans in primitive arrays, strings
+ * dictionary encoded, geometries in a {@link PackedGeometryColumn}. Features are only built when read.
+ *
+ * <p>The table is append only. The spatial index on the default geometry, the sorted indexes on numeric columns and
+ * the posting lists of string columns are built lazily, on the first query needing them after an append.
+ */
+class ColumnarTable {
+
+    final SimpleFeatureType schema;
+
+    final Column[] columns;
+
+    /** Position of the default geometry column, or -1 */
+    final int geometryColumn;
+
+    final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    String[] fids = new String[16];
+
+    int size;
+
+    /** Lazily built fid to row map */
+    Map<String, Integer> fidIndex;
+
+    /** Lazily built spatial index on the default geometry */
+    PackedSTRTree spatialIndex;
+
+    ColumnarTable(SimpleFeatureType schema) {
+        this.schema = schema;
+        this.columns = new Column[schema.getAttributeCount()];
+        GeometryFactory factory = new GeometryFactory();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = createColumn(schema.getDescriptor(i), factory);
+        }
+        GeometryDescriptor gd = schema.getGeometryDescriptor();
+        this.geometryColumn = gd == null ? -1 : schema.indexOf(gd.getName());
+    }
+
+    private static Column createColumn(AttributeDescriptor descriptor, GeometryFactory factory) {
+        Class<?> binding = descriptor.getType().getBinding();
+        if (Geometry.class.isAssignableFrom(binding)) {
+            return new GeometryColumn(factory);
+        } else if (binding == Integer.class || binding == Short.class || binding == Byte.class) {
+            return new IntColumn(binding);
+        } else if (binding == Long.class) {
+            return new LongColumn();
+        } else if (binding == Double.class || binding == Float.class) {
+            return new DoubleColumn(binding);
+        } else if (binding == Boolean.class) {
+            return new BooleanColumn();
+        } else if (binding == String.class) {
+            return new StringColumn();
+        } else if (binding == Date.class || binding == java.sql.Date.class || binding == java.sql.Time.class) {
+            // timestamps are not included, they would lose their nanoseconds
+            return new DateColumn(binding);
+        }
+        return new ObjectColumn();
+    }
+
+    /** Appends the features, which must be of the table schema */
+    void addAll(Iterable<SimpleFeature> features) {
+        lock.writeLock().lock();
+        try {
+            for (SimpleFeature feature : features) {
+                add(feature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Appends a feature, the caller must hold the write lock */
+    void add(SimpleFeature feature) {
+        if (feature.getAttributeCount() != columns.length) {
+            throw new IllegalArgumentException("Expected a feature of type "
+                    + schema.getTypeName()
+                    + " (but was "
+                    + feature.getFeatureType().getTypeName()
+                    + ")");
+        }
+        // convert all values first, a failure must not leave the columns with different sizes
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].convert(feature.getAttribute(i));
+        }
+        if (size == fids.length) {
+            fids = Arrays.copyOf(fids, size * 2);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].add(values[i]);
+        }
+        fids[size++] = feature.getID();
+        // the indexes are rebuilt on demand
+        fidIndex = null;
+        spatialIndex = null;
+        for (Column column : columns) {
+            column.invalidateIndex();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Builds the feature stored in the specified row */
+    SimpleFeature getFeature(int row) {
+        lock.readLock().lock();
+        try {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = columns[i].get(row);
+            }
+            return SimpleFeatureBuilder.build(schema, values, fids[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bounds of the default geometries, computed from the stored envelopes */
+    ReferencedEnvelope getBounds() {
+        lock.readLock().lock();
+        try {
+            ReferencedEnvelope bounds = ReferencedEnvelope.create(schema.getCoordinateReferenceSystem());
+            if (geometryColumn >= 0) {
+                PackedGeometryColumn geometries = ((GeometryColumn) columns[geometryColumn]).geometries;
+                for (int row = 0; row < size; row++) {
+                    if (geometries.hasEnvelope(row)) {
+                        bounds.expandToInclude(geometries.getMinX(row), geometries.getMinY(row));
+                        bounds.expandToInclude(geometries.getMaxX(row), geometries.getMaxY(row));
+                    }
+                }
+            }
+            return bounds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the sorted rows whose default geometry envelope intersects the specified one */
+    int[] queryEnvelope(Envelope envelope) {
+        if (geometryColumn < 0) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            synchronized (this) {
+                if (spatialIndex == null) {
+                    PackedGeometryColumn geometries = ((GeometryColumn) columns[geometryColumn]).geometries;
+                    spatialIndex = new PackedSTRTree(geometries, size);
+                }
+            }
+            return spatialIndex.query(envelope);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the row of the feature with the specified id, or -1 */
+    int getRow(String fid) {
+        lock.readLock().lock();
+        try {
+            synchronized (this) {
+                if (fidIndex == null) {
+                    fidIndex = new HashMap<>(size * 2);
+                    for (int row = 0; row < size; row++) {
+                        fidIndex.put(fids[row], row);
+                    }
+                }
+            }
+            Integer row = fidIndex.get(fid);
+            return row == null ? -1 : row;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the sorted rows whose numeric value is between min and max, both included */
+    int[] range(NumericColumn column, double min, double max) {
+        lock.readLock().lock();
+        try {
+            return column.range(min, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the sorted rows holding the specified string */
+    int[] equalTo(StringColumn column, String value) {
+        lock.readLock().lock();
+        try {
+            return column.equalTo(value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the column of the specified attribute, or null if not found */
+    Column getColumn(String name) {
+        int index = schema.indexOf(name);
+        return index < 0 ? null : columns[index];
+    }
+
+    /** Approximate memory used by the table, in bytes */
+    long getMemoryUsage() {
+        lock.readLock().lock();
+        try {
+            long usage = 4L * fids.length;
+            for (int row = 0; row < size; row++) {
+                usage += 40 + 2L * fids[row].length();
+            }
+            for (Column column : columns) {
+                usage += column.getMemoryUsage();
+            }
+            return usage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** A column of values */
+    abstract static class Column {
+
+        int size;
+
+        /** Converts a value to the class stored by the column, throws an IllegalArgumentException if it cannot */
+        Object convert(Object value) {
+            return value;
+        }
+
+        /** Appends a value returned by {@link #convert(Object)}, possibly null */
+        abstract void add(Object value);
+
+        /** Returns the value of a row */
+        abstract Object get(int row);
+
+        abstract long getMemoryUsage();
+
+        /** Drops the lazily built indexes after an append */
+        void invalidateIndex() {
+            // no index by default
+        }
+
+        /** Converts the value to the column class, if needed */
+        static <T> T convert(Object value, Class<T> target) {
+            if (value == null || target.isInstance(value)) {
+                return target.cast(value);
+            }
+            T converted = Converters.convert(value, target);
+            if (converted == null) {
+                throw new IllegalArgumentException("Cannot convert " + value + " to " + target.getSimpleName());
+            }
+            return converted;
+        }
+    }
+
+    /**
+     * A column of values that can be sorted as doubles, with a lazily built index of the rows sorted by value. The
+     * conversion to double can round large longs, queries are then inclusive and the results a superset of the
+     * matches, the filter still needs to be evaluated on the features read.
+     */
+    abstract static class NumericColumn extends Column {
+
+        BitSet nulls = new BitSet();
+
+        int[] sortedRows;
+
+        double[] sortedValues;
+
+        abstract double getNumber(int row);
+
+        @Override
+        void invalidateIndex() {
+            sortedRows = null;
+            sortedValues = null;
+        }
+
+        /** Returns the sorted rows whose value is between min and max, both included */
+        synchronized int[] range(double min, double max) {
+            if (sortedRows == null) {
+                buildIndex();
+            }
+            int from = lowerBound(min);
+            int to = upperBound(max);
+            if (to <= from) {
+                return new int[0];
+            }
+            int[] rows = Arrays.copyOfRange(sortedRows, from, to);
+            Arrays.sort(rows);
+            return rows;
+        }
+
+        private void buildIndex() {
+            int count = size - nulls.cardinality();
+            double[] values = new double[count];
+            int[] rows = new int[count];
+            // sort row numbers by value through an index over the values
+            Integer[] order = new Integer[count];
+            int k = 0;
+            for (int row = 0; row < size; row++) {
+                if (!nulls.get(row) && !Double.isNaN(getNumber(row))) {
+                    rows[k] = row;
+                    values[k] = getNumber(row);
+                    order[k] = k;
+                    k++;
+                }
+            }
+            order = Arrays.copyOf(order, k);
+            Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+            sortedRows = new int[k];
+            sortedValues = new double[k];
+            for (int i = 0; i < k; i++) {
+                sortedRows[i] = rows[order[i]];
+                sortedValues[i] = values[order[i]];
+            }
+        }
+
+        private int lowerBound(double value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedValues[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int upperBound(double value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedValues[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /** Integer, short and byte values */
+    static class IntColumn extends NumericColumn {
+
+        Class<?> binding;
+
+        int[] values = new int[16];
+
+        IntColumn(Class<?> binding) {
+            this.binding = binding;
+        }
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Number.class);
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            Number number = (Number) value;
+            if (number == null) {
+                nulls.set(size);
+            } else {
+                values[size] = number.intValue();
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            int value = values[row];
+            if (binding == Short.class) {
+                return (short) value;
+            } else if (binding == Byte.class) {
+                return (byte) value;
+            }
+            return value;
+        }
+
+        @Override
+        double getNumber(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return 4L * values.length;
+        }
+    }
+
+    /** Long values */
+    static class LongColumn extends NumericColumn {
+
+        long[] values = new long[16];
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Number.class);
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            Number number = (Number) value;
+            if (number == null) {
+                nulls.set(size);
+            } else {
+                values[size] = number.longValue();
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+
+        @Override
+        double getNumber(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return 8L * values.length;
+        }
+    }
+
+    /** Double and float values */
+    static class DoubleColumn extends NumericColumn {
+
+        Class<?> binding;
+
+        double[] values = new double[16];
+
+        DoubleColumn(Class<?> binding) {
+            this.binding = binding;
+        }
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Number.class);
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            Number number = (Number) value;
+            if (number == null) {
+                nulls.set(size);
+            } else {
+                values[size] = number.doubleValue();
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            return binding == Float.class ? (Object) (float) values[row] : (Object) values[row];
+        }
+
+        @Override
+        double getNumber(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return 8L * values.length;
+        }
+    }
+
+    /** Dates, stored as milliseconds */
+    static class DateColumn extends NumericColumn {
+
+        Class<?> binding;
+
+        long[] values = new long[16];
+
+        DateColumn(Class<?> binding) {
+            this.binding = binding;
+        }
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Date.class);
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            Date date = (Date) value;
+            if (date == null) {
+                nulls.set(size);
+            } else {
+                values[size] = date.getTime();
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            long time = values[row];
+            if (binding == java.sql.Date.class) {
+                return new java.sql.Date(time);
+            } else if (binding == java.sql.Time.class) {
+                return new java.sql.Time(time);
+            }
+            return new Date(time);
+        }
+
+        @Override
+        double getNumber(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return 8L * values.length;
+        }
+    }
+
+    /** Boolean values, as two bit sets */
+    static class BooleanColumn extends Column {
+
+        BitSet values = new BitSet();
+
+        BitSet nulls = new BitSet();
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Boolean.class);
+        }
+
+        @Override
+        void add(Object value) {
+            Boolean b = (Boolean) value;
+            if (b == null) {
+                nulls.set(size);
+            } else if (b) {
+                values.set(size);
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values.get(row);
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return (values.size() + nulls.size()) / 8;
+        }
+    }
+
+    /**
+     * Dictionary encoded strings, each row holds the code of its value. The rows of each value are indexed lazily, as
+     * posting lists sorted by row.
+     */
+    static class StringColumn extends Column {
+
+        int[] codes = new int[16];
+
+        List<String> dictionary = new ArrayList<>();
+
+        Map<String, Integer> lookup = new HashMap<>();
+
+        /** Rows of each code, as offsets in postingRows */
+        int[] postingStarts;
+
+        int[] postingRows;
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, String.class);
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            String s = (String) value;
+            if (s == null) {
+                codes[size] = -1;
+            } else {
+                Integer code = lookup.get(s);
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.add(s);
+                    lookup.put(s, code);
+                }
+                codes[size] = code;
+            }
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        void invalidateIndex() {
+            postingStarts = null;
+            postingRows = null;
+        }
+
+        /** Returns the sorted rows holding the specified value */
+        synchronized int[] equalTo(String value) {
+            Integer code = lookup.get(value);
+            if (code == null) {
+                return new int[0];
+            }
+            if (postingStarts == null) {
+                buildIndex();
+            }
+            return Arrays.copyOfRange(postingRows, postingStarts[code], postingStarts[code + 1]);
+        }
+
+        /** Counting sort of the rows by code */
+        private void buildIndex() {
+            int[] starts = new int[dictionary.size() + 1];
+            for (int row = 0; row < size; row++) {
+                if (codes[row] >= 0) {
+                    starts[codes[row] + 1]++;
+                }
+            }
+            for (int i = 1; i < starts.length; i++) {
+                starts[i] += starts[i - 1];
+            }
+            int[] rows = new int[starts[starts.length - 1]];
+            int[] next = Arrays.copyOf(starts, starts.length - 1);
+            for (int row = 0; row < size; row++) {
+                if (codes[row] >= 0) {
+                    rows[next[codes[row]]++] = row;
+                }
+            }
+            postingStarts = starts;
+            postingRows = rows;
+        }
+
+        @Override
+        long getMemoryUsage() {
+            long usage = 4L * codes.length;
+            for (String s : dictionary) {
+                usage += 80 + 2L * s.length();
+            }
+            return usage;
+        }
+    }
+
+    /** Values of any other type, kept as they are */
+    static class ObjectColumn extends Column {
+
+        Object[] values = new Object[16];
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemoryUsage() {
+            // just the references, the values are unknown
+            return 4L * values.length;
+        }
+    }
+
+    /** Geometries, packed */
+    static class GeometryColumn extends Column {
+
+        PackedGeometryColumn geometries;
+
+        GeometryColumn(GeometryFactory factory) {
+            this.geometries = new PackedGeometryColumn(factory);
+        }
+
+        @Override
+        Object convert(Object value) {
+            return convert(value, Geometry.class);
+        }
+
+        @Override
+        void add(Object value) {
+            geometries.add((Geometry) value);
+            size++;
+        }
+
+        @Override
+        Object get(int row) {
+            return geometries.get(row);
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return geometries.getMemoryUsage();
+        }
+    }
+}
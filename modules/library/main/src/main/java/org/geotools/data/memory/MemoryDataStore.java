@@ -227,6 +227,10 @@ private void addFeatureInternal(SimpleFeature feature) {
         try {
             MemoryEntry entry = entry(featureType);
             entry.addFeature(feature);
+            // direct additions bypass the feature store
+            if (resultCache != null) {
+                resultCache.invalidate(entry);
+            }
         } catch (IOException e) {
             LOGGER.log(Level.FINER, e.getMessage(), e);
         }
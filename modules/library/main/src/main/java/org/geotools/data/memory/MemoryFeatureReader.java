@@ -45,6 +45,12 @@ public MemoryFeatureReader(ContentState state, Query query) throws IOException {
         iterator = internalCollection.iterator();
     }
 
+    /** Reads the specified features, used to read a partition of the contents */
+    MemoryFeatureReader(ContentState state, List<SimpleFeature> features) {
+        featureType = state.getFeatureType();
+        iterator = features.iterator();
+    }
+
     @Override
     public SimpleFeatureType getFeatureType() {
         return featureType;
@@ -17,6 +17,8 @@
 package org.geotools.data.memory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.FeatureVisitor;
@@ -24,6 +26,7 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.geometry.jts.ReferencedEnvelope;
@@ -35,6 +38,9 @@
  */
 public class MemoryFeatureSource extends ContentFeatureSource {
 
+    /** Minimum number of features in each partition visited in parallel */
+    static final int MIN_PARTITION_SIZE = 10000;
+
     public MemoryFeatureSource(ContentEntry entry) {
         this(entry, Query.ALL);
     }
@@ -91,6 +97,25 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return new MemoryFeatureReader(getState(), query);
     }
 
+    /** Splits the contents in ranges of at least {@link #MIN_PARTITION_SIZE} features */
+    @Override
+    protected List<Partition<SimpleFeatureType, SimpleFeature>> getReaderPartitionsInternal(
+            Query query, int partitions) throws IOException {
+        List<SimpleFeature> features = new ArrayList<>(getEntry().getMemory().values());
+        partitions = Math.min(partitions, features.size() / MIN_PARTITION_SIZE);
+        if (partitions < 2) {
+            return null;
+        }
+        List<Partition<SimpleFeatureType, SimpleFeature>> result = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            List<SimpleFeature> range = features.subList(
+                    (int) ((long) features.size() * i / partitions),
+                    (int) ((long) features.size() * (i + 1) / partitions));
+            result.add(() -> new MemoryFeatureReader(getState(), range));
+        }
+        return result;
+    }
+
     @Override
     protected SimpleFeatureType buildFeatureType() {
         return getState().getEntry().schema; // cache schema unchanged (as we do not retype/reproject)
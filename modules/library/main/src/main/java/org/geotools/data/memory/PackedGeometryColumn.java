@@ -0,0 +1,267 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.Arrays;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Stores the geometries of a column as packed primitive arrays: the ordinates of all geometries are appended to a
+ * single double array, while their structure (type, number of parts, number of points) is appended to a single int
+ * array. Each geometry costs a couple of ints on top of its ordinates, and the envelopes are kept aside to answer
+ * bounding box checks without rebuilding the geometry. X, Y and Z are preserved, M values are not.
+ */
+class PackedGeometryColumn {
+
+    static final int POINT = 1;
+    static final int LINESTRING = 2;
+    static final int LINEARRING = 3;
+    static final int POLYGON = 4;
+    static final int MULTIPOINT = 5;
+    static final int MULTILINESTRING = 6;
+    static final int MULTIPOLYGON = 7;
+    static final int COLLECTION = 8;
+
+    GeometryFactory factory;
+
+    /** Start of each geometry in the structure array, -1 for null geometries */
+    int[] starts = new int[16];
+
+    /** Start of each geometry in the ordinates array */
+    int[] ordinateStarts = new int[16];
+
+    /** Envelope of each geometry as minx, miny, maxx, maxy, NaN for null and empty geometries */
+    double[] envelopes = new double[64];
+
+    int[] structure = new int[64];
+
+    int structureSize;
+
+    double[] ordinates = new double[128];
+
+    int ordinatesSize;
+
+    int size;
+
+    PackedGeometryColumn(GeometryFactory factory) {
+        this.factory = factory;
+    }
+
+    /** Appends a geometry, possibly null */
+    void add(Geometry g) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ordinateStarts = Arrays.copyOf(ordinateStarts, size * 2);
+            envelopes = Arrays.copyOf(envelopes, size * 8);
+        }
+        int base = size * 4;
+        ordinateStarts[size] = ordinatesSize;
+        if (g == null) {
+            starts[size] = -1;
+            Arrays.fill(envelopes, base, base + 4, Double.NaN);
+        } else {
+            starts[size] = structureSize;
+            int dimension = hasZ(g) ? 3 : 2;
+            pushStructure(dimension);
+            encode(g, dimension);
+            Envelope env = g.getEnvelopeInternal();
+            if (env.isNull()) {
+                Arrays.fill(envelopes, base, base + 4, Double.NaN);
+            } else {
+                envelopes[base] = env.getMinX();
+                envelopes[base + 1] = env.getMinY();
+                envelopes[base + 2] = env.getMaxX();
+                envelopes[base + 3] = env.getMaxY();
+            }
+        }
+        size++;
+    }
+
+    /** Rebuilds the geometry of a row */
+    Geometry get(int row) {
+        int start = starts[row];
+        if (start < 0) {
+            return null;
+        }
+        // structure and ordinates positions, moved forward while decoding
+        int[] cursor = {start + 1, ordinateStarts[row]};
+        return decode(cursor, structure[start]);
+    }
+
+    /** Whether the envelope of the geometry of the row is available, false for null and empty geometries */
+    boolean hasEnvelope(int row) {
+        return !Double.isNaN(envelopes[row * 4]);
+    }
+
+    double getMinX(int row) {
+        return envelopes[row * 4];
+    }
+
+    double getMinY(int row) {
+        return envelopes[row * 4 + 1];
+    }
+
+    double getMaxX(int row) {
+        return envelopes[row * 4 + 2];
+    }
+
+    double getMaxY(int row) {
+        return envelopes[row * 4 + 3];
+    }
+
+    /** Approximate memory used by the column, in bytes */
+    long getMemoryUsage() {
+        return 4L * (starts.length + ordinateStarts.length + structure.length)
+                + 8L * (envelopes.length + ordinates.length);
+    }
+
+    private void encode(Geometry g, int dimension) {
+        if (g instanceof Point) {
+            pushStructure(POINT);
+            pushSequence(((Point) g).getCoordinateSequence(), dimension);
+        } else if (g instanceof LinearRing) {
+            pushStructure(LINEARRING);
+            pushSequence(((LinearRing) g).getCoordinateSequence(), dimension);
+        } else if (g instanceof LineString) {
+            pushStructure(LINESTRING);
+            pushSequence(((LineString) g).getCoordinateSequence(), dimension);
+        } else if (g instanceof Polygon) {
+            Polygon polygon = (Polygon) g;
+            pushStructure(POLYGON);
+            pushStructure(polygon.getNumInteriorRing() + 1);
+            pushSequence(polygon.getExteriorRing().getCoordinateSequence(), dimension);
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                pushSequence(polygon.getInteriorRingN(i).getCoordinateSequence(), dimension);
+            }
+        } else if (g instanceof GeometryCollection) {
+            int type = g instanceof MultiPoint
+                    ? MULTIPOINT
+                    : g instanceof MultiLineString
+                            ? MULTILINESTRING
+                            : g instanceof MultiPolygon ? MULTIPOLYGON : COLLECTION;
+            pushStructure(type);
+            pushStructure(g.getNumGeometries());
+            for (int i = 0; i < g.getNumGeometries(); i++) {
+                encode(g.getGeometryN(i), dimension);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported geometry type " + g.getGeometryType());
+        }
+    }
+
+    private Geometry decode(int[] cursor, int dimension) {
+        int type = structure[cursor[0]++];
+        switch (type) {
+            case POINT:
+                return factory.createPoint(readSequence(cursor, dimension));
+            case LINESTRING:
+                return factory.createLineString(readSequence(cursor, dimension));
+            case LINEARRING:
+                return factory.createLinearRing(readSequence(cursor, dimension));
+            case POLYGON: {
+                int rings = structure[cursor[0]++];
+                LinearRing shell = factory.createLinearRing(readSequence(cursor, dimension));
+                LinearRing[] holes = new LinearRing[rings - 1];
+                for (int i = 0; i < holes.length; i++) {
+                    holes[i] = factory.createLinearRing(readSequence(cursor, dimension));
+                }
+                return factory.createPolygon(shell, holes);
+            }
+            case MULTIPOINT:
+            case MULTILINESTRING:
+            case MULTIPOLYGON:
+            case COLLECTION: {
+                int count = structure[cursor[0]++];
+                Geometry[] parts = new Geometry[count];
+                for (int i = 0; i < count; i++) {
+                    parts[i] = decode(cursor, dimension);
+                }
+                if (type == MULTIPOINT) {
+                    return factory.createMultiPoint(Arrays.copyOf(parts, count, Point[].class));
+                } else if (type == MULTILINESTRING) {
+                    return factory.createMultiLineString(Arrays.copyOf(parts, count, LineString[].class));
+                } else if (type == MULTIPOLYGON) {
+                    return factory.createMultiPolygon(Arrays.copyOf(parts, count, Polygon[].class));
+                }
+                return factory.createGeometryCollection(parts);
+            }
+            default:
+                throw new IllegalStateException("Unexpected geometry type code " + type);
+        }
+    }
+
+    private void pushStructure(int value) {
+        if (structureSize == structure.length) {
+            structure = Arrays.copyOf(structure, structureSize * 2);
+        }
+        structure[structureSize++] = value;
+    }
+
+    private void pushSequence(CoordinateSequence cs, int dimension) {
+        int n = cs.size();
+        pushStructure(n);
+        int required = ordinatesSize + n * dimension;
+        if (required > ordinates.length) {
+            ordinates = Arrays.copyOf(ordinates, Math.max(required, ordinates.length * 2));
+        }
+        for (int i = 0; i < n; i++) {
+            ordinates[ordinatesSize++] = cs.getX(i);
+            ordinates[ordinatesSize++] = cs.getY(i);
+            if (dimension == 3) {
+                ordinates[ordinatesSize++] = cs.getZ(i);
+            }
+        }
+    }
+
+    private CoordinateSequence readSequence(int[] cursor, int dimension) {
+        int n = structure[cursor[0]++];
+        CoordinateSequenceFactory csf = factory.getCoordinateSequenceFactory();
+        CoordinateSequence cs = csf.create(n, dimension);
+        int position = cursor[1];
+        for (int i = 0; i < n; i++) {
+            cs.setOrdinate(i, CoordinateSequence.X, ordinates[position++]);
+            cs.setOrdinate(i, CoordinateSequence.Y, ordinates[position++]);
+            if (dimension == 3) {
+                cs.setOrdinate(i, CoordinateSequence.Z, ordinates[position++]);
+            }
+        }
+        cursor[1] = position;
+        return cs;
+    }
+
+    private static boolean hasZ(Geometry g) {
+        for (Coordinate c : g.getCoordinates()) {
+            if (!Double.isNaN(c.getZ())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
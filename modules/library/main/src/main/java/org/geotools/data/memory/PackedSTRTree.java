@@ -0,0 +1,204 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A read only R-tree bulk loaded with the Sort-Tile-Recursive algorithm, stored in primitive arrays. Each level is
+ * tiled in vertical slices sorted by x, each slice sorted by y, and packed in full nodes, so that nodes overlap little
+ * and the tree has the minimum height. Unlike the JTS STRtree there is one object per level, not per node.
+ */
+class PackedSTRTree {
+
+    /** Maximum number of children of each node */
+    static final int NODE_CAPACITY = 16;
+
+    /** The indexed rows, in leaf order */
+    int[] rows;
+
+    /**
+     * Bounds of the entries of each level as minx, miny, maxx, maxy, the first level being the rows, the last the root
+     */
+    List<double[]> levelBounds = new ArrayList<>();
+
+    /** Children range of the nodes of each level above the rows, as start and end positions in the level below */
+    List<int[]> levelChildren = new ArrayList<>();
+
+    /**
+     * Indexes the envelopes of the first rows of the column, rows without an envelope (null or empty geometries) are
+     * skipped
+     */
+    PackedSTRTree(PackedGeometryColumn geometries, int size) {
+        int count = 0;
+        int[] items = new int[size];
+        for (int row = 0; row < size; row++) {
+            if (geometries.hasEnvelope(row)) {
+                items[count++] = row;
+            }
+        }
+        double[] bounds = new double[count * 4];
+        for (int i = 0; i < count; i++) {
+            int row = items[i];
+            bounds[i * 4] = geometries.getMinX(row);
+            bounds[i * 4 + 1] = geometries.getMinY(row);
+            bounds[i * 4 + 2] = geometries.getMaxX(row);
+            bounds[i * 4 + 3] = geometries.getMaxY(row);
+        }
+
+        // sort the rows, then build the upper levels until a single root is left
+        int[] order = tile(bounds, count);
+        this.rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = items[order[i]];
+        }
+        bounds = reorder(bounds, order);
+        levelBounds.add(bounds);
+        while (count > 1) {
+            // group consecutive entries in parents
+            int parents = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            double[] parentBounds = new double[parents * 4];
+            int[] children = new int[parents + 1];
+            for (int p = 0; p < parents; p++) {
+                int from = p * NODE_CAPACITY;
+                int to = Math.min(count, from + NODE_CAPACITY);
+                children[p] = from;
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int c = from; c < to; c++) {
+                    minX = Math.min(minX, bounds[c * 4]);
+                    minY = Math.min(minY, bounds[c * 4 + 1]);
+                    maxX = Math.max(maxX, bounds[c * 4 + 2]);
+                    maxY = Math.max(maxY, bounds[c * 4 + 3]);
+                }
+                parentBounds[p * 4] = minX;
+                parentBounds[p * 4 + 1] = minY;
+                parentBounds[p * 4 + 2] = maxX;
+                parentBounds[p * 4 + 3] = maxY;
+            }
+            children[parents] = count;
+
+            // tile the parents as well, moving their children ranges along
+            int[] parentOrder = tile(parentBounds, parents);
+            int[] sortedChildren = new int[parents * 2];
+            for (int p = 0; p < parents; p++) {
+                sortedChildren[p * 2] = children[parentOrder[p]];
+                sortedChildren[p * 2 + 1] = children[parentOrder[p] + 1];
+            }
+            levelChildren.add(sortedChildren);
+            bounds = reorder(parentBounds, parentOrder);
+            levelBounds.add(bounds);
+            count = parents;
+        }
+    }
+
+    /** Returns the sorted rows whose envelope intersects the specified one */
+    int[] query(Envelope envelope) {
+        if (rows.length == 0 || envelope.isNull()) {
+            return new int[0];
+        }
+        int[] result = new int[16];
+        int found = 0;
+        // depth first visit, the stack holds (level, entry) pairs
+        int[] stack = new int[64];
+        int top = 0;
+        int rootLevel = levelBounds.size() - 1;
+        stack[top++] = rootLevel;
+        stack[top++] = 0;
+        while (top > 0) {
+            int entry = stack[--top];
+            int level = stack[--top];
+            if (!intersects(levelBounds.get(level), entry, envelope)) {
+                continue;
+            }
+            if (level == 0) {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, found * 2);
+                }
+                result[found++] = rows[entry];
+            } else {
+                int[] children = levelChildren.get(level - 1);
+                for (int c = children[entry * 2]; c < children[entry * 2 + 1]; c++) {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = level - 1;
+                    stack[top++] = c;
+                }
+            }
+        }
+        result = Arrays.copyOf(result, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static boolean intersects(double[] bounds, int entry, Envelope envelope) {
+        int base = entry * 4;
+        return bounds[base] <= envelope.getMaxX()
+                && bounds[base + 2] >= envelope.getMinX()
+                && bounds[base + 1] <= envelope.getMaxY()
+                && bounds[base + 3] >= envelope.getMinY();
+    }
+
+    /**
+     * Computes the Sort-Tile-Recursive order of the entries: sorted by x center, split in vertical slices, each slice
+     * sorted by y center
+     */
+    static int[] tile(double[] bounds, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(centerX(bounds, a), centerX(bounds, b)));
+        int nodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(nodes));
+        int sliceSize = slices * NODE_CAPACITY;
+        for (int from = 0; from < count; from += sliceSize) {
+            Arrays.sort(
+                    order,
+                    from,
+                    Math.min(count, from + sliceSize),
+                    (a, b) -> Double.compare(centerY(bounds, a), centerY(bounds, b)));
+        }
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static double centerX(double[] bounds, int entry) {
+        return bounds[entry * 4] + bounds[entry * 4 + 2];
+    }
+
+    private static double centerY(double[] bounds, int entry) {
+        return bounds[entry * 4 + 1] + bounds[entry * 4 + 3];
+    }
+
+    private static double[] reorder(double[] bounds, int[] order) {
+        double[] result = new double[bounds.length];
+        for (int i = 0; i < order.length; i++) {
+            System.arraycopy(bounds, order[i] * 4, result, i * 4, 4);
+        }
+        return result;
+    }
+}
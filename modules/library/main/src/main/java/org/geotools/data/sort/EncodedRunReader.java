@@ -0,0 +1,124 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.geotools.api.feature.simple.SimpleFeature;
+
+/** Reads back a run written by {@link EncodedRunWriter}, one block at a time */
+class EncodedRunReader implements SortedRun {
+
+    SortRunFile file;
+
+    SimpleFeatureCodec codec;
+
+    /** Position of the next block in the file */
+    long offset;
+
+    /** Features left to read */
+    int count;
+
+    SimpleFeature curr;
+
+    SimpleFeatureCodec.Input input = new SimpleFeatureCodec.Input();
+
+    byte[] header = new byte[EncodedRunWriter.HEADER_SIZE];
+
+    byte[] block = new byte[0];
+
+    byte[] stored = new byte[0];
+
+    EncodedRunReader(SortRunFile file, SimpleFeatureCodec codec, long offset, int count) {
+        this.file = file;
+        this.codec = codec;
+        this.offset = offset;
+        this.count = count;
+    }
+
+    @Override
+    public SimpleFeature feature() throws IOException {
+        if (curr == null && count > 0) {
+            curr = readNextFeature();
+        }
+        return curr;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException {
+        curr = readNextFeature();
+        return curr;
+    }
+
+    private SimpleFeature readNextFeature() throws IOException {
+        if (count <= 0) {
+            return null;
+        }
+        if (!input.hasRemaining()) {
+            readBlock();
+        }
+        count--;
+        return codec.decode(input);
+    }
+
+    private void readBlock() throws IOException {
+        file.read(offset, header, header.length);
+        SimpleFeatureCodec.Input headerInput = new SimpleFeatureCodec.Input();
+        headerInput.reset(header, header.length);
+        int length = headerInput.readInt();
+        int storedLength = headerInput.readInt();
+        offset += header.length;
+
+        if (block.length < length) {
+            block = new byte[length];
+        }
+        if (storedLength == length) {
+            file.read(offset, block, length);
+        } else {
+            if (stored.length < storedLength) {
+                stored = new byte[storedLength];
+            }
+            file.read(offset, stored, storedLength);
+            inflate(storedLength, length);
+        }
+        offset += storedLength;
+        input.reset(block, length);
+    }
+
+    private void inflate(int storedLength, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 0, storedLength);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(block, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IOException("Corrupted sort run block, expected " + length + " bytes but got " + read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted sort run block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Encodes a sorted run of features with a {@link SimpleFeatureCodec}, in blocks of about {@link #BLOCK_SIZE} bytes so
+ * that {@link EncodedRunReader} only needs to keep one block per run in memory while merging. Each block is preceded
+ * by its decoded and stored lengths, blocks are deflated if compression is enabled and it actually reduces their size.
+ */
+class EncodedRunWriter {
+
+    /** Target size of the decoded blocks */
+    static final int BLOCK_SIZE = 32 * 1024;
+
+    /** Size of the block header, the decoded and stored lengths */
+    static final int HEADER_SIZE = 8;
+
+    SimpleFeatureCodec codec;
+
+    boolean compress;
+
+    EncodedRunWriter(SimpleFeatureType schema, boolean compress) {
+        this.codec = new SimpleFeatureCodec(schema);
+        this.compress = compress;
+    }
+
+    /** Encodes the features, returning the run bytes */
+    SimpleFeatureCodec.Output encode(List<SimpleFeature> features) throws IOException {
+        SimpleFeatureCodec.Output run = new SimpleFeatureCodec.Output(BLOCK_SIZE);
+        SimpleFeatureCodec.Output block = new SimpleFeatureCodec.Output(BLOCK_SIZE + BLOCK_SIZE / 4);
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        byte[] compressed = compress ? new byte[block.buffer.length] : null;
+        try {
+            for (SimpleFeature feature : features) {
+                codec.encode(feature, block);
+                if (block.size >= BLOCK_SIZE) {
+                    compressed = flush(block, run, deflater, compressed);
+                }
+            }
+            if (block.size > 0) {
+                flush(block, run, deflater, compressed);
+            }
+            return run;
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private byte[] flush(
+            SimpleFeatureCodec.Output block, SimpleFeatureCodec.Output run, Deflater deflater, byte[] compressed) {
+        int stored = block.size;
+        if (deflater != null) {
+            if (compressed.length < block.size) {
+                compressed = new byte[block.size];
+            }
+            deflater.reset();
+            deflater.setInput(block.buffer, 0, block.size);
+            deflater.finish();
+            // only keep the compressed version if it fits in less than the original size
+            int length = deflater.deflate(compressed, 0, block.size);
+            if (deflater.finished() && length < block.size) {
+                stored = length;
+            }
+        }
+        run.writeInt(block.size);
+        run.writeInt(stored);
+        if (stored < block.size) {
+            run.write(compressed, 0, stored);
+        } else {
+            run.write(block.buffer, 0, block.size);
+        }
+        block.reset();
+        return compressed;
+    }
+}
@@ -19,11 +19,17 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -38,6 +44,9 @@
 
 class MergeSortDumper {
 
+    /** Minimum number of features in a run for the runs to be sorted in parallel */
+    static final int MIN_PARALLEL_RUN = 1000;
+
     static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
         if (sortBy == SortBy.UNSORTED) {
             return true;
@@ -71,8 +80,9 @@ static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
 
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, Query query) throws IOException {
         int maxFeatures = getMaxFeatures(query);
+        Hints hints = query != null ? query.getHints() : null;
 
-        return getDelegateReader(reader, query.getSortBy(), maxFeatures);
+        return getDelegateReader(reader, query.getSortBy(), maxFeatures, getParallelism(hints), isCompressed(hints));
     }
 
     /** Gets the max amount amount of features to keep in memory from the query and system hints */
@@ -90,8 +100,35 @@ static int getMaxFeatures(Query query) {
         return maxFeatures;
     }
 
+    /** Gets the number of threads sorting the runs from the query and system hints */
+    static int getParallelism(Hints hints) {
+        Object parallelism = hints != null ? hints.get(Hints.SORT_PARALLELISM) : null;
+        if (parallelism == null) {
+            parallelism = Hints.getSystemDefault(Hints.SORT_PARALLELISM);
+        }
+        if (parallelism instanceof Integer && (Integer) parallelism > 0) {
+            return (Integer) parallelism;
+        }
+        return ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /** Gets whether the runs should be compressed from the query and system hints */
+    static boolean isCompressed(Hints hints) {
+        Object compression = hints != null ? hints.get(Hints.SORT_COMPRESSION) : null;
+        if (compression == null) {
+            compression = Hints.getSystemDefault(Hints.SORT_COMPRESSION);
+        }
+        return Boolean.TRUE.equals(compression);
+    }
+
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures)
             throws IOException {
+        return getDelegateReader(reader, sortBy, maxFeatures, getParallelism(null), isCompressed(null));
+    }
+
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, int parallelism, boolean compress)
+            throws IOException {
         if (maxFeatures < 0) {
             maxFeatures = getMaxFeatures(Query.ALL);
         }
@@ -112,6 +149,10 @@ static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[
                     + Arrays.toString(sortBy));
         }
 
+        if (SimpleFeatureCodec.canEncode(schema)) {
+            return sortEncoded(reader, schema, comparator, maxFeatures, parallelism, compress);
+        }
+
         int count = 0;
         File file = null;
         SimpleFeatureIO io = null;
@@ -141,8 +182,6 @@ static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[
             // if we got to file storing, store residual features to file too
             if (count > 0 && io != null) {
                 Collections.sort(features, comparator);
-                file = File.createTempFile("sorted", ".features");
-                file.delete();
                 FeatureBlockReader fbr = storeToFile(io, features);
                 readers.add(fbr);
             }
@@ -169,6 +208,143 @@ static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[
         }
     }
 
+    /**
+     * Sorts using the compact {@link SimpleFeatureCodec} encoding for the runs spilled to disk. The features in memory
+     * are split among the runs being filled and the ones being sorted and encoded on the fork join pool, when there is
+     * enough of them for each run to hold at least {@link #MIN_PARALLEL_RUN} features.
+     */
+    static SimpleFeatureReader sortEncoded(
+            SimpleFeatureReader reader,
+            SimpleFeatureType schema,
+            Comparator<SimpleFeature> comparator,
+            int maxFeatures,
+            int parallelism,
+            boolean compress)
+            throws IOException {
+        int tasks = Math.min(parallelism, maxFeatures / MIN_PARALLEL_RUN - 1);
+        int runSize = tasks > 1 ? maxFeatures / (tasks + 1) : maxFeatures;
+
+        SortRunFile file = null;
+        List<EncodedRunReader> runs = new ArrayList<>();
+        Deque<ForkJoinTask<EncodedRun>> pending = new ArrayDeque<>();
+        SimpleFeatureCodec codec = new SimpleFeatureCodec(schema);
+        List<SimpleFeature> features = new ArrayList<>();
+        boolean cleanFile = true;
+        try (reader) {
+            while (reader.hasNext()) {
+                features.add(reader.next());
+                if (features.size() > runSize) {
+                    if (file == null) {
+                        file = new SortRunFile();
+                    }
+                    EncodedRunTask task = new EncodedRunTask(schema, features, comparator, compress);
+                    if (tasks > 1) {
+                        pending.add(ForkJoinPool.commonPool().submit(task));
+                        // wait for the oldest run when too many are in flight, keeping memory bounded
+                        if (pending.size() >= tasks) {
+                            runs.add(store(file, codec, pending.poll()));
+                        }
+                    } else {
+                        runs.add(store(file, codec, task.call()));
+                    }
+                    features = new ArrayList<>();
+                }
+            }
+
+            if (file == null) {
+                // simple case, we managed to keep everything in memory
+                features.sort(comparator);
+                SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
+                return new DelegateSimpleFeatureReader(schema, fi);
+            }
+
+            // store the runs still being sorted and the residual features in input order, then go merge-sort
+            while (!pending.isEmpty()) {
+                runs.add(store(file, codec, pending.poll()));
+            }
+            if (!features.isEmpty()) {
+                runs.add(store(file, codec, new EncodedRunTask(schema, features, comparator, compress).call()));
+            }
+            cleanFile = false;
+            return new MergeSortReader(schema, runs, comparator, file);
+        } finally {
+            if (cleanFile) {
+                for (ForkJoinTask<EncodedRun> task : pending) {
+                    task.cancel(false);
+                }
+                if (file != null) {
+                    file.close();
+                }
+            }
+        }
+    }
+
+    private static EncodedRunReader store(SortRunFile file, SimpleFeatureCodec codec, ForkJoinTask<EncodedRun> task)
+            throws IOException {
+        try {
+            return store(file, codec, task.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting features", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to sort features", e.getCause());
+        }
+    }
+
+    private static EncodedRunReader store(SortRunFile file, SimpleFeatureCodec codec, EncodedRun run)
+            throws IOException {
+        long offset = file.append(run.bytes.buffer, run.bytes.size);
+        return new EncodedRunReader(file, codec, offset, run.count);
+    }
+
+    /** A sorted and encoded run, waiting to be appended to the run file */
+    static class EncodedRun {
+
+        SimpleFeatureCodec.Output bytes;
+
+        int count;
+
+        EncodedRun(SimpleFeatureCodec.Output bytes, int count) {
+            this.bytes = bytes;
+            this.count = count;
+        }
+    }
+
+    /** Sorts and encodes a run, the features are released as soon as they are encoded */
+    static class EncodedRunTask implements Callable<EncodedRun> {
+
+        SimpleFeatureType schema;
+
+        List<SimpleFeature> features;
+
+        Comparator<SimpleFeature> comparator;
+
+        boolean compress;
+
+        EncodedRunTask(
+                SimpleFeatureType schema,
+                List<SimpleFeature> features,
+                Comparator<SimpleFeature> comparator,
+                boolean compress) {
+            this.schema = schema;
+            this.features = features;
+            this.comparator = comparator;
+            this.compress = compress;
+        }
+
+        @Override
+        public EncodedRun call() throws IOException {
+            features.sort(comparator);
+            SimpleFeatureCodec.Output bytes = new EncodedRunWriter(schema, compress).encode(features);
+            int count = features.size();
+            features = null;
+            return new EncodedRun(bytes, count);
+        }
+    }
+
     /** Writes the feature attributes to a binary file */
     static FeatureBlockReader storeToFile(SimpleFeatureIO io, List<SimpleFeature> features) throws IOException {
         long start = io.getOffset();
@@ -16,8 +16,8 @@
  */
 package org.geotools.data.sort;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -26,16 +26,20 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 
 /**
- * Reads from a list of {@link FeatureBlockReader} backed by a {@link RandomAccessFile} and performs the classic
- * merge-sort algorithm
+ * Reads from a list of {@link SortedRun} and performs the classic merge-sort algorithm. The runs are merged with a
+ * loser tree, so that each feature costs a logarithmic number of comparisons in the number of runs. On ties the
+ * feature of the first run wins, keeping the sort stable.
  *
  * @author Andrea Aime - GeoSolutions
  */
 class MergeSortReader implements SimpleFeatureReader {
 
-    List<FeatureBlockReader> readers;
+    SortedRun[] runs;
 
-    SimpleFeatureIO io;
+    /** Index of the overall winner in the first slot, of the loser of each match in the others */
+    int[] tree;
+
+    Closeable storage;
 
     SimpleFeatureType schema;
 
@@ -45,11 +49,77 @@ public MergeSortReader(
             SimpleFeatureType schema,
             SimpleFeatureIO io,
             List<FeatureBlockReader> readers,
-            Comparator<SimpleFeature> comparator) {
+            Comparator<SimpleFeature> comparator)
+            throws IOException {
+        this(schema, readers, comparator, () -> io.close(true));
+    }
+
+    /**
+     * Builds a reader merging the runs
+     *
+     * @param storage Closed along with the reader, to release the resources backing the runs
+     */
+    public MergeSortReader(
+            SimpleFeatureType schema,
+            List<? extends SortedRun> runs,
+            Comparator<SimpleFeature> comparator,
+            Closeable storage)
+            throws IOException {
         this.schema = schema;
         this.comparator = comparator;
-        this.readers = readers;
-        this.io = io;
+        this.runs = runs.toArray(new SortedRun[runs.size()]);
+        this.storage = storage;
+        buildTree();
+    }
+
+    /** Plays the initial matches bottom up, the leaves being the runs at positions k to 2k-1 */
+    private void buildTree() throws IOException {
+        int k = runs.length;
+        tree = new int[Math.max(1, k)];
+        if (k == 0) {
+            tree[0] = -1;
+            return;
+        }
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1; node >= 1; node--) {
+            int a = winners[2 * node];
+            int b = winners[2 * node + 1];
+            if (wins(a, b)) {
+                winners[node] = a;
+                tree[node] = b;
+            } else {
+                winners[node] = b;
+                tree[node] = a;
+            }
+        }
+        tree[0] = k == 1 ? 0 : winners[1];
+    }
+
+    /** Replays the matches on the path from the leaf of the run to the root */
+    private void replay(int run) throws IOException {
+        int winner = run;
+        for (int node = (run + runs.length) / 2; node >= 1; node /= 2) {
+            if (wins(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /** Returns true if the current feature of run a comes before the one of run b, exhausted runs come last */
+    private boolean wins(int a, int b) throws IOException {
+        SimpleFeature fa = runs[a].feature();
+        SimpleFeature fb = runs[b].feature();
+        if (fa == null || fb == null) {
+            return fb == null && (fa != null || a < b);
+        }
+        int result = comparator.compare(fa, fb);
+        return result < 0 || (result == 0 && a < b);
     }
 
     @Override
@@ -59,38 +129,25 @@ public SimpleFeatureType getFeatureType() {
 
     @Override
     public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
-        if (readers.isEmpty()) {
+        if (!hasNext()) {
             throw new NoSuchElementException();
         }
 
-        // find the smallest feature
-        int selected = 0;
-        for (int i = 1; i < readers.size(); i++) {
-            SimpleFeature sf = readers.get(selected).feature();
-            SimpleFeature cf = readers.get(i).feature();
-            if (comparator.compare(sf, cf) > 0) {
-                selected = i;
-            }
-        }
-
-        // move on the reader of the selected feature
-        FeatureBlockReader reader = readers.get(selected);
-        SimpleFeature sf = reader.feature();
-        if (reader.next() == null) {
-            readers.remove(selected);
-        }
-
-        // return the selected feature
+        // return the winner, move on its run and replay its matches
+        int winner = tree[0];
+        SimpleFeature sf = runs[winner].feature();
+        runs[winner].next();
+        replay(winner);
         return sf;
     }
 
     @Override
     public boolean hasNext() throws IOException {
-        return !readers.isEmpty();
+        return tree[0] >= 0 && runs[tree[0]].feature() != null;
     }
 
     @Override
     public void close() throws IOException {
-        io.close(true);
+        storage.close();
     }
 }
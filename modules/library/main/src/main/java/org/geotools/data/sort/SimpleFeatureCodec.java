@@ -0,0 +1,472 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Compact binary encoding of features, used to spill sort runs to disk and to keep query results in memory. Unlike
+ * {@link SimpleFeatureIO} it does not depend on a random access file and never falls back on Java serialization:
+ * numbers and dates are written as variable length integers, strings as length prefixed UTF-8 without size limits,
+ * geometries as WKB preserving the Z ordinate, null values as a bit set in front of each feature. Only the types listed
+ * in {@link #canEncode} are supported.
+ *
+ * <p>Instances are not thread safe.
+ */
+public class SimpleFeatureCodec {
+
+    static final int BOOLEAN = 0;
+    static final int BYTE = 1;
+    static final int SHORT = 2;
+    static final int INTEGER = 3;
+    static final int LONG = 4;
+    static final int FLOAT = 5;
+    static final int DOUBLE = 6;
+    static final int BIG_INTEGER = 7;
+    static final int BIG_DECIMAL = 8;
+    static final int STRING = 9;
+    static final int DATE = 10;
+    static final int SQL_DATE = 11;
+    static final int SQL_TIME = 12;
+    static final int TIMESTAMP = 13;
+    static final int UUID_TYPE = 14;
+    static final int BYTES = 15;
+    static final int GEOMETRY = 16;
+
+    static final Map<Class<?>, Integer> TYPES = Map.ofEntries(
+            Map.entry(Boolean.class, BOOLEAN),
+            Map.entry(Byte.class, BYTE),
+            Map.entry(Short.class, SHORT),
+            Map.entry(Integer.class, INTEGER),
+            Map.entry(Long.class, LONG),
+            Map.entry(Float.class, FLOAT),
+            Map.entry(Double.class, DOUBLE),
+            Map.entry(BigInteger.class, BIG_INTEGER),
+            Map.entry(BigDecimal.class, BIG_DECIMAL),
+            Map.entry(String.class, STRING),
+            Map.entry(Date.class, DATE),
+            Map.entry(java.sql.Date.class, SQL_DATE),
+            Map.entry(java.sql.Time.class, SQL_TIME),
+            Map.entry(java.sql.Timestamp.class, TIMESTAMP),
+            Map.entry(UUID.class, UUID_TYPE),
+            Map.entry(byte[].class, BYTES));
+
+    SimpleFeatureType schema;
+
+    int[] types;
+
+    Class<?>[] bindings;
+
+    SimpleFeatureBuilder builder;
+
+    WKBWriter wkbWriter = new WKBWriter(3);
+
+    WKBReader wkbReader;
+
+    boolean featureReuse;
+
+    /** Returns true if all the attributes of the schema can be encoded */
+    public static boolean canEncode(SimpleFeatureType schema) {
+        for (int i = 0; i < schema.getAttributeCount(); i++) {
+            if (getType(schema.getDescriptor(i).getType().getBinding()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getType(Class<?> binding) {
+        if (Geometry.class.isAssignableFrom(binding)) {
+            return GEOMETRY;
+        }
+        Integer type = TYPES.get(binding);
+        return type == null ? -1 : type;
+    }
+
+    public SimpleFeatureCodec(SimpleFeatureType schema) {
+        this(schema, new GeometryFactory());
+    }
+
+    /** Builds a codec decoding geometries with the given factory */
+    public SimpleFeatureCodec(SimpleFeatureType schema, GeometryFactory geometryFactory) {
+        this.schema = schema;
+        this.wkbReader = new WKBReader(geometryFactory);
+        int count = schema.getAttributeCount();
+        this.types = new int[count];
+        this.bindings = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            bindings[i] = schema.getDescriptor(i).getType().getBinding();
+            types[i] = getType(bindings[i]);
+            if (types[i] < 0) {
+                throw new IllegalArgumentException("Cannot encode attributes of type " + bindings[i].getName());
+            }
+        }
+    }
+
+    /** Appends the feature to the output */
+    public void encode(SimpleFeature feature, Output out) throws IOException {
+        out.writeString(feature.getID());
+        // null values bit set
+        byte[] nulls = new byte[(types.length + 7) / 8];
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            values[i] = feature.getAttribute(i);
+            if (values[i] == null) {
+                nulls[i / 8] |= (byte) (1 << (i % 8));
+            }
+        }
+        out.write(nulls, 0, nulls.length);
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] != null) {
+                writeValue(types[i], normalize(i, values[i]), out);
+            }
+        }
+    }
+
+    /** Converts values not matching the binding exactly, for example an Integer in a Long attribute */
+    private Object normalize(int i, Object value) throws IOException {
+        if (bindings[i].isInstance(value)) {
+            return value;
+        }
+        Object converted = Converters.convert(value, bindings[i]);
+        if (converted == null) {
+            throw new IOException("Cannot encode "
+                    + value
+                    + " as a "
+                    + bindings[i].getSimpleName()
+                    + " for attribute "
+                    + schema.getDescriptor(i).getLocalName());
+        }
+        return converted;
+    }
+
+    private void writeValue(int type, Object value, Output out) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                out.writeByte((Boolean) value ? 1 : 0);
+                break;
+            case BYTE:
+                out.writeByte((Byte) value);
+                break;
+            case SHORT:
+            case INTEGER:
+            case LONG:
+                out.writeSignedVarLong(((Number) value).longValue());
+                break;
+            case FLOAT:
+                out.writeInt(Float.floatToIntBits((Float) value));
+                break;
+            case DOUBLE:
+                out.writeLong(Double.doubleToLongBits((Double) value));
+                break;
+            case BIG_INTEGER:
+                out.writeBytes(((BigInteger) value).toByteArray());
+                break;
+            case BIG_DECIMAL:
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeSignedVarLong(decimal.scale());
+                out.writeBytes(decimal.unscaledValue().toByteArray());
+                break;
+            case STRING:
+                out.writeString((String) value);
+                break;
+            case DATE:
+            case SQL_DATE:
+            case SQL_TIME:
+                out.writeSignedVarLong(((Date) value).getTime());
+                break;
+            case TIMESTAMP:
+                java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+                out.writeSignedVarLong(timestamp.getTime());
+                out.writeVarLong(timestamp.getNanos());
+                break;
+            case UUID_TYPE:
+                UUID uuid = (UUID) value;
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                break;
+            case BYTES:
+                out.writeBytes((byte[]) value);
+                break;
+            case GEOMETRY:
+                out.writeBytes(wkbWriter.write((Geometry) value));
+                break;
+            default:
+                throw new IllegalStateException("Unexpected type " + type);
+        }
+    }
+
+    /** Reads the next feature from the input */
+    public SimpleFeature decode(Input in) throws IOException {
+        if (builder == null) {
+            builder = new SimpleFeatureBuilder(schema);
+            builder.setReuse(featureReuse);
+        }
+        String fid = in.readString();
+        byte[] nulls = in.readBytes((types.length + 7) / 8);
+        for (int i = 0; i < types.length; i++) {
+            if ((nulls[i / 8] & (1 << (i % 8))) != 0) {
+                builder.add(null);
+            } else {
+                builder.add(readValue(types[i], in));
+            }
+        }
+        return builder.buildFeature(fid);
+    }
+
+    /**
+     * Enables the reuse of the decoded feature instance, see {@link SimpleFeatureBuilder#setReuse(boolean)}. A
+     * feature returned by {@link #decode(Input)} is then only valid until the next call.
+     */
+    public void setFeatureReuse(boolean featureReuse) {
+        this.featureReuse = featureReuse;
+        if (builder != null) {
+            builder.setReuse(featureReuse);
+        }
+    }
+
+    private Object readValue(int type, Input in) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                return in.readByte() != 0;
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return (short) in.readSignedVarLong();
+            case INTEGER:
+                return (int) in.readSignedVarLong();
+            case LONG:
+                return in.readSignedVarLong();
+            case FLOAT:
+                return Float.intBitsToFloat(in.readInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case BIG_INTEGER:
+                return new BigInteger(in.readBytes());
+            case BIG_DECIMAL:
+                int scale = (int) in.readSignedVarLong();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            case STRING:
+                return in.readString();
+            case DATE:
+                return new Date(in.readSignedVarLong());
+            case SQL_DATE:
+                return new java.sql.Date(in.readSignedVarLong());
+            case SQL_TIME:
+                return new java.sql.Time(in.readSignedVarLong());
+            case TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readSignedVarLong());
+                timestamp.setNanos((int) in.readVarLong());
+                return timestamp;
+            case UUID_TYPE:
+                return new UUID(in.readLong(), in.readLong());
+            case BYTES:
+                return in.readBytes();
+            case GEOMETRY:
+                try {
+                    return wkbReader.read(in.readBytes());
+                } catch (ParseException e) {
+                    throw new IOException("Failed to parse the geometry WKB", e);
+                }
+            default:
+                throw new IllegalStateException("Unexpected type " + type);
+        }
+    }
+
+    /** A growable byte array to encode features into */
+    public static class Output {
+
+        byte[] buffer;
+
+        int size;
+
+        public Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        /** Returns the number of bytes written so far */
+        public int size() {
+            return size;
+        }
+
+        /** Returns a copy of the bytes written so far */
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        /** Writes a length prefixed byte array */
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        /** Writes a non negative value in 7 bit groups, small values take less bytes */
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        /** Writes a value zig-zag encoded, so that small negative values take less bytes too */
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        public void reset() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + length, buffer.length * 2));
+            }
+        }
+    }
+
+    /** Reads back the contents of an {@link Output} */
+    public static class Input {
+
+        byte[] buffer;
+
+        int position;
+
+        int limit;
+
+        public void reset(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.position = 0;
+            this.limit = limit;
+        }
+
+        public boolean hasRemaining() {
+            return position < limit;
+        }
+
+        byte readByte() throws IOException {
+            check(1);
+            return buffer[position++];
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            check(length);
+            byte[] result = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return result;
+        }
+
+        byte[] readBytes() throws IOException {
+            return readBytes((int) readVarLong());
+        }
+
+        String readString() throws IOException {
+            int length = (int) readVarLong();
+            check(length);
+            String result = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+
+        int readInt() throws IOException {
+            check(4);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            check(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+
+        long readSignedVarLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private void check(int length) throws IOException {
+            if (length < 0 || position + length > limit) {
+                throw new IOException("Unexpected end of the encoded features");
+            }
+        }
+    }
+}
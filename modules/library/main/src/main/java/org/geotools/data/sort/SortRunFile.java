@@ -0,0 +1,61 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/** Temporary file holding the runs encoded by {@link EncodedRunWriter}, deleted on close */
+class SortRunFile implements Closeable {
+
+    File file;
+
+    RandomAccessFile raf;
+
+    long length;
+
+    SortRunFile() throws IOException {
+        this.file = File.createTempFile("sorted", ".runs");
+        this.raf = new RandomAccessFile(file, "rw");
+    }
+
+    /** Appends the bytes at the end of the file, returning their offset */
+    long append(byte[] bytes, int count) throws IOException {
+        long offset = length;
+        raf.seek(offset);
+        raf.write(bytes, 0, count);
+        length += count;
+        return offset;
+    }
+
+    /** Reads the specified amount of bytes at the given offset */
+    void read(long offset, byte[] bytes, int count) throws IOException {
+        raf.seek(offset);
+        raf.readFully(bytes, 0, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            raf.close();
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.statistics;
+
+import java.util.Date;
+import org.geotools.feature.visitor.HyperLogLogSketch;
+import org.geotools.feature.visitor.QuantileSketch;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Statistics about the values of an attribute: null count, distinct count, a histogram of the numeric and date values
+ * and, for geometries, their bounds and average size. The estimates returned are fractions of all the features,
+ * including the ones having a null value.
+ *
+ * <p>Built by a {@link FeatureStatisticsCollector}, possibly over a sample of the features, in which case the counts
+ * refer to the sample and the distinct count is extrapolated to the whole data set.
+ *
+ * @since 34
+ */
+public class AttributeStatistics {
+
+    /** Precision of the distinct count sketch, about 1.6% relative error */
+    static final int DISTINCT_PRECISION = 12;
+
+    final String name;
+
+    final HyperLogLogSketch distinct = new HyperLogLogSketch(DISTINCT_PRECISION);
+
+    /** Histogram of the numbers and dates, as doubles and milliseconds */
+    QuantileSketch histogram;
+
+    /** Bounds of the geometries */
+    Envelope bounds;
+
+    long count;
+
+    long nullCount;
+
+    double widthSum;
+
+    double heightSum;
+
+    /** The sampled fraction of the features, used to extrapolate the distinct count */
+    double sampleFraction = 1;
+
+    AttributeStatistics(String name) {
+        this.name = name;
+    }
+
+    void add(Object value) {
+        if (value == null) {
+            nullCount++;
+            return;
+        }
+        count++;
+        if (value instanceof Geometry) {
+            Envelope envelope = ((Geometry) value).getEnvelopeInternal();
+            if (!envelope.isNull()) {
+                if (bounds == null) {
+                    bounds = new Envelope();
+                }
+                bounds.expandToInclude(envelope);
+                widthSum += envelope.getWidth();
+                heightSum += envelope.getHeight();
+            }
+            return;
+        }
+        distinct.add(value);
+        double number = toDouble(value);
+        if (!Double.isNaN(number)) {
+            if (histogram == null) {
+                histogram = new QuantileSketch();
+            }
+            histogram.update(number);
+        }
+    }
+
+    /** Returns the value as a double if it can be placed in the histogram, NaN otherwise */
+    static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return Double.NaN;
+    }
+
+    /** The attribute name */
+    public String getName() {
+        return name;
+    }
+
+    /** The number of non null values seen */
+    public long getCount() {
+        return count;
+    }
+
+    /** The number of null values seen */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /** The fraction of the features having a null value */
+    public double getNullFraction() {
+        long total = count + nullCount;
+        return total == 0 ? 0 : (double) nullCount / total;
+    }
+
+    /**
+     * The estimated number of distinct non null values in the whole data set. When the values were sampled and look
+     * mostly unique, the sampled count is extrapolated to the whole data set.
+     */
+    public long getDistinctCount() {
+        long estimate = Math.min(distinct.getEstimate(), count);
+        if (sampleFraction < 1 && estimate > 0.9 * count) {
+            return Math.round(estimate / sampleFraction);
+        }
+        return estimate;
+    }
+
+    /** The histogram of the numeric and date values, or null if the attribute has none */
+    public QuantileSketch getHistogram() {
+        return histogram;
+    }
+
+    /** The bounds of the geometries, or null if the attribute has none */
+    public Envelope getBounds() {
+        return bounds;
+    }
+
+    /** The average width of the geometries envelopes */
+    public double getMeanWidth() {
+        return count == 0 ? 0 : widthSum / count;
+    }
+
+    /** The average height of the geometries envelopes */
+    public double getMeanHeight() {
+        return count == 0 ? 0 : heightSum / count;
+    }
+
+    /**
+     * Estimates the fraction of the features whose value is equal to the specified one
+     *
+     * @param value The value, null to estimate the fraction of null values
+     */
+    public double getEqualSelectivity(Object value) {
+        if (value == null) {
+            return getNullFraction();
+        }
+        double number = toDouble(value);
+        if (histogram != null
+                && !Double.isNaN(number)
+                && (number < histogram.getMin() || number > histogram.getMax())) {
+            return 0;
+        }
+        return (1 - getNullFraction()) / Math.max(1, getDistinctCount());
+    }
+
+    /**
+     * Estimates the fraction of the features whose value is between the specified ones, using the histogram
+     *
+     * @param lower The lower bound, or null if unbounded
+     * @param upper The upper bound, or null if unbounded
+     * @return The estimated selectivity, or NaN if the values or bounds cannot be placed in a histogram
+     */
+    public double getRangeSelectivity(Object lower, Object upper) {
+        if (histogram == null || histogram.isEmpty()) {
+            return Double.NaN;
+        }
+        double low = lower == null ? Double.NEGATIVE_INFINITY : toDouble(lower);
+        double high = upper == null ? Double.POSITIVE_INFINITY : toDouble(upper);
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return Double.NaN;
+        } else if (low > high) {
+            return 0;
+        }
+        double lowRank = lower == null ? 0 : histogram.getRank(low);
+        // the rank excludes the upper bound itself, add the share of a single value
+        double highRank =
+                upper == null ? 1 : Math.min(1, histogram.getRank(high) + 1d / Math.max(1, getDistinctCount()));
+        return Math.max(0, highRank - lowRank) * (1 - getNullFraction());
+    }
+
+    /**
+     * Estimates the fraction of the features whose geometry envelope intersects the specified one, assuming the
+     * geometries are uniformly spread over their bounds
+     *
+     * @return The estimated selectivity, or NaN if the attribute has no geometries
+     */
+    public double getBBoxSelectivity(Envelope envelope) {
+        if (bounds == null || envelope == null) {
+            return Double.NaN;
+        } else if (envelope.isNull()) {
+            return 0;
+        }
+        // the envelope of a geometry intersects the query one if its center falls in the query envelope expanded by
+        // half of its size
+        Envelope expanded = new Envelope(envelope);
+        expanded.expandBy(getMeanWidth() / 2, getMeanHeight() / 2);
+        double x = coverage(bounds.getMinX(), bounds.getMaxX(), expanded.getMinX(), expanded.getMaxX());
+        double y = coverage(bounds.getMinY(), bounds.getMaxY(), expanded.getMinY(), expanded.getMaxY());
+        return x * y * (1 - getNullFraction());
+    }
+
+    /** The fraction of the [min, max] range covered by [low, high] */
+    private static double coverage(double min, double max, double low, double high) {
+        if (high < min || low > max) {
+            return 0;
+        } else if (max <= min) {
+            return 1;
+        }
+        return (Math.min(max, high) - Math.max(min, low)) / (max - min);
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeStatistics[name="
+                + name
+                + ", count="
+                + count
+                + ", nulls="
+                + nullCount
+                + ", distinct="
+                + getDistinctCount()
+                + (bounds != null ? ", bounds=" + bounds : "")
+                + "]";
+    }
+}
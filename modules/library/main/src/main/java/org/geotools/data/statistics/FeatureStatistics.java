@@ -0,0 +1,283 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.statistics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsNotEqualTo;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.api.filter.spatial.Beyond;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.api.filter.spatial.DWithin;
+import org.geotools.api.filter.spatial.Disjoint;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Statistics about the features of a data set, used to estimate the selectivity of filters: the number of features
+ * and the {@link AttributeStatistics} of each attribute.
+ *
+ * <p>Stores computing statistics natively can build them with a {@link FeatureStatisticsCollector}, the others can use
+ * {@link #collect(SimpleFeatureCollection)} to scan all the features, or {@link #sample(SimpleFeatureSource, int)} to
+ * only read a subset of them. The statistics are estimates and are not updated when the data changes.
+ *
+ * @since 34
+ */
+public class FeatureStatistics {
+
+    final long count;
+
+    final long sampleSize;
+
+    final Map<String, AttributeStatistics> attributes;
+
+    final String defaultGeometry;
+
+    FeatureStatistics(
+            long count, long sampleSize, Map<String, AttributeStatistics> attributes, String defaultGeometry) {
+        this.count = count;
+        this.sampleSize = sampleSize;
+        this.attributes = attributes;
+        this.defaultGeometry = defaultGeometry;
+    }
+
+    /** Collects the statistics of all the features in the collection */
+    public static FeatureStatistics collect(SimpleFeatureCollection features) {
+        FeatureStatisticsCollector collector = new FeatureStatisticsCollector(features.getSchema());
+        try (SimpleFeatureIterator it = features.features()) {
+            while (it.hasNext()) {
+                collector.visit(it.next());
+            }
+        }
+        return collector.getStatistics();
+    }
+
+    /**
+     * Collects the statistics of the first features returned by the source, for sources that are too large, or too
+     * slow, to be scanned entirely. The estimates are only as good as the sample, the features should not be ordered
+     * by any of their attributes.
+     *
+     * @param source The source
+     * @param sampleSize The maximum number of features to read
+     */
+    public static FeatureStatistics sample(SimpleFeatureSource source, int sampleSize) throws IOException {
+        SimpleFeatureType schema = source.getSchema();
+        Query query = new Query(schema.getTypeName());
+        query.setMaxFeatures(sampleSize);
+        FeatureStatisticsCollector collector = new FeatureStatisticsCollector(schema);
+        try (SimpleFeatureIterator it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                collector.visit(it.next());
+            }
+        }
+        long count = collector.getCount();
+        if (count >= sampleSize) {
+            count = source.getCount(Query.ALL);
+            if (count < 0) {
+                count = source.getFeatures().size();
+            }
+        }
+        return collector.getStatistics(count);
+    }
+
+    /** The number of features in the data set */
+    public long getCount() {
+        return count;
+    }
+
+    /** The number of features the statistics were computed from */
+    public long getSampleSize() {
+        return sampleSize;
+    }
+
+    /** True if the statistics were computed over a subset of the features */
+    public boolean isSampled() {
+        return sampleSize < count;
+    }
+
+    /** Returns the statistics of the specified attribute, or null if not available */
+    public AttributeStatistics getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /** Returns the statistics of all the attributes */
+    public List<AttributeStatistics> getAttributes() {
+        return new ArrayList<>(attributes.values());
+    }
+
+    /**
+     * Estimates the fraction of the features matching the filter. Logic operators are estimated assuming their
+     * children are independent.
+     *
+     * @return The estimated selectivity between 0 and 1, or NaN if it cannot be estimated
+     */
+    public double getSelectivity(Filter filter) {
+        if (filter instanceof IncludeFilter) {
+            return 1;
+        } else if (filter instanceof ExcludeFilter) {
+            return 0;
+        } else if (filter instanceof And) {
+            double selectivity = 1;
+            for (Filter child : ((And) filter).getChildren()) {
+                selectivity *= getSelectivity(child);
+            }
+            return selectivity;
+        } else if (filter instanceof Or) {
+            double miss = 1;
+            for (Filter child : ((Or) filter).getChildren()) {
+                miss *= 1 - getSelectivity(child);
+            }
+            return 1 - miss;
+        } else if (filter instanceof Not) {
+            return 1 - getSelectivity(((Not) filter).getFilter());
+        } else if (filter instanceof Id) {
+            return count == 0 ? 0 : Math.min(1, ((Id) filter).getIdentifiers().size() / (double) count);
+        } else if (filter instanceof PropertyIsNull) {
+            AttributeStatistics attribute = getAttribute(((PropertyIsNull) filter).getExpression());
+            return attribute == null ? Double.NaN : attribute.getNullFraction();
+        } else if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            AttributeStatistics attribute = getAttribute(between.getExpression());
+            if (attribute == null
+                    || !(between.getLowerBoundary() instanceof Literal)
+                    || !(between.getUpperBoundary() instanceof Literal)) {
+                return Double.NaN;
+            }
+            return attribute.getRangeSelectivity(
+                    ((Literal) between.getLowerBoundary()).getValue(),
+                    ((Literal) between.getUpperBoundary()).getValue());
+        } else if (filter instanceof BinaryComparisonOperator) {
+            return getComparisonSelectivity((BinaryComparisonOperator) filter);
+        } else if (filter instanceof BinarySpatialOperator) {
+            return getSpatialSelectivity((BinarySpatialOperator) filter);
+        }
+        return Double.NaN;
+    }
+
+    private double getComparisonSelectivity(BinaryComparisonOperator filter) {
+        boolean literalFirst = filter.getExpression1() instanceof Literal;
+        Expression property = literalFirst ? filter.getExpression2() : filter.getExpression1();
+        Expression literal = literalFirst ? filter.getExpression1() : filter.getExpression2();
+        AttributeStatistics attribute = getAttribute(property);
+        if (attribute == null || !(literal instanceof Literal)) {
+            return Double.NaN;
+        }
+        Object value = ((Literal) literal).getValue();
+        if (value == null) {
+            return Double.NaN;
+        } else if (filter instanceof PropertyIsEqualTo) {
+            return attribute.getEqualSelectivity(value);
+        } else if (filter instanceof PropertyIsNotEqualTo) {
+            // null values are not equal to the literal
+            return 1 - attribute.getEqualSelectivity(value);
+        }
+        // normalize to property on the left
+        boolean less = filter instanceof PropertyIsLessThan || filter instanceof PropertyIsLessThanOrEqualTo;
+        boolean greater = filter instanceof PropertyIsGreaterThan || filter instanceof PropertyIsGreaterThanOrEqualTo;
+        if (!less && !greater) {
+            return Double.NaN;
+        }
+        return less != literalFirst
+                ? attribute.getRangeSelectivity(null, value)
+                : attribute.getRangeSelectivity(value, null);
+    }
+
+    private double getSpatialSelectivity(BinarySpatialOperator filter) {
+        Expression property = filter.getExpression1();
+        Expression literal = filter.getExpression2();
+        if (property instanceof Literal) {
+            property = filter.getExpression2();
+            literal = filter.getExpression1();
+        }
+        AttributeStatistics attribute = getAttribute(property);
+        if (attribute == null || !(literal instanceof Literal)) {
+            return Double.NaN;
+        }
+        Envelope envelope = null;
+        if (filter instanceof BBOX) {
+            envelope = ((BBOX) filter).getBounds();
+        } else {
+            Object value = ((Literal) literal).getValue();
+            if (value instanceof Geometry) {
+                envelope = ((Geometry) value).getEnvelopeInternal();
+            } else if (value instanceof Envelope) {
+                envelope = (Envelope) value;
+            }
+        }
+        if (envelope == null) {
+            return Double.NaN;
+        }
+        envelope = new Envelope(envelope);
+        if (filter instanceof DWithin) {
+            envelope.expandBy(((DWithin) filter).getDistance());
+        } else if (filter instanceof Beyond) {
+            envelope.expandBy(((Beyond) filter).getDistance());
+        }
+        double selectivity = attribute.getBBoxSelectivity(envelope);
+        if (filter instanceof Disjoint || filter instanceof Beyond) {
+            return 1 - attribute.getNullFraction() - selectivity;
+        }
+        return selectivity;
+    }
+
+    private AttributeStatistics getAttribute(Expression expression) {
+        if (!(expression instanceof PropertyName)) {
+            return null;
+        }
+        String name = ((PropertyName) expression).getPropertyName();
+        if (name == null || name.isEmpty()) {
+            name = defaultGeometry;
+        }
+        return name == null ? null : attributes.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureStatistics[count="
+                + count
+                + ", sampleSize="
+                + sampleSize
+                + ", attributes="
+                + attributes.values()
+                + "]";
+    }
+}
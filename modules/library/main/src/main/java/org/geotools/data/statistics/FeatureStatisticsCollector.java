@@ -0,0 +1,97 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+
+/**
+ * Collects the {@link FeatureStatistics} of the visited features, either all the features of a data set, or a sample
+ * of them.
+ *
+ * <pre><code>
+ * FeatureStatisticsCollector collector = new FeatureStatisticsCollector(schema);
+ * features.accepts(collector, null);
+ * FeatureStatistics statistics = collector.getStatistics();
+ * </code></pre>
+ *
+ * The statistics returned share their state with the collector, which should not be used to visit more features.
+ *
+ * @since 34
+ */
+public class FeatureStatisticsCollector implements FeatureVisitor {
+
+    final SimpleFeatureType schema;
+
+    final AttributeStatistics[] attributes;
+
+    long count;
+
+    public FeatureStatisticsCollector(SimpleFeatureType schema) {
+        this.schema = schema;
+        this.attributes = new AttributeStatistics[schema.getAttributeCount()];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = new AttributeStatistics(schema.getDescriptor(i).getLocalName());
+        }
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        SimpleFeature sf = (SimpleFeature) feature;
+        if (sf.getFeatureType() == schema) {
+            for (int i = 0; i < attributes.length; i++) {
+                attributes[i].add(sf.getAttribute(i));
+            }
+        } else {
+            for (int i = 0; i < attributes.length; i++) {
+                attributes[i].add(sf.getAttribute(attributes[i].getName()));
+            }
+        }
+        count++;
+    }
+
+    /** The number of features visited so far */
+    public long getCount() {
+        return count;
+    }
+
+    /** Returns the statistics of the visited features, assuming they are all the features of the data set */
+    public FeatureStatistics getStatistics() {
+        return getStatistics(count);
+    }
+
+    /**
+     * Returns the statistics of the data set the visited features were sampled from
+     *
+     * @param totalCount The number of features of the whole data set
+     */
+    public FeatureStatistics getStatistics(long totalCount) {
+        totalCount = Math.max(totalCount, count);
+        Map<String, AttributeStatistics> result = new LinkedHashMap<>();
+        for (AttributeStatistics attribute : attributes) {
+            attribute.sampleFraction = totalCount == 0 ? 1 : (double) count / totalCount;
+            result.put(attribute.getName(), attribute);
+        }
+        AttributeDescriptor geometry = schema.getGeometryDescriptor();
+        return new FeatureStatistics(totalCount, count, result, geometry != null ? geometry.getLocalName() : null);
+    }
+}
@@ -135,6 +135,9 @@ public abstract class ContentDataStore implements DataStore {
     /** factory used to create the datastore */
     protected DataStoreFactorySpi dataStoreFactory;
 
+    /** cache of query results, disabled when null */
+    protected volatile QueryResultCache resultCache;
+
     public ContentDataStore() {
         // get a concurrent map so that we can do reads in parallel with writes (writes vs writes
         // are actually synchronized to prevent double work, see getEntry()).
@@ -229,6 +232,25 @@ public void setNamespaceURI(String namespaceURI) {
         this.namespaceURI = namespaceURI;
     }
 
+    /** The cache of query results, or null if results are not cached. */
+    public QueryResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets the cache of query results, or null to disable it. Results are cached only for reads in
+     * {@link Transaction#AUTO_COMMIT}, see {@link QueryResultCache} for details.
+     */
+    public void setResultCache(QueryResultCache resultCache) {
+        QueryResultCache previous = this.resultCache;
+        this.resultCache = resultCache;
+        if (previous != null && previous != resultCache) {
+            for (ContentEntry entry : entries.values()) {
+                previous.dispose(entry);
+            }
+        }
+    }
+
     /** The logger for the datastore. */
     public Logger getLogger() {
         return LOGGER;
@@ -439,6 +461,9 @@ public final void updateSchema(String typeName, SimpleFeatureType featureType) t
     @Override
     public void dispose() {
         for (ContentEntry entry : entries.values()) {
+            if (resultCache != null) {
+                resultCache.dispose(entry);
+            }
             entry.dispose();
         }
         entries.clear();
@@ -544,8 +569,9 @@ protected final ContentEntry ensureEntry(Name name) throws IOException {
      * @param name The name of the entry.
      */
     protected final void removeEntry(Name name) {
-        if (entries.containsKey(name)) {
-            entries.remove(name);
+        ContentEntry entry = entries.remove(name);
+        if (entry != null && resultCache != null) {
+            resultCache.dispose(entry);
         }
     }
 
@@ -28,6 +28,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.data.FeatureListener;
@@ -49,27 +50,37 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.Id;
+import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.geometry.BoundingBox;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.util.ProgressListener;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.Diff;
 import org.geotools.data.DiffFeatureReader;
 import org.geotools.data.FilteringFeatureReader;
 import org.geotools.data.InProcessLockingManager;
 import org.geotools.data.MaxFeatureReader;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.ReTypeFeatureReader;
 import org.geotools.data.crs.ForceCoordinateSystemFeatureReader;
 import org.geotools.data.crs.ReprojectFeatureReader;
 import org.geotools.data.sort.SortedFeatureReader;
+import org.geotools.data.statistics.FeatureStatistics;
 import org.geotools.data.util.NullProgressListener;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.SchemaException;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.BoundsVisitor;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.FeatureAttributeVisitor;
+import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.ParallelVisitorExecutor;
+import org.geotools.filter.FilterAttributeExtractor;
 import org.geotools.filter.function.Collection_AverageFunction;
 import org.geotools.filter.function.Collection_BoundsFunction;
 import org.geotools.filter.function.Collection_MaxFunction;
@@ -557,6 +568,44 @@ public final int getCount(Query query) throws IOException {
      */
     protected abstract int getCountInternal(Query query) throws IOException;
 
+    /**
+     * Returns the statistics of the features, used to estimate the selectivity of filters when deciding how to evaluate
+     * them, or null if not available.
+     *
+     * <p>The statistics are cached in the state. They are either maintained by the store, see
+     * {@link #getStatisticsInternal()}, or collected on request with {@link #collectStatistics(int)}.
+     */
+    public FeatureStatistics getStatistics() throws IOException {
+        ContentState state = getState();
+        FeatureStatistics statistics = state.getStatistics();
+        if (statistics == null) {
+            statistics = getStatisticsInternal();
+            state.setStatistics(statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics the store can compute cheaply, for example from its metadata, or null if not available.
+     * The default implementation returns null.
+     */
+    protected FeatureStatistics getStatisticsInternal() throws IOException {
+        return null;
+    }
+
+    /**
+     * Collects the statistics of the features by reading them, and caches them in the state
+     *
+     * @param sampleSize The maximum number of features to read, or zero to read all of them
+     * @return The collected statistics
+     */
+    public FeatureStatistics collectStatistics(int sampleSize) throws IOException {
+        FeatureStatistics statistics =
+                sampleSize > 0 ? FeatureStatistics.sample(this, sampleSize) : FeatureStatistics.collect(getFeatures());
+        getState().setStatistics(statistics);
+        return statistics;
+    }
+
     /** Returns the feature collection of all the features of the feature source. */
     @Override
     public final ContentFeatureCollection getFeatures() throws IOException {
@@ -581,6 +630,21 @@ public final ContentFeatureCollection getFeatures(Query query) throws IOExceptio
         return new ContentFeatureCollection(this, query);
     }
 
+    /**
+     * Returns a copy of the query without the {@link Hints#FEATURE_REUSE} hint, or the query itself if the hint is not
+     * set. To be used when the features read are going to be retained, e.g., when buffering them.
+     */
+    protected static Query withoutFeatureReuse(Query query) {
+        if (query == null || query.getHints().get(Hints.FEATURE_REUSE) == null) {
+            return query;
+        }
+        Query copy = new Query(query);
+        Hints hints = new Hints(query.getHints());
+        hints.remove(Hints.FEATURE_REUSE);
+        copy.setHints(hints);
+        return copy;
+    }
+
     /** Returns a reader for the features specified by a query. */
     public final FeatureReader<SimpleFeatureType, SimpleFeature> getReader(Query query) throws IOException {
         query = joinQuery(query);
@@ -593,11 +657,29 @@ public final FeatureReader<SimpleFeatureType, SimpleFeature> getReader(Query que
             query = dq;
         }
 
+        // sorting in memory keeps the features around, the reader cannot reuse them
+        if (query.getSortBy() != null && query.getSortBy().length != 0 && !canSort(query)) {
+            query = withoutFeatureReuse(query);
+        }
+
         // check for a join
         if (!query.getJoins().isEmpty() && getQueryCapabilities().isJoiningSupported()) {
             throw new IOException("Feature source does not support joins");
         }
 
+        // cached results, transactions need to see their own changes
+        QueryResultCache cache = getDataStore().getResultCache();
+        QueryResultCache.Key cacheKey = null;
+        if (cache != null && (transaction == null || transaction == Transaction.AUTO_COMMIT)) {
+            cacheKey = cache.key(getEntry(), query);
+            if (cacheKey != null) {
+                FeatureReader<SimpleFeatureType, SimpleFeature> cached = cache.getReader(cacheKey, query);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
         // if the implementation can retype but not sort, we might have
         // to remove the retyping, or we won't be able to sort in memory
         FeatureReader<SimpleFeatureType, SimpleFeature> reader;
@@ -634,7 +716,7 @@ && canRetype(query)
         // filtering
         if (!canFilter(query)) {
             if (query.getFilter() != null && query.getFilter() != Filter.INCLUDE) {
-                reader = new FilteringFeatureReader<>(reader, query.getFilter());
+                reader = new FilteringFeatureReader<>(reader, query.getFilter(), getStatistics());
             }
         }
 
@@ -715,6 +797,10 @@ && canRetype(query)
         // transaction);
         // }
 
+        if (cacheKey != null) {
+            reader = cache.cachingReader(cacheKey, reader);
+        }
+
         return reader;
     }
 
@@ -771,6 +857,11 @@ public void accepts(
             return;
         }
 
+        if (visitPartitioned(query, visitor, progress)) {
+            // visited in parallel over the partitions provided by the subclass
+            return;
+        }
+
         // subclass could not handle, resort to manually walkign through
         try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReader(query)) {
             float size = progress instanceof NullProgressListener ? 0.0f : (float) getCount(query);
@@ -815,6 +906,129 @@ protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOEx
         return false;
     }
 
+    /**
+     * Visits the partitions returned by {@link #getReaderPartitionsInternal(Query, int)} in parallel, if the visitor
+     * can be split in partial calculations (see {@link FeatureCalc#createPartial()}) and the query does not use
+     * sorting, paging, reprojection or a transaction.
+     *
+     * @return true if the visit was performed, false otherwise
+     */
+    boolean visitPartitioned(Query query, FeatureVisitor visitor, ProgressListener progress) throws IOException {
+        if (!ParallelVisitorExecutor.canSplit(visitor)
+                || (transaction != null && transaction != Transaction.AUTO_COMMIT)
+                || (query.getSortBy() != null && query.getSortBy().length > 0)
+                || query.getStartIndex() != null
+                || !query.isMaxFeaturesUnlimited()
+                || query.getCoordinateSystem() != null
+                || query.getCoordinateSystemReproject() != null
+                || !query.getJoins().isEmpty()) {
+            return false;
+        }
+        int parallelism = getVisitorParallelism(query);
+        if (parallelism < 2) {
+            return false;
+        }
+
+        Query partitionQuery = resolvePropertyNames(joinQuery(getVisitorQuery(query, visitor)));
+        List<Partition<SimpleFeatureType, SimpleFeature>> partitions =
+                getReaderPartitionsInternal(partitionQuery, parallelism);
+        if (partitions == null) {
+            return false;
+        }
+
+        // apply the same wrappers as getReader, based on subclass capabilities, once each partition is opened
+        boolean filter = !canFilter(partitionQuery)
+                && partitionQuery.getFilter() != null
+                && partitionQuery.getFilter() != Filter.INCLUDE;
+        boolean retype = !canRetype(partitionQuery) && partitionQuery.getPropertyNames() != Query.ALL_NAMES;
+        List<Partition<SimpleFeatureType, SimpleFeature>> wrapped = new ArrayList<>(partitions.size());
+        for (Partition<SimpleFeatureType, SimpleFeature> partition : partitions) {
+            wrapped.add(() -> {
+                FeatureReader<SimpleFeatureType, SimpleFeature> reader = partition.open();
+                if (filter) {
+                    reader = new FilteringFeatureReader<>(reader, partitionQuery.getFilter());
+                }
+                if (retype) {
+                    SimpleFeatureType target = SimpleFeatureTypeBuilder.retype(
+                            reader.getFeatureType(), partitionQuery.getPropertyNames());
+                    if (!target.equals(reader.getFeatureType())) {
+                        reader = new ReTypeFeatureReader(reader, target, false);
+                    }
+                }
+                return reader;
+            });
+        }
+
+        ExecutorService executor = null;
+        if (query.getHints() != null) {
+            executor = (ExecutorService) query.getHints().get(Hints.EXECUTOR_SERVICE);
+        }
+        new ParallelVisitorExecutor(executor).visit(wrapped, (FeatureCalc) visitor, progress);
+        return true;
+    }
+
+    /** Narrows down the query properties to the ones needed by the visitor, when they are known */
+    private Query getVisitorQuery(Query query, FeatureVisitor visitor) {
+        String[] properties;
+        if (visitor instanceof FeatureAttributeVisitor) {
+            FilterAttributeExtractor extractor = new FilterAttributeExtractor(getSchema());
+            for (Expression e : ((FeatureAttributeVisitor) visitor).getExpressions()) {
+                e.accept(extractor, null);
+            }
+            properties = extractor.getAttributeNames();
+        } else if (visitor instanceof CountVisitor) {
+            properties = new String[0];
+        } else if (visitor instanceof BoundsVisitor && getSchema().getGeometryDescriptor() != null) {
+            properties = new String[] {getSchema().getGeometryDescriptor().getLocalName()};
+        } else {
+            return query;
+        }
+        Query result = new Query(query);
+        result.setPropertyNames(properties);
+        return result;
+    }
+
+    /**
+     * Returns the number of partitions to be visited in parallel, by default the {@link Hints#VISITOR_PARALLELISM}
+     * found in the query or system hints, or 1 otherwise. Parallel visits are opt-in, as they compete with other
+     * requests for the shared executor and for the store resources (e.g., connections, file handles).
+     *
+     * @param query The query being visited
+     * @return The desired number of partitions, a value lower than 2 disables parallel visits
+     */
+    protected int getVisitorParallelism(Query query) {
+        Object parallelism = query.getHints() != null ? query.getHints().get(Hints.VISITOR_PARALLELISM) : null;
+        if (parallelism == null) {
+            parallelism = Hints.getSystemDefault(Hints.VISITOR_PARALLELISM);
+        }
+        if (parallelism instanceof Integer) {
+            return (Integer) parallelism;
+        }
+        return 1;
+    }
+
+    /**
+     * Subclass method splitting the features matching the query in disjoint partitions that can be read in parallel,
+     * used to run visitors that can be split in partial calculations over multiple threads.
+     *
+     * <p>The partitions are only opened by the thread visiting them, which also closes the reader. The readers follow
+     * the same contract as {@link #getReaderInternal(Query)}: filtering and retyping are only expected if the subclass
+     * declares it can handle them, the base class wraps the readers otherwise. Sorting, paging and reprojection are
+     * never requested. When the partitions are contiguous ranges of the source, they should be returned in their
+     * natural order, so that order sensitive visitors get consistent results.
+     *
+     * <p>The default implementation returns null, subclasses able to partition their contents should override it.
+     *
+     * @param query The query, with no sorting, paging or reprojection
+     * @param partitions The desired number of partitions, the subclass can return fewer
+     * @return The partitions, or null if the contents cannot be split
+     * @since 34
+     */
+    protected List<Partition<SimpleFeatureType, SimpleFeature>> getReaderPartitionsInternal(
+            Query query, int partitions) throws IOException {
+        return null;
+    }
+
     /**
      * Subclass method for returning a native reader from the datastore.
      * <p>
@@ -173,6 +173,11 @@ public final FeatureWriter<SimpleFeatureType, SimpleFeature> getWriter(Query que
                     (InProcessLockingManager) getDataStore().getLockingManager();
             writer = lockingManager.checkedWriter(writer, transaction);
         }
+        // keep the cached query results in sync
+        QueryResultCache cache = getDataStore().getResultCache();
+        if (cache != null) {
+            writer = cache.writer(getEntry(), transaction, writer);
+        }
         // Finished
         return writer;
     }
@@ -423,4 +428,24 @@ public void removeFeatures(Filter filter) throws IOException {
             }
         }
     }
+
+    /**
+     * Tells the result cache of the data store, if any, that features are about to be written without going through
+     * {@link #getWriter(Query, int)}, for example with a native bulk update. Must be followed by
+     * {@link #endResultCacheWrite()} once the write is done, even if it failed.
+     */
+    protected final void beginResultCacheWrite() {
+        QueryResultCache cache = getDataStore().getResultCache();
+        if (cache != null) {
+            cache.beginWrite(getEntry(), transaction);
+        }
+    }
+
+    /** Closes a write started with {@link #beginResultCacheWrite()}. */
+    protected final void endResultCacheWrite() {
+        QueryResultCache cache = getDataStore().getResultCache();
+        if (cache != null) {
+            cache.endWrite(getEntry(), transaction);
+        }
+    }
 }
@@ -34,6 +34,7 @@
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.data.Diff;
+import org.geotools.data.statistics.FeatureStatistics;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 
 /**
@@ -126,6 +127,9 @@ public class ContentState {
     /** cached bounds of features */
     protected ReferencedEnvelope bounds;
 
+    /** cached statistics of features */
+    protected FeatureStatistics statistics;
+
     // EVENT NOTIFICATION SUPPORT
     /**
      * Even used for batch notification; used to collect the bounds and feature ids generated over the course of a
@@ -163,6 +167,7 @@ protected ContentState(ContentState state) {
         featureType = state.featureType;
         count = state.count;
         bounds = state.bounds == null ? null : ReferencedEnvelope.reference(state.bounds);
+        statistics = state.statistics;
         batchFeatureEvent = null;
     }
 
@@ -214,6 +219,16 @@ public final void setBounds(ReferencedEnvelope bounds) {
         this.bounds = bounds;
     }
 
+    /** The cached statistics of the features. */
+    public final FeatureStatistics getStatistics() {
+        return statistics;
+    }
+
+    /** Sets the cached statistics of the features. */
+    public final void setStatistics(FeatureStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     /**
      * Adds a listener for collection events.
      *
@@ -373,6 +388,7 @@ public void flush() {
         featureType = null;
         count = -1;
         bounds = null;
+        statistics = null;
     }
 
     /**
@@ -77,6 +77,8 @@ public synchronized void setTransaction(Transaction transaction) {
         if (this.transaction != null && transaction == null) {
             // clear ContentEntry transaction to fix GEOT-3315
             state.getEntry().clearTransaction(this.transaction);
+            // the uncommitted changes are gone with the transaction, release the spill file if any
+            diff.clear();
         }
         this.transaction = transaction;
     }
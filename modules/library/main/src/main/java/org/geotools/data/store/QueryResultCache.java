@@ -0,0 +1,771 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureEvent;
+import org.geotools.api.data.FeatureListener;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.sort.SimpleFeatureCodec;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Memory bounded cache of query results, shared by the feature sources of a {@link ContentDataStore} once enabled with
+ * {@link ContentDataStore#setResultCache(QueryResultCache)}.
+ *
+ * <p>Results are keyed by the feature type and the normalized query: the filter simplified with
+ * {@link SimplifyingFilterVisitor}, the properties, sorting, paging, coordinate reference systems and hints. The
+ * geometry factory hints and {@link Hints#FEATURE_REUSE} are not part of the key, they are honoured when decoding the
+ * cached features. Queries with joins or a {@link Hints#SCREENMAP}, and feature types with attributes the
+ * {@link SimpleFeatureCodec} cannot encode, are not cached. Only reads in {@link Transaction#AUTO_COMMIT} are cached,
+ * a transaction has to see its own uncommitted changes.
+ *
+ * <p>A result is stored once it has been read to the end, encoded with the {@link SimpleFeatureCodec}, and the least
+ * recently used ones are evicted when the total size goes over the limit. The cached features do not carry the user
+ * data of the original ones, but for the SRID and coordinate reference system user data shared by the geometries of
+ * an attribute (e.g., the descriptor CRS set by JDBC stores), which are restored. Results whose geometries carry other,
+ * or differing, user data are not cached.
+ *
+ * <p>The results of a feature type are dropped when its {@link ContentState} notifies a change, when a
+ * {@link ContentFeatureStore} writes in auto commit, and when a transaction that wrote to it is committed. While a
+ * write is in progress, or a transaction that wrote to the type is open, new results for the type are not stored.
+ *
+ * <p>Instances are thread safe, and can be shared among data stores.
+ */
+public class QueryResultCache {
+
+    static final Logger LOGGER = Logging.getLogger(QueryResultCache.class);
+
+    /** Approximate memory used by a cached result besides its encoded features */
+    static final int ENTRY_OVERHEAD = 256;
+
+    final long maxMemory;
+
+    final long maxResultSize;
+
+    final LinkedHashMap<Key, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+
+    final Map<ContentEntry, EntryState> states = new IdentityHashMap<>();
+
+    long memory;
+
+    long hits;
+
+    long misses;
+
+    long evictions;
+
+    long invalidations;
+
+    /**
+     * Builds a cache using at most the given memory, a single result can use up to a quarter of it
+     *
+     * @param maxMemory The maximum size of the encoded results, in bytes
+     */
+    public QueryResultCache(long maxMemory) {
+        this(maxMemory, maxMemory / 4);
+    }
+
+    /**
+     * Builds a cache using at most the given memory
+     *
+     * @param maxMemory The maximum size of the encoded results, in bytes
+     * @param maxResultSize The maximum size of a single encoded result, larger results are not cached
+     */
+    public QueryResultCache(long maxMemory, long maxResultSize) {
+        if (maxMemory <= 0 || maxResultSize <= 0) {
+            throw new IllegalArgumentException("The cache sizes must be positive");
+        }
+        this.maxMemory = maxMemory;
+        this.maxResultSize = Math.min(maxResultSize, maxMemory);
+    }
+
+    /** The maximum size of the encoded results, in bytes */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /** The maximum size of a single encoded result, in bytes */
+    public long getMaxResultSize() {
+        return maxResultSize;
+    }
+
+    /** The number of queries answered from the cache */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** The number of cacheable queries that were not found in the cache */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** The number of results evicted to stay within the memory limit */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /** The number of results dropped because their feature type changed */
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    /** The approximate memory used by the cached results, in bytes */
+    public synchronized long getMemoryUsage() {
+        return memory;
+    }
+
+    /** The number of cached results */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /** Drops all the cached results, leaving the statistics untouched */
+    public synchronized void clear() {
+        for (EntryState state : states.values()) {
+            state.generation++;
+            state.results = 0;
+        }
+        results.clear();
+        memory = 0;
+    }
+
+    /** Drops the cached results of the given feature type */
+    public synchronized void invalidate(ContentEntry entry) {
+        EntryState state = states.get(entry);
+        if (state == null) {
+            return;
+        }
+        state.generation++;
+        if (state.results > 0) {
+            for (Iterator<Map.Entry<Key, Result>> it = results.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Key, Result> e = it.next();
+                if (e.getKey().entry == entry) {
+                    memory -= e.getValue().size();
+                    invalidations++;
+                    it.remove();
+                }
+            }
+            state.results = 0;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QueryResultCache[results="
+                + results.size()
+                + ", memory="
+                + memory
+                + "/"
+                + maxMemory
+                + ", hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", evictions="
+                + evictions
+                + ", invalidations="
+                + invalidations
+                + "]";
+    }
+
+    /**
+     * Returns the key of the query results, or null if they cannot be cached. Starts listening to the changes of the
+     * feature type.
+     */
+    Key key(ContentEntry entry, Query query) {
+        if (!query.getJoins().isEmpty()) {
+            return null;
+        }
+        Map<Object, Object> hints = new HashMap<>();
+        if (query.getHints() != null) {
+            for (Map.Entry<Object, Object> hint : query.getHints().entrySet()) {
+                Object key = hint.getKey();
+                if (key == Hints.SCREENMAP) {
+                    // the screen map state changes while rendering
+                    return null;
+                } else if (key != Hints.FEATURE_REUSE
+                        && key != Hints.JTS_GEOMETRY_FACTORY
+                        && key != Hints.JTS_COORDINATE_SEQUENCE_FACTORY) {
+                    hints.put(key, hint.getValue());
+                }
+            }
+        }
+        getState(entry);
+        return new Key(entry, query, hints);
+    }
+
+    private synchronized EntryState getState(ContentEntry entry) {
+        EntryState state = states.get(entry);
+        if (state == null) {
+            state = new EntryState(entry);
+            states.put(entry, state);
+            entry.getState(Transaction.AUTO_COMMIT).addListener(state);
+        }
+        return state;
+    }
+
+    /** Returns a reader over the cached results, or null if they are not in the cache */
+    SimpleFeatureReader getReader(Key key, Query query) {
+        Result result;
+        synchronized (this) {
+            result = results.get(key);
+            if (result == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        Hints hints = query.getHints();
+        GeometryFactory geometryFactory = null;
+        if (hints != null) {
+            geometryFactory = (GeometryFactory) hints.get(Hints.JTS_GEOMETRY_FACTORY);
+            CoordinateSequenceFactory csFactory =
+                    (CoordinateSequenceFactory) hints.get(Hints.JTS_COORDINATE_SEQUENCE_FACTORY);
+            if (geometryFactory == null && csFactory != null) {
+                geometryFactory = new GeometryFactory(csFactory);
+            }
+        }
+        SimpleFeatureCodec codec = new SimpleFeatureCodec(
+                result.schema, geometryFactory != null ? geometryFactory : new GeometryFactory());
+        codec.setFeatureReuse(hints != null && Boolean.TRUE.equals(hints.get(Hints.FEATURE_REUSE)));
+        return new CachedFeatureReader(result, codec);
+    }
+
+    /** Wraps the reader so that the results are stored in the cache once fully read */
+    FeatureReader<SimpleFeatureType, SimpleFeature> cachingReader(
+            Key key, FeatureReader<SimpleFeatureType, SimpleFeature> reader) {
+        if (!SimpleFeatureCodec.canEncode(reader.getFeatureType())) {
+            return reader;
+        }
+        long generation;
+        synchronized (this) {
+            generation = getState(key.entry).generation;
+        }
+        return new CachingFeatureReader(key, generation, reader);
+    }
+
+    synchronized void put(
+            Key key, long generation, SimpleFeatureType schema, byte[] data, GeometryMetadata[] geometries) {
+        EntryState state = states.get(key.entry);
+        if (state == null || state.generation != generation || state.writers > 0) {
+            // the features changed while reading
+            return;
+        }
+        Result result = new Result(schema, data, geometries);
+        if (result.size() > maxMemory) {
+            return;
+        }
+        Result previous = results.put(key, result);
+        if (previous != null) {
+            memory -= previous.size();
+        } else {
+            state.results++;
+        }
+        memory += result.size();
+        for (Iterator<Map.Entry<Key, Result>> it = results.entrySet().iterator();
+                memory > maxMemory && it.hasNext(); ) {
+            Map.Entry<Key, Result> e = it.next();
+            memory -= e.getValue().size();
+            states.get(e.getKey().entry).results--;
+            evictions++;
+            it.remove();
+        }
+    }
+
+    /** Called before writing features of the given type in auto commit, stops caching its results */
+    synchronized void beginWrite(ContentEntry entry) {
+        getState(entry).writers++;
+        invalidate(entry);
+    }
+
+    /** Called once done writing features of the given type, the results are cached again */
+    synchronized void endWrite(ContentEntry entry) {
+        EntryState state = states.get(entry);
+        if (state != null && state.writers > 0) {
+            state.writers--;
+        }
+        invalidate(entry);
+    }
+
+    /** Called before writing features of the given type in a transaction, invalidates them on commit */
+    void beginWrite(ContentEntry entry, Transaction transaction) {
+        if (transaction == null || transaction == Transaction.AUTO_COMMIT) {
+            beginWrite(entry);
+        } else {
+            TransactionKey key = new TransactionKey(this, entry);
+            synchronized (transaction) {
+                if (transaction.getState(key) == null) {
+                    transaction.putState(key, new InvalidationState(entry));
+                }
+            }
+        }
+    }
+
+    /** Called once done writing features of the given type, see {@link #beginWrite(ContentEntry, Transaction)} */
+    void endWrite(ContentEntry entry, Transaction transaction) {
+        if (transaction == null || transaction == Transaction.AUTO_COMMIT) {
+            endWrite(entry);
+        }
+    }
+
+    /** Wraps a writer of the given feature type, so that its results are not cached while writing */
+    FeatureWriter<SimpleFeatureType, SimpleFeature> writer(
+            ContentEntry entry, Transaction transaction, FeatureWriter<SimpleFeatureType, SimpleFeature> writer) {
+        beginWrite(entry, transaction);
+        if (transaction != null && transaction != Transaction.AUTO_COMMIT) {
+            return writer;
+        }
+        return new FeatureWriter<>() {
+
+            boolean closed;
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return writer.getFeatureType();
+            }
+
+            @Override
+            public SimpleFeature next() throws IOException {
+                return writer.next();
+            }
+
+            @Override
+            public void remove() throws IOException {
+                writer.remove();
+            }
+
+            @Override
+            public void write() throws IOException {
+                writer.write();
+            }
+
+            @Override
+            public boolean hasNext() throws IOException {
+                return writer.hasNext();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    writer.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        endWrite(entry);
+                    }
+                }
+            }
+        };
+    }
+
+    /** Stops tracking the feature type, dropping its results */
+    synchronized void dispose(ContentEntry entry) {
+        invalidate(entry);
+        EntryState state = states.remove(entry);
+        if (state != null) {
+            entry.getState(Transaction.AUTO_COMMIT).removeListener(state);
+        }
+    }
+
+    /** The normalized query */
+    static final class Key {
+
+        final ContentEntry entry;
+
+        final Filter filter;
+
+        final List<String> properties;
+
+        final List<Object> sortBy;
+
+        final CoordinateReferenceSystem crs;
+
+        final CoordinateReferenceSystem reprojectCrs;
+
+        final Integer startIndex;
+
+        final int maxFeatures;
+
+        final String version;
+
+        final Map<Object, Object> hints;
+
+        final int hashCode;
+
+        Key(ContentEntry entry, Query query, Map<Object, Object> hints) {
+            this.entry = entry;
+            this.filter = SimplifyingFilterVisitor.simplify(query.getFilter());
+            this.properties = query.getPropertyNames() == null ? null : Arrays.asList(query.getPropertyNames());
+            this.sortBy = query.getSortBy() == null ? null : Arrays.asList((Object[]) query.getSortBy());
+            this.crs = query.getCoordinateSystem();
+            this.reprojectCrs = query.getCoordinateSystemReproject();
+            this.startIndex = query.getStartIndex();
+            this.maxFeatures = query.getMaxFeatures();
+            this.version = query.getVersion();
+            this.hints = hints;
+            this.hashCode = Objects.hash(
+                    System.identityHashCode(entry),
+                    filter,
+                    properties,
+                    sortBy,
+                    crs,
+                    reprojectCrs,
+                    startIndex,
+                    maxFeatures,
+                    version,
+                    hints);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return entry == other.entry
+                    && hashCode == other.hashCode
+                    && maxFeatures == other.maxFeatures
+                    && Objects.equals(filter, other.filter)
+                    && Objects.equals(properties, other.properties)
+                    && Objects.equals(sortBy, other.sortBy)
+                    && Objects.equals(crs, other.crs)
+                    && Objects.equals(reprojectCrs, other.reprojectCrs)
+                    && Objects.equals(startIndex, other.startIndex)
+                    && Objects.equals(version, other.version)
+                    && Objects.equals(hints, other.hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /** The encoded features of a query */
+    static final class Result {
+
+        final SimpleFeatureType schema;
+
+        final byte[] data;
+
+        /** The metadata of the geometries of each attribute, null for the ones without geometries */
+        final GeometryMetadata[] geometries;
+
+        Result(SimpleFeatureType schema, byte[] data, GeometryMetadata[] geometries) {
+            this.schema = schema;
+            this.data = data;
+            this.geometries = geometries;
+        }
+
+        long size() {
+            return data.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    /** The SRID and user data shared by all the geometries of an attribute, which the codec does not encode */
+    static final class GeometryMetadata {
+
+        /** Null, or a {@link CoordinateReferenceSystem}, immutable and safe to share among the decoded geometries */
+        final Object userData;
+
+        final int srid;
+
+        GeometryMetadata(Object userData, int srid) {
+            this.userData = userData;
+            this.srid = srid;
+        }
+
+        boolean matches(Geometry geometry) {
+            return srid == geometry.getSRID() && Objects.equals(userData, geometry.getUserData());
+        }
+
+        void apply(Geometry geometry) {
+            geometry.setSRID(srid);
+            geometry.setUserData(userData);
+        }
+    }
+
+    /** Tracks the changes of a feature type */
+    final class EntryState implements FeatureListener {
+
+        final ContentEntry entry;
+
+        /** Incremented on each change, results read across a change are not stored */
+        long generation;
+
+        /** The writes in progress */
+        int writers;
+
+        /** The number of cached results */
+        int results;
+
+        EntryState(ContentEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void changed(FeatureEvent featureEvent) {
+            invalidate(entry);
+        }
+    }
+
+    /** Identifies the {@link InvalidationState} of a cache and feature type in a transaction */
+    static final class TransactionKey {
+
+        final QueryResultCache cache;
+
+        final ContentEntry entry;
+
+        TransactionKey(QueryResultCache cache, ContentEntry entry) {
+            this.cache = cache;
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TransactionKey
+                    && ((TransactionKey) obj).cache == cache
+                    && ((TransactionKey) obj).entry == entry;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(cache) * 31 + System.identityHashCode(entry);
+        }
+    }
+
+    /**
+     * Invalidates the results of a feature type when a transaction that wrote to it is committed, and keeps them from
+     * being cached until the transaction is closed, as the transaction states are committed in no particular order.
+     */
+    final class InvalidationState implements Transaction.State {
+
+        final ContentEntry entry;
+
+        Transaction transaction;
+
+        InvalidationState(ContentEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void setTransaction(Transaction transaction) {
+            if (transaction != null && this.transaction == null) {
+                // the cached results stay valid until the commit
+                synchronized (QueryResultCache.this) {
+                    getState(entry).writers++;
+                }
+            } else if (transaction == null && this.transaction != null) {
+                endWrite(entry);
+            }
+            this.transaction = transaction;
+        }
+
+        @Override
+        public void addAuthorization(String AuthID) throws IOException {
+            // nothing to do
+        }
+
+        @Override
+        public void commit() throws IOException {
+            invalidate(entry);
+        }
+
+        @Override
+        public void rollback() throws IOException {
+            // the cached results never saw the changes
+        }
+    }
+
+    /** Reads the features back from a cached result */
+    static final class CachedFeatureReader implements SimpleFeatureReader {
+
+        final Result result;
+
+        final SimpleFeatureCodec codec;
+
+        final SimpleFeatureCodec.Input input = new SimpleFeatureCodec.Input();
+
+        CachedFeatureReader(Result result, SimpleFeatureCodec codec) {
+            this.result = result;
+            this.codec = codec;
+            input.reset(result.data, result.data.length);
+        }
+
+        @Override
+        public SimpleFeatureType getFeatureType() {
+            return result.schema;
+        }
+
+        @Override
+        public SimpleFeature next() throws IOException, NoSuchElementException {
+            if (!input.hasRemaining()) {
+                throw new NoSuchElementException("No more features in the cached result");
+            }
+            SimpleFeature feature = codec.decode(input);
+            GeometryMetadata[] geometries = result.geometries;
+            for (int i = 0; i < geometries.length; i++) {
+                if (geometries[i] != null) {
+                    Object value = feature.getAttribute(i);
+                    if (value instanceof Geometry) {
+                        geometries[i].apply((Geometry) value);
+                    }
+                }
+            }
+            return feature;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return input.hasRemaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.reset(null, 0);
+        }
+    }
+
+    /** Encodes the features while they are read, and stores them once the reader is exhausted */
+    final class CachingFeatureReader implements SimpleFeatureReader {
+
+        final Key key;
+
+        final long generation;
+
+        final FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+        final SimpleFeatureType schema;
+
+        final SimpleFeatureCodec codec;
+
+        SimpleFeatureCodec.Output output = new SimpleFeatureCodec.Output(4096);
+
+        /** The metadata of the geometries seen so far, by attribute */
+        final GeometryMetadata[] geometries;
+
+        boolean complete;
+
+        CachingFeatureReader(Key key, long generation, FeatureReader<SimpleFeatureType, SimpleFeature> delegate) {
+            this.key = key;
+            this.generation = generation;
+            this.delegate = delegate;
+            this.schema = delegate.getFeatureType();
+            this.codec = new SimpleFeatureCodec(schema);
+            this.geometries = new GeometryMetadata[schema.getAttributeCount()];
+        }
+
+        @Override
+        public SimpleFeatureType getFeatureType() {
+            return schema;
+        }
+
+        @Override
+        public SimpleFeature next() throws IOException, NoSuchElementException {
+            SimpleFeature feature = delegate.next();
+            if (output != null && !collectGeometryMetadata(feature)) {
+                LOGGER.fine("Cannot cache the query results, the geometries do not share the same SRID and CRS");
+                output = null;
+            }
+            if (output != null) {
+                try {
+                    codec.encode(feature, output);
+                    if (output.size() > maxResultSize) {
+                        output = null;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Cannot cache the query results", e);
+                    output = null;
+                }
+            }
+            return feature;
+        }
+
+        /**
+         * Records the SRID and CRS of the feature geometries, returns false if they cannot be restored when reading the
+         * cached features back
+         */
+        private boolean collectGeometryMetadata(SimpleFeature feature) {
+            for (int i = 0; i < geometries.length; i++) {
+                Object value = feature.getAttribute(i);
+                if (!(value instanceof Geometry)) {
+                    continue;
+                }
+                Geometry geometry = (Geometry) value;
+                if (geometries[i] == null) {
+                    Object userData = geometry.getUserData();
+                    if (userData != null && !(userData instanceof CoordinateReferenceSystem)) {
+                        return false;
+                    }
+                    geometries[i] = new GeometryMetadata(userData, geometry.getSRID());
+                } else if (!geometries[i].matches(geometry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            boolean hasNext = delegate.hasNext();
+            if (!hasNext) {
+                complete = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                if (complete && output != null) {
+                    put(key, generation, schema, output.toByteArray(), geometries);
+                }
+                output = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.util;
+
+import java.util.Arrays;
+import java.util.Date;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.util.Converters;
+
+/**
+ * Evaluates a filter against the attribute indexes of a store, returning the sorted numbers of the records that might
+ * match it. Equality, range and between comparisons of a property against a literal are normalized to property on the
+ * left and literal on the right, and looked up with {@link #range} or {@link #equalTo}. The children of an {@link And}
+ * are intersected, the ones of an {@link Or} merged, other filters are passed to {@link #queryOther(Filter)}. The
+ * result is a superset of the matching records, the filter still needs to be evaluated on the features read.
+ */
+public abstract class SortedIndexQuery {
+
+    /**
+     * Returns the sorted numbers of the records that might match the filter
+     *
+     * @return The record numbers, or null if the indexes cannot be used to evaluate the filter
+     */
+    public int[] query(Filter filter) {
+        if (filter == Filter.EXCLUDE) {
+            return new int[0];
+        } else if (filter instanceof And) {
+            int[] result = null;
+            for (Filter child : ((And) filter).getChildren()) {
+                int[] records = query(child);
+                if (records != null) {
+                    result = result == null ? records : intersect(result, records);
+                }
+            }
+            return result;
+        } else if (filter instanceof Or) {
+            int[] result = new int[0];
+            for (Filter child : ((Or) filter).getChildren()) {
+                int[] records = query(child);
+                if (records == null) {
+                    return null;
+                }
+                result = union(result, records);
+            }
+            return result;
+        } else if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            if (!(between.getExpression() instanceof PropertyName)) {
+                return null;
+            }
+            String property = ((PropertyName) between.getExpression()).getPropertyName();
+            Class<?> binding = getRangeBinding(property);
+            if (binding == null) {
+                return null;
+            }
+            Double lower = toNumber(between.getLowerBoundary(), binding);
+            Double upper = toNumber(between.getUpperBoundary(), binding);
+            if (lower == null || upper == null) {
+                return null;
+            }
+            return range(property, lower, true, upper, true);
+        } else if (filter instanceof BinaryComparisonOperator) {
+            return query((BinaryComparisonOperator) filter);
+        }
+        return queryOther(filter);
+    }
+
+    /**
+     * Looks up the filters that are not logical operators or comparisons. Returns null by default.
+     *
+     * @return The sorted record numbers, or null if the indexes cannot be used to evaluate the filter
+     */
+    protected int[] queryOther(Filter filter) {
+        return null;
+    }
+
+    /**
+     * Returns the binding of the property if its index supports numeric range lookups, or null otherwise. The literals
+     * are converted to the keys of such an index as doubles: dates as milliseconds, booleans as 0 and 1.
+     */
+    protected abstract Class<?> getRangeBinding(String property);
+
+    /**
+     * Returns the sorted numbers of the records whose value falls in the specified range, the index can also include
+     * bounds meant to be excluded. Only called for properties with a range binding, open ranges use infinite values.
+     */
+    protected abstract int[] range(String property, double min, boolean minInclusive, double max, boolean maxInclusive);
+
+    /**
+     * Returns the sorted numbers of the records whose value is exactly the specified string
+     *
+     * @return The record numbers, or null if the property has no string index
+     */
+    protected abstract int[] equalTo(String property, String value);
+
+    private int[] query(BinaryComparisonOperator comparison) {
+        Expression e1 = comparison.getExpression1();
+        Expression e2 = comparison.getExpression2();
+        // property on the left, literal on the right
+        boolean swapped = false;
+        if (e1 instanceof Literal && e2 instanceof PropertyName) {
+            Expression tmp = e1;
+            e1 = e2;
+            e2 = tmp;
+            swapped = true;
+        }
+        if (!(e1 instanceof PropertyName) || !(e2 instanceof Literal)) {
+            return null;
+        }
+        String property = ((PropertyName) e1).getPropertyName();
+        Class<?> binding = getRangeBinding(property);
+
+        if (comparison instanceof PropertyIsEqualTo) {
+            if (binding != null) {
+                Double value = toNumber(e2, binding);
+                return value != null ? range(property, value, true, value, true) : null;
+            } else if (comparison.isMatchingCase() && ((Literal) e2).getValue() instanceof String) {
+                // other literals might be compared after converting the attribute value
+                return equalTo(property, (String) ((Literal) e2).getValue());
+            }
+            return null;
+        }
+
+        // string ranges are not supported, indexes sort strings by code point, not as filters do
+        if (binding == null) {
+            return null;
+        }
+        Double value = toNumber(e2, binding);
+        if (value == null) {
+            return null;
+        }
+        boolean greater = comparison instanceof PropertyIsGreaterThan
+                || comparison instanceof PropertyIsGreaterThanOrEqualTo;
+        boolean less =
+                comparison instanceof PropertyIsLessThan || comparison instanceof PropertyIsLessThanOrEqualTo;
+        boolean inclusive = comparison instanceof PropertyIsGreaterThanOrEqualTo
+                || comparison instanceof PropertyIsLessThanOrEqualTo;
+        if (!greater && !less) {
+            return null;
+        }
+        // "literal > property" is "property < literal"
+        if (greater != swapped) {
+            return range(property, value, inclusive, Double.POSITIVE_INFINITY, true);
+        } else {
+            return range(property, Double.NEGATIVE_INFINITY, true, value, inclusive);
+        }
+    }
+
+    /**
+     * Converts the literal in the index key of a property with the specified binding. Dates are only converted from
+     * date literals, to avoid time zone mismatches with the filter evaluation.
+     */
+    private static Double toNumber(Expression expression, Class<?> binding) {
+        if (!(expression instanceof Literal)) {
+            return null;
+        }
+        Object value = ((Literal) expression).getValue();
+        if (value == null) {
+            return null;
+        } else if (Date.class.isAssignableFrom(binding)) {
+            return value instanceof Date ? (double) ((Date) value).getTime() : null;
+        } else if (Boolean.class.equals(binding)) {
+            Boolean b = Converters.convert(value, Boolean.class);
+            return b == null ? null : b ? 1d : 0d;
+        }
+        Double number =
+                value instanceof Number ? ((Number) value).doubleValue() : Converters.convert(value, Double.class);
+        // NaN keys have no place in the index order
+        return number == null || number.isNaN() ? null : number;
+    }
+
+    /** Intersects two sorted arrays */
+    public static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /** Merges two sorted arrays, removing duplicates */
+    public static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (k == 0 || result[k - 1] != next) {
+                result[k++] = next;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -17,6 +17,7 @@
 package org.geotools.feature.simple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +36,7 @@
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureBuilder;
 import org.geotools.feature.type.Types;
+import org.geotools.filter.identity.FeatureIdImpl;
 import org.locationtech.jts.geom.Geometry;
 
 /**
@@ -101,6 +103,10 @@
  *   </pre>
  * </code>
  *
+ * <p>Readers that hand out each feature only until the next one is read can put the builder in reuse mode, see
+ * {@link #setReuse(boolean)}, so that the same feature instance is refilled by every call to
+ * {@link #buildFeature(String)}.
+ *
  * <p>This class is not thread safe nor should instances be shared across multiple threads.
  *
  * @author Justin Deoliveira
@@ -132,6 +138,12 @@ public class SimpleFeatureBuilder extends FeatureBuilder<FeatureType, Feature> {
 
     boolean validating;
 
+    /** Whether the built feature is reused */
+    boolean reuse;
+
+    /** The feature refilled by {@link #buildFeature(String)} in reuse mode */
+    SimpleFeatureImpl reused;
+
     public SimpleFeatureBuilder(SimpleFeatureType featureType) {
         this(featureType, CommonFactoryFinder.getFeatureFactory(null));
     }
@@ -313,11 +325,20 @@ public SimpleFeature buildFeature(String id) {
             id = SimpleFeatureBuilder.createDefaultFeatureId();
         }
 
-        Object[] values = this.values;
         Map<Object, Object>[] userData = this.userData;
         Map<Object, Object> featureUserData = this.featureUserData;
-        reset();
-        SimpleFeature sf = factory.createSimpleFeature(values, featureType, id);
+        SimpleFeature sf;
+        if (reused != null) {
+            sf = refill(id);
+        } else {
+            Object[] values = this.values;
+            reset();
+            sf = factory.createSimpleFeature(values, featureType, id);
+            if (reuse && sf.getClass() == SimpleFeatureImpl.class) {
+                reused = (SimpleFeatureImpl) sf;
+                reused.id = new ReusedFeatureId(id);
+            }
+        }
 
         // handle the per attribute user data
         if (userData != null) {
@@ -342,6 +363,21 @@ public SimpleFeature buildFeature(String id) {
         return sf;
     }
 
+    /** Copies the current values in the reused feature, and clears the state left by the previous feature */
+    private SimpleFeature refill(String id) {
+        System.arraycopy(values, 0, reused.values, 0, values.length);
+        Arrays.fill(values, null);
+        next = 0;
+        userData = null;
+        featureUserData = null;
+        ((ReusedFeatureId) reused.id).reset(id);
+        if (reused.userData != null) {
+            reused.userData.clear();
+        }
+        reused.attributeUserData = null;
+        return reused;
+    }
+
     /** Quickly builds the feature using the specified values and id */
     public SimpleFeature buildFeature(String id, Object... values) {
         addAll(values);
@@ -565,4 +601,38 @@ public boolean isValidating() {
     public void setValidating(boolean validating) {
         this.validating = validating;
     }
+
+    /**
+     * True if {@link #buildFeature(String)} refills and returns the same feature instance.
+     *
+     * @see #setReuse(boolean)
+     */
+    public boolean isReuse() {
+        return reuse;
+    }
+
+    /**
+     * Enables the reuse mode, in which {@link #buildFeature(String)} returns the same feature instance every time, with
+     * the new values, identifier and user data. A feature built in this mode is valid only until the next feature is
+     * built, callers handing it out should follow the {@link org.geotools.util.factory.Hints#FEATURE_REUSE} contract.
+     * The reuse mode is ignored if the feature factory does not build {@link SimpleFeatureImpl} instances.
+     */
+    public void setReuse(boolean reuse) {
+        this.reuse = reuse;
+        if (!reuse) {
+            reused = null;
+        }
+    }
+
+    /** A feature identifier whose value is replaced along with the values of the reused feature */
+    private static class ReusedFeatureId extends FeatureIdImpl {
+
+        ReusedFeatureId(String fid) {
+            super(fid);
+        }
+
+        void reset(String fid) {
+            this.fid = fid;
+        }
+    }
 }
@@ -165,6 +165,19 @@ public CalcResult getResult() {
         return new AverageResult(strategy, isOptimized);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == AverageVisitor.class ? new AverageVisitor(expr) : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            AverageResult merged = (AverageResult) getResult().merge(partial);
+            setValue(merged.getCount(), merged.getSum());
+        }
+    }
+
     public void setValue(Object newAverage) {
         reset();
 
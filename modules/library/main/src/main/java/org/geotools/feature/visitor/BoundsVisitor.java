@@ -49,6 +49,18 @@ public CalcResult getResult() {
         return new BoundsResult(bounds);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == BoundsVisitor.class ? new BoundsVisitor() : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            bounds.include((ReferencedEnvelope) partial.getValue());
+        }
+    }
+
     public static class BoundsResult extends AbstractCalcResult {
         private ReferencedEnvelope bbox;
 
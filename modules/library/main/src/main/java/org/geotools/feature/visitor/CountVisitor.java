@@ -68,6 +68,18 @@ public CalcResult getResult() {
         return new CountResult(count);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == CountVisitor.class ? new CountVisitor() : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            setValue(getCount() + partial.toInt());
+        }
+    }
+
     public static class CountResult extends AbstractCalcResult {
         private int count;
 
@@ -32,4 +32,31 @@ public interface FeatureCalc extends FeatureVisitor {
      * @return the results of the calculation
      */
     CalcResult getResult();
+
+    /**
+     * Creates a new, empty visitor performing the same calculation, used to compute the partial result of a partition
+     * of the features when visiting them in parallel. The partial results are combined with
+     * {@link CalcResult#merge(CalcResult)} and folded back into this visitor with {@link #mergeResult(CalcResult)}.
+     *
+     * <p>The default implementation returns null, meaning the calculation cannot be split.
+     *
+     * @return a new visitor, or null if the calculation cannot be split in partial ones
+     * @see ParallelVisitorExecutor
+     * @since 34
+     */
+    default FeatureCalc createPartial() {
+        return null;
+    }
+
+    /**
+     * Merges the result computed by one or more visitors returned by {@link #createPartial()} into this visitor, as if
+     * this visitor had visited their features too.
+     *
+     * @param partial the partial result, possibly {@link CalcResult#NULL_RESULT} if no feature was visited
+     * @throws UnsupportedOperationException if the calculation cannot be split
+     * @since 34
+     */
+    default void mergeResult(CalcResult partial) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot merge partial results");
+    }
 }
@@ -45,6 +45,9 @@ public class GroupByVisitor implements FeatureCalc, FeatureAttributeVisitor {
 
     private CalcResult optimizationResult = CalcResult.NULL_RESULT;
 
+    /** The merged results of the partial visitors, when visiting in parallel */
+    private CalcResult partialResult = CalcResult.NULL_RESULT;
+
     public GroupByVisitor(
             Aggregate aggregateVisitor,
             Expression expression,
@@ -86,7 +89,11 @@ public CalcResult getResult() {
         Map<List<Object>, CalcResult> results = inMemoryGroupBy.visit();
         // create the result, if no feature was visited this will be an empty result that can be
         // safely merged
-        GroupByResult result = new GroupByResult(results, aggregate, groupByAttributes);
+        CalcResult result = new GroupByResult(results, aggregate, groupByAttributes);
+        if (partialResult != CalcResult.NULL_RESULT) {
+            // add the results of the partitions visited in parallel
+            result = partialResult.merge(result);
+        }
         if (optimizationResult == CalcResult.NULL_RESULT) {
             // there is no optimization result so we just return the created one
             return result;
@@ -100,6 +107,22 @@ public void visit(Feature feature) {
         inMemoryGroupBy.index((SimpleFeature) feature);
     }
 
+    /** Group by visitors can be split if the results of the aggregate visitor can be merged */
+    @Override
+    public FeatureCalc createPartial() {
+        if (getClass() != GroupByVisitor.class || visitorProtoType.createPartial() == null) {
+            return null;
+        }
+        return new GroupByVisitor(aggregate, expression, groupByAttributes, null);
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            partialResult = partialResult.merge(partial);
+        }
+    }
+
     public Expression getExpression() {
         return expression;
     }
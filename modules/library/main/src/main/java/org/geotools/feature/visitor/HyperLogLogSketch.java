@@ -0,0 +1,190 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.Date;
+
+/**
+ * A HyperLogLog sketch (Flajolet et al., "HyperLogLog: the analysis of a near-optimal cardinality estimation
+ * algorithm"), estimating the number of distinct values in a stream using {@code 2^precision} one byte registers. Each
+ * value is hashed to 64 bits, the first {@code precision} bits select a register, which keeps the maximum position of
+ * the leftmost one bit found in the remaining ones. Small cardinalities are estimated with linear counting over the
+ * empty registers.
+ *
+ * <p>Sketches with the same precision can be merged by taking the maximum of each register.
+ *
+ * <p>Values are hashed consistently with their type: integral numbers by value, other numbers by their double value,
+ * character sequences by their characters and dates by their time, other objects by their {@link Object#hashCode()}.
+ *
+ * @since 34
+ */
+public class HyperLogLogSketch {
+
+    /** Default precision, 16384 registers for a relative standard error of about 0.8% */
+    public static final int DEFAULT_PRECISION = 14;
+
+    public static final int MIN_PRECISION = 4;
+
+    public static final int MAX_PRECISION = 18;
+
+    int precision;
+
+    byte[] registers;
+
+    /** Builds a sketch with the {@link #DEFAULT_PRECISION} */
+    public HyperLogLogSketch() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Builds a sketch with the specified precision
+     *
+     * @param precision The number of hash bits used to select a register, between {@link #MIN_PRECISION} and
+     *     {@link #MAX_PRECISION}. Each additional bit doubles the memory and divides the error by {@code sqrt(2)}
+     */
+    public HyperLogLogSketch(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("The sketch precision must be between "
+                    + MIN_PRECISION
+                    + " and "
+                    + MAX_PRECISION
+                    + ", got "
+                    + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /** Adds a value to the sketch, null values are ignored */
+    public void add(Object value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merges the values summarized by the other sketch into this one
+     *
+     * @throws IllegalArgumentException if the sketches have a different precision
+     */
+    public void merge(HyperLogLogSketch other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "Cannot merge sketches with different precision, " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /** Returns a copy of this sketch, that can be updated independently */
+    public HyperLogLogSketch copy() {
+        HyperLogLogSketch copy = new HyperLogLogSketch(precision);
+        System.arraycopy(registers, 0, copy.registers, 0, registers.length);
+        return copy;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /** Returns the estimated number of distinct values */
+    public long getEstimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** Returns the relative standard error of the estimate, {@code 1.04 / sqrt(2^precision)} */
+    public double getRelativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /** Hashes the value to 64 well distributed bits */
+    static long hash(Object value) {
+        long hash;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            hash = ((Number) value).longValue();
+        } else if (value instanceof Number) {
+            hash = Double.doubleToLongBits(((Number) value).doubleValue());
+        } else if (value instanceof CharSequence) {
+            // FNV-1a over the characters, the String hash code collides too easily for a 64 bit hash
+            CharSequence chars = (CharSequence) value;
+            hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash ^= chars.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        } else if (value instanceof Date) {
+            hash = ((Date) value).getTime();
+        } else {
+            hash = value.hashCode();
+        }
+        return mix(hash);
+    }
+
+    /** The MurmurHash3 64 bit finalizer */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLogSketch [precision=" + precision + ", estimate=" + getEstimate() + "]";
+    }
+}
@@ -161,6 +161,18 @@ public CalcResult getResult() {
         return new MaxResult(maxvalue);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == MaxVisitor.class ? new MaxVisitor(expr) : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            setValue(getResult().merge(partial).getValue());
+        }
+    }
+
     /**
      * Overwrites the result stored by the visitor. This should only be used by optimizations which will tell the
      * visitor the answer rather than visiting all features.
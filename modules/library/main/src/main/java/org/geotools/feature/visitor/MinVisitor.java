@@ -132,6 +132,18 @@ public CalcResult getResult() {
         return new MinResult(minvalue);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == MinVisitor.class ? new MinVisitor(expr) : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            setValue(getResult().merge(partial).getValue());
+        }
+    }
+
     public Expression getExpression() {
         return expr;
     }
@@ -0,0 +1,150 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.util.ProgressListener;
+import org.geotools.data.PartitionedFeatureReader.Partition;
+import org.geotools.data.util.NullProgressListener;
+
+/**
+ * Runs a {@link FeatureCalc} over a list of partitions in parallel. Each partition is visited by its own partial
+ * visitor, created with {@link FeatureCalc#createPartial()}, the partial results are then merged following the order
+ * of the partitions and folded back into the original visitor with {@link FeatureCalc#mergeResult(CalcResult)}.
+ *
+ * <p>The partitions are visited by tasks submitted to the provided executor, by default the common
+ * {@link ForkJoinPool}. Each partition reader is opened and closed by the task visiting it, so that thread bound
+ * resources are released on the thread that acquired them, whether the visit succeeds or not.
+ *
+ * @since 34
+ */
+public class ParallelVisitorExecutor {
+
+    ExecutorService executor;
+
+    /** Builds an executor running the partitions in the common {@link ForkJoinPool} */
+    public ParallelVisitorExecutor() {
+        this(null);
+    }
+
+    /**
+     * Builds an executor running the partitions in the specified executor service
+     *
+     * @param executor The executor service, if null the common {@link ForkJoinPool} will be used
+     */
+    public ParallelVisitorExecutor(ExecutorService executor) {
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Checks if the visitor can be split in partial calculations
+     *
+     * @param visitor The visitor
+     * @return true if the visitor is a {@link FeatureCalc} able to create partial visitors
+     */
+    public static boolean canSplit(FeatureVisitor visitor) {
+        return visitor instanceof FeatureCalc && ((FeatureCalc) visitor).createPartial() != null;
+    }
+
+    /**
+     * Visits the partitions in parallel, and merges the partial results into the visitor
+     *
+     * @param partitions The partitions, each one is opened, visited and closed by the same task
+     * @param visitor The visitor, must be able to create partial visitors
+     * @param progress Used to check for cancellation, can be null
+     * @throws IllegalArgumentException if the visitor cannot be split
+     * @throws IOException if reading or visiting any of the partitions fails
+     */
+    public <T extends FeatureType, F extends Feature> void visit(
+            List<? extends Partition<T, F>> partitions, FeatureCalc visitor, ProgressListener progress)
+            throws IOException {
+        if (progress == null) {
+            progress = new NullProgressListener();
+        }
+        List<FeatureCalc> partials = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            FeatureCalc partial = visitor.createPartial();
+            if (partial == null) {
+                throw new IllegalArgumentException("The visitor cannot be split in partial calculations: " + visitor);
+            }
+            partials.add(partial);
+        }
+
+        List<Future<CalcResult>> results = new ArrayList<>(partitions.size());
+        progress.started();
+        try {
+            for (int i = 0; i < partitions.size(); i++) {
+                final int partition = i;
+                final ProgressListener listener = progress;
+                results.add(executor.submit(
+                        () -> visitPartition(partitions.get(partition), partials.get(partition), listener)));
+            }
+
+            CalcResult merged = CalcResult.NULL_RESULT;
+            for (Future<CalcResult> result : results) {
+                merged = merged.merge(result.get());
+            }
+            if (!progress.isCanceled()) {
+                visitor.mergeResult(merged);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while visiting the partitions");
+        } catch (ExecutionException e) {
+            progress.exceptionOccurred(e.getCause());
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to visit partition", e.getCause());
+        } finally {
+            // make sure no partition keeps running (and holding resources) after a failure, the ones
+            // that did not start yet are never opened
+            for (Future<CalcResult> result : results) {
+                result.cancel(true);
+            }
+            progress.complete();
+        }
+    }
+
+    /**
+     * Opens, visits and closes the partition, all on the calling thread, as some readers hold thread bound resources
+     * (e.g., file locks)
+     */
+    private static <T extends FeatureType, F extends Feature> CalcResult visitPartition(
+            Partition<T, F> partition, FeatureCalc partial, ProgressListener progress) throws IOException {
+        if (progress.isCanceled()) {
+            return CalcResult.NULL_RESULT;
+        }
+        try (FeatureReader<T, F> reader = partition.open()) {
+            while (reader.hasNext() && !progress.isCanceled()) {
+                partial.visit(reader.next());
+            }
+        }
+        return partial.getResult();
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A KLL quantile sketch (Karnin, Lang, Liberty, "Optimal Quantile Approximation in Streams"), summarizing a stream of
+ * doubles in bounded memory. Values are collected in a stack of compactors, the compactor at level {@code h} holding
+ * items of weight {@code 2^h}. When the sketch is full a compactor is sorted and every other item, starting from a
+ * random offset, is promoted to the level above, the others are discarded. Compactor capacities decrease geometrically
+ * from the top level down, so the sketch retains about {@code 3k} items whatever the number of values.
+ *
+ * <p>Sketches built with the same {@code k} can be merged, the result has the same accuracy as a sketch built over the
+ * union of the values. The minimum and maximum values are tracked exactly, as long as no compaction took place the
+ * sketch is exact.
+ *
+ * <p>The compaction offsets are drawn from a generator with a fixed seed, so a sketch built over the same values in the
+ * same order always returns the same quantiles.
+ *
+ * @since 34
+ */
+public class QuantileSketch {
+
+    /** Default accuracy parameter, giving a normalized rank error of about 1.3% */
+    public static final int DEFAULT_K = 200;
+
+    /** Smallest accepted accuracy parameter */
+    public static final int MIN_K = 8;
+
+    /** Ratio between the capacities of two successive compactors */
+    static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+    int k;
+
+    /** The items of each compactor, the first {@link #sizes} of each array are used */
+    double[][] levels = new double[0][];
+
+    int[] sizes = new int[0];
+
+    /** Number of retained items */
+    int size;
+
+    /** Number of retained items triggering a compaction */
+    int maxSize;
+
+    long count;
+
+    double min = Double.POSITIVE_INFINITY;
+
+    double max = Double.NEGATIVE_INFINITY;
+
+    Random random;
+
+    /** Sorted retained items and their cumulative weights, computed on demand */
+    double[] sortedValues;
+
+    long[] cumulativeWeights;
+
+    /** Builds a sketch with the {@link #DEFAULT_K} accuracy */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Builds a sketch with the specified accuracy
+     *
+     * @param k The accuracy parameter, the sketch retains about {@code 3k} values and has a normalized rank error
+     *     about {@code 2.3 / k^0.97}
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("The sketch accuracy must be at least " + MIN_K + ", got " + k);
+        }
+        this.k = k;
+        this.random = new Random(k);
+        grow();
+    }
+
+    /** Adds a value to the sketch, NaN values are ignored */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        add(0, value);
+        size++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sortedValues = null;
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Merges the values summarized by the other sketch into this one
+     *
+     * @throws IllegalArgumentException if the sketches have been built with a different accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException(
+                    "Cannot merge sketches with different accuracy, " + k + " and " + other.k);
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                add(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sortedValues = null;
+        updateSize();
+        while (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /** Returns a copy of this sketch, that can be updated independently */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(k);
+        copy.merge(this);
+        return copy;
+    }
+
+    /** The accuracy parameter of this sketch */
+    public int getK() {
+        return k;
+    }
+
+    /** The number of values added to the sketch */
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** The smallest value added to the sketch, or NaN if the sketch is empty */
+    public double getMin() {
+        return isEmpty() ? Double.NaN : min;
+    }
+
+    /** The largest value added to the sketch, or NaN if the sketch is empty */
+    public double getMax() {
+        return isEmpty() ? Double.NaN : max;
+    }
+
+    /** Returns true if no value has been discarded yet, in which case quantiles and ranks are exact */
+    public boolean isExact() {
+        return levels.length == 1;
+    }
+
+    /**
+     * Returns the normalized rank error of the sketch: with 99% confidence the rank of a returned quantile differs
+     * from the requested one by no more than this fraction of the values. Zero if the sketch is exact.
+     */
+    public double getNormalizedRankError() {
+        if (isExact()) {
+            return 0;
+        }
+        // empirical fit of the KLL rank error at 99% confidence
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /**
+     * Returns the approximate value at the specified quantile, that is, the smallest value whose rank is greater than
+     * the specified fraction of the values. A quantile of 0 returns the minimum, 1 the maximum.
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The value, or NaN if the sketch is empty
+     */
+    public double getQuantile(double quantile) {
+        if (isEmpty()) {
+            return Double.NaN;
+        } else if (quantile <= 0) {
+            return min;
+        } else if (quantile >= 1) {
+            return max;
+        }
+        sort();
+        double target = quantile * count;
+        int index = 0;
+        int high = sortedValues.length - 1;
+        // first item whose cumulative weight is greater than the target
+        while (index < high) {
+            int mid = (index + high) >>> 1;
+            if (cumulativeWeights[mid] > target) {
+                high = mid;
+            } else {
+                index = mid + 1;
+            }
+        }
+        return sortedValues[index];
+    }
+
+    /**
+     * Returns the approximate fraction of the values strictly lower than the specified one
+     *
+     * @return The rank, between 0 and 1, or NaN if the sketch is empty
+     */
+    public double getRank(double value) {
+        if (isEmpty()) {
+            return Double.NaN;
+        } else if (value <= min) {
+            return 0;
+        } else if (value > max) {
+            return 1;
+        }
+        sort();
+        // number of items lower than the value
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        long weight = low == 0 ? 0 : cumulativeWeights[low - 1];
+        return (double) weight / count;
+    }
+
+    private void add(int level, double value) {
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = levels[level] = Arrays.copyOf(items, Math.max(8, items.length * 2));
+        }
+        items[sizes[level]++] = value;
+    }
+
+    /** Capacity of a compactor, depending on its distance from the top level */
+    private int capacity(int level) {
+        int depth = levels.length - level - 1;
+        return (int) Math.ceil(Math.pow(CAPACITY_RATIO, depth) * k) + 1;
+    }
+
+    private void grow() {
+        int height = levels.length;
+        levels = Arrays.copyOf(levels, height + 1);
+        sizes = Arrays.copyOf(sizes, height + 1);
+        levels[height] = new double[8];
+        maxSize = 0;
+        for (int level = 0; level <= height; level++) {
+            maxSize += capacity(level);
+        }
+    }
+
+    /** Compacts the lowest compactor over capacity */
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] >= capacity(level)) {
+                if (level + 1 >= levels.length) {
+                    grow();
+                }
+                compact(level);
+                updateSize();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the compactor and promotes every other item to the level above. With an odd number of items the smallest
+     * one stays behind.
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int n = sizes[level];
+        Arrays.sort(items, 0, n);
+        int start = n % 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = start; i + 1 < n; i += 2) {
+            add(level + 1, items[i + offset]);
+        }
+        sizes[level] = start;
+    }
+
+    private void updateSize() {
+        size = 0;
+        for (int level = 0; level < levels.length; level++) {
+            size += sizes[level];
+        }
+    }
+
+    private void sort() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[size];
+        long[] weights = new long[size];
+        int n = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[n] = levels[level][i];
+                weights[n++] = 1L << level;
+            }
+        }
+        // sort the values carrying the weights along
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sorted = new double[n];
+        long[] cumulative = new long[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            sorted[i] = values[order[i]];
+            total += weights[order[i]];
+            cumulative[i] = total;
+        }
+        this.cumulativeWeights = cumulative;
+        this.sortedValues = sorted;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch [k=" + k + ", count=" + count + ", retained=" + size + ", levels=" + levels.length + "]";
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.util.Converters;
+
+/**
+ * Summarizes the numeric values of an expression in a {@link QuantileSketch}, an approximate alternative to
+ * {@link MedianVisitor} and {@link QuantileListVisitor} running in bounded memory. The result value is the approximate
+ * median, the {@link QuantileSketchResult} gives access to any other quantile and to the error bound.
+ *
+ * <p>Null, NaN and infinite values are skipped and counted, as well as values that cannot be converted to a number.
+ *
+ * @since 34
+ */
+public class QuantileSketchVisitor implements FeatureCalc, FeatureAttributeVisitor {
+
+    Expression expr;
+
+    int k;
+
+    QuantileSketch sketch;
+
+    int countNull = 0;
+
+    int countNaN = 0;
+
+    int countNonNumeric = 0;
+
+    /** Builds a visitor with the {@link QuantileSketch#DEFAULT_K} accuracy */
+    public QuantileSketchVisitor(Expression expr) {
+        this(expr, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * Builds a visitor with the specified accuracy
+     *
+     * @param expr The expression to summarize
+     * @param k The sketch accuracy parameter, see {@link QuantileSketch#QuantileSketch(int)}
+     */
+    public QuantileSketchVisitor(Expression expr, int k) {
+        this.expr = expr;
+        this.k = k;
+        this.sketch = new QuantileSketch(k);
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        return Arrays.asList(expr);
+    }
+
+    @Override
+    public Optional<List<Class>> getResultType(List<Class> inputTypes) {
+        return Optional.of(Arrays.asList(Double.class));
+    }
+
+    public Expression getExpression() {
+        return expr;
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        Object value = expr.evaluate(feature);
+        if (value == null) {
+            countNull++;
+            return;
+        }
+
+        double number;
+        if (value instanceof Number) {
+            number = ((Number) value).doubleValue();
+        } else {
+            Double converted = Converters.convert(value, Double.class);
+            if (converted == null) {
+                countNonNumeric++;
+                return;
+            }
+            number = converted;
+        }
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            countNaN++;
+            return;
+        }
+        sketch.update(number);
+    }
+
+    /** The sketch summarizing the values visited so far */
+    public QuantileSketch getSketch() {
+        return sketch;
+    }
+
+    @Override
+    public CalcResult getResult() {
+        if (sketch.isEmpty() && countNull == 0 && countNaN == 0 && countNonNumeric == 0) {
+            return CalcResult.NULL_RESULT;
+        }
+        return new QuantileSketchResult(sketch, countNull, countNaN, countNonNumeric);
+    }
+
+    /** Creates a visitor with the same expression and accuracy, subclasses must override to opt in */
+    @Override
+    public FeatureCalc createPartial() {
+        if (getClass() != QuantileSketchVisitor.class) {
+            return null;
+        }
+        return new QuantileSketchVisitor(expr, k);
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            QuantileSketchResult result = (QuantileSketchResult) partial;
+            sketch.merge(result.getSketch());
+            countNull += result.getNullCount();
+            countNaN += result.getNaNCount();
+            countNonNumeric += result.getNonNumericCount();
+        }
+    }
+
+    public void reset() {
+        this.sketch = new QuantileSketch(k);
+        this.countNull = 0;
+        this.countNaN = 0;
+        this.countNonNumeric = 0;
+    }
+
+    /** @return the number of features which returned a NaN or infinite value */
+    public int getNaNCount() {
+        return countNaN;
+    }
+
+    /** @return the number of features which returned a null */
+    public int getNullCount() {
+        return countNull;
+    }
+
+    /** @return the number of features which returned a value that could not be converted to a number */
+    public int getNonNumericCount() {
+        return countNonNumeric;
+    }
+
+    /**
+     * The result of a {@link QuantileSketchVisitor}, its value is the approximate median. It also carries the counts of
+     * the skipped values, so that they survive the merge of partial results.
+     */
+    public static class QuantileSketchResult extends AbstractCalcResult {
+
+        QuantileSketch sketch;
+
+        int countNull;
+
+        int countNaN;
+
+        int countNonNumeric;
+
+        public QuantileSketchResult(QuantileSketch sketch) {
+            this(sketch, 0, 0, 0);
+        }
+
+        public QuantileSketchResult(QuantileSketch sketch, int countNull, int countNaN, int countNonNumeric) {
+            this.sketch = sketch;
+            this.countNull = countNull;
+            this.countNaN = countNaN;
+            this.countNonNumeric = countNonNumeric;
+        }
+
+        public QuantileSketch getSketch() {
+            return sketch;
+        }
+
+        /** @return the number of features which returned a null */
+        public int getNullCount() {
+            return countNull;
+        }
+
+        /** @return the number of features which returned a NaN or infinite value */
+        public int getNaNCount() {
+            return countNaN;
+        }
+
+        /** @return the number of features which returned a value that could not be converted to a number */
+        public int getNonNumericCount() {
+            return countNonNumeric;
+        }
+
+        @Override
+        public Object getValue() {
+            return sketch.isEmpty() ? null : sketch.getQuantile(0.5);
+        }
+
+        /** Returns the approximate value at the specified quantile, see {@link QuantileSketch#getQuantile(double)} */
+        public double getQuantile(double quantile) {
+            return sketch.getQuantile(quantile);
+        }
+
+        /**
+         * Returns the normalized rank error of the quantiles, see {@link QuantileSketch#getNormalizedRankError()}
+         */
+        public double getRankError() {
+            return sketch.getNormalizedRankError();
+        }
+
+        @Override
+        public boolean isCompatible(CalcResult targetResults) {
+            return targetResults instanceof QuantileSketchResult || targetResults == CalcResult.NULL_RESULT;
+        }
+
+        @Override
+        public CalcResult merge(CalcResult resultsToAdd) {
+            if (!isCompatible(resultsToAdd)) {
+                throw new IllegalArgumentException("Parameter is not a compatible type");
+            }
+            if (resultsToAdd == CalcResult.NULL_RESULT) {
+                return this;
+            }
+            QuantileSketchResult other = (QuantileSketchResult) resultsToAdd;
+            QuantileSketch merged = sketch.copy();
+            merged.merge(other.getSketch());
+            return new QuantileSketchResult(
+                    merged,
+                    countNull + other.countNull,
+                    countNaN + other.countNaN,
+                    countNonNumeric + other.countNonNumeric);
+        }
+    }
+}
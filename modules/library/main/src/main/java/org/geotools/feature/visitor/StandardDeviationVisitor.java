@@ -46,18 +46,69 @@ public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVi
     public static class Result extends AbstractCalcResult {
         final Double deviation;
 
+        /** Number of samples, or -1 if the result was not computed by visiting features and cannot be merged */
+        final int count;
+
+        final double mean;
+
+        /** Sum of the squared differences from the mean */
+        final double m2;
+
         public Result() {
             this.deviation = null;
+            this.count = -1;
+            this.mean = 0;
+            this.m2 = 0;
         }
 
         public Result(double deviation) {
             this.deviation = deviation;
+            this.count = -1;
+            this.mean = 0;
+            this.m2 = 0;
+        }
+
+        /**
+         * Builds a result which can be merged with others
+         *
+         * @param count the number of samples
+         * @param mean the mean of the samples
+         * @param m2 the sum of the squared differences from the mean
+         */
+        public Result(int count, double mean, double m2) {
+            this.deviation = Math.sqrt(m2 / count);
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
         }
 
         @Override
         public Object getValue() {
             return deviation;
         }
+
+        @Override
+        public boolean isCompatible(CalcResult targetResults) {
+            return targetResults == CalcResult.NULL_RESULT
+                    || (count > 0 && targetResults instanceof Result && ((Result) targetResults).count > 0);
+        }
+
+        /** Combines the variances of the two sets of samples, following Chan et al. parallel algorithm */
+        @Override
+        public CalcResult merge(CalcResult resultsToAdd) {
+            if (!isCompatible(resultsToAdd)) {
+                throw new IllegalArgumentException("Parameter is not a compatible type");
+            }
+            if (resultsToAdd == CalcResult.NULL_RESULT) {
+                return this;
+            }
+            Result other = (Result) resultsToAdd;
+            int total = count + other.count;
+            double delta = other.mean - mean;
+            double newMean = mean + delta * other.count / total;
+            double newM2 = m2 + other.m2 + delta * delta * ((double) count * other.count / total);
+            return new Result(total, newMean, newM2);
+        }
     }
 
     private Expression expr;
@@ -113,7 +164,24 @@ public CalcResult getResult() {
         if (count == 0) {
             return CalcResult.NULL_RESULT;
         }
-        return new Result(Math.sqrt(m2 / count));
+        return new Result(count, mean, m2);
+    }
+
+    @Override
+    public FeatureCalc createPartial() {
+        return getClass() == StandardDeviationVisitor.class && result == null
+                ? new StandardDeviationVisitor(expr)
+                : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            Result merged = (Result) getResult().merge(partial);
+            this.count = merged.count;
+            this.mean = merged.mean;
+            this.m2 = merged.m2;
+        }
     }
 
     public void visit(SimpleFeature feature) {
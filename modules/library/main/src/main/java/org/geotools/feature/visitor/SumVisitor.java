@@ -149,6 +149,19 @@ public CalcResult getResult() {
         return new SumResult(strategy);
     }
 
+    @Override
+    public FeatureCalc createPartial() {
+        // subclasses might use a different strategy, they need to opt in
+        return getClass() == SumVisitor.class ? new SumVisitor(expr) : null;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            setValue(getResult().merge(partial).getValue());
+        }
+    }
+
     protected interface SumStrategy {
         public void add(Object value);
 
@@ -0,0 +1,147 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Estimates the number of distinct values of an expression with a {@link HyperLogLogSketch}, an approximate
+ * alternative to {@link UniqueCountVisitor} using a fixed amount of memory whatever the number of distinct values. Null
+ * values are not counted.
+ *
+ * @since 34
+ */
+public class UniqueCountSketchVisitor implements FeatureCalc, FeatureAttributeVisitor {
+
+    Expression expr;
+
+    int precision;
+
+    HyperLogLogSketch sketch;
+
+    /** Builds a visitor with the {@link HyperLogLogSketch#DEFAULT_PRECISION} */
+    public UniqueCountSketchVisitor(Expression expr) {
+        this(expr, HyperLogLogSketch.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Builds a visitor with the specified precision
+     *
+     * @param expr The expression whose distinct values are counted
+     * @param precision The sketch precision, see {@link HyperLogLogSketch#HyperLogLogSketch(int)}
+     */
+    public UniqueCountSketchVisitor(Expression expr, int precision) {
+        this.expr = expr;
+        this.precision = precision;
+        this.sketch = new HyperLogLogSketch(precision);
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        return Arrays.asList(expr);
+    }
+
+    @Override
+    public Optional<List<Class>> getResultType(List<Class> inputTypes) {
+        return Optional.of(Arrays.asList(Integer.class));
+    }
+
+    public Expression getExpression() {
+        return expr;
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        sketch.add(expr.evaluate(feature));
+    }
+
+    /** The sketch summarizing the values visited so far */
+    public HyperLogLogSketch getSketch() {
+        return sketch;
+    }
+
+    @Override
+    public CalcResult getResult() {
+        return new UniqueCountSketchResult(sketch);
+    }
+
+    /** Creates a visitor with the same expression and precision, subclasses must override to opt in */
+    @Override
+    public FeatureCalc createPartial() {
+        if (getClass() != UniqueCountSketchVisitor.class) {
+            return null;
+        }
+        return new UniqueCountSketchVisitor(expr, precision);
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            sketch.merge(((UniqueCountSketchResult) partial).getSketch());
+        }
+    }
+
+    public void reset() {
+        this.sketch = new HyperLogLogSketch(precision);
+    }
+
+    /** The result of a {@link UniqueCountSketchVisitor}, its value is the estimated number of distinct values */
+    public static class UniqueCountSketchResult extends AbstractCalcResult {
+
+        HyperLogLogSketch sketch;
+
+        public UniqueCountSketchResult(HyperLogLogSketch sketch) {
+            this.sketch = sketch;
+        }
+
+        public HyperLogLogSketch getSketch() {
+            return sketch;
+        }
+
+        @Override
+        public Object getValue() {
+            return (int) Math.min(Integer.MAX_VALUE, sketch.getEstimate());
+        }
+
+        /** Returns the relative standard error of the estimate, see {@link HyperLogLogSketch#getRelativeError()} */
+        public double getRelativeError() {
+            return sketch.getRelativeError();
+        }
+
+        @Override
+        public boolean isCompatible(CalcResult targetResults) {
+            return targetResults instanceof UniqueCountSketchResult || targetResults == CalcResult.NULL_RESULT;
+        }
+
+        @Override
+        public CalcResult merge(CalcResult resultsToAdd) {
+            if (!isCompatible(resultsToAdd)) {
+                throw new IllegalArgumentException("Parameter is not a compatible type");
+            }
+            if (resultsToAdd == CalcResult.NULL_RESULT) {
+                return this;
+            }
+            HyperLogLogSketch merged = sketch.copy();
+            merged.merge(((UniqueCountSketchResult) resultsToAdd).getSketch());
+            return new UniqueCountSketchResult(merged);
+        }
+    }
+}
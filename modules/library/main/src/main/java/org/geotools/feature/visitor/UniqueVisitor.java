@@ -219,6 +219,27 @@ public CalcResult getResult() {
         return new UniqueResult(set, this.preserveOrder);
     }
 
+    /**
+     * Limits cannot be applied to the partial results, so visitors with limits cannot be split. When preserving the
+     * order the partial results need to be merged in the order of the partitions.
+     */
+    @Override
+    public FeatureCalc createPartial() {
+        if (getClass() != UniqueVisitor.class || hasLimits()) {
+            return null;
+        }
+        UniqueVisitor partial = new UniqueVisitor(expressions.toArray(new Expression[expressions.size()]));
+        partial.setPreserveOrder(preserveOrder);
+        return partial;
+    }
+
+    @Override
+    public void mergeResult(CalcResult partial) {
+        if (partial != CalcResult.NULL_RESULT) {
+            setValue(getResult().merge(partial).getValue());
+        }
+    }
+
     public List<String> getAttrNames() {
         List<String> attributes = new LinkedList<>();
         for (Expression e : expressions) {
@@ -16,6 +16,7 @@
  */
 package org.geotools.filter;
 
+import java.util.BitSet;
 import java.util.List;
 import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
@@ -26,7 +27,7 @@
  *
  * @author jdeolive
  */
-public class AndImpl extends LogicFilterImpl implements And {
+public class AndImpl extends LogicFilterImpl implements And, BatchFilter {
 
     protected AndImpl(List<Filter> children) {
         super(children);
@@ -42,6 +43,19 @@ public boolean evaluate(Object object) {
         return true;
     }
 
+    /** Narrows down the selection child by child, each one only evaluated on the features matching the previous ones */
+    @Override
+    public void evaluateBatch(List<?> features, BitSet selection) {
+        if (getClass() != AndImpl.class) {
+            // subclasses may have changed the evaluation
+            BatchFilter.super.evaluateBatch(features, selection);
+            return;
+        }
+        for (Filter filter : children) {
+            BatchEvaluator.filter(filter, features, selection);
+        }
+    }
+
     @Override
     public Object accept(FilterVisitor visitor, Object extraData) {
         return visitor.visit(this, extraData);
@@ -17,9 +17,11 @@
 package org.geotools.filter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.expression.ExpressionVisitor;
@@ -38,7 +40,7 @@
  * @author Rob Hranac, TOPP
  * @version $Id$
  */
-public class AttributeExpressionImpl extends DefaultExpression implements PropertyName {
+public class AttributeExpressionImpl extends DefaultExpression implements PropertyName, BatchExpression {
 
     /** The logger for the default core module. */
     private static final Logger LOGGER = org.geotools.util.logging.Logging.getLogger(AttributeExpressionImpl.class);
@@ -250,6 +252,37 @@ public <T> T evaluate(Object obj, Class<T> target) {
         return Converters.convert(value, target);
     }
 
+    /** Resolves the attribute index once per feature type, rather than looking up the property for each feature */
+    @Override
+    public Object[] evaluateBatch(List<?> features, BitSet rows) {
+        if (getClass() != AttributeExpressionImpl.class
+                || attPath == null
+                || attPath.isEmpty()
+                || attPath.indexOf('@') >= 0
+                || namespaceSupport != null) {
+            return BatchExpression.super.evaluateBatch(features, rows);
+        }
+        Object[] values = new Object[features.size()];
+        SimpleFeatureType type = null;
+        int index = -1;
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            Object object = features.get(i);
+            if (object instanceof SimpleFeature) {
+                SimpleFeature feature = (SimpleFeature) object;
+                if (feature.getFeatureType() != type) {
+                    type = feature.getFeatureType();
+                    index = type.indexOf(attPath);
+                }
+                if (index >= 0) {
+                    values[i] = feature.getAttribute(index);
+                    continue;
+                }
+            }
+            values[i] = evaluate(object);
+        }
+        return values;
+    }
+
     /**
      * Return this expression as a string.
      *
@@ -0,0 +1,162 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.lang.reflect.Array;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.filter.expression.AddImpl;
+import org.geotools.filter.expression.DivideImpl;
+import org.geotools.filter.expression.MultiplyImpl;
+import org.geotools.filter.expression.SubtractImpl;
+import org.geotools.util.Converters;
+
+/**
+ * Evaluates filters and expressions over blocks of features, using the {@link BatchFilter} and
+ * {@link BatchExpression} implementations when available, and the per feature evaluation otherwise.
+ *
+ * <p>Blocks are lists of features, the selected features being tracked in a {@link BitSet} indexed by position in the
+ * block:
+ *
+ * <pre><code>
+ * BitSet selection = BatchEvaluator.filter(filter, block);
+ * for (int i = selection.nextSetBit(0); i &gt;= 0; i = selection.nextSetBit(i + 1)) {
+ *     SimpleFeature feature = block.get(i);
+ *     ...
+ * }
+ * </code></pre>
+ *
+ * @since 34
+ */
+public final class BatchEvaluator {
+
+    private BatchEvaluator() {}
+
+    /**
+     * Evaluates the filter on all the features of the block
+     *
+     * @return The selection of the matching features
+     */
+    public static BitSet filter(Filter filter, List<?> features) {
+        BitSet selection = new BitSet(features.size());
+        selection.set(0, features.size());
+        filter(filter, features, selection);
+        return selection;
+    }
+
+    /**
+     * Evaluates the filter on the selected features of the block, clearing the bits of the ones not matching the
+     * filter
+     */
+    public static void filter(Filter filter, List<?> features, BitSet selection) {
+        if (filter == Filter.INCLUDE || selection.isEmpty()) {
+            return;
+        } else if (filter == Filter.EXCLUDE) {
+            selection.clear();
+        } else if (filter instanceof BatchFilter) {
+            ((BatchFilter) filter).evaluateBatch(features, selection);
+        } else {
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                if (!filter.evaluate(features.get(i))) {
+                    selection.clear(i);
+                }
+            }
+        }
+    }
+
+    /** Evaluates the expression on all the features of the block */
+    public static Object[] evaluate(Expression expression, List<?> features) {
+        BitSet rows = new BitSet(features.size());
+        rows.set(0, features.size());
+        return evaluate(expression, features, rows);
+    }
+
+    /**
+     * Evaluates the expression on the selected features of the block
+     *
+     * @return The values, with the same size as the block, null for the rows not evaluated
+     */
+    public static Object[] evaluate(Expression expression, List<?> features, BitSet rows) {
+        if (expression instanceof BatchExpression) {
+            return ((BatchExpression) expression).evaluateBatch(features, rows);
+        }
+        Object[] values = new Object[features.size()];
+        if (expression != null) {
+            for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                values[i] = expression.evaluate(features.get(i));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Evaluates the expression on the selected features of the block into a typed column, with the same values as
+     * {@link Expression#evaluate(Object, Class)}
+     *
+     * @param target The class of the values, cannot be a primitive type
+     * @return The values, with the same size as the block, null for the rows not evaluated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] evaluate(Expression expression, List<?> features, BitSet rows, Class<T> target) {
+        T[] result = (T[]) Array.newInstance(target, features.size());
+        if (isConverting(expression)) {
+            Object[] values = evaluate(expression, features, rows);
+            for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                result[i] = Converters.convert(values[i], target);
+            }
+        } else if (expression != null) {
+            for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                result[i] = expression.evaluate(features.get(i), target);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the expression on the selected features of the block into a numeric column
+     *
+     * @return The values, with the same size as the block, NaN for null values and the rows not evaluated
+     */
+    public static double[] evaluateDoubles(Expression expression, List<?> features, BitSet rows) {
+        Number[] numbers = evaluate(expression, features, rows, Number.class);
+        double[] result = new double[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            result[i] = numbers[i] == null ? Double.NaN : numbers[i].doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if evaluating the expression with a target class is known to be the same as converting its value,
+     * allowing a single evaluation to serve both purposes
+     */
+    static boolean isConverting(Expression expression) {
+        if (expression == null) {
+            return false;
+        }
+        Class<?> type = expression.getClass();
+        return type == AttributeExpressionImpl.class
+                || type == LiteralExpressionImpl.class
+                || type == FoldedLiteral.class
+                || type == AddImpl.class
+                || type == SubtractImpl.class
+                || type == MultiplyImpl.class
+                || type == DivideImpl.class;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * An expression that can be evaluated over a block of features at once, into a column of values.
+ *
+ * <p>Use {@link BatchEvaluator} to evaluate any expression over a block, falling back on the per feature evaluation
+ * for expressions not implementing this interface.
+ *
+ * @since 34
+ */
+public interface BatchExpression extends Expression {
+
+    /**
+     * Evaluates the expression on the features of the block whose bit is set in the rows. The result must be the same
+     * as calling {@link #evaluate(Object)} on each of them.
+     *
+     * @param features The block of features
+     * @param rows The features to evaluate
+     * @return The values, with the same size as the block, null for the rows not evaluated
+     */
+    default Object[] evaluateBatch(List<?> features, BitSet rows) {
+        Object[] values = new Object[features.size()];
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            values[i] = evaluate(features.get(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.filter.Filter;
+
+/**
+ * A filter that can be evaluated over a block of features at once. Implementations evaluate their operands column by
+ * column, and only on the features still selected, rather than walking the whole filter tree for each feature.
+ *
+ * <p>Use {@link BatchEvaluator} to evaluate any filter over a block, falling back on the per feature evaluation for
+ * filters not implementing this interface.
+ *
+ * @since 34
+ */
+public interface BatchFilter extends Filter {
+
+    /**
+     * Evaluates the filter on the features of the block whose bit is set in the selection, clearing the bits of the
+     * ones not matching the filter. The result must be the same as calling {@link #evaluate(Object)} on each of them.
+     *
+     * @param features The block of features
+     * @param selection The features to evaluate, updated with the matching ones
+     */
+    default void evaluateBatch(List<?> features, BitSet selection) {
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (!evaluate(features.get(i))) {
+                selection.clear(i);
+            }
+        }
+    }
+}
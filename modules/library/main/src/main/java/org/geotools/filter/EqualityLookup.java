@@ -0,0 +1,148 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+
+/**
+ * Hash based evaluation of a list of OR-ed equality comparisons between the same property and a set of literals, as
+ * produced by long IN lists and selections. The literals are converted to the class of the property values the first
+ * time such a value is met, and the comparisons are then replaced by a single set lookup.
+ *
+ * <p>The lookup is used only when it returns the same result as the comparisons, that is, when the value and the
+ * converted literals are of the same class and the value is not a collection. Other values are left to the evaluation
+ * of the single comparisons.
+ */
+final class EqualityLookup {
+
+    /** Minimum number of comparisons for the lookup to be worth building */
+    static final int MIN_SIZE = 8;
+
+    /** Marks the classes the literals cannot be converted to */
+    private static final Set<Object> UNSUPPORTED = Collections.unmodifiableSet(new HashSet<>());
+
+    /** The children the lookup has been built from, to detect changes in the filter */
+    final List<Filter> children;
+
+    final int size;
+
+    /** The compared property, or null if the children are not suitable for the lookup */
+    final PropertyName property;
+
+    final Object[] literals;
+
+    final Map<Class<?>, Set<Object>> lookups = new ConcurrentHashMap<>();
+
+    private EqualityLookup(List<Filter> children, PropertyName property, Object[] literals) {
+        this.children = children;
+        this.size = children.size();
+        this.property = property;
+        this.literals = literals;
+    }
+
+    /**
+     * Builds the lookup for the specified children, the returned lookup cannot evaluate any value if the children are
+     * not equality comparisons of the same property against non null literals
+     */
+    static EqualityLookup build(List<Filter> children) {
+        PropertyName property = null;
+        Object[] literals = new Object[children.size()];
+        for (int i = 0; i < literals.length; i++) {
+            Filter child = children.get(i);
+            // subclasses might have changed the comparison logic
+            if (child == null || child.getClass() != IsEqualsToImpl.class) {
+                return new EqualityLookup(children, null, null);
+            }
+            IsEqualsToImpl equal = (IsEqualsToImpl) child;
+            Expression expression1 = equal.getExpression1();
+            Expression expression2 = equal.getExpression2();
+            boolean literalFirst = expression1 instanceof Literal;
+            Expression name = literalFirst ? expression2 : expression1;
+            Expression literal = literalFirst ? expression1 : expression2;
+            Object value = literal instanceof Literal ? ((Literal) literal).getValue() : null;
+            if (!equal.isMatchingCase()
+                    || !(name instanceof PropertyName)
+                    || property != null && !property.equals(name)
+                    || !isSupported(value)) {
+                return new EqualityLookup(children, null, null);
+            }
+            property = (PropertyName) name;
+            literals[i] = value;
+        }
+        return new EqualityLookup(children, property, literals);
+    }
+
+    /** Returns true if the lookup has been built from the current children of a filter */
+    boolean isCurrent(List<Filter> children) {
+        return this.children == children && size == children.size();
+    }
+
+    /** Returns true if the lookup can be used to evaluate the comparisons */
+    boolean isEnabled() {
+        return property != null;
+    }
+
+    /**
+     * Returns the result of the comparisons for the specified property value, or null if the comparisons have to be
+     * evaluated one by one
+     */
+    Boolean test(Object value) {
+        if (value == null) {
+            // the literals are not null, and so is not the value of a null collection
+            return Boolean.FALSE;
+        } else if (value instanceof Collection || !isSupported(value)) {
+            return null;
+        }
+        Set<Object> lookup = lookups.computeIfAbsent(value.getClass(), this::buildLookup);
+        return lookup == UNSUPPORTED ? null : lookup.contains(value);
+    }
+
+    /** Converts all literals to the specified class, returns {@link #UNSUPPORTED} if any of them cannot be converted */
+    private Set<Object> buildLookup(Class<?> target) {
+        Set<Object> lookup = new HashSet<>();
+        for (Object literal : literals) {
+            Object bound = FilterCompiler.bind(literal, target);
+            if (bound == null || bound.getClass() != target) {
+                return UNSUPPORTED;
+            }
+            lookup.add(bound);
+        }
+        return lookup;
+    }
+
+    /** Values whose equality and hash code are consistent with the comparison of two values of the same class */
+    private static boolean isSupported(Object value) {
+        return value instanceof String
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Date
+                || value instanceof UUID;
+    }
+}
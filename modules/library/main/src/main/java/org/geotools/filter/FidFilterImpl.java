@@ -23,12 +23,13 @@
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.filter.FilterVisitor;
 import org.geotools.api.filter.Id;
+import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.identity.Identifier;
-import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.filter.expression.PropertyAccessor;
 import org.geotools.filter.expression.SimpleFeaturePropertyAccessorFactory;
 import org.geotools.filter.identity.FeatureIdImpl;
@@ -49,6 +50,9 @@ public class FidFilterImpl extends AbstractFilter implements Id {
     /** Logger for the default core module. */
     private static final Logger LOGGER = org.geotools.util.logging.Logging.getLogger(FidFilterImpl.class);
 
+    /** Extracts the identifier of the evaluated objects, shared as it caches the property accessor */
+    private static final PropertyName ID_PROPERTY = new AttributeExpressionImpl("@id");
+
     /** List of the Identifer. */
     private Set<Identifier> fids = new LinkedHashSet<>();
 
@@ -173,10 +177,10 @@ public boolean evaluate(Object feature) {
             return false;
         }
 
-        // NC - updated, using attributeexpressionimpl will be easiest, don't have to copy and paste
-        // lots of code
-        FilterFactory ff = CommonFactoryFinder.getFilterFactory(null);
-        String evaluate = ff.property("@id").evaluate(feature, String.class);
+        // skip the property accessor lookup for simple features
+        String evaluate = feature instanceof SimpleFeature
+                ? ((SimpleFeature) feature).getID()
+                : ID_PROPERTY.evaluate(feature, String.class);
         if (evaluate == null) {
             return false;
         } else {
@@ -227,7 +231,10 @@ public Object accept(FilterVisitor visitor, Object extraData) {
      */
     @Override
     public boolean equals(Object filter) {
-        LOGGER.finest("condition: " + filter);
+        // the string representation of long id lists is expensive to build
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest("condition: " + filter);
+        }
 
         if (filter != null && filter.getClass() == this.getClass()) {
             FidFilterImpl other = (FidFilterImpl) filter;
@@ -17,6 +17,7 @@
 package org.geotools.filter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import org.geotools.api.feature.Property;
@@ -74,11 +75,27 @@ private Object unpack(Object value) {
      *
      * @return value or null
      */
-    @SuppressWarnings("unchecked")
     protected Object eval(org.geotools.api.filter.expression.Expression expression, Object object) {
         if (expression == null) return null;
-        Object value = expression.evaluate(object);
+        return unpackAll(expression.evaluate(object));
+    }
 
+    /**
+     * Batch version of {@link #eval(org.geotools.api.filter.expression.Expression, Object)}, evaluating the expression
+     * on the selected features of a block
+     *
+     * @return the values, null for the rows not evaluated
+     */
+    protected Object[] eval(org.geotools.api.filter.expression.Expression expression, List<?> features, BitSet rows) {
+        Object[] values = BatchEvaluator.evaluate(expression, features, rows);
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            values[i] = unpackAll(values[i]);
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object unpackAll(Object value) {
         if (value instanceof Collection) {
             // unpack all elements
             List<Object> list = new ArrayList<>();
@@ -0,0 +1,767 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.statistics.FeatureStatistics;
+import org.geotools.filter.visitor.CostBasedFilterOptimizer;
+import org.geotools.util.Converters;
+
+/**
+ * Compiles a {@link Filter} against a {@link SimpleFeatureType} into a tree of specialized predicates, avoiding the
+ * per feature overhead of the interpreted evaluation for the most common filters.
+ *
+ * <p>Attribute indexes are resolved once, literals are converted to the attribute binding at compile time, numbers are
+ * compared as primitives and the children of AND/OR filters are reordered so that the ones most likely to
+ * short-circuit the evaluation at the lowest cost come first. The compiled predicates cover the logic operators and the
+ * scalar comparison, between and null checks of a schema attribute against a literal. Everything else, as well as
+ * features of another type or values of an unexpected class, is delegated to the original filter, so the compiled
+ * filter always returns the same result as the original one.
+ *
+ * <p>Usage:
+ *
+ * <pre><code>
+ * Filter compiled = FilterCompiler.compile(filter, schema);
+ * while (reader.hasNext()) {
+ *     SimpleFeature feature = reader.next();
+ *     if (compiled.evaluate(feature)) {
+ *         ...
+ *     }
+ * }
+ * </code></pre>
+ *
+ * The compiled filter also implements {@link BatchFilter}, evaluating the predicates over blocks of features.
+ *
+ * <p>The logic operators are reordered using the {@link FeatureStatistics} of the data to estimate selectivities, when
+ * provided, and {@link CostBasedFilterOptimizer#estimateCost(Filter)} to estimate the cost of the filters left to the
+ * interpreted evaluation. Both estimates can be customized by subclassing and overriding
+ * {@link #getSelectivity(Filter)} and {@link #getCost(Filter)}.
+ *
+ * @since 34
+ */
+public class FilterCompiler {
+
+    /** Default selectivity of filters whose selectivity cannot be estimated */
+    protected static final double DEFAULT_SELECTIVITY = CostBasedFilterOptimizer.DEFAULT_SELECTIVITY;
+
+    /** Relative cost of an interpreted filter, compared to a compiled numeric comparison */
+    protected static final double INTERPRETED_COST = 10;
+
+    protected final SimpleFeatureType schema;
+
+    protected final FeatureStatistics statistics;
+
+    /** Provides the selectivity estimates */
+    private final CostBasedFilterOptimizer optimizer;
+
+    public FilterCompiler(SimpleFeatureType schema) {
+        this(schema, null);
+    }
+
+    /**
+     * Builds a compiler using the statistics of the data to estimate the selectivity of the filters
+     *
+     * @param schema The feature type of the features the filters will be evaluated against
+     * @param statistics The statistics of the features, or null if not available
+     */
+    public FilterCompiler(SimpleFeatureType schema, FeatureStatistics statistics) {
+        this.schema = schema;
+        this.statistics = statistics;
+        this.optimizer = new CostBasedFilterOptimizer(statistics);
+    }
+
+    /**
+     * Compiles the filter against the specified schema
+     *
+     * @param filter The filter to compile
+     * @param schema The feature type of the features the filter will be evaluated against
+     * @return The compiled filter, or the original one if there is nothing to compile
+     */
+    public static Filter compile(Filter filter, SimpleFeatureType schema) {
+        return new FilterCompiler(schema).compile(filter);
+    }
+
+    /**
+     * Compiles the filter against the specified schema, ordering the logic operators using the statistics of the data
+     *
+     * @param filter The filter to compile
+     * @param schema The feature type of the features the filter will be evaluated against
+     * @param statistics The statistics of the features, or null if not available
+     * @return The compiled filter, or the original one if there is nothing to compile
+     */
+    public static Filter compile(Filter filter, SimpleFeatureType schema, FeatureStatistics statistics) {
+        return new FilterCompiler(schema, statistics).compile(filter);
+    }
+
+    /**
+     * Compiles the filter against the schema of this compiler
+     *
+     * @param filter The filter to compile
+     * @return The compiled filter, or the original one if there is nothing to compile
+     */
+    public Filter compile(Filter filter) {
+        if (filter == null
+                || filter == Filter.INCLUDE
+                || filter == Filter.EXCLUDE
+                || filter instanceof CompiledFilter) {
+            return filter;
+        }
+        Node root = compileNode(filter);
+        if (root instanceof Interpreted) {
+            return filter;
+        }
+        return new CompiledFilter(filter, schema, root);
+    }
+
+    /**
+     * Estimates the fraction of the features matching the filter, used to decide the evaluation order of the children
+     * of logic operators. The default implementation uses {@link CostBasedFilterOptimizer#getSelectivity(Filter)}: the
+     * statistics, if available, and fixed estimates depending on the filter type otherwise.
+     *
+     * @param filter A filter that is not a logic operator
+     * @return The estimated selectivity, between 0 and 1
+     */
+    protected double getSelectivity(Filter filter) {
+        return optimizer.getSelectivity(filter);
+    }
+
+    /**
+     * Estimates the relative cost of evaluating a filter that is not a logic operator, the cheapest compiled comparison
+     * costing 1
+     */
+    protected double getCost(Filter filter) {
+        // the estimates are relative to an interpreted comparison
+        return CostBasedFilterOptimizer.estimateCost(filter)
+                * INTERPRETED_COST
+                / CostBasedFilterOptimizer.COMPARISON_COST;
+    }
+
+    Node compileNode(Filter filter) {
+        Node node = null;
+        if (filter == Filter.INCLUDE || filter == Filter.EXCLUDE) {
+            node = new Constant(filter == Filter.INCLUDE);
+        } else if (filter.getClass() == AndImpl.class || filter.getClass() == OrImpl.class) {
+            node = compileLogic((LogicFilterImpl) filter);
+        } else if (filter.getClass() == NotImpl.class) {
+            Node child = compileNode(((Not) filter).getFilter());
+            if (!(child instanceof Interpreted)) {
+                node = new Negation(child);
+            }
+        } else if (filter.getClass() == IsNullImpl.class) {
+            int index = getIndex(((PropertyIsNull) filter).getExpression());
+            if (index >= 0) {
+                node = new NullCheck(index);
+            }
+        } else if (filter.getClass() == IsEqualsToImpl.class || filter.getClass() == IsNotEqualToImpl.class) {
+            node = compileEquality((BinaryComparisonOperator) filter);
+        } else if (filter.getClass() == IsLessThenImpl.class) {
+            node = compileComparison((BinaryComparisonOperator) filter, Comparison.LESS);
+        } else if (filter.getClass() == IsLessThenOrEqualToImpl.class) {
+            node = compileComparison((BinaryComparisonOperator) filter, Comparison.LESS_EQUAL);
+        } else if (filter.getClass() == IsGreaterThanImpl.class) {
+            node = compileComparison((BinaryComparisonOperator) filter, Comparison.GREATER);
+        } else if (filter.getClass() == IsGreaterThanOrEqualToImpl.class) {
+            node = compileComparison((BinaryComparisonOperator) filter, Comparison.GREATER_EQUAL);
+        } else if (filter.getClass() == IsBetweenImpl.class) {
+            node = compileBetween((PropertyIsBetween) filter);
+        }
+
+        if (node == null) {
+            node = new Interpreted(filter);
+            node.selectivity = getSelectivity(filter);
+            node.cost = getCost(filter);
+        } else if (!(node instanceof Logic) && !(node instanceof Negation) && !(node instanceof Constant)) {
+            node.selectivity = getSelectivity(filter);
+        }
+        return node;
+    }
+
+    Node compileLogic(LogicFilterImpl filter) {
+        boolean and = filter instanceof AndImpl;
+        List<Filter> children = filter.getChildren();
+        Node[] nodes = new Node[children.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = compileNode(children.get(i));
+        }
+        // evaluate first the children most likely to short-circuit, weighted by their cost
+        Comparator<Node> order = and
+                ? Comparator.comparingDouble(n -> n.cost / Math.max(1 - n.selectivity, Double.MIN_VALUE))
+                : Comparator.comparingDouble(n -> n.cost / Math.max(n.selectivity, Double.MIN_VALUE));
+        Arrays.sort(nodes, order);
+
+        Logic logic = new Logic(nodes, and);
+        double selectivity = and ? 1 : 0;
+        double reached = 1;
+        for (Node node : nodes) {
+            logic.cost += reached * node.cost;
+            if (and) {
+                selectivity *= node.selectivity;
+                reached *= node.selectivity;
+            } else {
+                selectivity += (1 - selectivity) * node.selectivity;
+                reached *= 1 - node.selectivity;
+            }
+        }
+        logic.selectivity = selectivity;
+        return logic;
+    }
+
+    Node compileEquality(BinaryComparisonOperator filter) {
+        Operands operands = getOperands(filter.getExpression1(), filter.getExpression2(), false);
+        if (operands == null) {
+            return null;
+        }
+        Node node = new Equality(
+                filter,
+                operands.index,
+                operands.literal,
+                !filter.isMatchingCase() && operands.literal instanceof String,
+                filter instanceof IsNotEqualToImpl);
+        node.cost = operands.literal instanceof String ? 2 : 1;
+        return node;
+    }
+
+    Node compileComparison(BinaryComparisonOperator filter, Comparison comparison) {
+        Operands operands = getOperands(filter.getExpression1(), filter.getExpression2(), true);
+        if (operands == null) {
+            return null;
+        }
+        Node node;
+        if (operands.literal instanceof Number) {
+            node = new NumberComparison(filter, operands, comparison);
+            node.cost = 1;
+        } else if (operands.literal instanceof String) {
+            node = new StringComparison(filter, operands, comparison);
+            node.cost = 2;
+        } else {
+            node = new ComparableComparison(filter, operands, comparison);
+            node.cost = 2;
+        }
+        return node;
+    }
+
+    Node compileBetween(PropertyIsBetween filter) {
+        int index = getIndex(filter.getExpression());
+        if (index < 0
+                || !(filter.getLowerBoundary() instanceof Literal)
+                || !(filter.getUpperBoundary() instanceof Literal)) {
+            return null;
+        }
+        Class<?> binding = schema.getDescriptor(index).getType().getBinding();
+        if (!Modifier.isFinal(binding.getModifiers()) && binding != Date.class) {
+            // the bounds are converted to the class of the value, which we cannot predict
+            return null;
+        }
+        // same conversion as the interpreted filter, but performed once
+        Object lower = Converters.convert(((Literal) filter.getLowerBoundary()).getValue(), binding);
+        Object upper = Converters.convert(((Literal) filter.getUpperBoundary()).getValue(), binding);
+        if (!(lower instanceof Comparable) || !(upper instanceof Comparable)) {
+            return null;
+        }
+        Node node = new Between(filter, index, binding, (Comparable<?>) lower, (Comparable<?>) upper);
+        node.cost = lower instanceof Number ? 1 : 2;
+        return node;
+    }
+
+    /**
+     * Matches a property name of the schema against a literal, in any order, and converts the literal to the attribute
+     * binding if this can be done without losing information
+     */
+    Operands getOperands(Expression expression1, Expression expression2, boolean comparable) {
+        boolean literalFirst = expression1 instanceof Literal;
+        Expression property = literalFirst ? expression2 : expression1;
+        Expression literal = literalFirst ? expression1 : expression2;
+        int index = getIndex(property);
+        if (index < 0 || !(literal instanceof Literal)) {
+            return null;
+        }
+        Object value = ((Literal) literal).getValue();
+        Class<?> binding = schema.getDescriptor(index).getType().getBinding();
+        Object bound = bind(value, binding);
+        if (bound == null || comparable && !(bound instanceof Comparable)) {
+            return null;
+        }
+        return new Operands(index, bound, literalFirst);
+    }
+
+    /** Returns the index of the attribute the expression refers to, or -1 if not a plain schema attribute */
+    int getIndex(Expression expression) {
+        if (!(expression instanceof PropertyName)) {
+            return -1;
+        }
+        String name = ((PropertyName) expression).getPropertyName();
+        if (name == null || name.isEmpty()) {
+            return -1;
+        }
+        AttributeDescriptor descriptor = schema.getDescriptor(name);
+        return descriptor == null ? -1 : schema.indexOf(descriptor.getLocalName());
+    }
+
+    static Object bind(Object value, Class<?> binding) {
+        if (value == null || value instanceof Collection || value.getClass().isArray()) {
+            return null;
+        } else if (binding.isInstance(value)) {
+            return value;
+        } else if (Number.class.isAssignableFrom(binding)
+                && binding != BigDecimal.class
+                && (value instanceof Number || value instanceof String)) {
+            // only accept conversions that round trip, the others are left to the interpreted filter. Values of
+            // different classes are compared numerically, so floating point zeros (-0.0 equals 0.0) and BigDecimal
+            // (whose equality depends on the scale) are left to the interpreted filter as well
+            Object converted = Converters.convert(value, binding);
+            if (converted != null
+                    && !isFloatingZero(converted)
+                    && value.equals(Converters.convert(converted, value.getClass()))) {
+                return converted;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFloatingZero(Object value) {
+        return (value instanceof Double || value instanceof Float) && ((Number) value).doubleValue() == 0;
+    }
+
+    /** A filter compiled against a feature type, delegating to the original filter for all other purposes */
+    public static final class CompiledFilter implements BatchFilter {
+
+        final Filter original;
+
+        final SimpleFeatureType schema;
+
+        final Node root;
+
+        CompiledFilter(Filter original, SimpleFeatureType schema, Node root) {
+            this.original = original;
+            this.schema = schema;
+            this.root = root;
+        }
+
+        /** The filter this one was compiled from */
+        public Filter getOriginal() {
+            return original;
+        }
+
+        /** The feature type this filter was compiled against */
+        public SimpleFeatureType getSchema() {
+            return schema;
+        }
+
+        @Override
+        public boolean evaluate(Object object) {
+            if (object instanceof SimpleFeature && ((SimpleFeature) object).getFeatureType() == schema) {
+                return root.test((SimpleFeature) object);
+            }
+            return original.evaluate(object);
+        }
+
+        @Override
+        public void evaluateBatch(List<?> features, BitSet selection) {
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                Object object = features.get(i);
+                if (!(object instanceof SimpleFeature) || ((SimpleFeature) object).getFeatureType() != schema) {
+                    BatchEvaluator.filter(original, features, selection);
+                    return;
+                }
+            }
+            root.select(features, selection);
+        }
+
+        @Override
+        public Object accept(FilterVisitor visitor, Object extraData) {
+            return original.accept(visitor, extraData);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CompiledFilter && original.equals(((CompiledFilter) obj).original);
+        }
+
+        @Override
+        public int hashCode() {
+            return original.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return original.toString();
+        }
+    }
+
+    static final class Operands {
+        final int index;
+        final Object literal;
+        final boolean literalFirst;
+
+        Operands(int index, Object literal, boolean literalFirst) {
+            this.index = index;
+            this.literal = literal;
+            this.literalFirst = literalFirst;
+        }
+    }
+
+    enum Comparison {
+        LESS,
+        LESS_EQUAL,
+        GREATER,
+        GREATER_EQUAL;
+
+        boolean test(int compare) {
+            switch (this) {
+                case LESS:
+                    return compare < 0;
+                case LESS_EQUAL:
+                    return compare <= 0;
+                case GREATER:
+                    return compare > 0;
+                default:
+                    return compare >= 0;
+            }
+        }
+    }
+
+    /** A node of the compiled predicate tree, with its estimated selectivity and evaluation cost */
+    abstract static class Node {
+        double selectivity = DEFAULT_SELECTIVITY;
+
+        double cost = 1;
+
+        abstract boolean test(SimpleFeature feature);
+
+        /** Clears the bits of the selected features not matching this node, all of them being of the compiled type */
+        void select(List<?> features, BitSet selection) {
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                if (!test((SimpleFeature) features.get(i))) {
+                    selection.clear(i);
+                }
+            }
+        }
+    }
+
+    static final class Constant extends Node {
+        final boolean value;
+
+        Constant(boolean value) {
+            this.value = value;
+            this.selectivity = value ? 1 : 0;
+            this.cost = 0;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            return value;
+        }
+
+        @Override
+        void select(List<?> features, BitSet selection) {
+            if (!value) {
+                selection.clear();
+            }
+        }
+    }
+
+    static final class Interpreted extends Node {
+        final Filter filter;
+
+        Interpreted(Filter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            return filter.evaluate(feature);
+        }
+
+        @Override
+        void select(List<?> features, BitSet selection) {
+            BatchEvaluator.filter(filter, features, selection);
+        }
+    }
+
+    static final class Logic extends Node {
+        final Node[] children;
+
+        final boolean and;
+
+        Logic(Node[] children, boolean and) {
+            this.children = children;
+            this.and = and;
+            this.cost = 0;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            for (Node child : children) {
+                if (child.test(feature) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        }
+
+        @Override
+        void select(List<?> features, BitSet selection) {
+            if (and) {
+                for (int i = 0; i < children.length && !selection.isEmpty(); i++) {
+                    children[i].select(features, selection);
+                }
+            } else {
+                BitSet remaining = (BitSet) selection.clone();
+                for (int i = 0; i < children.length && !remaining.isEmpty(); i++) {
+                    BitSet matched = (BitSet) remaining.clone();
+                    children[i].select(features, matched);
+                    remaining.andNot(matched);
+                }
+                selection.andNot(remaining);
+            }
+        }
+    }
+
+    static final class Negation extends Node {
+        final Node child;
+
+        Negation(Node child) {
+            this.child = child;
+            this.selectivity = 1 - child.selectivity;
+            this.cost = child.cost;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            return !child.test(feature);
+        }
+
+        @Override
+        void select(List<?> features, BitSet selection) {
+            BitSet matched = (BitSet) selection.clone();
+            child.select(features, matched);
+            selection.andNot(matched);
+        }
+    }
+
+    static final class NullCheck extends Node {
+        final int index;
+
+        NullCheck(int index) {
+            this.index = index;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            return feature.getAttribute(index) == null;
+        }
+    }
+
+    static final class Equality extends Node {
+        final Filter filter;
+        final int index;
+        final Object literal;
+        final Class<?> literalClass;
+        final boolean ignoreCase;
+        final boolean negate;
+
+        Equality(Filter filter, int index, Object literal, boolean ignoreCase, boolean negate) {
+            this.filter = filter;
+            this.index = index;
+            this.literal = literal;
+            this.literalClass = literal.getClass();
+            this.ignoreCase = ignoreCase;
+            this.negate = negate;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (value == null) {
+                return negate;
+            } else if (value.getClass() != literalClass) {
+                return filter.evaluate(feature);
+            }
+            boolean equal = ignoreCase ? ((String) literal).equalsIgnoreCase((String) value) : literal.equals(value);
+            return equal != negate;
+        }
+    }
+
+    abstract static class OrderedComparison extends Node {
+        final Filter filter;
+        final int index;
+        final Class<?> literalClass;
+        final boolean literalFirst;
+        final Comparison comparison;
+
+        OrderedComparison(Filter filter, Operands operands, Comparison comparison) {
+            this.filter = filter;
+            this.index = operands.index;
+            this.literalClass = operands.literal.getClass();
+            this.literalFirst = operands.literalFirst;
+            this.comparison = comparison;
+        }
+
+        @Override
+        final boolean test(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (value == null) {
+                return false;
+            } else if (value.getClass() != literalClass) {
+                return filter.evaluate(feature);
+            }
+            return comparison.test(compare(value));
+        }
+
+        /** Compares the value with the literal, in the same order as in the original filter */
+        abstract int compare(Object value);
+    }
+
+    static final class NumberComparison extends OrderedComparison {
+        final double literal;
+
+        NumberComparison(Filter filter, Operands operands, Comparison comparison) {
+            super(filter, operands, comparison);
+            this.literal = ((Number) operands.literal).doubleValue();
+        }
+
+        @Override
+        int compare(Object value) {
+            double v = ((Number) value).doubleValue();
+            double left = literalFirst ? literal : v;
+            double right = literalFirst ? v : literal;
+            // not Double.compare, to mirror the interpreted comparison of NaN
+            return left > right ? 1 : left == right ? 0 : -1;
+        }
+    }
+
+    static final class StringComparison extends OrderedComparison {
+        final String literal;
+
+        /** The literal parsed as a number, strings that are both numbers are compared numerically */
+        final Double number;
+
+        StringComparison(Filter filter, Operands operands, Comparison comparison) {
+            super(filter, operands, comparison);
+            this.literal = (String) operands.literal;
+            this.number = parseDouble(literal);
+        }
+
+        @Override
+        int compare(Object value) {
+            String v = (String) value;
+            if (number != null) {
+                Double n = parseDouble(v);
+                if (n != null) {
+                    return literalFirst ? number.compareTo(n) : n.compareTo(number);
+                }
+            }
+            return literalFirst ? literal.compareTo(v) : v.compareTo(literal);
+        }
+
+        static Double parseDouble(String value) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    static final class ComparableComparison extends OrderedComparison {
+        final Comparable<Object> literal;
+
+        @SuppressWarnings("unchecked")
+        ComparableComparison(Filter filter, Operands operands, Comparison comparison) {
+            super(filter, operands, comparison);
+            this.literal = (Comparable<Object>) operands.literal;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        int compare(Object value) {
+            return literalFirst ? literal.compareTo(value) : ((Comparable<Object>) value).compareTo(literal);
+        }
+    }
+
+    static final class Between extends Node {
+        final Filter filter;
+        final int index;
+        final Class<?> binding;
+        final Comparable<Object> lower;
+        final Comparable<Object> upper;
+
+        /** Integral bounds are compared as longs, floating point ones as doubles, anything else as comparables */
+        final boolean integral;
+
+        final boolean floating;
+
+        final long lowerLong, upperLong;
+
+        final double lowerDouble, upperDouble;
+
+        @SuppressWarnings("unchecked")
+        Between(Filter filter, int index, Class<?> binding, Comparable<?> lower, Comparable<?> upper) {
+            this.filter = filter;
+            this.index = index;
+            this.binding = binding;
+            this.lower = (Comparable<Object>) lower;
+            this.upper = (Comparable<Object>) upper;
+            this.integral = binding == Integer.class
+                    || binding == Long.class
+                    || binding == Short.class
+                    || binding == Byte.class;
+            this.floating = binding == Double.class || binding == Float.class;
+            this.lowerLong = integral ? ((Number) lower).longValue() : 0;
+            this.upperLong = integral ? ((Number) upper).longValue() : 0;
+            this.lowerDouble = floating ? ((Number) lower).doubleValue() : 0;
+            this.upperDouble = floating ? ((Number) upper).doubleValue() : 0;
+        }
+
+        @Override
+        boolean test(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (value == null) {
+                return false;
+            } else if (value.getClass() != binding) {
+                return filter.evaluate(feature);
+            } else if (integral) {
+                long v = ((Number) value).longValue();
+                return lowerLong <= v && upperLong >= v;
+            } else if (floating) {
+                // Double.compare mirrors the Comparable implementation of the boxed bounds
+                double v = ((Number) value).doubleValue();
+                return Double.compare(lowerDouble, v) <= 0 && Double.compare(upperDouble, v) >= 0;
+            }
+            return lower.compareTo(value) <= 0 && upper.compareTo(value) >= 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.filter.expression.Function;
+
+/**
+ * The literal result of a function that does not depend on the evaluated object, computed once when the function is
+ * folded (see {@link org.geotools.filter.visitor.SimplifyingFilterVisitor}) and then shared by all the places the
+ * function was used. Besides avoiding to evaluate the function for each feature, it remembers the last conversion
+ * made, as styles tend to ask for the same target type (a color, a number) over and over.
+ */
+public class FoldedLiteral extends LiteralExpressionImpl {
+
+    private final Function function;
+
+    private volatile Conversion conversion;
+
+    /**
+     * Builds a literal for the given function.
+     *
+     * @param function The folded function
+     * @param value The function result
+     */
+    public FoldedLiteral(Function function, Object value) {
+        super(value);
+        this.function = function;
+    }
+
+    /** Returns the function this literal has been computed from */
+    public Function getFunction() {
+        return function;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T evaluate(Object feature, Class<T> context) {
+        if (context == null) {
+            return super.evaluate(feature, context);
+        }
+        Object value = getValue();
+        Conversion last = conversion;
+        if (last == null || last.target != context || last.source != value) {
+            last = new Conversion(value, context, super.evaluate(feature, context));
+            conversion = last;
+        }
+        return (T) last.result;
+    }
+
+    @Override
+    public Object[] evaluateBatch(List<?> features, BitSet rows) {
+        Object[] values = new Object[features.size()];
+        Arrays.fill(values, getValue());
+        return values;
+    }
+
+    /** A value converted to a target type */
+    private static final class Conversion {
+        final Object source;
+
+        final Class<?> target;
+
+        final Object result;
+
+        Conversion(Object source, Class<?> target, Object result) {
+            this.source = source;
+            this.target = target;
+            this.result = result;
+        }
+    }
+}
@@ -29,6 +29,7 @@
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.NameImpl;
+import org.geotools.util.factory.FactoryRegistry;
 import org.geotools.util.factory.Hints;
 
 /**
@@ -46,7 +47,11 @@
  * @author Jody Garnett
  */
 public class FunctionFinder {
-    private volatile Map<Name, FunctionFactory> functionFactoryCache;
+    /**
+     * The functions provided by the registered factories, shared by all finders and rebuilt when the factory registries
+     * change.
+     */
+    private static volatile FunctionIndex index;
 
     public FunctionFinder(Hints hints) {
         // currently hints are not used, need help :-P
@@ -58,21 +63,7 @@ public FunctionFinder(Hints hints) {
      * @return List describing available functions
      */
     public List<FunctionName> getAllFunctionDescriptions() {
-        Set<FunctionFactory> functionFactories = CommonFactoryFinder.getFunctionFactories(null);
-        List<FunctionName> allFunctionDescriptions = new ArrayList<>();
-
-        for (FunctionFactory factory : functionFactories) {
-            List<FunctionName> functionNames = factory.getFunctionNames();
-            allFunctionDescriptions.addAll(functionNames);
-        }
-        Collections.sort(allFunctionDescriptions, (o1, o2) -> {
-            if (o1 == null && o2 == null) return 0;
-            if (o1 == null && o2 != null) return 1;
-            if (o1 != null && o2 == null) return -1;
-
-            return o1.getName().compareTo(o2.getName());
-        });
-        return Collections.unmodifiableList(allFunctionDescriptions);
+        return getIndex().allDescriptions;
     }
     /**
      * Lookup the FunctionName description.
@@ -90,16 +81,7 @@ public FunctionName findFunctionDescription(String name) {
      * @return FunctioName description, or null if function is not available
      */
     public FunctionName findFunctionDescription(Name name) {
-        Set<FunctionFactory> functionFactories = CommonFactoryFinder.getFunctionFactories(null);
-        for (FunctionFactory factory : functionFactories) {
-            List<FunctionName> functionNames = factory.getFunctionNames();
-            for (FunctionName description : functionNames) {
-                if (description.getFunctionName().equals(name)) {
-                    return description;
-                }
-            }
-        }
-        return null; // not found
+        return getIndex().descriptions.get(name);
     }
 
     public Function findFunction(String name) {
@@ -196,23 +178,16 @@ public Function findFunction(Name name, List<Expression> parameters, Literal fal
     }
 
     Function findFunctionInternal(Name name, List<Expression> parameters, Literal fallback) {
-        if (functionFactoryCache == null) {
-            synchronized (this) {
-                if (functionFactoryCache == null) {
-                    functionFactoryCache = lookupFunctions();
-                }
-            }
-        }
-
-        if (functionFactoryCache.containsKey(name)) {
-            FunctionFactory functionFactory = functionFactoryCache.get(name);
+        FunctionIndex index = getIndex();
+        FunctionFactory functionFactory = index.factories.get(name);
+        if (functionFactory != null) {
             return functionFactory.function(name, parameters, fallback);
         }
 
         // do a lookup from all factories, this is because of the name tricks the default
         // factory does
         Function f = null;
-        for (FunctionFactory ff : CommonFactoryFinder.getFunctionFactories(null)) {
+        for (FunctionFactory ff : index.allFactories) {
             f = ff.function(name, parameters, fallback);
             if (f != null) return f;
         }
@@ -220,17 +195,54 @@ Function findFunctionInternal(Name name, List<Expression> parameters, Literal fa
         return null;
     }
 
-    private Map<Name, FunctionFactory> lookupFunctions() {
-        // get all filter functions via function factory
-        Map<Name, FunctionFactory> result = new HashMap<>();
+    /** Returns the function index, building it again if factories have been registered or removed since. */
+    static FunctionIndex getIndex() {
+        FunctionIndex result = index;
+        long stamp = FactoryRegistry.getModificationCount();
+        if (result == null || result.stamp != stamp) {
+            // no locking, the factory finder has its own and concurrent builds produce equivalent indexes;
+            // looking up the factories may scan for plugins and increase the modification count, the stamp
+            // read before makes the next call check again
+            result = new FunctionIndex(stamp, CommonFactoryFinder.getFunctionFactories(null));
+            index = result;
+        }
+        return result;
+    }
+
+    /** Immutable lookup tables from function names to their factories and descriptions. */
+    static final class FunctionIndex {
+        final long stamp;
+
+        final List<FunctionFactory> allFactories;
+
+        /** Factory by function name, the last factory declaring a name wins */
+        final Map<Name, FunctionFactory> factories = new HashMap<>();
 
-        Set<FunctionFactory> functionFactories = CommonFactoryFinder.getFunctionFactories(null);
-        for (FunctionFactory ff : functionFactories) {
-            for (FunctionName functionName : ff.getFunctionNames()) {
-                result.put(functionName.getFunctionName(), ff);
+        /** Description by function name, the first factory declaring a name wins */
+        final Map<Name, FunctionName> descriptions = new HashMap<>();
+
+        final List<FunctionName> allDescriptions;
+
+        FunctionIndex(long stamp, Set<FunctionFactory> functionFactories) {
+            this.stamp = stamp;
+            this.allFactories = new ArrayList<>(functionFactories);
+            List<FunctionName> all = new ArrayList<>();
+            for (FunctionFactory ff : allFactories) {
+                List<FunctionName> functionNames = ff.getFunctionNames();
+                for (FunctionName functionName : functionNames) {
+                    factories.put(functionName.getFunctionName(), ff);
+                    descriptions.putIfAbsent(functionName.getFunctionName(), functionName);
+                }
+                all.addAll(functionNames);
             }
+            Collections.sort(all, (o1, o2) -> {
+                if (o1 == null && o2 == null) return 0;
+                if (o1 == null && o2 != null) return 1;
+                if (o1 != null && o2 == null) return -1;
+
+                return o1.getName().compareTo(o2.getName());
+            });
+            this.allDescriptions = Collections.unmodifiableList(all);
         }
-
-        return result;
     }
 }
@@ -17,6 +17,8 @@
 package org.geotools.filter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -59,7 +61,8 @@
  *     them are mutable when creating them. Other issue is that lots of code will need to be changed for immutability.
  *     (comments by cholmes) - MUTABLE FACTORIES! Sax and immutability.
  */
-public abstract class GeometryFilterImpl extends BinaryComparisonAbstract implements BinarySpatialOperator {
+public abstract class GeometryFilterImpl extends BinaryComparisonAbstract
+        implements BinarySpatialOperator, BatchFilter {
 
     protected MatchAction matchAction;
 
@@ -89,9 +92,26 @@ protected GeometryFilterImpl(
      * geometries.
      */
     protected static Object getGeometries(org.geotools.api.filter.expression.Expression expr, Object feature) {
+        return toGeometries(expr.evaluate(feature));
+    }
 
-        Object o = expr.evaluate(feature);
+    /** Batch version of {@link #getGeometries(org.geotools.api.filter.expression.Expression, Object)} */
+    private static Object[] getGeometries(
+            org.geotools.api.filter.expression.Expression expr, List<?> features, BitSet rows) {
+        if (expr.getClass() == LiteralExpressionImpl.class || expr.getClass() == FoldedLiteral.class) {
+            // convert once for the whole block
+            Object[] values = new Object[features.size()];
+            Arrays.fill(values, toGeometries(expr.evaluate(null)));
+            return values;
+        }
+        Object[] values = BatchEvaluator.evaluate(expr, features, rows);
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            values[i] = toGeometries(values[i]);
+        }
+        return values;
+    }
 
+    private static Object toGeometries(Object o) {
         if (o instanceof Collection) {
             List<Geometry> list = new ArrayList<>();
             @SuppressWarnings("unchecked")
@@ -197,10 +217,22 @@ public MatchAction getMatchAction() {
 
     @Override
     public final boolean evaluate(Object feature) {
+        return evaluate(getGeometries(getExpression1(), feature), getGeometries(getExpression2(), feature));
+    }
 
-        Object object1 = getGeometries(getExpression1(), feature);
-        Object object2 = getGeometries(getExpression2(), feature);
+    /** Evaluates both expressions once per block, then compares the geometries feature by feature */
+    @Override
+    public final void evaluateBatch(List<?> features, BitSet selection) {
+        Object[] geometries1 = getGeometries(getExpression1(), features, selection);
+        Object[] geometries2 = getGeometries(getExpression2(), features, selection);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (!evaluate(geometries1[i], geometries2[i])) {
+                selection.clear(i);
+            }
+        }
+    }
 
+    private boolean evaluate(Object object1, Object object2) {
         if (object1 == null || object2 == null) {
             // default behaviour: if the geometry that is to be filtered is not
             // there we default to not returning anything
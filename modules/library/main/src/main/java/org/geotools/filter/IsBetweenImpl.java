@@ -16,8 +16,10 @@
  */
 package org.geotools.filter;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import org.geotools.api.filter.FilterVisitor;
 import org.geotools.api.filter.PropertyIsBetween;
 import org.geotools.api.filter.expression.Expression;
@@ -28,7 +30,7 @@
  *
  * @author Justin Deoliveira, The Open Planning Project
  */
-public class IsBetweenImpl extends CompareFilterImpl implements PropertyIsBetween {
+public class IsBetweenImpl extends CompareFilterImpl implements PropertyIsBetween, BatchFilter {
 
     private Expression expression;
 
@@ -62,10 +64,28 @@ public MatchAction getMatchAction() {
     @Override
     public boolean evaluate(Object feature) {
         // NC - support for multiple values
-        final Object object0 = eval(expression, feature);
-        final Object object1 = eval(expression1, feature);
-        final Object object2 = eval(expression2, feature);
+        return evaluate(eval(expression, feature), eval(expression1, feature), eval(expression2, feature));
+    }
+
+    /** Evaluates the expression and the boundaries once per block, then compares the values feature by feature */
+    @Override
+    public void evaluateBatch(List<?> features, BitSet selection) {
+        if (getClass() != IsBetweenImpl.class) {
+            // subclasses may have changed the evaluation
+            BatchFilter.super.evaluateBatch(features, selection);
+            return;
+        }
+        Object[] values = eval(expression, features, selection);
+        Object[] lower = eval(expression1, features, selection);
+        Object[] upper = eval(expression2, features, selection);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (!evaluate(values[i], lower[i], upper[i])) {
+                selection.clear(i);
+            }
+        }
+    }
 
+    private boolean evaluate(Object object0, Object object1, Object object2) {
         if (object0 == null) {
             return false;
         }
@@ -16,8 +16,6 @@
  */
 package org.geotools.filter;
 
-import com.google.re2j.Matcher;
-import com.google.re2j.Pattern;
 import java.util.Collection;
 import java.util.Objects;
 import org.geotools.api.filter.FilterVisitor;
@@ -46,8 +44,8 @@ public class LikeFilterImpl extends AbstractFilter implements PropertyIsLike {
     /** The escape sequence for the REGEXP pattern. */
     private String escape = "\\";
 
-    /** the pattern compiled into a java regex */
-    private Pattern compPattern = null;
+    /** the pattern compiled into a matcher, shared with the filters having the same pattern */
+    private LikeMatcher matcher = null;
 
     /** Used to indicate if case should be ignored or not */
     boolean matchingCase;
@@ -153,7 +151,7 @@ public void setWildCard(String wildCard) {
             throw new IllegalArgumentException("Like Pattern --> wildcardMulti char should be of length exactly 1");
         }
         this.wildcardMulti = wildCard;
-        compPattern = null;
+        matcher = null;
     }
 
     public void setSingleChar(String singleChar) {
@@ -161,7 +159,7 @@ public void setSingleChar(String singleChar) {
             throw new IllegalArgumentException("Like Pattern --> wildcardSingle char should be of length exactly 1");
         }
         this.wildcardSingle = singleChar;
-        compPattern = null;
+        matcher = null;
     }
 
     public void setEscape(String escape) {
@@ -176,12 +174,12 @@ public void setEscape(String escape) {
                     "Like Pattern --> escape char should be of length exactly 1, not " + escape.length());
         }
         this.escape = escape;
-        compPattern = null;
+        matcher = null;
     }
 
     public void setMatchCase(boolean matchingCase) {
         this.matchingCase = matchingCase;
-        compPattern = null;
+        matcher = null;
     }
 
     @Override
@@ -196,16 +194,16 @@ public MatchAction getMatchAction() {
 
     public void setMatchingCase(boolean matchingCase) {
         this.matchingCase = matchingCase;
+        matcher = null;
     }
 
-    private Matcher getMatcher(String string) {
-        if (compPattern == null) {
-            String pattern = new LikeToRegexConverter(this).getPattern();
-            compPattern = isMatchingCase()
-                    ? Pattern.compile(pattern)
-                    : Pattern.compile(pattern, Pattern.CASE_INSENSITIVE /* | Pattern.UNICODE_CASE */);
+    private LikeMatcher getMatcher() {
+        LikeMatcher result = matcher;
+        if (result == null) {
+            result = LikeMatcher.get(this);
+            matcher = result;
         }
-        return compPattern.matcher(string);
+        return result;
     }
 
     /** Constructor which flags the operator as like. */
@@ -269,7 +267,7 @@ public String getLiteral() {
     /** Sets the pattern. */
     public void setLiteral(String literal) {
         this.pattern = literal;
-        compPattern = null;
+        matcher = null;
     }
 
     /**
@@ -302,12 +300,12 @@ public boolean evaluate(Object feature) {
         }
 
         // NC - support multiple values
+        LikeMatcher matcher = getMatcher();
         if (value instanceof Collection) {
             int count = 0;
 
             for (Object element : (Collection) value) {
-                Matcher matcher = getMatcher(element.toString());
-                boolean temp = matcher.matches();
+                boolean temp = matcher.matches(element.toString());
                 if (temp) {
                     count++;
                 }
@@ -335,8 +333,7 @@ public boolean evaluate(Object feature) {
                     return false;
             }
         } else {
-            Matcher matcher = getMatcher(value.toString());
-            return matcher.matches();
+            return matcher.matches(value.toString());
         }
     }
 
@@ -0,0 +1,262 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import com.google.re2j.Pattern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.util.SoftValueHashMap;
+
+/**
+ * Matches strings against the pattern of a {@link PropertyIsLike} filter. Patterns made of literal text and multiple
+ * character wildcards only, such as exact, prefix, suffix and contains patterns, are matched with plain string
+ * searches, the others are converted to a regular expression with {@link LikeToRegexConverter} and matched by its
+ * automaton.
+ *
+ * <p>Matchers are immutable and thread safe, and are shared among the filters having the same pattern, see
+ * {@link #get(PropertyIsLike)}.
+ */
+public final class LikeMatcher {
+
+    /** Matchers shared among filters, keyed by pattern, special characters and case sensitivity */
+    static final SoftValueHashMap<Key, LikeMatcher> CACHE = new SoftValueHashMap<>(100);
+
+    /**
+     * The literal parts of the pattern, separated by multiple character wildcards, or null if the pattern is matched
+     * as a regular expression
+     */
+    final String[] segments;
+
+    final boolean matchingCase;
+
+    /** The regular expression equivalent to the pattern, compiled on first need */
+    private volatile Pattern regex;
+
+    private final String regexPattern;
+
+    private LikeMatcher(String[] segments, boolean matchingCase, String regexPattern) {
+        this.segments = segments;
+        this.matchingCase = matchingCase;
+        this.regexPattern = regexPattern;
+    }
+
+    /** Returns the matcher for the pattern of the specified filter, shared with the filters using the same pattern */
+    public static LikeMatcher get(PropertyIsLike like) {
+        Key key = new Key(like);
+        LikeMatcher matcher = CACHE.get(key);
+        if (matcher == null) {
+            matcher = compile(like);
+            CACHE.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    /** Builds a new matcher for the pattern of the specified filter */
+    static LikeMatcher compile(PropertyIsLike like) {
+        String regexPattern = new LikeToRegexConverter(like).getPattern();
+        return new LikeMatcher(parse(like), like.isMatchingCase(), regexPattern);
+    }
+
+    /**
+     * Splits the pattern in literal segments around the multiple character wildcards. Returns null if the pattern
+     * contains single character wildcards, or characters whose meaning in the equivalent regular expression is not a
+     * literal one, as well as in case of case insensitive matching of non ASCII text.
+     */
+    static String[] parse(PropertyIsLike like) {
+        String pattern = like.getLiteral();
+        String multi = like.getWildCard();
+        String single = like.getSingleChar();
+        String escape = like.getEscape();
+        if (pattern == null
+                || multi == null
+                || multi.length() != 1
+                || single == null
+                || single.length() != 1
+                || escape == null
+                || escape.length() > 1
+                || multi.equals(single)
+                || multi.equals(escape)
+                || single.equals(escape)) {
+            return null;
+        }
+        char m = multi.charAt(0);
+        char s = single.charAt(0);
+        // the regex conversion escapes special characters with the filter escape, a literal only with a backslash
+        boolean regexEscape = "\\".equals(escape);
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            boolean escaped = !escape.isEmpty() && c == escape.charAt(0);
+            if (escaped) {
+                if (++i == pattern.length()) {
+                    return null;
+                }
+                c = pattern.charAt(i);
+            }
+            if (c == m && !escaped) {
+                segments.add(segment.toString());
+                segment.setLength(0);
+                continue;
+            } else if (c == s && !escaped) {
+                return null;
+            } else if (isSpecial(c) && !regexEscape || c == '{' || c == '}') {
+                return null;
+            } else if (!like.isMatchingCase() && c > 127) {
+                return null;
+            }
+            segment.append(c);
+        }
+        segments.add(segment.toString());
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    /** Characters escaped by {@link LikeToRegexConverter} */
+    private static boolean isSpecial(char c) {
+        return c == '.'
+                || c == '?'
+                || c == '*'
+                || c == '^'
+                || c == '$'
+                || c == '+'
+                || c == '['
+                || c == ']'
+                || c == '('
+                || c == ')'
+                || c == '|'
+                || c == '\\';
+    }
+
+    /** Returns true if the whole value matches the pattern */
+    public boolean matches(String value) {
+        if (segments == null || !canSearch(value)) {
+            return getRegex().matcher(value).matches();
+        }
+        int last = segments.length - 1;
+        if (last == 0) {
+            return value.length() == segments[0].length() && regionMatches(value, 0, segments[0]);
+        }
+        // the first segment is anchored at the start, the last at the end, the others are searched in between
+        String first = segments[0];
+        String end = segments[last];
+        int from = first.length();
+        int to = value.length() - end.length();
+        if (to < from || !regionMatches(value, 0, first) || !regionMatches(value, to, end)) {
+            return false;
+        }
+        for (int i = 1; i < last; i++) {
+            int found = indexOf(value, segments[i], from, to);
+            if (found < 0) {
+                return false;
+            }
+            from = found + segments[i].length();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the literal text any matching value starts with, to be used for index range scans or pre-filtering, or
+     * null if the pattern has no such prefix or is not case sensitive
+     */
+    public String getPrefix() {
+        return segments != null && matchingCase && !segments[0].isEmpty() ? segments[0] : null;
+    }
+
+    /**
+     * Multiple character wildcards do not match new lines in the regular expression, and case insensitive matching
+     * also folds some non ASCII characters into ASCII ones, leave these values to the regular expression
+     */
+    private boolean canSearch(String value) {
+        boolean wildcards = segments.length > 1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' && wildcards || c > 127 && !matchingCase) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionMatches(String value, int offset, String segment) {
+        return value.regionMatches(!matchingCase, offset, segment, 0, segment.length());
+    }
+
+    private int indexOf(String value, String segment, int from, int to) {
+        if (matchingCase) {
+            int found = value.indexOf(segment, from);
+            return found >= 0 && found + segment.length() <= to ? found : -1;
+        }
+        for (int i = from; i + segment.length() <= to; i++) {
+            if (value.regionMatches(true, i, segment, 0, segment.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Pattern getRegex() {
+        Pattern result = regex;
+        if (result == null) {
+            result = matchingCase
+                    ? Pattern.compile(regexPattern)
+                    : Pattern.compile(regexPattern, Pattern.CASE_INSENSITIVE);
+            regex = result;
+        }
+        return result;
+    }
+
+    /** The parts of a filter that determine its matcher */
+    static final class Key {
+
+        final String pattern;
+
+        final String wildcard;
+
+        final String single;
+
+        final String escape;
+
+        final boolean matchingCase;
+
+        Key(PropertyIsLike like) {
+            this.pattern = like.getLiteral();
+            this.wildcard = like.getWildCard();
+            this.single = like.getSingleChar();
+            this.escape = like.getEscape();
+            this.matchingCase = like.isMatchingCase();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return matchingCase == that.matchingCase
+                    && Objects.equals(pattern, that.pattern)
+                    && Objects.equals(wildcard, that.wildcard)
+                    && Objects.equals(single, that.single)
+                    && Objects.equals(escape, that.escape);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pattern, wildcard, single, escape, matchingCase);
+        }
+    }
+}
@@ -18,6 +18,9 @@
 
 import static org.geotools.filter.Filters.getExpressionType;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import org.geotools.api.filter.expression.ExpressionVisitor;
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.util.Converters;
@@ -30,7 +33,7 @@
  * @author Rob Hranac, Vision for New York
  * @version $Id$
  */
-public class LiteralExpressionImpl extends DefaultExpression implements Literal {
+public class LiteralExpressionImpl extends DefaultExpression implements Literal, BatchExpression {
 
     /** Holds a reference to the literal. */
     private Object literal = null;
@@ -136,6 +139,17 @@ public <T> T evaluate(Object feature, Class<T> context) {
         return Converters.convert(literal, context);
     }
 
+    @Override
+    public Object[] evaluateBatch(List<?> features, BitSet rows) {
+        if (getClass() != LiteralExpressionImpl.class) {
+            // subclasses may have changed the evaluation
+            return BatchExpression.super.evaluateBatch(features, rows);
+        }
+        Object[] values = new Object[features.size()];
+        Arrays.fill(values, literal);
+        return values;
+    }
+
     /**
      * Return this filter as a string.
      *
@@ -16,10 +16,12 @@
  */
 package org.geotools.filter;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Expression;
 import org.geotools.util.Converters;
 
 /**
@@ -33,7 +35,7 @@
  * @author Rob Hranac, Vision for New York
  * @version $Id$
  */
-public abstract class MathExpressionImpl extends DefaultExpression implements BinaryExpression {
+public abstract class MathExpressionImpl extends DefaultExpression implements BinaryExpression, BatchExpression {
 
     /** Holds the 'left' value of this math expression. */
     private org.geotools.api.filter.expression.Expression leftValue = null;
@@ -130,5 +132,38 @@ protected Object handleCollection(Object value1, Object value2) {
                 .collect(Collectors.toList());
     }
 
+    /** Evaluates each operand once per block, rather than both as a value and as a number for each feature */
+    @Override
+    public Object[] evaluateBatch(List<?> features, BitSet rows) {
+        if (!BatchEvaluator.isConverting(this)) {
+            // subclasses may have changed the evaluation
+            return BatchExpression.super.evaluateBatch(features, rows);
+        }
+        ensureOperandsSet();
+        Expression expression1 = getExpression1();
+        Expression expression2 = getExpression2();
+        Object[] values1 = BatchEvaluator.evaluate(expression1, features, rows);
+        Object[] values2 = BatchEvaluator.evaluate(expression2, features, rows);
+        boolean converting1 = BatchEvaluator.isConverting(expression1);
+        boolean converting2 = BatchEvaluator.isConverting(expression2);
+        Object[] result = new Object[features.size()];
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            Object eval1 = values1[i];
+            Object eval2 = values2[i];
+            if (eval1 instanceof Collection || eval2 instanceof Collection) {
+                result[i] = handleCollection(eval1, eval2);
+            } else {
+                Number number1 = converting1
+                        ? Converters.convert(eval1, Number.class)
+                        : expression1.evaluate(features.get(i), Number.class);
+                Number number2 = converting2
+                        ? Converters.convert(eval2, Number.class)
+                        : expression2.evaluate(features.get(i), Number.class);
+                result[i] = doArithmeticOperation(Filters.number(number1), Filters.number(number2));
+            }
+        }
+        return result;
+    }
+
     protected abstract Object doArithmeticOperation(Double operand1, Double operand2);
 }
@@ -16,6 +16,7 @@
  */
 package org.geotools.filter;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -27,7 +28,7 @@
  *
  * @author Niels Charlier, Curtin University of Technology
  */
-public abstract class MultiCompareFilterImpl extends CompareFilterImpl {
+public abstract class MultiCompareFilterImpl extends CompareFilterImpl implements BatchFilter {
 
     protected MatchAction matchAction;
 
@@ -71,9 +72,22 @@ private Collection<Object> toCollection(Object obj) {
 
     @Override
     public final boolean evaluate(Object feature) {
-        final Object object1 = eval(expression1, feature);
-        final Object object2 = eval(expression2, feature);
+        return evaluate(eval(expression1, feature), eval(expression2, feature));
+    }
+
+    /** Evaluates both expressions once per block, then compares the values feature by feature */
+    @Override
+    public final void evaluateBatch(List<?> features, BitSet selection) {
+        Object[] values1 = eval(expression1, features, selection);
+        Object[] values2 = eval(expression2, features, selection);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (!evaluate(values1[i], values2[i])) {
+                selection.clear(i);
+            }
+        }
+    }
 
+    private boolean evaluate(Object object1, Object object2) {
         Collection<Object> collection1 = toCollection(object1);
         Collection<Object> collection2 = toCollection(object2);
 
@@ -17,12 +17,14 @@
 package org.geotools.filter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterVisitor;
 import org.geotools.api.filter.Not;
 
 /** @author jdeolive */
-public class NotImpl extends LogicFilterImpl implements Not {
+public class NotImpl extends LogicFilterImpl implements Not, BatchFilter {
 
     protected NotImpl(Filter filter) {
         super(new ArrayList<>());
@@ -48,6 +50,18 @@ public boolean evaluate(Object feature) {
         return !getFilter().evaluate(feature);
     }
 
+    @Override
+    public void evaluateBatch(List<?> features, BitSet selection) {
+        if (getClass() != NotImpl.class) {
+            // subclasses may have changed the evaluation
+            BatchFilter.super.evaluateBatch(features, selection);
+            return;
+        }
+        BitSet matched = (BitSet) selection.clone();
+        BatchEvaluator.filter(getFilter(), features, matched);
+        selection.andNot(matched);
+    }
+
     @Override
     public Object accept(FilterVisitor visitor, Object extraData) {
         return visitor.visit(this, extraData);
@@ -16,13 +16,17 @@
  */
 package org.geotools.filter;
 
+import java.util.BitSet;
 import java.util.List;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterVisitor;
 import org.geotools.api.filter.Or;
 
 /** @author jdeolive */
-public class OrImpl extends LogicFilterImpl implements Or {
+public class OrImpl extends LogicFilterImpl implements Or, BatchFilter {
+
+    /** Hash based evaluation of long lists of equalities, built on first evaluation */
+    private volatile EqualityLookup lookup;
 
     protected OrImpl(List<Filter> children) {
         super(children);
@@ -30,6 +34,13 @@ protected OrImpl(List<Filter> children) {
 
     @Override
     public boolean evaluate(Object feature) {
+        EqualityLookup lookup = getLookup();
+        if (lookup != null) {
+            Boolean result = lookup.test(lookup.property.evaluate(feature));
+            if (result != null) {
+                return result;
+            }
+        }
         for (Filter filter : children) {
             if (filter.evaluate(feature)) {
                 return true;
@@ -38,6 +49,56 @@ public boolean evaluate(Object feature) {
         return false;
     }
 
+    /** Evaluates each child only on the features not matching the previous ones */
+    @Override
+    public void evaluateBatch(List<?> features, BitSet selection) {
+        if (getClass() != OrImpl.class) {
+            // subclasses may have changed the evaluation
+            BatchFilter.super.evaluateBatch(features, selection);
+            return;
+        }
+        BitSet remaining = (BitSet) selection.clone();
+        EqualityLookup lookup = getLookup();
+        if (lookup != null) {
+            Object[] values = BatchEvaluator.evaluate(lookup.property, features, selection);
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                Boolean result = lookup.test(values[i]);
+                if (result == Boolean.TRUE) {
+                    remaining.clear(i);
+                } else if (result == Boolean.FALSE) {
+                    remaining.clear(i);
+                    selection.clear(i);
+                }
+            }
+        }
+        for (Filter filter : children) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            BitSet matched = (BitSet) remaining.clone();
+            BatchEvaluator.filter(filter, features, matched);
+            remaining.andNot(matched);
+        }
+        // remove the features matching none of the children
+        selection.andNot(remaining);
+    }
+
+    /**
+     * Returns the lookup replacing the evaluation of the children, if they are a long list of equalities between a
+     * property and literals, or null otherwise
+     */
+    private EqualityLookup getLookup() {
+        if (children.size() < EqualityLookup.MIN_SIZE || getClass() != OrImpl.class) {
+            return null;
+        }
+        EqualityLookup result = lookup;
+        if (result == null || !result.isCurrent(children)) {
+            result = EqualityLookup.build(children);
+            lookup = result;
+        }
+        return result.isEnabled() ? result : null;
+    }
+
     @Override
     public Object accept(FilterVisitor visitor, Object extraData) {
         return visitor.visit(this, extraData);
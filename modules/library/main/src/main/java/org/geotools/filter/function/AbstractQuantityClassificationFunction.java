@@ -17,6 +17,7 @@
 package org.geotools.filter.function;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +30,7 @@
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.visitor.CalcResult;
 import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.QuantileSketch;
 
 public abstract class AbstractQuantityClassificationFunction extends ClassificationFunction {
 
@@ -43,10 +45,25 @@ public AbstractQuantityClassificationFunction(FunctionName name) {
      */
     protected abstract FeatureCalc getListVisitor();
 
+    /**
+     * Returns true if the classes split the values at their quantiles, in which case they can be computed
+     * approximately from a quantile sketch, see {@link #setSketchSize(int)}. Defaults to false.
+     */
+    protected boolean isQuantileBased() {
+        return false;
+    }
+
     private Object calculate(SimpleFeatureCollection featureCollection) {
         FeatureCalc quantityVisitor = getListVisitor();
         if (progress == null) progress = new NullProgressListener();
         try {
+            if (isQuantileBased()) {
+                QuantileSketch sketch = getQuantileSketch(featureCollection);
+                if (progress.isCanceled()) return null;
+                if (sketch != null) {
+                    return calculateApproximate(sketch, featureCollection);
+                }
+            }
             featureCollection.accepts(quantityVisitor, progress);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "QuantileFunction calculate(SimpleFeatureCollection) failed", e);
@@ -77,6 +94,29 @@ private Object calculate(SimpleFeatureCollection featureCollection) {
         return result;
     }
 
+    /**
+     * Builds the classes from the quantiles of the sketch, bins are represented by their bounds. Bins are split at the
+     * same ranks as the exact classification, so that an exact sketch gives the same classes.
+     */
+    private Object calculateApproximate(QuantileSketch sketch, SimpleFeatureCollection featureCollection) {
+        long count = sketch.getCount();
+        int classNum = (int) Math.min(getClasses(), count);
+        List[] bin = new List[classNum];
+        for (int i = 0; i < classNum; i++) {
+            // rank of the first and last item of the bin, the first bins get the extra items
+            long first = i * (count / classNum) + Math.min(i, count % classNum);
+            long last = first + count / classNum + (i < count % classNum ? 1 : 0) - 1;
+            double min = sketch.getQuantile((double) first / count);
+            double max = i == classNum - 1 ? sketch.getMax() : sketch.getQuantile((double) last / count);
+            bin[i] = Arrays.asList(min, max);
+        }
+        Double globalMin = sketch.getMin();
+        Double globalMax = sketch.getMax();
+        RangedClassifier result = (RangedClassifier) calculateNumerical(bin, globalMin, globalMax);
+        if (percentages()) result.setPercentages(getSketchPercentages(result, sketch, featureCollection.size()));
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     private Object calculateNumerical(List[] bin, Comparable globalMin, Comparable globalMax) {
         if (globalMax.equals(globalMin)) {
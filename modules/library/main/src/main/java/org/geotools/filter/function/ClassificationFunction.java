@@ -28,6 +28,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.capability.FunctionName;
@@ -37,13 +38,17 @@
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.api.filter.expression.Subtract;
 import org.geotools.api.util.ProgressListener;
+import org.geotools.data.util.NullProgressListener;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.visitor.Aggregate;
 import org.geotools.feature.visitor.GroupByVisitor;
+import org.geotools.feature.visitor.QuantileSketch;
+import org.geotools.feature.visitor.QuantileSketchVisitor;
 import org.geotools.filter.DefaultExpression;
 import org.geotools.filter.FunctionExpression;
 import org.geotools.util.factory.GeoTools;
+import org.geotools.util.factory.Hints;
 
 /**
  * Parent for classifiers which break a feature collection into the specified number of classes.
@@ -67,6 +72,9 @@ public abstract class ClassificationFunction extends DefaultExpression implement
 
     ProgressListener progress;
 
+    /** Size of the quantile sketch used for approximate classification, 0 for exact classification */
+    int sketchSize = getDefaultSketchSize();
+
     public ClassificationFunction(FunctionName name) {
         this.name = name;
     }
@@ -128,6 +136,84 @@ public void setProgressListener(ProgressListener progress) {
         this.progress = progress;
     }
 
+    /**
+     * Returns the size of the quantile sketch used to compute the classes in bounded memory, or 0 if the classification
+     * is exact. Defaults to the {@link Hints#CLASSIFICATION_SKETCH_SIZE} system hint.
+     */
+    public int getSketchSize() {
+        return sketchSize;
+    }
+
+    /**
+     * Sets the size of the quantile sketch used to compute the classes, see {@link QuantileSketch#QuantileSketch(int)}.
+     * Only numeric values can be classified approximately, other values fall back on the exact classification. Not all
+     * classification functions support approximation.
+     *
+     * @param sketchSize The sketch size, or 0 to disable approximate classification
+     */
+    public void setSketchSize(int sketchSize) {
+        if (sketchSize != 0 && sketchSize < QuantileSketch.MIN_K) {
+            throw new IllegalArgumentException(
+                    "The sketch size must be 0 or at least " + QuantileSketch.MIN_K + ", got " + sketchSize);
+        }
+        this.sketchSize = sketchSize;
+    }
+
+    private static int getDefaultSketchSize() {
+        Object size = Hints.getSystemDefault(Hints.CLASSIFICATION_SKETCH_SIZE);
+        if (size instanceof Integer && (Integer) size >= QuantileSketch.MIN_K) {
+            return (Integer) size;
+        }
+        return 0;
+    }
+
+    /**
+     * Summarizes the classified values in a quantile sketch, if approximate classification is enabled. The progress
+     * listener is used for the visit, callers should check it for cancellation.
+     *
+     * @param collection The collection to classify
+     * @return The sketch, or null if approximate classification is disabled, or the values are not all numeric
+     */
+    protected QuantileSketch getQuantileSketch(FeatureCollection<?, ?> collection) throws IOException {
+        if (sketchSize <= 0) {
+            return null;
+        }
+        QuantileSketchVisitor visitor = new QuantileSketchVisitor(getParameters().get(0), sketchSize);
+        if (progress == null) progress = new NullProgressListener();
+        collection.accepts(visitor, progress);
+        QuantileSketch sketch = visitor.getSketch();
+        if (visitor.getNonNumericCount() > 0 || sketch.isEmpty()) {
+            return null;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Classifying " + sketch.getCount() + " values approximately, with a rank error of "
+                    + sketch.getNormalizedRankError());
+        }
+        return sketch;
+    }
+
+    /**
+     * Computes the class percentages from the ranks of the class bounds in the sketch. Classes include their minimum
+     * and exclude their maximum, but for the last one.
+     *
+     * @param classifier The classifier
+     * @param sketch The sketch of the classified values
+     * @param totalSize The number of features in the classified collection
+     */
+    protected double[] getSketchPercentages(RangedClassifier classifier, QuantileSketch sketch, int totalSize) {
+        int classNum = classifier.getSize();
+        double[] percentages = new double[classNum];
+        // the sketch only holds the valid values
+        double scale = (double) sketch.getCount() / totalSize * 100;
+        for (int i = 0; i < classNum; i++) {
+            double min = ((Number) classifier.getMin(i)).doubleValue();
+            double max = ((Number) classifier.getMax(i)).doubleValue();
+            double upper = i == classNum - 1 ? 1 : sketch.getRank(max);
+            percentages[i] = Math.max(0, upper - sketch.getRank(min)) * scale;
+        }
+        return percentages;
+    }
+
     public int getClasses() {
         Literal classes = (Literal) getParameters().get(1);
         return classes.evaluate(null, Integer.class).intValue();
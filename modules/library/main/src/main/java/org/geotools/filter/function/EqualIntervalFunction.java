@@ -30,6 +30,7 @@
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.visitor.MaxVisitor;
 import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.QuantileSketch;
 import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.filter.IllegalFilterException;
 import org.geotools.filter.capability.FunctionNameImpl;
@@ -58,16 +59,24 @@ private RangedClassifier calculate(SimpleFeatureCollection featureCollection) {
         Comparable globalMin;
         Comparable globalMax;
         try {
-            MinVisitor minVisit = new MinVisitor(getParameters().get(0));
             if (progress == null) progress = new NullProgressListener();
-            featureCollection.accepts(minVisit, progress);
+            // a sketch gives both the range and the percentages in a single pass
+            QuantileSketch sketch = getQuantileSketch(featureCollection);
             if (progress.isCanceled()) return null;
-            globalMin = (Comparable) minVisit.getResult().getValue();
-
-            MaxVisitor maxVisit = new MaxVisitor(getParameters().get(0));
-            featureCollection.accepts(maxVisit, progress);
-            if (progress.isCanceled()) return null;
-            globalMax = (Comparable) maxVisit.getResult().getValue();
+            if (sketch != null) {
+                globalMin = sketch.getMin();
+                globalMax = sketch.getMax();
+            } else {
+                MinVisitor minVisit = new MinVisitor(getParameters().get(0));
+                featureCollection.accepts(minVisit, progress);
+                if (progress.isCanceled()) return null;
+                globalMin = (Comparable) minVisit.getResult().getValue();
+
+                MaxVisitor maxVisit = new MaxVisitor(getParameters().get(0));
+                featureCollection.accepts(maxVisit, progress);
+                if (progress.isCanceled()) return null;
+                globalMax = (Comparable) maxVisit.getResult().getValue();
+            }
             RangedClassifier result;
             boolean percentages = false;
             if (getParameters().size() > 2) {
@@ -76,7 +85,11 @@ private RangedClassifier calculate(SimpleFeatureCollection featureCollection) {
             }
             if (globalMin instanceof Number && globalMax instanceof Number) {
                 result = calculateNumerical(classNum, globalMin, globalMax);
-                if (percentages) result.setPercentages(getNumericalPercentages(classNum, result, featureCollection));
+                if (percentages && sketch != null) {
+                    result.setPercentages(getSketchPercentages(result, sketch, featureCollection.size()));
+                } else if (percentages) {
+                    result.setPercentages(getNumericalPercentages(classNum, result, featureCollection));
+                }
             } else {
                 result = calculateNonNumerical(classNum, featureCollection);
                 if (percentages) result.setPercentages(getNotNumericalPercentages(classNum, featureCollection.size()));
@@ -19,6 +19,7 @@
 
 import static org.geotools.filter.capability.FunctionNameImpl.parameter;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +31,7 @@
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.visitor.QuantileSketch;
 import org.geotools.filter.capability.FunctionNameImpl;
 import org.geotools.util.logging.Logging;
 
@@ -74,23 +76,19 @@ public Object evaluate(Object feature) {
      * @return a RangedClassifier
      */
     private Object calculate(SimpleFeatureCollection featureCollection) {
-        ArrayList<Double> data = new ArrayList<>();
-        try (SimpleFeatureIterator features = featureCollection.features()) {
-            try {
-                while (features.hasNext()) {
-                    SimpleFeature feature = features.next();
-                    final Object result = getParameters().get(0).evaluate(feature);
-                    logger.finest("importing " + result);
-                    if (result != null) {
-                        final Double e = Double.valueOf(result.toString());
-                        if (!e.isInfinite() && !e.isNaN()) data.add(e);
-                    }
-                }
-            } catch (NumberFormatException e) {
-                return null; // if it isn't a number what should we do?
-            }
+        ArrayList<Double> data;
+        try {
+            data = getSketchData(featureCollection);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "JenksNaturalBreaksFunction calculate(SimpleFeatureCollection) failed", e);
+            return null;
+        }
+        if (data == null) {
+            data = getData(featureCollection);
+        }
+        if (data == null || data.isEmpty()) {
+            return null;
         }
-        Collections.sort(data);
 
         if (data.size() == 1 || data.get(0).equals(data.get(data.size() - 1))) {
             return new RangedClassifier(new Comparable[] {data.get(0)}, new Comparable[] {data.get(0)});
@@ -213,6 +211,50 @@ private Object calculate(SimpleFeatureCollection featureCollection) {
         return classifier;
     }
 
+    /** Collects all the valid values, sorted */
+    private ArrayList<Double> getData(SimpleFeatureCollection featureCollection) {
+        ArrayList<Double> data = new ArrayList<>();
+        try (SimpleFeatureIterator features = featureCollection.features()) {
+            try {
+                while (features.hasNext()) {
+                    SimpleFeature feature = features.next();
+                    final Object result = getParameters().get(0).evaluate(feature);
+                    logger.finest("importing " + result);
+                    if (result != null) {
+                        final Double e = Double.valueOf(result.toString());
+                        if (!e.isInfinite() && !e.isNaN()) data.add(e);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null; // if it isn't a number what should we do?
+            }
+        }
+        Collections.sort(data);
+        return data;
+    }
+
+    /**
+     * When approximate classification is enabled, samples the values at evenly spaced quantiles of a sketch, keeping
+     * the exact minimum and maximum. The breaks are then computed over the sample, which is exact as long as the
+     * number of values does not exceed the sketch size.
+     *
+     * @return The sorted sample, or null if approximate classification is disabled or not possible
+     */
+    private ArrayList<Double> getSketchData(SimpleFeatureCollection featureCollection) throws IOException {
+        QuantileSketch sketch = getQuantileSketch(featureCollection);
+        if (sketch == null) {
+            return null;
+        }
+        int samples = (int) Math.min(sketch.getCount(), getSketchSize());
+        ArrayList<Double> data = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            data.add(sketch.getQuantile((i + 0.5) / samples));
+        }
+        data.set(0, sketch.getMin());
+        data.set(samples - 1, sketch.getMax());
+        return data;
+    }
+
     private void setPercentages(RangedClassifier classifier, List<Double> data, double total) {
         int classN = classifier.getSize();
         double[] percentages = new double[classN];
@@ -47,6 +47,11 @@ protected QuantileListVisitor getListVisitor() {
         return new QuantileListVisitor(getParameters().get(0), getClasses());
     }
 
+    @Override
+    protected boolean isQuantileBased() {
+        return true;
+    }
+
     @Override
     protected boolean percentages() {
         boolean percentages = false;
@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter.visitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.PropertyIsNil;
+import org.geotools.api.filter.PropertyIsNotEqualTo;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.data.statistics.FeatureStatistics;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Reorders the children of AND and OR filters so that, when evaluated in memory, the ones most likely to short-circuit
+ * the evaluation at the lowest cost come first: an AND evaluates first the children with the lowest
+ * {@code cost / (1 - selectivity)}, an OR the ones with the lowest {@code cost / selectivity}.
+ *
+ * <p>The selectivity is estimated from the {@link FeatureStatistics} of the data, when available, or using fixed
+ * estimates depending on the filter type otherwise. The cost is estimated from the filter type and the complexity of
+ * its expressions and literal geometries, spatial predicates being the most expensive. Both estimates can be
+ * customized by subclassing.
+ *
+ * <pre><code>
+ * Filter optimized = CostBasedFilterOptimizer.optimize(filter, statistics);
+ * </code></pre>
+ *
+ * @since 34
+ */
+public class CostBasedFilterOptimizer extends DuplicatingFilterVisitor {
+
+    /** Cost of an interpreted scalar comparison, the unit the other costs are relative to */
+    public static final double COMPARISON_COST = 10;
+
+    /** Cost of a bounding box test */
+    public static final double BBOX_COST = 20;
+
+    /** Base cost of a spatial predicate other than a bounding box test, excluding the literal geometry vertices */
+    public static final double SPATIAL_COST = 100;
+
+    /** Default selectivity of filters whose selectivity cannot be estimated */
+    public static final double DEFAULT_SELECTIVITY = 0.5;
+
+    protected final FeatureStatistics statistics;
+
+    /** @param statistics The statistics of the data the filter is evaluated against, or null if not available */
+    public CostBasedFilterOptimizer(FeatureStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Reorders the logic operators of the filter by estimated cost and selectivity
+     *
+     * @param filter The filter to optimize
+     * @param statistics The statistics of the data the filter is evaluated against, or null if not available
+     * @return The optimized filter
+     */
+    public static Filter optimize(Filter filter, FeatureStatistics statistics) {
+        if (filter == null || !(filter instanceof And || filter instanceof Or || filter instanceof Not)) {
+            return filter;
+        }
+        return (Filter) filter.accept(new CostBasedFilterOptimizer(statistics), null);
+    }
+
+    @Override
+    public Object visit(And filter, Object extraData) {
+        List<Filter> children = visitChildren(filter.getChildren(), extraData);
+        children.sort(Comparator.comparingDouble(f -> getCost(f) / Math.max(1 - getSelectivity(f), Double.MIN_VALUE)));
+        return getFactory(extraData).and(children);
+    }
+
+    @Override
+    public Object visit(Or filter, Object extraData) {
+        List<Filter> children = visitChildren(filter.getChildren(), extraData);
+        children.sort(Comparator.comparingDouble(f -> getCost(f) / Math.max(getSelectivity(f), Double.MIN_VALUE)));
+        return getFactory(extraData).or(children);
+    }
+
+    private List<Filter> visitChildren(List<Filter> children, Object extraData) {
+        List<Filter> result = new ArrayList<>(children.size());
+        for (Filter child : children) {
+            if (child != null) {
+                result.add((Filter) child.accept(this, extraData));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the fraction of the features matching the filter, using the statistics if available
+     *
+     * @return The estimated selectivity, between 0 and 1
+     */
+    public double getSelectivity(Filter filter) {
+        if (statistics != null) {
+            double selectivity = statistics.getSelectivity(filter);
+            if (!Double.isNaN(selectivity)) {
+                return Math.max(0, Math.min(1, selectivity));
+            }
+        }
+        return getDefaultSelectivity(filter);
+    }
+
+    /** Returns a fixed selectivity estimate depending on the filter type, used when there are no statistics */
+    public static double getDefaultSelectivity(Filter filter) {
+        if (filter instanceof IncludeFilter) {
+            return 1;
+        } else if (filter instanceof ExcludeFilter) {
+            return 0;
+        } else if (filter instanceof Id) {
+            return 0.01;
+        } else if (filter instanceof PropertyIsEqualTo) {
+            return 0.05;
+        } else if (filter instanceof PropertyIsNotEqualTo) {
+            return 0.95;
+        } else if (filter instanceof PropertyIsBetween) {
+            return 0.25;
+        } else if (filter instanceof BinaryComparisonOperator) {
+            return 0.33;
+        } else if (filter instanceof PropertyIsNull || filter instanceof PropertyIsNil) {
+            return 0.05;
+        } else if (filter instanceof PropertyIsLike) {
+            return 0.25;
+        } else if (filter instanceof Not) {
+            return 1 - getDefaultSelectivity(((Not) filter).getFilter());
+        }
+        return DEFAULT_SELECTIVITY;
+    }
+
+    /** Estimates the relative cost of evaluating the filter on a feature, see {@link #estimateCost(Filter)} */
+    public double getCost(Filter filter) {
+        return estimateCost(filter);
+    }
+
+    /**
+     * Estimates the relative cost of evaluating the filter on a feature, an interpreted scalar comparison between an
+     * attribute and a literal costing {@link #COMPARISON_COST}. Logic operators cost the sum of their children.
+     */
+    public static double estimateCost(Filter filter) {
+        if (filter instanceof IncludeFilter || filter instanceof ExcludeFilter) {
+            return 0;
+        } else if (filter instanceof And || filter instanceof Or) {
+            double cost = 0;
+            List<Filter> children = filter instanceof And ? ((And) filter).getChildren() : ((Or) filter).getChildren();
+            for (Filter child : children) {
+                cost += estimateCost(child);
+            }
+            return cost;
+        } else if (filter instanceof Not) {
+            return estimateCost(((Not) filter).getFilter());
+        } else if (filter instanceof Id) {
+            return COMPARISON_COST / 2;
+        } else if (filter instanceof PropertyIsNull) {
+            return COMPARISON_COST / 2 + estimateCost(((PropertyIsNull) filter).getExpression());
+        } else if (filter instanceof BinaryComparisonOperator) {
+            BinaryComparisonOperator comparison = (BinaryComparisonOperator) filter;
+            return COMPARISON_COST
+                    + estimateCost(comparison.getExpression1())
+                    + estimateCost(comparison.getExpression2());
+        } else if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            return COMPARISON_COST * 1.5
+                    + estimateCost(between.getExpression())
+                    + estimateCost(between.getLowerBoundary())
+                    + estimateCost(between.getUpperBoundary());
+        } else if (filter instanceof PropertyIsLike) {
+            return COMPARISON_COST * 2 + estimateCost(((PropertyIsLike) filter).getExpression());
+        } else if (filter instanceof BBOX) {
+            BBOX bbox = (BBOX) filter;
+            return BBOX_COST + estimateCost(bbox.getExpression1()) + estimateCost(bbox.getExpression2());
+        } else if (filter instanceof BinarySpatialOperator) {
+            BinarySpatialOperator spatial = (BinarySpatialOperator) filter;
+            return SPATIAL_COST + estimateCost(spatial.getExpression1()) + estimateCost(spatial.getExpression2());
+        }
+        return COMPARISON_COST;
+    }
+
+    /** Estimates the relative cost of evaluating an expression, attributes and literals are considered free */
+    public static double estimateCost(Expression expression) {
+        if (expression instanceof Literal) {
+            Object value = ((Literal) expression).getValue();
+            // geometry predicates scale with the number of vertices of the literal
+            return value instanceof Geometry ? ((Geometry) value).getNumPoints() / 10d : 0;
+        } else if (expression instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) expression;
+            return 1 + estimateCost(binary.getExpression1()) + estimateCost(binary.getExpression2());
+        } else if (expression instanceof Function) {
+            double cost = COMPARISON_COST;
+            for (Expression parameter : ((Function) expression).getParameters()) {
+                cost += estimateCost(parameter);
+            }
+            return cost;
+        }
+        return 0;
+    }
+}
@@ -135,8 +135,15 @@ public void removeRange(Range<T> range) {
     }
 
     private List<Range<T>> getOverlappingRanges(Range<T> range) {
+        // the ranges are disjoint and sorted by minimum, so only the one starting right before the range and the ones
+        // starting before its maximum can overlap or touch it
         List<Range<T>> overlapping = new ArrayList<>();
-        for (Range<T> r : ranges) {
+        Range<T> lower = ranges.lower(range);
+        T max = range.getMaxValue();
+        for (Range<T> r : lower != null ? ranges.tailSet(lower, true) : ranges) {
+            if (max != null && r.getMinValue() != null && r.getMinValue().compareTo(max) > 0) {
+                break;
+            }
             if (r.intersects(range) || contiguous(r, range)) {
                 overlapping.add(r);
             }
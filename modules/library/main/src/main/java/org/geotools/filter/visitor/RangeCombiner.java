@@ -17,9 +17,12 @@
 package org.geotools.filter.visitor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.BinaryComparisonOperator;
 import org.geotools.api.filter.BinaryLogicOperator;
@@ -54,13 +57,30 @@ abstract class RangeCombiner {
      */
     static class Or extends RangeCombiner {
 
+        /**
+         * The ranges created by this combiner, that can be extended in place. Lazily initialized, as the combination
+         * happens in the super class constructor
+         */
+        Set<MultiRange<?>> merged;
+
         public Or(FilterFactory ff, FeatureType featureType, List<Filter> filters) {
             super(ff, featureType, filters);
         }
 
         @Override
         protected <T extends Comparable<T>> MultiRange<T> combineRanges(MultiRange<T> r1, MultiRange<T> r2) {
-            return r1.merge(r2);
+            // copying the ranges at each step would make the union of long lists of values quadratic
+            if (merged == null) {
+                merged = Collections.newSetFromMap(new IdentityHashMap<>());
+            } else if (merged.contains(r1)) {
+                for (Range<T> range : r2.ranges) {
+                    r1.addRange(range);
+                }
+                return r1;
+            }
+            MultiRange<T> result = r1.merge(r2);
+            merged.add(result);
+            return result;
         }
 
         @Override
@@ -18,8 +18,11 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -56,7 +59,9 @@
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.filter.identity.GmlObjectId;
 import org.geotools.api.filter.identity.Identifier;
+import org.geotools.filter.FidFilterImpl;
 import org.geotools.filter.FilterAttributeExtractor;
+import org.geotools.filter.FoldedLiteral;
 
 /**
  * Takes a filter and returns a simplified, equivalent one. At the moment the filter:
@@ -85,6 +90,9 @@
  */
 public class SimplifyingFilterVisitor extends DuplicatingFilterVisitor {
 
+    /** Minimum number of OR-ed equalities against the same property that are grouped together */
+    static final int EQUALITY_GROUP_SIZE = 8;
+
     /**
      * Defines a simple means of assessing whether a feature id in an {@link Id} filter is structurally valid and hence
      * can be send down to the backend with confidence it will not cause trouble, the most common one being filtering by
@@ -139,6 +147,8 @@ public TypeNameDotNumberFidValidator(final String typeName) {
 
     private boolean rangeSimplicationEnabled = false;
 
+    private Map<org.geotools.api.filter.expression.Function, Literal> foldedFunctions;
+
     public void setFIDValidator(FIDValidator validator) {
         this.fidValidator = validator == null ? ANY_FID_VALID : validator;
     }
@@ -195,18 +205,8 @@ protected List<Filter> basicAndSimplification(List<Filter> filters) {
         }
 
         // see if we have dual filters that can lead to Filter.Exclude, or duplicated filters
-        for (int i = 0; i < simplified.size(); i++) {
-            for (int j = i + 1; j < simplified.size(); ) {
-                Filter f1 = simplified.get(i);
-                Filter f2 = simplified.get(j);
-                if (f1.equals(f2)) {
-                    simplified.remove(j);
-                } else if (dualFilters(f1, f2)) {
-                    return Arrays.asList(Filter.EXCLUDE);
-                } else {
-                    j++;
-                }
-            }
+        if (removeDuplicates(simplified)) {
+            return Arrays.asList(Filter.EXCLUDE);
         }
         return simplified;
     }
@@ -314,21 +314,108 @@ protected List<Filter> basicOrSimplification(List<Filter> filters) {
             simplified.add(child);
         }
 
-        // see if we have dual filters that can lead to Filter.Exclude, or duplicated filters
-        for (int i = 0; i < simplified.size(); i++) {
-            for (int j = i + 1; j < simplified.size(); ) {
-                Filter f1 = simplified.get(i);
-                Filter f2 = simplified.get(j);
-                if (f1.equals(f2)) {
-                    simplified.remove(j);
-                } else if (dualFilters(f1, f2)) {
-                    return Arrays.asList(Filter.INCLUDE);
-                } else {
-                    j++;
+        // see if we have dual filters that can lead to Filter.Include, or duplicated filters
+        if (removeDuplicates(simplified)) {
+            return Arrays.asList(Filter.INCLUDE);
+        }
+
+        // long lists of ids and equalities are evaluated with hash lookups, make sure they are not split
+        simplified = mergeIds(simplified);
+        return groupEqualities(simplified);
+    }
+
+    /**
+     * Removes the duplicated filters from the list, and returns true if the list contains a filter along with its
+     * negation. Duplicates are found by hashing, as the lists can be long, e.g., when generated by a selection of
+     * thousands of values, while dual filters are searched only among the negations.
+     */
+    private boolean removeDuplicates(List<Filter> filters) {
+        Set<Filter> unique = new LinkedHashSet<>(filters);
+        for (Filter f1 : unique) {
+            if (f1 instanceof Not || f1 instanceof PropertyIsNotEqualTo) {
+                for (Filter f2 : unique) {
+                    if (f1 != f2 && dualFilters(f1, f2)) {
+                        return true;
+                    }
                 }
             }
         }
-        return simplified;
+        if (unique.size() < filters.size()) {
+            filters.clear();
+            filters.addAll(unique);
+        }
+        return false;
+    }
+
+    /** Merges the OR-ed feature id filters into a single one */
+    private List<Filter> mergeIds(List<Filter> filters) {
+        Set<Identifier> identifiers = new LinkedHashSet<>();
+        int count = 0;
+        for (Filter filter : filters) {
+            if (filter.getClass() == FidFilterImpl.class) {
+                identifiers.addAll(((Id) filter).getIdentifiers());
+                count++;
+            }
+        }
+        if (count < 2) {
+            return filters;
+        }
+        List<Filter> merged = new ArrayList<>(filters.size() - count + 1);
+        for (Filter filter : filters) {
+            if (filter.getClass() != FidFilterImpl.class) {
+                merged.add(filter);
+            } else if (identifiers != null) {
+                merged.add(ff.id(identifiers));
+                identifiers = null;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Nests the long lists of equalities between a property and a literal into their own OR, when mixed with other
+     * filters, so that they can be evaluated as a whole with a hash lookup
+     */
+    private List<Filter> groupEqualities(List<Filter> filters) {
+        if (filters.size() <= EQUALITY_GROUP_SIZE) {
+            return filters;
+        }
+        Map<PropertyName, List<Filter>> groups = new HashMap<>();
+        for (Filter filter : filters) {
+            PropertyName name = getEqualityProperty(filter);
+            if (name != null) {
+                groups.computeIfAbsent(name, n -> new ArrayList<>()).add(filter);
+            }
+        }
+        groups.values().removeIf(g -> g.size() < EQUALITY_GROUP_SIZE || g.size() == filters.size());
+        if (groups.isEmpty()) {
+            return filters;
+        }
+        List<Filter> grouped = new ArrayList<>();
+        for (Filter filter : filters) {
+            PropertyName name = getEqualityProperty(filter);
+            List<Filter> group = name != null ? groups.get(name) : null;
+            if (group == null) {
+                grouped.add(filter);
+            } else if (group.get(0) == filter) {
+                grouped.add(ff.or(group));
+            }
+        }
+        return grouped;
+    }
+
+    /** Returns the property compared to a literal by a case sensitive equality, or null */
+    private PropertyName getEqualityProperty(Filter filter) {
+        if (filter instanceof PropertyIsEqualTo && ((PropertyIsEqualTo) filter).isMatchingCase()) {
+            Expression ex1 = ((PropertyIsEqualTo) filter).getExpression1();
+            Expression ex2 = ((PropertyIsEqualTo) filter).getExpression2();
+            if (ex1 instanceof PropertyName && ex2 instanceof Literal) {
+                return (PropertyName) ex1;
+            } else if (ex2 instanceof PropertyName && ex1 instanceof Literal) {
+                return (PropertyName) ex2;
+            }
+        }
+        return null;
     }
 
     protected List<Filter> extraAndSimplification(Object extraData, List<Filter> filters) {
@@ -466,8 +553,7 @@ public Object visit(org.geotools.api.filter.expression.Function function, Object
 
         // if so we can replace it with a literal
         if (attributeExtractor.isConstantExpression()) {
-            Object result = function.evaluate(null);
-            return ff.literal(result);
+            return fold(function);
         }
 
         // perform simplifying copy, the arguments will be simplified if possible
@@ -489,6 +575,22 @@ protected boolean isVolatileFunction(org.geotools.api.filter.expression.Function
         return function instanceof VolatileFunction;
     }
 
+    /**
+     * Evaluates a constant function into a literal. Equal functions met by this visitor, for example the same constant
+     * expression repeated in the rules of a style, are evaluated once and share the same literal.
+     */
+    protected Literal fold(org.geotools.api.filter.expression.Function function) {
+        if (foldedFunctions == null) {
+            foldedFunctions = new HashMap<>();
+        }
+        Literal literal = foldedFunctions.get(function);
+        if (literal == null) {
+            literal = new FoldedLiteral(function, function.evaluate(null));
+            foldedFunctions.put(function, literal);
+        }
+        return literal;
+    }
+
     /** Tries to simplify the filter if it's not already a simple one. */
     public static Filter simplify(Filter filter) {
         return simplify(filter, null);
@@ -896,6 +896,20 @@ public void testAddMandatoryProperties() {
         Assert.assertEquals(3, list2.size());
     }
 
+    @Test
+    public void testEstimateSize() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("sized", "geom:LineString,name:String,count:Integer");
+        GeometryFactory gf = new GeometryFactory();
+        LineString shortLine = gf.createLineString(new Coordinate[] {new Coordinate(0, 0), new Coordinate(1, 1)});
+        LineString longLine = gf.createLineString(new Coordinate[] {
+            new Coordinate(0, 0), new Coordinate(1, 1), new Coordinate(2, 0), new Coordinate(3, 1)
+        });
+        SimpleFeature small = SimpleFeatureBuilder.build(type, new Object[] {shortLine, "a", 1}, null);
+        SimpleFeature large = SimpleFeatureBuilder.build(type, new Object[] {longLine, "a longer name", 1}, null);
+        assertTrue(DataUtilities.estimateSize(small) > 0);
+        assertTrue(DataUtilities.estimateSize(large) > DataUtilities.estimateSize(small));
+    }
+
     @Test
     public void testMixQueriesSort() {
         // simple merge, no conflict
@@ -0,0 +1,250 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ContentFeatureStore;
+import org.geotools.data.store.DiffTransactionState;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class DiffSpillTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    GeometryFactory gf = new GeometryFactory();
+
+    SimpleFeatureType type;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("spill", "name:String,value:Integer,*geom:Point");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(Diff.SPILL_THRESHOLD_KEY);
+    }
+
+    private SimpleFeature feature(String fid, String name, int value, double x, double y) {
+        return SimpleFeatureBuilder.build(
+                type, new Object[] {name, value, gf.createPoint(new Coordinate(x, y))}, fid);
+    }
+
+    @Test
+    public void testDefaultKeepsInMemory() {
+        Diff diff = new Diff();
+        assertEquals(-1, diff.getSpillThreshold());
+        for (int i = 0; i < 100; i++) {
+            diff.add("f" + i, feature("f" + i, "name" + i, i, i, i));
+        }
+        assertFalse(diff.isSpilled());
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        Diff diff = new Diff(10_000);
+        Map<String, SimpleFeature> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            SimpleFeature f = feature("new" + i, "name" + i, i, i, i);
+            diff.add(f.getID(), f);
+            expected.put(f.getID(), f);
+        }
+        for (int i = 0; i < 500; i++) {
+            SimpleFeature f = feature("old" + i, "changed" + i, -i, -i, -i);
+            diff.modify(f.getID(), f);
+            expected.put(f.getID(), f);
+        }
+        assertTrue(diff.isSpilled());
+        File file = diff.spillFile.file;
+        assertTrue(file.exists());
+
+        // update and remove features that have been moved to disk
+        SimpleFeature updated = feature("new3", "updated", 3, 2000, 2000);
+        diff.modify("new3", updated);
+        expected.put("new3", updated);
+        diff.remove("new4");
+        expected.remove("new4");
+        diff.remove("old5");
+        expected.remove("old5");
+
+        assertEquals(999, diff.getAdded().size());
+        assertEquals(500, diff.getModified().size());
+        assertSame(Diff.NULL, diff.getModified().get("old5"));
+        assertNull(diff.getAdded().get("new4"));
+        assertEquals(999, diff.getAddedOrder().size());
+        for (Map.Entry<String, SimpleFeature> entry : diff.getAdded().entrySet()) {
+            assertFeature(expected.get(entry.getKey()), entry.getValue());
+        }
+        for (Map.Entry<String, SimpleFeature> entry : diff.getModified().entrySet()) {
+            if (entry.getValue() != Diff.NULL) {
+                assertFeature(expected.get(entry.getKey()), entry.getValue());
+            }
+        }
+
+        // the spatial index follows the features on disk
+        assertEquals(Set.of("new3"), ids(diff.queryIndex(new Envelope(1999, 2001, 1999, 2001))));
+        assertEquals(Set.of("new2", "old2", "old3"), ids(diff.queryIndex(new Envelope(-3, 3, -3, 3))));
+
+        diff.clear();
+        assertTrue(diff.isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testUnspillableNotRetried() throws Exception {
+        DiffSpillFile file = new DiffSpillFile();
+        try {
+            SpillableFeatureMap map = new SpillableFeatureMap(file);
+            // geometries carrying user data cannot be written to the spill file
+            SimpleFeature unspillable = feature("f1", "name1", 1, 1, 1);
+            ((Geometry) unspillable.getDefaultGeometry()).setUserData("EPSG:4326");
+            map.put("f1", unspillable);
+            map.spill();
+            assertTrue(map.spilled.isEmpty());
+            assertTrue(map.memory.containsKey("f1"));
+            // rejected features are not offered to the file again
+            assertTrue(map.pending.isEmpty());
+
+            map.put("f2", feature("f2", "name2", 2, 2, 2));
+            assertEquals(Set.of("f2"), map.pending);
+            map.spill();
+            assertEquals(Set.of("f2"), map.spilled.keySet());
+            assertEquals(Set.of("f1"), map.memory.keySet());
+            assertTrue(map.pending.isEmpty());
+
+            // replacing a feature makes it a spill candidate again
+            map.put("f1", feature("f1", "name1", 1, 1, 1));
+            map.spill();
+            assertEquals(Set.of("f1", "f2"), map.spilled.keySet());
+            assertTrue(map.memory.isEmpty());
+            assertEquals(0, map.memoryUsage);
+        } finally {
+            file.close();
+        }
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+        Diff diff = new Diff(1);
+        for (int i = 0; i < 100; i++) {
+            diff.add("new" + i, feature("new" + i, "name" + i, i, i, i));
+        }
+        assertTrue(diff.isSpilled());
+        Diff copy = new Diff(diff);
+        diff.clear();
+        assertTrue(copy.isSpilled());
+        assertEquals(100, copy.getAdded().size());
+        assertFeature(feature("new10", "name10", 10, 10, 10), copy.getAdded().get("new10"));
+        assertEquals(Set.of("new10"), ids(copy.queryIndex(new Envelope(9.5, 10.5, 9.5, 10.5))));
+        copy.clear();
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        System.setProperty(Diff.SPILL_THRESHOLD_KEY, "20000");
+        MemoryDataStore store = new MemoryDataStore(type);
+        List<SimpleFeature> originals = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            originals.add(feature("spill." + i, "original" + i, i, i, 0));
+        }
+        store.addFeatures(originals);
+
+        try (Transaction t = new DefaultTransaction()) {
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("spill");
+            fs.setTransaction(t);
+            List<SimpleFeature> added = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                added.add(feature(null, "added" + i, 1000 + i, i, 1));
+            }
+            fs.addFeatures(DataUtilities.collection(added));
+            fs.modifyFeatures("name", "modified", FF.less(FF.property("value"), FF.literal(50)));
+            fs.removeFeatures(FF.between(FF.property("value"), FF.literal(90), FF.literal(99)));
+
+            Diff diff = ((DiffTransactionState) t.getState(((ContentFeatureStore) fs).getEntry())).getDiff();
+            assertTrue(diff.isSpilled());
+
+            // merge on read
+            assertEquals(2090, fs.getCount(Query.ALL));
+            assertEquals(50, fs.getFeatures(FF.equals(FF.property("name"), FF.literal("modified"))).size());
+            Filter bbox = FF.bbox("geom", 9.5, -0.5, 10.5, 1.5, null);
+            assertEquals(Set.of("modified", "added10"), names(fs, bbox));
+            // the store is not changed yet
+            assertEquals(100, store.getFeatureSource("spill").getCount(Query.ALL));
+
+            t.commit();
+            assertFalse(diff.isSpilled());
+        }
+
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("spill");
+        assertEquals(2090, fs.getCount(Query.ALL));
+        assertEquals(50, fs.getFeatures(FF.equals(FF.property("name"), FF.literal("modified"))).size());
+        assertEquals(2000, fs.getFeatures(FF.greaterOrEqual(FF.property("value"), FF.literal(1000))).size());
+        assertEquals(0, fs.getFeatures(FF.between(FF.property("value"), FF.literal(90), FF.literal(99))).size());
+    }
+
+    private void assertFeature(SimpleFeature expected, SimpleFeature actual) {
+        assertEquals(expected.getID(), actual.getID());
+        assertEquals(expected.getAttributes(), actual.getAttributes());
+    }
+
+    private Set<String> ids(List<SimpleFeature> features) {
+        Set<String> result = new TreeSet<>();
+        for (SimpleFeature f : features) {
+            result.add(f.getID());
+        }
+        return result;
+    }
+
+    private Set<String> names(SimpleFeatureStore fs, Filter filter) throws Exception {
+        Set<String> result = new TreeSet<>();
+        try (SimpleFeatureIterator it = fs.getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                result.add((String) it.next().getAttribute("name"));
+            }
+        }
+        return result;
+    }
+}
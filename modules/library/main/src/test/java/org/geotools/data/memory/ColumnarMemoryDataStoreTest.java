@@ -0,0 +1,322 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKTReader;
+
+public class ColumnarMemoryDataStoreTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    ColumnarMemoryDataStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType(
+                "test", "geom:Geometry:srid=4326,id:Integer,big:Long,value:Double,name:String,when:Date,flag:Boolean");
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        features = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int x = i % 40;
+            int y = i / 40;
+            Geometry geom;
+            if (i % 100 == 7) {
+                geom = null;
+            } else if (i % 3 == 0) {
+                geom = gf.createPoint(new Coordinate(x, y));
+            } else if (i % 3 == 1) {
+                geom = gf.createLineString(new Coordinate[] {new Coordinate(x, y), new Coordinate(x + 0.5, y + 0.5)});
+            } else {
+                geom = gf.createPolygon(new Coordinate[] {
+                    new Coordinate(x, y),
+                    new Coordinate(x + 0.5, y),
+                    new Coordinate(x + 0.5, y + 0.5),
+                    new Coordinate(x, y)
+                });
+            }
+            fb.add(geom);
+            fb.add(i);
+            fb.add(i * 1_000_000_000L);
+            fb.add(i % 10 == 5 ? null : i / 7d);
+            fb.add("name" + i % 13);
+            fb.add(new Date(i * 3_600_000L));
+            fb.add(i % 2 == 0);
+            features.add(fb.buildFeature("test." + i));
+        }
+        store = new ColumnarMemoryDataStore(DataUtilities.collection(features));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SimpleFeatureSource fs = store.getFeatureSource("test");
+        assertEquals(1000, fs.getCount(Query.ALL));
+        assertTrue(DataUtilities.compare(type, fs.getSchema()) >= 0);
+        assertEquals(DataUtilities.collection(features).getBounds(), fs.getBounds());
+        int i = 0;
+        try (SimpleFeatureIterator it = fs.getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature actual = it.next();
+                SimpleFeature expected = features.get(i++);
+                assertEquals(expected.getID(), actual.getID());
+                assertEquals(expected.getAttributes(), actual.getAttributes());
+            }
+        }
+        assertEquals(1000, i);
+    }
+
+    @Test
+    public void testGeometries() throws Exception {
+        SimpleFeatureType geomType = DataUtilities.createType("geoms", "geom:Geometry");
+        WKTReader reader = new WKTReader();
+        String[] wkts = {
+            "POINT Z(1 2 3)",
+            "LINESTRING(0 0, 1 1, 2 0)",
+            "POLYGON((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 3 2, 3 3, 2 2))",
+            "MULTIPOINT((1 1), (2 2))",
+            "MULTILINESTRING Z((0 0 1, 1 1 2), (2 2 3, 3 3 4))",
+            "MULTIPOLYGON(((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+            "GEOMETRYCOLLECTION(POINT(1 1), LINESTRING(0 0, 1 1))",
+            "POLYGON EMPTY"
+        };
+        List<SimpleFeature> geoms = new ArrayList<>();
+        for (int i = 0; i < wkts.length; i++) {
+            geoms.add(SimpleFeatureBuilder.build(geomType, new Object[] {reader.read(wkts[i])}, "geoms." + i));
+        }
+        store.addFeatures(geoms);
+
+        int i = 0;
+        try (SimpleFeatureIterator it = store.getFeatureSource("geoms").getFeatures().features()) {
+            while (it.hasNext()) {
+                Geometry expected = (Geometry) geoms.get(i++).getDefaultGeometry();
+                Geometry actual = (Geometry) it.next().getDefaultGeometry();
+                assertEquals(expected.getGeometryType(), actual.getGeometryType());
+                assertTrue(expected.equalsExact(actual));
+                assertArrayEquals(expected.getCoordinates(), actual.getCoordinates());
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.getCoordinates()[0].getZ(), actual.getCoordinates()[0].getZ(), 0d);
+                }
+            }
+        }
+        assertEquals(wkts.length, i);
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+        GeometryFactory gf = new GeometryFactory();
+        Geometry triangle = gf.createPolygon(new Coordinate[] {
+            new Coordinate(0, 0), new Coordinate(3, 0), new Coordinate(0, 3), new Coordinate(0, 0)
+        });
+        Filter[] filters = {
+            FF.bbox("geom", 5, 5, 10.2, 8, "EPSG:4326"),
+            FF.intersects(FF.property("geom"), FF.literal(triangle)),
+            FF.within(FF.literal(triangle), FF.property("geom")),
+            FF.equals(FF.property("id"), FF.literal(42)),
+            FF.equals(FF.literal("42"), FF.property("id")),
+            FF.and(
+                    FF.less(FF.property("id"), FF.literal(100)),
+                    FF.greaterOrEqual(FF.property("id"), FF.literal(50))),
+            FF.greater(FF.literal(100), FF.property("id")),
+            FF.greater(FF.property("big"), FF.literal(500_000_000_000L)),
+            FF.between(FF.property("value"), FF.literal(10), FF.literal(20)),
+            FF.equals(FF.property("value"), FF.literal(15)),
+            FF.equals(FF.property("name"), FF.literal("name7")),
+            FF.equal(FF.property("name"), FF.literal("NAME7"), false),
+            FF.or(
+                    FF.equals(FF.property("name"), FF.literal("name7")),
+                    FF.greater(FF.property("id"), FF.literal(990))),
+            FF.and(
+                    FF.notEqual(FF.property("name"), FF.literal("name7")),
+                    FF.bbox("geom", 0, 0, 5, 5, "EPSG:4326")),
+            FF.less(FF.property("when"), FF.literal(new Date(86_400_000L))),
+            FF.and(
+                    FF.equals(FF.property("flag"), FF.literal(true)),
+                    FF.less(FF.property("id"), FF.literal(20))),
+            FF.id(FF.featureId("test.3"), FF.featureId("test.500"), FF.featureId("test.3"), FF.featureId("missing")),
+            FF.and(
+                    FF.like(FF.property("name"), "name1*"),
+                    FF.greater(FF.property("value"), FF.literal(100))),
+            FF.isNull(FF.property("geom")),
+            Filter.EXCLUDE
+        };
+        SimpleFeatureSource fs = store.getFeatureSource("test");
+        for (Filter filter : filters) {
+            assertEquals(filter.toString(), bruteForce(filter), ids(fs, filter));
+            assertEquals(filter.toString(), bruteForce(filter).size(), fs.getCount(new Query("test", filter)));
+        }
+    }
+
+    @Test
+    public void testIndexesFollowAppends() throws Exception {
+        SimpleFeatureSource fs = store.getFeatureSource("test");
+        Filter bbox = FF.bbox("geom", 100, 100, 101, 101, "EPSG:4326");
+        Filter equal = FF.equals(FF.property("name"), FF.literal("appended"));
+        Filter id = FF.id(FF.featureId("test.extra"));
+        // build the indexes
+        assertTrue(ids(fs, bbox).isEmpty());
+        assertTrue(ids(fs, equal).isEmpty());
+        assertTrue(ids(fs, id).isEmpty());
+
+        SimpleFeature extra = SimpleFeatureBuilder.build(
+                type,
+                new Object[] {
+                    new GeometryFactory().createPoint(new Coordinate(100.5, 100.5)), 5000, null, null, "appended"
+                },
+                "test.extra");
+        store.addFeatures(List.of(extra));
+        assertEquals(Set.of("test.extra"), ids(fs, bbox));
+        assertEquals(Set.of("test.extra"), ids(fs, equal));
+        assertEquals(Set.of("test.extra"), ids(fs, id));
+        assertEquals(1001, fs.getCount(Query.ALL));
+    }
+
+    @Test
+    public void testFailedAppend() throws Exception {
+        SimpleFeatureSource fs = store.getFeatureSource("test");
+        // the date cannot be converted, after the id and name columns already accepted their values
+        SimpleFeature bad = SimpleFeatureBuilder.build(
+                type, new Object[] {null, 5000, null, null, "bad", "not a date", null}, "test.bad");
+        try {
+            store.addFeatures(List.of(bad));
+            fail("The date cannot be converted");
+        } catch (IllegalArgumentException e) {
+            // fine
+        }
+        assertEquals(1000, fs.getCount(Query.ALL));
+
+        SimpleFeature extra = SimpleFeatureBuilder.build(
+                type, new Object[] {null, 5001, null, null, "appended", new Date(0), true}, "test.extra");
+        store.addFeatures(List.of(extra));
+        Filter id = FF.id(FF.featureId("test.extra"));
+        try (SimpleFeatureIterator it = fs.getFeatures(id).features()) {
+            assertEquals(extra.getAttributes(), it.next().getAttributes());
+        }
+        assertTrue(ids(fs, FF.equals(FF.property("id"), FF.literal(5000))).isEmpty());
+    }
+
+    @Test
+    public void testSchemas() throws Exception {
+        try {
+            store.createSchema(type);
+            fail("The schema already exists");
+        } catch (IOException e) {
+            // fine
+        }
+        SimpleFeatureType other = DataUtilities.createType("test", "name:String");
+        try {
+            store.addFeatures(List.of(SimpleFeatureBuilder.build(other, new Object[] {"a"}, null)));
+            fail("The schema is not compatible");
+        } catch (IOException e) {
+            // fine
+        }
+
+        SimpleFeatureType empty = DataUtilities.createType("empty", "geom:Point,name:String");
+        store.createSchema(empty);
+        assertEquals(List.of("empty", "test"), List.of(store.getTypeNames()));
+        SimpleFeatureSource fs = store.getFeatureSource("empty");
+        assertEquals(0, fs.getCount(Query.ALL));
+        assertTrue(fs.getBounds().isEmpty());
+
+        store.removeSchema("empty");
+        assertEquals(List.of("test"), List.of(store.getTypeNames()));
+    }
+
+    @Test
+    public void testMemoryUsage() throws Exception {
+        long estimate = 0;
+        for (SimpleFeature f : features) {
+            // conservative size of the feature objects, its id, geometry and boxed attribute values
+            estimate += 64 + 40 + 2L * f.getID().length();
+            for (Object value : f.getAttributes()) {
+                if (value instanceof Geometry) {
+                    estimate += 64 + 24L * ((Geometry) value).getNumPoints();
+                } else if (value instanceof String) {
+                    estimate += 40 + 2L * ((String) value).length();
+                } else {
+                    estimate += 16;
+                }
+            }
+        }
+        long usage = store.getMemoryUsage("test");
+        assertTrue(usage > 0);
+        assertTrue("Expected less than " + estimate + " but was " + usage, usage < estimate);
+    }
+
+    @Test
+    public void testFilteredBounds() throws Exception {
+        SimpleFeatureSource fs = store.getFeatureSource("test");
+        Filter filter = FF.less(FF.property("id"), FF.literal(10));
+        ReferencedEnvelope expected = new ReferencedEnvelope(type.getCoordinateReferenceSystem());
+        for (SimpleFeature f : features) {
+            if (filter.evaluate(f)) {
+                expected.include(f.getBounds());
+            }
+        }
+        assertEquals(expected, fs.getFeatures(filter).getBounds());
+    }
+
+    private Set<String> bruteForce(Filter filter) {
+        Set<String> result = new TreeSet<>();
+        for (SimpleFeature f : features) {
+            if (filter.evaluate(f)) {
+                result.add(f.getID());
+            }
+        }
+        return result;
+    }
+
+    private Set<String> ids(SimpleFeatureSource fs, Filter filter) throws IOException {
+        Set<String> result = new TreeSet<>();
+        try (SimpleFeatureIterator it = fs.getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                result.add(it.next().getID());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+
+/** Testing class for the {@link SimpleFeatureCodec} and the encoded sort runs */
+public class SimpleFeatureCodecTest {
+
+    GeometryFactory gf = new GeometryFactory();
+
+    private SimpleFeatureType buildType() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("codec");
+        tb.add("geom", LineString.class);
+        tb.add("name", String.class);
+        tb.add("count", Long.class);
+        tb.add("decimal", BigDecimal.class);
+        tb.add("big", BigInteger.class);
+        tb.add("timestamp", Timestamp.class);
+        tb.add("uuid", UUID.class);
+        tb.add("bytes", byte[].class);
+        tb.add("flag", Boolean.class);
+        return tb.buildFeatureType();
+    }
+
+    private SimpleFeature buildFeature(SimpleFeatureType type, int i) {
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        fb.add(gf.createLineString(new Coordinate[] {new Coordinate(i, i, i), new Coordinate(i + 1, i + 2, i + 3)}));
+        fb.add("name" + i + "è".repeat(i % 5));
+        // an Integer value in a Long attribute, normalized while encoding
+        fb.add(Integer.valueOf(-i));
+        fb.add(new BigDecimal("123456789012345678901234567890.0" + i));
+        fb.add(BigInteger.valueOf(i).shiftLeft(80).negate());
+        Timestamp timestamp = new Timestamp(1_700_000_000_000L + i);
+        timestamp.setNanos(123456789);
+        fb.add(timestamp);
+        fb.add(new UUID(i, -i));
+        fb.add(new byte[] {(byte) i, 0, -1});
+        fb.add(i % 3 == 0 ? null : i % 2 == 0);
+        return fb.buildFeature("codec." + i);
+    }
+
+    @Test
+    public void testCanEncode() {
+        assertTrue(SimpleFeatureCodec.canEncode(buildType()));
+
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("other");
+        tb.add("character", Character.class);
+        assertFalse(SimpleFeatureCodec.canEncode(tb.buildFeatureType()));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SimpleFeatureType type = buildType();
+        SimpleFeatureCodec codec = new SimpleFeatureCodec(type);
+        SimpleFeatureCodec.Output out = new SimpleFeatureCodec.Output(16);
+        for (int i = 0; i < 10; i++) {
+            codec.encode(buildFeature(type, i), out);
+        }
+
+        SimpleFeatureCodec.Input in = new SimpleFeatureCodec.Input();
+        in.reset(out.buffer, out.size);
+        for (int i = 0; i < 10; i++) {
+            assertFeatureEquals(buildFeature(type, i), codec.decode(in));
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    public void testNullValues() throws Exception {
+        SimpleFeatureType type = buildType();
+        SimpleFeatureCodec codec = new SimpleFeatureCodec(type);
+        SimpleFeatureCodec.Output out = new SimpleFeatureCodec.Output(16);
+        codec.encode(new SimpleFeatureBuilder(type).buildFeature("empty"), out);
+
+        SimpleFeatureCodec.Input in = new SimpleFeatureCodec.Input();
+        in.reset(out.buffer, out.size);
+        SimpleFeature decoded = codec.decode(in);
+        assertEquals("empty", decoded.getID());
+        for (Object value : decoded.getAttributes()) {
+            assertNull(value);
+        }
+    }
+
+    @Test
+    public void testRuns() throws Exception {
+        checkRuns(false);
+    }
+
+    @Test
+    public void testCompressedRuns() throws Exception {
+        checkRuns(true);
+    }
+
+    private void checkRuns(boolean compress) throws Exception {
+        SimpleFeatureType type = buildType();
+        // large enough to span several blocks
+        List<SimpleFeature> first = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            first.add(buildFeature(type, i));
+        }
+        List<SimpleFeature> second = List.of(buildFeature(type, 5000));
+
+        try (SortRunFile file = new SortRunFile()) {
+            EncodedRunWriter writer = new EncodedRunWriter(type, compress);
+            SimpleFeatureCodec.Output bytes = writer.encode(first);
+            long firstOffset = file.append(bytes.buffer, bytes.size);
+            bytes = writer.encode(second);
+            long secondOffset = file.append(bytes.buffer, bytes.size);
+
+            SimpleFeatureCodec codec = new SimpleFeatureCodec(type);
+            EncodedRunReader firstReader = new EncodedRunReader(file, codec, firstOffset, first.size());
+            EncodedRunReader secondReader = new EncodedRunReader(file, codec, secondOffset, second.size());
+            // interleave the reads, as the merge does
+            for (SimpleFeature expected : first) {
+                assertFeatureEquals(expected, firstReader.feature());
+                firstReader.next();
+                if (secondReader.feature() != null) {
+                    assertFeatureEquals(second.get(0), secondReader.feature());
+                    secondReader.next();
+                }
+            }
+            assertNull(firstReader.feature());
+            assertNull(secondReader.feature());
+        }
+    }
+
+    private void assertFeatureEquals(SimpleFeature expected, SimpleFeature actual) {
+        assertEquals(expected.getID(), actual.getID());
+        Geometry expectedGeometry = (Geometry) expected.getAttribute("geom");
+        Geometry geometry = (Geometry) actual.getAttribute("geom");
+        assertTrue(geometry.equalsExact(expectedGeometry));
+        // the Z ordinate is preserved
+        assertEquals(expectedGeometry.getCoordinates()[1].getZ(), geometry.getCoordinates()[1].getZ(), 0d);
+        assertEquals(expected.getAttribute("name"), actual.getAttribute("name"));
+        assertEquals(((Number) expected.getAttribute("count")).longValue(), actual.getAttribute("count"));
+        assertEquals(expected.getAttribute("decimal"), actual.getAttribute("decimal"));
+        assertEquals(expected.getAttribute("big"), actual.getAttribute("big"));
+        assertEquals(expected.getAttribute("timestamp"), actual.getAttribute("timestamp"));
+        assertEquals(
+                ((Timestamp) expected.getAttribute("timestamp")).getNanos(),
+                ((Timestamp) actual.getAttribute("timestamp")).getNanos());
+        assertEquals(expected.getAttribute("uuid"), actual.getAttribute("uuid"));
+        assertArrayEquals((byte[]) expected.getAttribute("bytes"), (byte[]) actual.getAttribute("bytes"));
+        assertEquals(expected.getAttribute("flag"), actual.getAttribute("flag"));
+    }
+}
@@ -7,6 +7,7 @@
 import java.io.IOException;
 import java.util.Date;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -218,6 +219,70 @@ public void testSortNaturalPartialLastPage() throws IOException {
         }
     }
 
+    @Test
+    public void testParallelCompressedSort() throws IOException {
+        checkParallelSort(4, true);
+    }
+
+    @Test
+    public void testSequentialCompressedSort() throws IOException {
+        checkParallelSort(1, true);
+    }
+
+    @Test
+    public void testParallelSort() throws IOException {
+        checkParallelSort(4, false);
+    }
+
+    /**
+     * Sorts enough features on a key with many duplicates to have several runs sorted in parallel, checking features
+     * with the same key keep their original order
+     */
+    private void checkParallelSort(int parallelism, boolean compress) throws IOException {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("parallel");
+        tb.add("key", Integer.class);
+        tb.add("sequence", Integer.class);
+        tb.add("label", String.class);
+        SimpleFeatureType type = tb.buildFeatureType();
+
+        final int features = 20000;
+        DefaultFeatureCollection collection = new DefaultFeatureCollection("parallel", type);
+        SimpleFeatureBuilder builder = new SimpleFeatureBuilder(type);
+        Random random = new Random(0);
+        for (int i = 0; i < features; i++) {
+            builder.add(random.nextInt(100));
+            builder.add(i);
+            builder.add("label" + i);
+            collection.add(builder.buildFeature("parallel." + i));
+        }
+
+        SortBy[] keyAsc = {ff.sort("key", SortOrder.ASCENDING)};
+        SimpleFeatureReader reader = new DelegateSimpleFeatureReader(type, collection.features());
+        // memory for 4 runs of 1000 features at most
+        try (SimpleFeatureReader sr = MergeSortDumper.getDelegateReader(reader, keyAsc, 4000, parallelism, compress)) {
+            assertTrue(sr instanceof MergeSortReader);
+            int count = 0;
+            int prevKey = -1;
+            int prevSequence = -1;
+            while (sr.hasNext()) {
+                SimpleFeature f = sr.next();
+                int key = (Integer) f.getAttribute("key");
+                int sequence = (Integer) f.getAttribute("sequence");
+                assertTrue(key >= prevKey);
+                if (key == prevKey) {
+                    assertTrue(sequence > prevSequence);
+                }
+                assertEquals("parallel." + sequence, f.getID());
+                assertEquals("label" + sequence, f.getAttribute("label"));
+                prevKey = key;
+                prevSequence = sequence;
+                count++;
+            }
+            assertEquals(features, count);
+        }
+    }
+
     private void assertSortedOnPeopleAsc(SimpleFeatureReader fr)
             throws IllegalArgumentException, NoSuchElementException, IOException {
         double prev = -1;
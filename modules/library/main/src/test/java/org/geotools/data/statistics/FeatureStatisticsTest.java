@@ -0,0 +1,146 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class FeatureStatisticsTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "geom:Point,id:Integer,group:String,value:Double");
+        GeometryFactory gf = new GeometryFactory();
+        features = new ArrayList<>();
+        // 100 x 100 grid of points, 10 groups, value uniform in [0, 1000)
+        for (int i = 0; i < 10000; i++) {
+            Object geom = gf.createPoint(new Coordinate(i % 100, i / 100));
+            Object group = i % 20 == 0 ? null : "g" + (i % 10);
+            Object value = (i * 7919 % 10000) / 10d;
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {geom, i, group, value}, "test." + i));
+        }
+    }
+
+    @Test
+    public void testCollect() {
+        FeatureStatistics stats = FeatureStatistics.collect(new ListFeatureCollection(type, features));
+        assertEquals(10000, stats.getCount());
+        assertFalse(stats.isSampled());
+
+        AttributeStatistics group = stats.getAttribute("group");
+        assertEquals(0.05, group.getNullFraction(), 1e-9);
+        assertEquals(10, group.getDistinctCount());
+        assertEquals(0.095, group.getEqualSelectivity("g3"), 0.005);
+        assertNotNull(stats.getAttribute("value").getHistogram());
+
+        AttributeStatistics id = stats.getAttribute("id");
+        assertEquals(10000, id.getDistinctCount(), 300);
+        assertEquals(0, id.getEqualSelectivity(20000), 0);
+
+        AttributeStatistics geom = stats.getAttribute("geom");
+        assertEquals(99, geom.getBounds().getWidth(), 0);
+        assertEquals(0, geom.getMeanWidth(), 0);
+    }
+
+    @Test
+    public void testSelectivity() {
+        FeatureStatistics stats = FeatureStatistics.collect(new ListFeatureCollection(type, features));
+        Filter less = FF.less(FF.property("value"), FF.literal(250));
+        Filter greater = FF.greater(FF.literal(250), FF.property("value"));
+        Filter between = FF.between(FF.property("value"), FF.literal(100), FF.literal(300));
+        Filter equal = FF.equals(FF.property("group"), FF.literal("g1"));
+        Filter bbox = FF.bbox("geom", 0, 0, 49.5, 24.5, null);
+        Filter intersects = FF.intersects(
+                FF.property("geom"), FF.literal(new GeometryFactory().toGeometry(new Envelope(0, 49.5, 0, 24.5))));
+        for (Filter filter : new Filter[] {
+            less,
+            greater,
+            between,
+            equal,
+            FF.isNull(FF.property("group")),
+            FF.notEqual(FF.property("group"), FF.literal("g1")),
+            bbox,
+            intersects,
+            FF.and(less, bbox),
+            FF.or(equal, between),
+            FF.not(less),
+            FF.id(FF.featureId("test.1"), FF.featureId("test.2")),
+            Filter.INCLUDE
+        }) {
+            assertEquals(filter.toString(), actualSelectivity(filter), stats.getSelectivity(filter), 0.03);
+        }
+        assertTrue(Double.isNaN(stats.getSelectivity(FF.like(FF.property("group"), "g*"))));
+        assertTrue(Double.isNaN(stats.getSelectivity(FF.equals(FF.property("missing"), FF.literal(1)))));
+    }
+
+    @Test
+    public void testSample() throws Exception {
+        MemoryDataStore store = new MemoryDataStore(type);
+        store.addFeatures(features);
+        ContentFeatureSource source = store.getFeatureSource("test");
+        assertNull(source.getStatistics());
+
+        FeatureStatistics stats = source.collectStatistics(1000);
+        assertSame(stats, source.getStatistics());
+        assertTrue(stats.isSampled());
+        assertEquals(1000, stats.getSampleSize());
+        assertEquals(10000, stats.getCount());
+        // mostly unique values are extrapolated to the whole data set
+        assertEquals(10000, stats.getAttribute("id").getDistinctCount(), 500);
+        assertEquals(10, stats.getAttribute("group").getDistinctCount());
+        Filter filter = FF.less(FF.property("value"), FF.literal(500));
+        assertEquals(actualSelectivity(filter), stats.getSelectivity(filter), 0.05);
+    }
+
+    double actualSelectivity(Filter filter) {
+        int matches = 0;
+        for (SimpleFeature feature : features) {
+            if (filter.evaluate(feature)) {
+                matches++;
+            }
+        }
+        return matches / (double) features.size();
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class QueryResultCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    MemoryDataStore store;
+
+    SimpleFeatureType type;
+
+    QueryResultCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("road", "id:Integer,name:String,geom:Point");
+        GeometryFactory gf = new GeometryFactory();
+        store = new MemoryDataStore(type);
+        for (int i = 0; i < 10; i++) {
+            store.addFeature(SimpleFeatureBuilder.build(
+                    type, new Object[] {i, "road" + i, gf.createPoint(new Coordinate(i, i))}, "road." + i));
+        }
+        cache = new QueryResultCache(1024 * 1024);
+        store.setResultCache(cache);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        Filter filter = FF.less(FF.property("id"), FF.literal(5));
+        List<SimpleFeature> first = read(store, new Query("road", filter));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        // an equivalent filter, after simplification
+        List<SimpleFeature> second = read(store, new Query("road", FF.and(filter, Filter.INCLUDE)));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getID(), second.get(i).getID());
+            assertEquals(first.get(i).getAttributes(), second.get(i).getAttributes());
+        }
+
+        // different properties are a different result
+        Query names = new Query("road", filter, "name");
+        assertEquals(5, read(store, names).size());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, read(store, names).get(0).getAttributeCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testPartialRead() throws Exception {
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(new Query("road"), Transaction.AUTO_COMMIT)) {
+            reader.next();
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFeatureReuse() throws Exception {
+        Query query = new Query("road");
+        read(store, query);
+        query.setHints(new Hints(Hints.FEATURE_REUSE, true));
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            SimpleFeature first = reader.next();
+            assertEquals("road.0", first.getID());
+            SimpleFeature second = reader.next();
+            assertSame(first, second);
+            assertEquals("road.1", second.getID());
+            assertEquals(1, second.getAttribute("id"));
+        }
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testAutoCommitWrite() throws Exception {
+        Query query = new Query("road", FF.greater(FF.property("id"), FF.literal(7)));
+        assertEquals(2, read(store, query).size());
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("road");
+        fs.removeFeatures(FF.equals(FF.property("id"), FF.literal(9)));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(1, read(store, query).size());
+        assertEquals(1, read(store, query).size());
+        assertEquals(1, cache.getHitCount());
+
+        // direct additions to the memory store
+        store.addFeature(SimpleFeatureBuilder.build(type, new Object[] {20, "road20", null}, "road.20"));
+        assertEquals(2, read(store, query).size());
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        Query query = new Query("road");
+        assertEquals(10, read(store, query).size());
+        try (Transaction tx = new DefaultTransaction()) {
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("road");
+            fs.setTransaction(tx);
+            fs.removeFeatures(FF.less(FF.property("id"), FF.literal(3)));
+            // the transaction sees its changes, auto commit does not
+            assertEquals(7, DataUtilities.list(fs.getFeatures(query)).size());
+            assertEquals(10, read(store, query).size());
+            assertEquals(1, cache.getHitCount());
+
+            tx.commit();
+            assertEquals(0, cache.size());
+            assertEquals(7, read(store, query).size());
+            // not cached until the transaction is closed
+            assertEquals(0, cache.size());
+        }
+        assertEquals(7, read(store, query).size());
+        assertEquals(7, read(store, query).size());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        List<SimpleFeature> features = read(store, new Query("road"));
+        long size = cache.getMemoryUsage();
+        // room for two results of all the features
+        cache = new QueryResultCache(size * 2 + 10, size);
+        store.setResultCache(cache);
+        Query q1 = new Query("road", Filter.INCLUDE);
+        Query q2 = new Query("road", Filter.INCLUDE);
+        q2.setMaxFeatures(100);
+        Query q3 = new Query("road", Filter.INCLUDE);
+        q3.setMaxFeatures(200);
+        read(store, q1);
+        read(store, q2);
+        read(store, q1);
+        read(store, q3);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getHitCount());
+        // q2 was the least recently used
+        read(store, q1);
+        read(store, q3);
+        assertEquals(3, cache.getHitCount());
+        assertEquals(features.size(), read(store, q2).size());
+        assertEquals(3, cache.getHitCount());
+    }
+
+    @Test
+    public void testGeometryMetadata() throws Exception {
+        SimpleFeatureType locatedType = DataUtilities.createType("located", "id:Integer,geom:Point:srid=4326");
+        CoordinateReferenceSystem crs = locatedType.getCoordinateReferenceSystem();
+        GeometryFactory gf = new GeometryFactory();
+        MemoryDataStore located = new MemoryDataStore(locatedType);
+        for (int i = 0; i < 10; i++) {
+            // as set by JDBC stores
+            Point point = gf.createPoint(new Coordinate(i, i));
+            point.setSRID(4326);
+            point.setUserData(crs);
+            located.addFeature(SimpleFeatureBuilder.build(locatedType, new Object[] {i, point}, "located." + i));
+        }
+        located.setResultCache(cache);
+
+        Query query = new Query("located");
+        read(located, query);
+        List<SimpleFeature> cached = read(located, query);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(10, cached.size());
+        for (SimpleFeature feature : cached) {
+            Geometry geometry = (Geometry) feature.getDefaultGeometry();
+            assertEquals(4326, geometry.getSRID());
+            assertSame(crs, geometry.getUserData());
+        }
+
+        // user data that cannot be restored, the results are not cached
+        Point point = gf.createPoint(new Coordinate(10, 10));
+        point.setUserData(Map.of("key", "value"));
+        located.addFeature(SimpleFeatureBuilder.build(locatedType, new Object[] {10, point}, "located.10"));
+        cache.clear();
+        assertEquals(11, read(located, query).size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisable() throws Exception {
+        Query query = new Query("road");
+        read(store, query);
+        store.setResultCache(null);
+        assertEquals(10, read(store, query).size());
+        assertEquals(10, read(store, query).size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+    }
+
+    List<SimpleFeature> read(DataStore store, Query query) throws Exception {
+        List<SimpleFeature> result = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            while (reader.hasNext()) {
+                result.add(reader.next());
+            }
+        }
+        return result;
+    }
+}
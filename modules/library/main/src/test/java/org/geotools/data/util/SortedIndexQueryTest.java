@@ -0,0 +1,134 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Date;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+
+public class SortedIndexQueryTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    /** Record i holds n = i, s = "a" for even records and "b" for odd ones, d = i milliseconds */
+    static class ScanQuery extends SortedIndexQuery {
+
+        @Override
+        protected Class<?> getRangeBinding(String property) {
+            switch (property) {
+                case "n":
+                    return Integer.class;
+                case "d":
+                    return Date.class;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        protected int[] range(String property, double min, boolean minInclusive, double max, boolean maxInclusive) {
+            int[] records = new int[10];
+            int count = 0;
+            for (int i = 0; i < 10; i++) {
+                if ((minInclusive ? i >= min : i > min) && (maxInclusive ? i <= max : i < max)) {
+                    records[count++] = i;
+                }
+            }
+            return Arrays.copyOf(records, count);
+        }
+
+        @Override
+        protected int[] equalTo(String property, String value) {
+            if (!"s".equals(property)) {
+                return null;
+            }
+            int[] records = new int[10];
+            int count = 0;
+            for (int i = "a".equals(value) ? 0 : "b".equals(value) ? 1 : 10; i < 10; i += 2) {
+                records[count++] = i;
+            }
+            return Arrays.copyOf(records, count);
+        }
+    }
+
+    ScanQuery query = new ScanQuery();
+
+    @Test
+    public void testComparisons() {
+        assertArrayEquals(new int[] {6, 7, 8, 9}, query.query(FF.greater(FF.property("n"), FF.literal(5))));
+        assertArrayEquals(new int[] {5, 6, 7, 8, 9}, query.query(FF.greaterOrEqual(FF.property("n"), FF.literal("5"))));
+        // "5 < n" is "n > 5"
+        assertArrayEquals(new int[] {6, 7, 8, 9}, query.query(FF.less(FF.literal(5), FF.property("n"))));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, query.query(FF.lessOrEqual(FF.property("n"), FF.literal(3))));
+        assertArrayEquals(new int[] {3}, query.query(FF.equals(FF.literal(3d), FF.property("n"))));
+        assertArrayEquals(
+                new int[] {2, 3, 4}, query.query(FF.between(FF.property("n"), FF.literal(2), FF.literal(4))));
+        assertArrayEquals(new int[] {1, 3, 5, 7, 9}, query.query(FF.equals(FF.property("s"), FF.literal("b"))));
+    }
+
+    @Test
+    public void testNotIndexed() {
+        // no index on the property
+        assertNull(query.query(FF.equals(FF.property("x"), FF.literal(1))));
+        // string ranges and case insensitive comparisons
+        assertNull(query.query(FF.greater(FF.property("s"), FF.literal("a"))));
+        assertNull(query.query(FF.equal(FF.property("s"), FF.literal("a"), false)));
+        // literals that are not keys of the index
+        assertNull(query.query(FF.equals(FF.property("n"), FF.literal("abc"))));
+        assertNull(query.query(FF.equals(FF.property("n"), FF.literal(Double.NaN))));
+        assertNull(query.query(FF.greater(FF.property("d"), FF.literal("1970-01-01"))));
+        // not a comparison against a literal
+        assertNull(query.query(FF.equals(FF.property("n"), FF.property("n"))));
+        assertNull(query.query(FF.notEqual(FF.property("n"), FF.literal(1))));
+        assertNull(query.query(FF.like(FF.property("s"), "a*")));
+    }
+
+    @Test
+    public void testLogical() {
+        assertArrayEquals(
+                new int[] {6, 8},
+                query.query(FF.and(
+                        FF.greater(FF.property("n"), FF.literal(5)), FF.equals(FF.property("s"), FF.literal("a")))));
+        // the indexed child of an And is enough
+        assertArrayEquals(
+                new int[] {1, 3, 5, 7, 9},
+                query.query(FF.and(
+                        FF.equals(FF.property("s"), FF.literal("b")), FF.equals(FF.property("x"), FF.literal(1)))));
+        assertArrayEquals(
+                new int[] {0, 1, 8, 9},
+                query.query(FF.or(
+                        FF.less(FF.property("n"), FF.literal(2)), FF.greater(FF.property("n"), FF.literal(7)))));
+        // all the children of an Or need to be indexed
+        assertNull(query.query(
+                FF.or(FF.less(FF.property("n"), FF.literal(2)), FF.equals(FF.property("x"), FF.literal(1)))));
+        assertArrayEquals(new int[] {3}, query.query(FF.equals(FF.property("d"), FF.literal(new Date(3)))));
+    }
+
+    @Test
+    public void testSortedArrays() {
+        assertArrayEquals(new int[] {2, 5}, SortedIndexQuery.intersect(new int[] {1, 2, 5, 7}, new int[] {2, 3, 5}));
+        assertArrayEquals(new int[0], SortedIndexQuery.intersect(new int[] {1}, new int[0]));
+        assertArrayEquals(
+                new int[] {1, 2, 3, 5, 7}, SortedIndexQuery.union(new int[] {1, 2, 5, 7}, new int[] {2, 3, 5}));
+        assertArrayEquals(new int[] {1}, SortedIndexQuery.union(new int[] {1, 1}, new int[0]));
+    }
+}
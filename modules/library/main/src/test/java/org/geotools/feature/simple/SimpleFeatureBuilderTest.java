@@ -352,4 +352,42 @@ public void testCopyUserData() throws Exception {
 
         Assert.assertEquals("bar", feature.getUserData().get("foo"));
     }
+
+    @Test
+    public void testReuse() throws Exception {
+        GeometryFactory gf = new GeometryFactory();
+        builder.setReuse(true);
+        builder.add(gf.createPoint(new Coordinate(0, 0)));
+        builder.add(Integer.valueOf(1));
+        builder.add(Float.valueOf(2.0f));
+        builder.featureUserData("foo", "bar");
+        SimpleFeature first = builder.buildFeature("fid.1");
+        Assert.assertEquals("fid.1", first.getID());
+        Assert.assertEquals("bar", first.getUserData().get("foo"));
+        Object firstPoint = first.getAttribute("point");
+
+        builder.set("integer", Integer.valueOf(3));
+        SimpleFeature second = builder.buildFeature("fid.2");
+        // same instance, refilled with the new values and id, previous user data cleared
+        Assert.assertSame(first, second);
+        Assert.assertEquals("fid.2", second.getID());
+        Assert.assertEquals("fid.2", second.getIdentifier().getID());
+        Assert.assertNull(second.getAttribute("point"));
+        Assert.assertEquals(3, second.getAttribute("integer"));
+        Assert.assertNull(second.getAttribute("float"));
+        Assert.assertTrue(second.getUserData().isEmpty());
+        // the values handed out before are not touched
+        Assert.assertEquals(gf.createPoint(new Coordinate(0, 0)), firstPoint);
+
+        // copying gives back a detached feature
+        SimpleFeature copy = SimpleFeatureBuilder.copy(second);
+        builder.set("integer", Integer.valueOf(4));
+        builder.buildFeature("fid.3");
+        Assert.assertEquals("fid.2", copy.getID());
+        Assert.assertEquals(3, copy.getAttribute("integer"));
+
+        builder.setReuse(false);
+        builder.set("integer", Integer.valueOf(5));
+        Assert.assertNotSame(second, builder.buildFeature("fid.4"));
+    }
 }
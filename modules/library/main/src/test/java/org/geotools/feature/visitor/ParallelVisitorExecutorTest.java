@@ -0,0 +1,289 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.PartitionedFeatureReader.Partition;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.factory.Hints;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class ParallelVisitorExecutorTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final Expression VALUE = FF.property("value");
+
+    static SimpleFeatureType TYPE;
+
+    static List<SimpleFeature> FEATURES;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        TYPE = DataUtilities.createType("test", "geom:Point,id:Integer,value:Double,group:String");
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(TYPE);
+        Random random = new Random(0);
+        FEATURES = new ArrayList<>();
+        for (int i = 0; i < 25000; i++) {
+            fb.add(gf.createPoint(new Coordinate(random.nextDouble() * 100, random.nextDouble() * 50)));
+            fb.add(i);
+            fb.add(i % 10 == 0 ? null : random.nextGaussian() * 100);
+            fb.add("g" + (i % 7));
+            FEATURES.add(fb.buildFeature("test." + i));
+        }
+    }
+
+    /** Visits the features split in the specified number of contiguous partitions */
+    private void visitPartitioned(FeatureCalc visitor, int partitions) throws IOException {
+        List<Partition<SimpleFeatureType, SimpleFeature>> ranges = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            int start = FEATURES.size() * i / partitions;
+            int end = FEATURES.size() * (i + 1) / partitions;
+            ListFeatureCollection fc = new ListFeatureCollection(TYPE, FEATURES.subList(start, end));
+            ranges.add(() -> new DelegateSimpleFeatureReader(TYPE, fc.features()));
+        }
+        new ParallelVisitorExecutor().visit(ranges, visitor, null);
+    }
+
+    private void visitSequential(FeatureCalc visitor) throws IOException {
+        new ListFeatureCollection(TYPE, FEATURES).accepts(visitor, null);
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        CountVisitor expected = new CountVisitor();
+        visitSequential(expected);
+        CountVisitor actual = new CountVisitor();
+        visitPartitioned(actual, 7);
+        assertEquals(expected.getCount(), actual.getCount());
+    }
+
+    @Test
+    public void testBounds() throws Exception {
+        BoundsVisitor expected = new BoundsVisitor();
+        visitSequential(expected);
+        BoundsVisitor actual = new BoundsVisitor();
+        visitPartitioned(actual, 7);
+        assertEquals(expected.getBounds(), actual.getBounds());
+    }
+
+    @Test
+    public void testSumMinMax() throws Exception {
+        SumVisitor expectedSum = new SumVisitor(VALUE);
+        MinVisitor expectedMin = new MinVisitor(VALUE);
+        MaxVisitor expectedMax = new MaxVisitor(VALUE);
+        visitSequential(expectedSum);
+        visitSequential(expectedMin);
+        visitSequential(expectedMax);
+
+        SumVisitor sum = new SumVisitor(VALUE);
+        MinVisitor min = new MinVisitor(VALUE);
+        MaxVisitor max = new MaxVisitor(VALUE);
+        visitPartitioned(sum, 5);
+        visitPartitioned(min, 5);
+        visitPartitioned(max, 5);
+
+        assertEquals(((Number) expectedSum.getSum()).doubleValue(), ((Number) sum.getSum()).doubleValue(), 1e-6);
+        assertEquals(expectedMin.getMin(), min.getMin());
+        assertEquals(expectedMax.getMax(), max.getMax());
+    }
+
+    @Test
+    public void testAverageAndStandardDeviation() throws Exception {
+        AverageVisitor expectedAverage = new AverageVisitor(VALUE);
+        StandardDeviationVisitor expectedDeviation = new StandardDeviationVisitor(VALUE);
+        visitSequential(expectedAverage);
+        visitSequential(expectedDeviation);
+
+        AverageVisitor average = new AverageVisitor(VALUE);
+        StandardDeviationVisitor deviation = new StandardDeviationVisitor(VALUE);
+        visitPartitioned(average, 6);
+        visitPartitioned(deviation, 6);
+
+        assertEquals(
+                ((Number) expectedAverage.getAverage()).doubleValue(),
+                ((Number) average.getAverage()).doubleValue(),
+                1e-9);
+        assertEquals(expectedDeviation.getResult().toDouble(), deviation.getResult().toDouble(), 1e-9);
+        assertEquals(expectedDeviation.getMean(), deviation.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testUniquePreservesOrder() throws Exception {
+        UniqueVisitor expected = new UniqueVisitor(FF.property("group"));
+        expected.setPreserveOrder(true);
+        visitSequential(expected);
+
+        UniqueVisitor actual = new UniqueVisitor(FF.property("group"));
+        actual.setPreserveOrder(true);
+        visitPartitioned(actual, 4);
+
+        assertEquals(new ArrayList<>(expected.getUnique()), new ArrayList<>(actual.getUnique()));
+    }
+
+    @Test
+    public void testGroupBy() throws Exception {
+        GroupByVisitor expected =
+                new GroupByVisitor(Aggregate.STD_DEV, VALUE, Arrays.asList(FF.property("group")), null);
+        visitSequential(expected);
+        GroupByVisitor actual = new GroupByVisitor(Aggregate.STD_DEV, VALUE, Arrays.asList(FF.property("group")), null);
+        visitPartitioned(actual, 3);
+
+        Map<Object, Object> expectedMap = expected.getResult().toMap();
+        Map<Object, Object> actualMap = actual.getResult().toMap();
+        assertEquals(7, actualMap.size());
+        assertEquals(expectedMap.keySet(), actualMap.keySet());
+        for (Map.Entry<Object, Object> entry : expectedMap.entrySet()) {
+            assertEquals(
+                    ((Number) entry.getValue()).doubleValue(),
+                    ((Number) actualMap.get(entry.getKey())).doubleValue(),
+                    1e-9);
+        }
+    }
+
+    @Test
+    public void testCannotSplit() {
+        assertFalse(ParallelVisitorExecutor.canSplit(new MedianVisitor(VALUE)));
+        assertFalse(ParallelVisitorExecutor.canSplit(new SumAreaVisitor(FF.property("geom"))));
+        assertFalse(ParallelVisitorExecutor.canSplit(
+                new GroupByVisitor(Aggregate.MEDIAN, VALUE, Arrays.asList(FF.property("group")), null)));
+
+        UniqueVisitor limited = new UniqueVisitor(FF.property("group"));
+        limited.setMaxFeatures(3);
+        assertFalse(ParallelVisitorExecutor.canSplit(limited));
+
+        assertTrue(ParallelVisitorExecutor.canSplit(new UniqueVisitor(FF.property("group"))));
+        assertTrue(ParallelVisitorExecutor.canSplit(new CountVisitor()));
+    }
+
+    @Test
+    public void testEmptyPartitions() throws Exception {
+        List<Partition<SimpleFeatureType, SimpleFeature>> partitions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            partitions.add(() -> new DelegateSimpleFeatureReader(TYPE, new ListFeatureCollection(TYPE).features()));
+        }
+        MinVisitor min = new MinVisitor(VALUE);
+        new ParallelVisitorExecutor().visit(partitions, min, null);
+        assertEquals(CalcResult.NULL_RESULT, min.getResult());
+        assertNull(min.getResult().getValue());
+    }
+
+    @Test
+    public void testMemoryDataStore() throws Exception {
+        MemoryDataStore store = new MemoryDataStore(TYPE);
+        store.addFeatures(FEATURES);
+        SimpleFeatureSource source = store.getFeatureSource("test");
+
+        Query query = new Query("test", FF.greater(FF.property("id"), FF.literal(1000)));
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 4));
+        SimpleFeatureCollection fc = source.getFeatures(query);
+
+        PartitionCountingVisitor visitor = new PartitionCountingVisitor();
+        fc.accepts(visitor, null);
+        assertEquals(FEATURES.size() - 1001, visitor.count);
+        // 25000 features are split in two partitions of at least 10000 features
+        assertEquals(2, visitor.partials.get());
+
+        // disabled parallelism
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 1));
+        visitor = new PartitionCountingVisitor();
+        source.getFeatures(query).accepts(visitor, null);
+        assertEquals(FEATURES.size() - 1001, visitor.count);
+        assertEquals(0, visitor.partials.get());
+
+        // parallel visits are opt-in
+        query.setHints(new Hints());
+        visitor = new PartitionCountingVisitor();
+        source.getFeatures(query).accepts(visitor, null);
+        assertEquals(FEATURES.size() - 1001, visitor.count);
+        assertEquals(0, visitor.partials.get());
+
+        // compare with a sequential run over the same collection
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 4));
+        SumVisitor sum = new SumVisitor(VALUE);
+        source.getFeatures(query).accepts(sum, null);
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 1));
+        SumVisitor expected = new SumVisitor(VALUE);
+        source.getFeatures(query).accepts(expected, null);
+        assertEquals(((Number) expected.getSum()).doubleValue(), ((Number) sum.getSum()).doubleValue(), 1e-6);
+    }
+
+    /** Counts features, and the partial visitors created */
+    static class PartitionCountingVisitor implements FeatureCalc {
+
+        AtomicInteger partials;
+
+        int count;
+
+        PartitionCountingVisitor() {
+            this(new AtomicInteger());
+        }
+
+        PartitionCountingVisitor(AtomicInteger partials) {
+            this.partials = partials;
+        }
+
+        @Override
+        public void visit(Feature feature) {
+            count++;
+        }
+
+        @Override
+        public CalcResult getResult() {
+            return new CountVisitor.CountResult(count);
+        }
+
+        @Override
+        public FeatureCalc createPartial() {
+            partials.incrementAndGet();
+            return new PartitionCountingVisitor(partials);
+        }
+
+        @Override
+        public void mergeResult(CalcResult partial) {
+            count += partial.toInt();
+        }
+    }
+}
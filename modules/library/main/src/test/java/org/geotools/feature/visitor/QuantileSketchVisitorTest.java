@@ -0,0 +1,192 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.PartitionedFeatureReader.Partition;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.QuantileSketchVisitor.QuantileSketchResult;
+import org.junit.Test;
+
+public class QuantileSketchVisitorTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Test
+    public void testExactWhenSmall() {
+        QuantileSketch sketch = new QuantileSketch(50);
+        for (int i = 10; i >= 1; i--) {
+            sketch.update(i);
+        }
+        assertTrue(sketch.isExact());
+        assertEquals(0, sketch.getNormalizedRankError(), 0d);
+        assertEquals(10, sketch.getCount());
+        assertEquals(1, sketch.getMin(), 0d);
+        assertEquals(10, sketch.getMax(), 0d);
+        assertEquals(1, sketch.getQuantile(0), 0d);
+        assertEquals(6, sketch.getQuantile(0.5), 0d);
+        assertEquals(10, sketch.getQuantile(1), 0d);
+        assertEquals(0.5, sketch.getRank(6), 0d);
+        assertEquals(0, sketch.getRank(1), 0d);
+        assertEquals(1, sketch.getRank(11), 0d);
+    }
+
+    @Test
+    public void testRankErrorBound() {
+        int n = 200000;
+        List<Double> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            values.add((double) i);
+        }
+        Collections.shuffle(values, new Random(1));
+        QuantileSketch sketch = new QuantileSketch();
+        values.forEach(sketch::update);
+
+        assertFalse(sketch.isExact());
+        assertEquals(n, sketch.getCount());
+        assertEquals(0, sketch.getMin(), 0d);
+        assertEquals(n - 1, sketch.getMax(), 0d);
+        double error = sketch.getNormalizedRankError();
+        assertTrue(error > 0 && error < 0.02);
+        // the values are the ranks, so quantiles can be checked directly
+        for (double q = 0.05; q < 1; q += 0.05) {
+            assertEquals(q, sketch.getQuantile(q) / n, error);
+            assertEquals(q, sketch.getRank(q * n), error);
+        }
+        assertEquals(0, sketch.getMin(), 0d);
+        assertEquals(n - 1, sketch.getMax(), 0d);
+    }
+
+    @Test
+    public void testMerge() {
+        Random random = new Random(0);
+        QuantileSketch all = new QuantileSketch(100);
+        QuantileSketch merged = new QuantileSketch(100);
+        for (int s = 0; s < 8; s++) {
+            QuantileSketch partial = new QuantileSketch(100);
+            for (int i = 0; i < 20000; i++) {
+                double value = random.nextGaussian();
+                partial.update(value);
+                all.update(value);
+            }
+            merged.merge(partial);
+        }
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMin(), merged.getMin(), 0d);
+        assertEquals(all.getMax(), merged.getMax(), 0d);
+        double error = merged.getNormalizedRankError();
+        for (double q = 0.1; q < 1; q += 0.1) {
+            assertEquals(q, all.getRank(merged.getQuantile(q)), 2 * error);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentAccuracy() {
+        new QuantileSketch(100).merge(new QuantileSketch(200));
+    }
+
+    @Test
+    public void testVisitor() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "id:Integer,value:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            Object value = i % 100 == 0 ? null : String.valueOf(i);
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {i, value}, "test." + i));
+        }
+        features.add(SimpleFeatureBuilder.build(type, new Object[] {-2, "abc"}, "test.abc"));
+        ListFeatureCollection fc = new ListFeatureCollection(type, features);
+
+        QuantileSketchVisitor visitor = new QuantileSketchVisitor(FF.property("value"));
+        fc.accepts(visitor, null);
+        assertEquals(200, visitor.getNullCount());
+        assertEquals(1, visitor.getNonNumericCount());
+        assertEquals(19800, visitor.getSketch().getCount());
+
+        QuantileSketchResult result = (QuantileSketchResult) visitor.getResult();
+        double error = result.getRankError();
+        assertEquals(10000, result.toDouble(), error * 20000);
+        assertEquals(5000, result.getQuantile(0.25), error * 20000);
+        assertEquals(1, result.getQuantile(0), 0d);
+
+        // split in partitions and merged back
+        List<Partition<SimpleFeatureType, SimpleFeature>> partitions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            List<SimpleFeature> partition = features.subList(i * features.size() / 4, (i + 1) * features.size() / 4);
+            partitions.add(
+                    () -> new DelegateSimpleFeatureReader(type, new ListFeatureCollection(type, partition).features()));
+        }
+        QuantileSketchVisitor parallel = new QuantileSketchVisitor(FF.property("value"));
+        new ParallelVisitorExecutor().visit(partitions, parallel, null);
+        assertEquals(19800, parallel.getSketch().getCount());
+        assertEquals(10000, parallel.getResult().toDouble(), error * 20000);
+        assertEquals(200, parallel.getNullCount());
+        assertEquals(1, parallel.getNonNumericCount());
+    }
+
+    @Test
+    public void testMergeSkippedCounts() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "id:Integer,value:String");
+        QuantileSketchVisitor visitor = new QuantileSketchVisitor(FF.property("value"));
+        visitor.visit(SimpleFeatureBuilder.build(type, new Object[] {1, "10"}, "test.1"));
+
+        // a partial holding no numeric value at all
+        FeatureCalc partial = visitor.createPartial();
+        partial.visit(SimpleFeatureBuilder.build(type, new Object[] {2, "abc"}, "test.2"));
+        partial.visit(SimpleFeatureBuilder.build(type, new Object[] {3, null}, "test.3"));
+        partial.visit(SimpleFeatureBuilder.build(type, new Object[] {4, "NaN"}, "test.4"));
+        QuantileSketchResult result = (QuantileSketchResult) partial.getResult();
+        assertNull(result.getValue());
+        assertEquals(1, result.getNonNumericCount());
+
+        visitor.mergeResult(result);
+        assertEquals(1, visitor.getNonNumericCount());
+        assertEquals(1, visitor.getNullCount());
+        assertEquals(1, visitor.getNaNCount());
+        assertEquals(1, visitor.getSketch().getCount());
+        assertEquals(10, visitor.getResult().toDouble(), 0d);
+
+        // results merged among themselves keep the counts too
+        QuantileSketchResult merged = (QuantileSketchResult) result.merge(result);
+        assertEquals(2, merged.getNonNumericCount());
+        assertEquals(2, merged.getNullCount());
+        assertEquals(2, merged.getNaNCount());
+    }
+
+    @Test
+    public void testEmpty() {
+        QuantileSketchVisitor visitor = new QuantileSketchVisitor(FF.property("value"));
+        assertEquals(CalcResult.NULL_RESULT, visitor.getResult());
+        assertTrue(Double.isNaN(visitor.getSketch().getQuantile(0.5)));
+        assertEquals(Arrays.asList(FF.property("value")), visitor.getExpressions());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.PartitionedFeatureReader.Partition;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.UniqueCountSketchVisitor.UniqueCountSketchResult;
+import org.junit.Test;
+
+public class UniqueCountSketchVisitorTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Test
+    public void testSmallCardinality() {
+        HyperLogLogSketch sketch = new HyperLogLogSketch();
+        for (int i = 0; i < 3; i++) {
+            sketch.add("a");
+            sketch.add("b");
+            sketch.add(1);
+            sketch.add(null);
+        }
+        assertEquals(3, sketch.getEstimate());
+    }
+
+    @Test
+    public void testLargeCardinality() {
+        HyperLogLogSketch sketch = new HyperLogLogSketch(12);
+        int n = 500000;
+        for (int i = 0; i < n; i++) {
+            sketch.add("value" + i);
+            // duplicates do not change the estimate
+            sketch.add("value" + (i / 2));
+        }
+        assertEquals(n, sketch.getEstimate(), 3 * sketch.getRelativeError() * n);
+    }
+
+    @Test
+    public void testMerge() {
+        HyperLogLogSketch all = new HyperLogLogSketch(10);
+        HyperLogLogSketch merged = new HyperLogLogSketch(10);
+        for (int s = 0; s < 4; s++) {
+            HyperLogLogSketch partial = new HyperLogLogSketch(10);
+            // overlapping ranges
+            for (long i = s * 5000; i < s * 5000 + 10000; i++) {
+                partial.add(i);
+                all.add(i);
+            }
+            merged.merge(partial);
+        }
+        assertEquals(all.getEstimate(), merged.getEstimate());
+        assertEquals(25000, merged.getEstimate(), 3 * merged.getRelativeError() * 25000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentPrecision() {
+        new HyperLogLogSketch(10).merge(new HyperLogLogSketch(12));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPrecision() {
+        new HyperLogLogSketch(HyperLogLogSketch.MAX_PRECISION + 1);
+    }
+
+    @Test
+    public void testVisitor() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "id:Integer,group:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) {
+            Object group = i % 10 == 0 ? null : "g" + (i % 7000);
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {i, group}, "test." + i));
+        }
+        ListFeatureCollection fc = new ListFeatureCollection(type, features);
+
+        UniqueCountSketchVisitor visitor = new UniqueCountSketchVisitor(FF.property("group"));
+        fc.accepts(visitor, null);
+        UniqueCountVisitor exact = new UniqueCountVisitor(FF.property("group"));
+        fc.accepts(exact, null);
+
+        UniqueCountSketchResult result = (UniqueCountSketchResult) visitor.getResult();
+        int expected = exact.getResult().toInt();
+        assertEquals(expected, result.toInt(), 3 * result.getRelativeError() * expected);
+
+        List<Partition<SimpleFeatureType, SimpleFeature>> partitions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            List<SimpleFeature> partition = features.subList(i * 10000, (i + 1) * 10000);
+            partitions.add(
+                    () -> new DelegateSimpleFeatureReader(type, new ListFeatureCollection(type, partition).features()));
+        }
+        UniqueCountSketchVisitor parallel = new UniqueCountSketchVisitor(FF.property("group"));
+        new ParallelVisitorExecutor().visit(partitions, parallel, null);
+        assertEquals(result.toInt(), parallel.getResult().toInt());
+    }
+}
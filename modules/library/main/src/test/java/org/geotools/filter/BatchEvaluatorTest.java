@@ -0,0 +1,181 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class BatchEvaluatorTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "geom:Point,id:Integer,name:String,value:Double");
+        GeometryFactory gf = new GeometryFactory();
+        features = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Object geom = i % 17 == 0 ? null : gf.createPoint(new Coordinate(i % 10, i / 10));
+            Object name = i % 13 == 0 ? null : "name" + (i % 7);
+            Object value = i % 11 == 0 ? null : i * 0.5;
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {geom, i, name, value}, "test." + i));
+        }
+    }
+
+    @Test
+    public void testFilters() {
+        Filter bbox = FF.bbox("geom", 2, 2, 5, 6, null);
+        Filter intersects = FF.intersects(
+                FF.property("geom"), FF.literal(JTS.toGeometry(new ReferencedEnvelope(0, 3, 0, 3, null))));
+        Filter less = FF.less(FF.property("id"), FF.literal(40));
+        Filter equal = FF.equals(FF.property("name"), FF.literal("name3"));
+        Filter between = FF.between(FF.property("value"), FF.literal("5"), FF.literal(30));
+        Filter like = FF.like(FF.property("name"), "*2");
+        Filter math = FF.greater(
+                FF.multiply(FF.property("value"), FF.literal(2)), FF.add(FF.property("id"), FF.literal(-1)));
+        List<Filter> filters = Arrays.asList(
+                bbox,
+                intersects,
+                less,
+                equal,
+                between,
+                like,
+                math,
+                FF.isNull(FF.property("name")),
+                FF.and(Arrays.asList(less, bbox, FF.not(equal))),
+                FF.or(Arrays.asList(equal, between, like)),
+                FF.not(FF.or(bbox, FF.and(like, less))),
+                FF.and(FF.or(equal, Filter.EXCLUDE), Filter.INCLUDE));
+
+        for (Filter filter : filters) {
+            assertSameSelection(filter);
+            assertSameSelection(FilterCompiler.compile(filter, type));
+        }
+    }
+
+    @Test
+    public void testPartialSelection() {
+        Filter filter = FF.or(FF.less(FF.property("id"), FF.literal(10)), FF.like(FF.property("name"), "*1"));
+        BitSet selection = new BitSet();
+        for (int i = 0; i < features.size(); i += 3) {
+            selection.set(i);
+        }
+        BitSet expected = new BitSet();
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (filter.evaluate(features.get(i))) {
+                expected.set(i);
+            }
+        }
+        BatchEvaluator.filter(filter, features, selection);
+        assertEquals(expected, selection);
+        assertTrue(filter instanceof BatchFilter);
+    }
+
+    @Test
+    public void testExpressions() {
+        Expression math = FF.divide(FF.subtract(FF.property("value"), FF.property("id")), FF.literal("2"));
+        List<Expression> expressions = Arrays.asList(
+                math,
+                FF.property("name"),
+                FF.property("geom"),
+                FF.literal(10),
+                FF.function("strConcat", FF.property("name"), FF.literal("x")));
+        for (Expression expression : expressions) {
+            Object[] values = BatchEvaluator.evaluate(expression, features);
+            Number[] numbers = BatchEvaluator.evaluate(expression, features, allRows(), Number.class);
+            String[] strings = BatchEvaluator.evaluate(expression, features, allRows(), String.class);
+            for (int i = 0; i < features.size(); i++) {
+                SimpleFeature feature = features.get(i);
+                assertEquals(expression.evaluate(feature), values[i]);
+                assertEquals(expression.evaluate(feature, Number.class), numbers[i]);
+                assertEquals(expression.evaluate(feature, String.class), strings[i]);
+            }
+        }
+
+        BitSet rows = new BitSet();
+        rows.set(10, 20);
+        double[] doubles = BatchEvaluator.evaluateDoubles(math, features, rows);
+        for (int i = 0; i < features.size(); i++) {
+            double expected = rows.get(i) ? Filters.number(math.evaluate(features.get(i))) : Double.NaN;
+            assertEquals(expected, doubles[i], 0d);
+        }
+    }
+
+    @Test
+    public void testMixedFeatureTypes() throws Exception {
+        SimpleFeatureType other = DataUtilities.createType("other", "name:String,id:Integer");
+        List<SimpleFeature> mixed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            mixed.add(
+                    i % 2 == 0
+                            ? features.get(i)
+                            : SimpleFeatureBuilder.build(other, new Object[] {"name" + i, i * 3}, "other." + i));
+        }
+        Object[] ids = BatchEvaluator.evaluate(FF.property("id"), mixed);
+        for (int i = 0; i < mixed.size(); i++) {
+            assertEquals(mixed.get(i).getAttribute("id"), ids[i]);
+        }
+
+        Filter filter = FF.and(FF.less(FF.property("id"), FF.literal(30)), FF.like(FF.property("name"), "name1*"));
+        Filter compiled = FilterCompiler.compile(filter, type);
+        BitSet selection = BatchEvaluator.filter(compiled, mixed);
+        for (int i = 0; i < mixed.size(); i++) {
+            assertEquals(filter.evaluate(mixed.get(i)), selection.get(i));
+        }
+    }
+
+    void assertSameSelection(Filter filter) {
+        BitSet selection = BatchEvaluator.filter(filter, features);
+        boolean[] expected = new boolean[features.size()];
+        boolean[] actual = new boolean[features.size()];
+        for (int i = 0; i < features.size(); i++) {
+            expected[i] = filter.evaluate(features.get(i));
+            actual[i] = selection.get(i);
+        }
+        assertArrayEquals(filter.toString(), expected, actual);
+    }
+
+    BitSet allRows() {
+        BitSet rows = new BitSet();
+        rows.set(0, features.size());
+        return rows;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureImpl;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EqualityLookupTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "value:java.lang.Object");
+        Object[] values = {
+            1, 3, 12, 3L, 3.0, -0.0, 0.0, 2.5, new BigDecimal("3.00"), "3", "3.0", "abc", "ABC", null, true,
+            new ArrayList<>(Arrays.asList(7, 3))
+        };
+        features = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            Object[] attributes = {values[i]};
+            features.add(new SimpleFeatureImpl(attributes, type, new FeatureIdImpl("test." + i), false));
+        }
+    }
+
+    @Test
+    public void testSameResults() {
+        assertSameResults(orOf(0, 3, 5, 7, 9, 11, 13, 15));
+        assertSameResults(orOf(0.0, -0.0, 3.0, 2.5, 4.5, 6.5, 8.5, 10.5));
+        assertSameResults(orOf("3", "abc", "x", "y", "z", "0", "true", "3.00"));
+        assertSameResults(orOf(3L, 1, "3.0", 2.5, "abc", new BigDecimal("3"), true, 'c'));
+        // literals first
+        List<Filter> children = new ArrayList<>();
+        for (int i = 0; i < EqualityLookup.MIN_SIZE; i++) {
+            children.add(FF.equals(FF.literal(i), FF.property("value")));
+        }
+        assertSameResults(FF.or(children));
+    }
+
+    @Test
+    public void testNotSupported() {
+        List<Filter> children = new ArrayList<>();
+        for (int i = 0; i < EqualityLookup.MIN_SIZE; i++) {
+            children.add(FF.equals(FF.property("value"), FF.literal(i)));
+        }
+        children.set(3, FF.equal(FF.property("value"), FF.literal("abc"), false));
+        assertNull(EqualityLookup.build(children).property);
+        assertSameResults(FF.or(children));
+
+        children.set(3, FF.equals(FF.property("other"), FF.literal(3)));
+        assertNull(EqualityLookup.build(children).property);
+    }
+
+    Filter orOf(Object... literals) {
+        List<Filter> children = new ArrayList<>();
+        for (Object literal : literals) {
+            children.add(FF.equals(FF.property("value"), FF.literal(literal)));
+        }
+        return FF.or(children);
+    }
+
+    void assertSameResults(Filter or) {
+        List<Filter> children = ((OrImpl) or).getChildren();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < features.size(); i++) {
+            SimpleFeature feature = features.get(i);
+            boolean result = children.stream().anyMatch(f -> f.evaluate(feature));
+            expected.set(i, result);
+            assertEquals(or + " on " + feature.getAttribute(0), result, or.evaluate(feature));
+        }
+        assertEquals(expected, BatchEvaluator.filter(or, features));
+    }
+}
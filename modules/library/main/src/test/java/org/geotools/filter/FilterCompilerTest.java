@@ -0,0 +1,181 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureImpl;
+import org.geotools.filter.FilterCompiler.CompiledFilter;
+import org.geotools.filter.FilterCompiler.Equality;
+import org.geotools.filter.FilterCompiler.Interpreted;
+import org.geotools.filter.FilterCompiler.Logic;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilterCompilerTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "id:Integer,name:String,value:Double,code:String");
+        Object[][] rows = {
+            {1, "Alpha", 1.5, "10"},
+            {2, "alpha", -0.0, "9"},
+            {3, "beta", 0.0, "abc"},
+            {4, null, Double.NaN, "10.0"},
+            {null, "Gamma", 3.5, null},
+            {5, "delta", null, "-1"},
+            {6, "BETA", 2.0, "ABC"},
+            // values of an unexpected class, as some readers may return them
+            {6L, "epsilon", 2, "10"},
+            {new ArrayList<>(Arrays.asList(1, 2)), "zeta", 1.0, "5"},
+        };
+        features = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            features.add(new SimpleFeatureImpl(rows[i], type, new FeatureIdImpl("test." + i), false));
+        }
+    }
+
+    @Test
+    public void testComparisons() {
+        PropertyName id = FF.property("id");
+        PropertyName name = FF.property("name");
+        PropertyName value = FF.property("value");
+        PropertyName code = FF.property("code");
+        List<Filter> filters = new ArrayList<>();
+        for (Object literal : new Object[] {5, 5L, "5", 5.0, 5.5, "abc"}) {
+            Expression l = FF.literal(literal);
+            filters.add(FF.equals(id, l));
+            filters.add(FF.equals(l, id));
+            filters.add(FF.notEqual(id, l));
+            filters.add(FF.less(id, l));
+            filters.add(FF.lessOrEqual(l, id));
+            filters.add(FF.greater(id, l));
+            filters.add(FF.greaterOrEqual(l, id));
+        }
+        for (Object literal : new Object[] {0.0, -0.0, Double.NaN, 2, "1.5"}) {
+            Expression l = FF.literal(literal);
+            filters.add(FF.equals(value, l));
+            filters.add(FF.notEqual(value, l));
+            filters.add(FF.less(value, l));
+            filters.add(FF.greater(l, value));
+            filters.add(FF.greaterOrEqual(value, l));
+        }
+        for (String literal : new String[] {"alpha", "beta", "10", "9.5", "abc"}) {
+            filters.add(FF.equals(name, FF.literal(literal)));
+            filters.add(FF.equal(name, FF.literal(literal), false));
+            filters.add(FF.notEqual(name, FF.literal(literal), false));
+            filters.add(FF.less(name, FF.literal(literal)));
+            filters.add(FF.equals(code, FF.literal(literal)));
+            filters.add(FF.equal(code, FF.literal(literal), false));
+            filters.add(FF.greater(code, FF.literal(literal)));
+            filters.add(FF.lessOrEqual(FF.literal(literal), code));
+        }
+        filters.add(FF.isNull(id));
+        filters.add(FF.isNull(name));
+        filters.add(FF.between(id, FF.literal(2), FF.literal(5)));
+        filters.add(FF.between(id, FF.literal("2"), FF.literal(5.5)));
+        filters.add(FF.between(value, FF.literal(-0.0), FF.literal(2)));
+        filters.add(FF.between(value, FF.literal(0), FF.literal(Double.NaN)));
+        filters.add(FF.between(name, FF.literal("alpha"), FF.literal("beta")));
+
+        assertSameResults(filters);
+    }
+
+    @Test
+    public void testLogic() {
+        Filter idEquals = FF.equals(FF.property("id"), FF.literal(6));
+        Filter nameLike = FF.like(FF.property("name"), "*a*");
+        Filter valueLess = FF.less(FF.property("value"), FF.literal(2));
+        Filter nameNull = FF.isNull(FF.property("name"));
+        List<Filter> filters = Arrays.asList(
+                FF.and(nameLike, idEquals),
+                FF.and(Arrays.asList(valueLess, nameLike, FF.not(nameNull))),
+                FF.or(nameLike, idEquals),
+                FF.or(Arrays.asList(valueLess, FF.not(idEquals), nameNull)),
+                FF.not(FF.and(idEquals, valueLess)),
+                FF.not(nameLike),
+                FF.and(Filter.INCLUDE, valueLess),
+                FF.or(Filter.EXCLUDE, FF.and(idEquals, FF.or(nameNull, nameLike))));
+
+        assertSameResults(filters);
+    }
+
+    @Test
+    public void testUnsupported() {
+        Filter like = FF.like(FF.property("name"), "*a*");
+        assertSame(like, FilterCompiler.compile(like, type));
+        Filter unknown = FF.equals(FF.property("missing"), FF.literal(1));
+        assertSame(unknown, FilterCompiler.compile(unknown, type));
+        Filter function = FF.equals(FF.function("strToLowerCase", FF.property("name")), FF.literal("alpha"));
+        assertSame(function, FilterCompiler.compile(function, type));
+        assertSame(Filter.INCLUDE, FilterCompiler.compile(Filter.INCLUDE, type));
+    }
+
+    @Test
+    public void testReorder() {
+        Filter like = FF.like(FF.property("name"), "*a*");
+        Filter equals = FF.equals(FF.property("id"), FF.literal(1));
+        Filter and = FilterCompiler.compile(FF.and(like, equals), type);
+        Logic logic = (Logic) ((CompiledFilter) and).root;
+        // the cheap and selective comparison is evaluated first
+        assertTrue(logic.children[0] instanceof Equality);
+        assertTrue(logic.children[1] instanceof Interpreted);
+        // visitors and string representation are the ones of the original filter
+        assertEquals(FF.and(like, equals).toString(), and.toString());
+        assertEquals(FF.and(like, equals), ((CompiledFilter) and).getOriginal());
+    }
+
+    @Test
+    public void testOtherFeatureType() throws Exception {
+        Filter filter = FilterCompiler.compile(FF.equals(FF.property("name"), FF.literal("beta")), type);
+        // same attributes in another order
+        SimpleFeatureType other = DataUtilities.createType("test", "name:String,id:Integer");
+        SimpleFeature feature = new SimpleFeatureImpl(new Object[] {"beta", 3}, other, new FeatureIdImpl("o.1"), false);
+        assertTrue(filter.evaluate(feature));
+        assertTrue(filter.evaluate(features.get(2)));
+    }
+
+    void assertSameResults(List<Filter> filters) {
+        for (Filter filter : filters) {
+            Filter compiled = FilterCompiler.compile(filter, type);
+            for (SimpleFeature feature : features) {
+                assertEquals(
+                        filter + " on " + feature.getID(), filter.evaluate(feature), compiled.evaluate(feature));
+            }
+        }
+    }
+}
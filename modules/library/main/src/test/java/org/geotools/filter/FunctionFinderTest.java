@@ -16,16 +16,26 @@
  */
 package org.geotools.filter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.capability.FunctionName;
+import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
 import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.NameImpl;
+import org.geotools.filter.capability.FunctionNameImpl;
 import org.geotools.filter.function.InterpolateFunction;
+import org.geotools.util.factory.FactoryIteratorProvider;
+import org.geotools.util.factory.GeoTools;
 import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -100,4 +110,46 @@ public void testFindInteropolate() throws Exception {
         name = finder.findFunctionDescription("INTERPOLATE");
         assertNull("INTERPOLATE", name);
     }
+
+    @Test
+    public void testRegistryChanges() throws Exception {
+        assertNull(finder.findFunctionDescription("finderTest"));
+        FunctionFactory factory = new FunctionFactory() {
+            @Override
+            public List<FunctionName> getFunctionNames() {
+                return Arrays.asList(new FunctionNameImpl("finderTest", Object.class));
+            }
+
+            @Override
+            public Function function(String name, List<Expression> args, Literal fallback) {
+                return function(new NameImpl(name), args, fallback);
+            }
+
+            @Override
+            public Function function(Name name, List<Expression> args, Literal fallback) {
+                return "finderTest".equals(name.getLocalPart())
+                        ? new FallbackFunction(name, args, ff.literal(42))
+                        : null;
+            }
+        };
+        FactoryIteratorProvider provider = new FactoryIteratorProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> Iterator<T> iterator(Class<T> category) {
+                return FunctionFactory.class == category ? (Iterator<T>) List.of(factory).iterator() : null;
+            }
+        };
+        GeoTools.addFactoryIteratorProvider(provider);
+        try {
+            CommonFactoryFinder.reset();
+            // the shared index notices the new factory
+            assertNotNull(finder.findFunctionDescription("finderTest"));
+            assertEquals(42, finder.findFunction("finderTest").evaluate(null));
+        } finally {
+            GeoTools.removeFactoryIteratorProvider(provider);
+            CommonFactoryFinder.reset();
+        }
+        assertNull(finder.findFunctionDescription("finderTest"));
+        assertTrue(finder.findFunction("interpolate") instanceof InterpolateFunction);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.re2j.Pattern;
+import com.google.re2j.PatternSyntaxException;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+
+public class LikeMatcherTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final String[] VALUES = {
+        "", "a", "abc", "ABC", "abcabc", "xabcx", "ab\ncd", "abc\n", "\nabc", "a.c", "a*c", "a!c", "a\\c", "a{2}",
+        "Kbc", "kbc", "\u212Abc", "stra\u00DFe", "STRASSE", "x", "ab", "bc", "abbc", "acb"
+    };
+
+    @Test
+    public void testSameResultsAsRegex() {
+        String[] patterns = {
+            "abc", "abc*", "*abc", "*abc*", "a*c", "a*b*c", "*", "**", "", "a?c", "a\\*c", "a\\?c", "a.c", "a\\.c",
+            "a\\\\c", "a{2}", "a\\", "kbc", "k*", "*SSE", "stra*"
+        };
+        for (String pattern : patterns) {
+            for (String escape : new String[] {"\\", "!", ""}) {
+                for (boolean matchCase : new boolean[] {true, false}) {
+                    PropertyIsLike like = FF.like(FF.property("p"), pattern, "*", "?", escape, matchCase);
+                    assertSameResults(like);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrefix() {
+        assertEquals("abc", LikeMatcher.get(FF.like(FF.property("p"), "abc*", "*", "?", "\\", true)).getPrefix());
+        assertEquals("ab*", LikeMatcher.get(FF.like(FF.property("p"), "ab\\**c", "*", "?", "\\", true)).getPrefix());
+        assertEquals("abc", LikeMatcher.get(FF.like(FF.property("p"), "abc", "*", "?", "\\", true)).getPrefix());
+        assertNull(LikeMatcher.get(FF.like(FF.property("p"), "*abc", "*", "?", "\\", true)).getPrefix());
+        assertNull(LikeMatcher.get(FF.like(FF.property("p"), "a?c*", "*", "?", "\\", true)).getPrefix());
+        assertNull(LikeMatcher.get(FF.like(FF.property("p"), "abc*", "*", "?", "\\", false)).getPrefix());
+    }
+
+    @Test
+    public void testShared() {
+        LikeMatcher matcher = LikeMatcher.get(FF.like(FF.property("a"), "abc*", "*", "?", "\\"));
+        assertNotNull(matcher.segments);
+        assertSame(matcher, LikeMatcher.get(FF.like(FF.property("b"), "abc*", "*", "?", "\\")));
+    }
+
+    void assertSameResults(PropertyIsLike like) {
+        Pattern pattern;
+        try {
+            String regex = new LikeToRegexConverter(like).getPattern();
+            pattern = like.isMatchingCase() ? Pattern.compile(regex) : Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        } catch (StringIndexOutOfBoundsException | PatternSyntaxException e) {
+            // trailing escape or unsupported escape sequence, not a valid pattern
+            return;
+        }
+        LikeMatcher matcher = LikeMatcher.compile(like);
+        for (String value : VALUES) {
+            String message = like.getLiteral() + " escape " + like.getEscape() + " on " + value;
+            assertEquals(message, pattern.matcher(value).matches(), matcher.matches(value));
+        }
+    }
+}
@@ -205,4 +205,31 @@ public void testEvaluateNonNumericalWithPercentages() {
         assertEquals(25.0, percentages[1], 0d);
         assertEquals(12.5, percentages[2], 0d);
     }
+
+    @Test
+    public void testApproximatePercentages() {
+        EqualIntervalFunction func = (EqualIntervalFunction)
+                ff.function("EqualInterval", ff.property("foo"), ff.literal(3), ff.literal(true));
+        func.setSketchSize(100);
+
+        RangedClassifier ranged = func.evaluate(featureCollection);
+        assertEquals(3, ranged.getSize());
+        assertEquals("4..32.667", ranged.getTitle(0));
+        assertEquals("32.667..61.333", ranged.getTitle(1));
+        assertEquals("61.333..90", ranged.getTitle(2));
+        double[] percentages = ranged.getPercentages();
+        assertEquals(62.5, percentages[0], 1e-9);
+        assertEquals(25.0, percentages[1], 1e-9);
+        assertEquals(12.5, percentages[2], 1e-9);
+    }
+
+    @Test
+    public void testApproximateFallbackOnStrings() {
+        EqualIntervalFunction func =
+                (EqualIntervalFunction) ff.function("EqualInterval", ff.property("group"), ff.literal(2));
+        func.setSketchSize(100);
+        RangedClassifier ranged = func.evaluate(featureCollection);
+        assertEquals(2, ranged.getSize());
+        assertEquals("Group0", ranged.getMin(0));
+    }
 }
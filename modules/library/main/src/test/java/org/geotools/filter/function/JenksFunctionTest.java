@@ -249,4 +249,26 @@ public void testEvaluateNumericalWithPercentages() throws Exception {
         assertEquals(percentages[1], 25.0, 0d);
         assertEquals(percentages[2], 37.5, 0d);
     }
+
+    @Test
+    public void testApproximateRealData() throws Exception {
+        // fewer values than the sketch size, the sample is exact
+        JenksNaturalBreaksFunction func =
+                (JenksNaturalBreaksFunction) ff.function("Jenks", ff.property("jenks71"), ff.literal(5));
+        func.setSketchSize(200);
+        RangedClassifier ranged = (RangedClassifier) func.evaluate(jenksCollection);
+        assertEquals(5, ranged.getSize());
+        assertEquals("15.57..41.2", ranged.getTitle(0));
+        assertEquals("41.2..60.66", ranged.getTitle(1));
+        assertEquals("60.66..77.29", ranged.getTitle(2));
+        assertEquals("77.29..100.1", ranged.getTitle(3));
+        assertEquals("100.1..155.3", ranged.getTitle(4));
+
+        // a smaller sketch samples the values, keeping the exact extremes
+        func.setSketchSize(20);
+        ranged = (RangedClassifier) func.evaluate(jenksCollection);
+        assertEquals(5, ranged.getSize());
+        assertEquals(15.57, ((Number) ranged.getMin(0)).doubleValue(), 0d);
+        assertEquals(155.3, ((Number) ranged.getMax(4)).doubleValue(), 0d);
+    }
 }
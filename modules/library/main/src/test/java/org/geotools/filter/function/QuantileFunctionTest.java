@@ -21,6 +21,9 @@
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.expression.Divide;
@@ -28,6 +31,7 @@
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.feature.DefaultFeatureCollection;
 import org.geotools.feature.SchemaException;
@@ -314,4 +318,51 @@ public void testPercentagesConsistencyWithMoreClassThanIntervals() {
             assertEquals(12.5, percentage, 0d);
         }
     }
+
+    @Test
+    public void testApproximateSmallCollection() {
+        // the sketch is exact when holding fewer values than its size, the classes are the same
+        QuantileFunction func =
+                (QuantileFunction) ff.function("Quantile", ff.property("foo"), ff.literal(3), ff.literal(true));
+        RangedClassifier exact = (RangedClassifier) func.evaluate(featureCollection);
+        func.setSketchSize(100);
+        RangedClassifier approximate = (RangedClassifier) func.evaluate(featureCollection);
+        assertEquals(exact.getSize(), approximate.getSize());
+        for (int i = 0; i < exact.getSize(); i++) {
+            assertEquals(exact.getTitle(i), approximate.getTitle(i));
+            assertEquals(exact.getPercentages()[i], approximate.getPercentages()[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testApproximateLargeCollection() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("classification.test1", "id:0,value:double");
+        List<SimpleFeature> features = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 50000; i++) {
+            double value = Math.exp(random.nextGaussian());
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {i, value}, "classification.t" + i));
+        }
+        SimpleFeatureCollection collection = new ListFeatureCollection(type, features);
+
+        QuantileFunction func =
+                (QuantileFunction) ff.function("Quantile", ff.property("value"), ff.literal(5), ff.literal(true));
+        func.setSketchSize(200);
+        RangedClassifier ranged = (RangedClassifier) func.evaluate(collection);
+        assertEquals(5, ranged.getSize());
+
+        // each class should hold about a fifth of the values, with a rank error of about 1.3% on each bound, plus
+        // some tolerance for the rounding of the bounds
+        for (int i = 0; i < ranged.getSize(); i++) {
+            double min = ((Number) ranged.getMin(i)).doubleValue();
+            double max = ((Number) ranged.getMax(i)).doubleValue();
+            boolean last = i == ranged.getSize() - 1;
+            long count = features.stream()
+                    .mapToDouble(f -> (Double) f.getAttribute("value"))
+                    .filter(v -> v >= min && (v < max || last && v <= max))
+                    .count();
+            assertEquals(0.2, count / 50000d, 0.04);
+            assertEquals(count / 500d, ranged.getPercentages()[i], 4);
+        }
+    }
 }
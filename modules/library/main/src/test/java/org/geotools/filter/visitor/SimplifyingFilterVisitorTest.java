@@ -21,13 +21,16 @@
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.Id;
@@ -44,6 +47,7 @@
 import org.geotools.data.DataUtilities;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.FoldedLiteral;
 import org.geotools.filter.FunctionExpressionImpl;
 import org.geotools.filter.function.EnvFunction;
 import org.geotools.filter.function.math.FilterFunction_random;
@@ -333,6 +337,28 @@ public void testStableFunction() {
         assertEquals("123", result.evaluate(null, String.class));
     }
 
+    @Test
+    public void testFoldedFunctionsShared() {
+        EnvFunction.setLocalValue("size", "12");
+        Filter f = ff.and(
+                ff.greater(ff.property("a"), ff.function("env", ff.literal("size"))),
+                ff.less(ff.property("b"), ff.function("env", ff.literal("size"))));
+
+        And result = (And) f.accept(simpleVisitor, null);
+        Expression first = ((BinaryComparisonOperator) result.getChildren().get(0)).getExpression2();
+        Expression second = ((BinaryComparisonOperator) result.getChildren().get(1)).getExpression2();
+        assertThat(first, instanceOf(FoldedLiteral.class));
+        Assert.assertSame(first, second);
+        assertEquals(ff.literal("12"), first);
+        assertEquals("env", ((FoldedLiteral) first).getFunction().getName());
+        // conversions are remembered
+        Integer size = first.evaluate(null, Integer.class);
+        assertEquals(Integer.valueOf(12), size);
+        Assert.assertSame(size, first.evaluate(null, Integer.class));
+        assertEquals(12d, first.evaluate(null, Double.class), 0d);
+        assertEquals("12", first.evaluate(null, String.class));
+    }
+
     @Test
     public void testVolatileFunction() {
         Function f = ff.function("random");
@@ -453,6 +479,35 @@ public void testDualFilterNullOr() {
         assertEquals(Filter.INCLUDE, original.accept(simpleVisitor, null));
     }
 
+    @Test
+    public void testMergeIds() {
+        Filter equal = ff.equal(ff.property("a"), ff.literal(3), true);
+        Id first = ff.id(ff.featureId("f.1"), ff.featureId("f.2"));
+        Id second = ff.id(ff.featureId("f.2"), ff.featureId("f.3"));
+        Or or = ff.or(Arrays.asList(first, equal, second));
+        Filter expected = ff.or(ff.id(ff.featureId("f.1"), ff.featureId("f.2"), ff.featureId("f.3")), equal);
+        assertEquals(expected, or.accept(simpleVisitor, null));
+    }
+
+    @Test
+    public void testGroupEqualities() {
+        List<Filter> equalities = new ArrayList<>();
+        for (int i = 0; i < SimplifyingFilterVisitor.EQUALITY_GROUP_SIZE; i++) {
+            equalities.add(ff.equal(ff.property("a"), ff.literal(i), true));
+        }
+        Filter other = ff.greater(ff.property("b"), ff.literal(10));
+        List<Filter> children = new ArrayList<>(equalities);
+        children.add(3, other);
+        // duplicates are removed, the equalities are nested in their own group
+        children.add(equalities.get(0));
+        Filter simplified = (Filter) ff.or(children).accept(simpleVisitor, null);
+        assertEquals(ff.or(ff.or(equalities), other), simplified);
+
+        // nothing to group if there are only equalities
+        Filter only = (Filter) ff.or(equalities).accept(simpleVisitor, null);
+        assertEquals(ff.or(equalities), only);
+    }
+
     @Test
     public void testRepeatedFilter() {
         Filter f1 = ff.equal(ff.property("a"), ff.literal(3), false);
@@ -270,6 +270,7 @@ private void notifyRegistered(final T instance) {
         private void registerInternal(final T instance) {
             instancesByType.put(instance.getClass(), instance);
             orderedInstances.add(instance);
+            FactoryRegistry.modified();
         }
 
         /** @return {true} if an instance of the same type was previously registered */
@@ -290,6 +291,7 @@ private boolean deregisterByType(final T instance) {
 
             if (instanceWasRemoved) {
                 orderedInstances.remove(removed);
+                FactoryRegistry.modified();
                 notifyDeregistered(removed);
             }
 
@@ -308,6 +310,7 @@ public void clear() {
                 T instance = values.next();
                 values.remove();
                 orderedInstances.remove(instance);
+                FactoryRegistry.modified();
                 notifyDeregistered(instance);
             }
         }
@@ -329,20 +332,28 @@ public <S> Optional<S> getInstanceOfType(Class<S> type) {
 
         /** @see CategoryRegistry#setOrder(Class, Object, Object) */
         public boolean setOrder(T firstInstance, T secondInstance) {
-            return instancesByType.containsKey(firstInstance.getClass())
+            boolean changed = instancesByType.containsKey(firstInstance.getClass())
                     && instancesByType.containsKey(secondInstance.getClass())
                     // if both are contained, set the order
                     && orderedInstances.setOrder(firstInstance, secondInstance);
+            if (changed) {
+                FactoryRegistry.modified();
+            }
+            return changed;
         }
 
         /** @see CategoryRegistry#clearOrder(Class, Object, Object) */
         public boolean clearOrder(T firstInstance, T secondInstance) {
             ensureArgumentNonNull("firstInstance", firstInstance);
             ensureArgumentNonNull("secondInstance", secondInstance);
-            return instancesByType.containsKey(firstInstance.getClass())
+            boolean changed = instancesByType.containsKey(firstInstance.getClass())
                     && instancesByType.containsKey(secondInstance.getClass())
-                    // if both are contained, set the order
+                    // if both are contained, clear the order
                     && orderedInstances.clearOrder(firstInstance, secondInstance);
+            if (changed) {
+                FactoryRegistry.modified();
+            }
+            return changed;
         }
 
         @Override
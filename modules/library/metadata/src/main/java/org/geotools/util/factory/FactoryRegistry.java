@@ -35,6 +35,7 @@
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -102,6 +103,9 @@ public class FactoryRegistry {
     /** The logger level for debug messages. */
     private static final Level DEBUG_LEVEL = Level.FINEST;
 
+    /** Counts the changes made to the factories registered in any registry, see {@link #getModificationCount()}. */
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
     /**
      * Holds the registered factories by their category.
      *
@@ -1110,6 +1114,22 @@ private <T> void register(final FactoryIteratorProvider provider, final Class<T>
         }
     }
 
+    /**
+     * Returns a counter that is incremented each time a factory is registered, deregistered or reordered in any
+     * registry. Code caching information derived from the registered factories can compare this value with the one
+     * seen when the cache was built in order to detect that it is stale.
+     *
+     * @return The current modification count, growing monotonically
+     */
+    public static long getModificationCount() {
+        return MODIFICATIONS.get();
+    }
+
+    /** Notifies that the registered factories, or their order, changed. */
+    static void modified() {
+        MODIFICATIONS.incrementAndGet();
+    }
+
     /** Clear all registered factories. */
     public void deregisterAll() {
         registry.deregisterInstances();
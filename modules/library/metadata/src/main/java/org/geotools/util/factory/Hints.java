@@ -532,6 +532,23 @@ public class Hints extends RenderingHints {
      */
     public static final Key FEATURE_2D = new Key(Boolean.class);
 
+    /**
+     * Allows a feature reader to return the same feature instance from every call to {@code next()}, refilling it with
+     * the values of each record, to avoid allocating a new feature, values array and identifier per record. Can be
+     * used by consumers that process each feature and drop it before asking for the next one, like rendering or output
+     * encoding.
+     *
+     * <p>When honoured, the feature returned by {@code next()} is valid only until the next call to {@code hasNext()},
+     * {@code next()} or {@code close()}: its attributes, identifier and user data are overwritten afterwards. The
+     * attribute values themselves are not reused and can be kept. Consumers needing to retain a feature have to copy
+     * it, using {@code SimpleFeatureBuilder.copy(feature)}. The hint is honoured only by stores listing it among their
+     * supported hints, and is ignored when the features need to be kept around, e.g., when sorting in memory. Defaults
+     * to false.
+     *
+     * @since 34
+     */
+    public static final Key FEATURE_REUSE = new Key(Boolean.class);
+
     /**
      * Key to control the maximum number of features that will be kept in memory when performing a fallback merge-sort
      * (used when the datastore does not have native means to handle feature sorting)
@@ -540,6 +557,42 @@ public class Hints extends RenderingHints {
      */
     public static final Key MAX_MEMORY_SORT = new Key(Integer.class);
 
+    /**
+     * Key to control the number of threads used to sort the blocks of features spilled to disk by a fallback
+     * merge-sort. Defaults to the parallelism of the common fork join pool, a value of 1 sorts in the reading thread.
+     * The features kept in memory, {@link #MAX_MEMORY_SORT}, are split among the blocks being sorted.
+     *
+     * @since 34
+     */
+    public static final Key SORT_PARALLELISM = new Key(Integer.class);
+
+    /**
+     * Key to control whether the blocks of features spilled to disk by a fallback merge-sort are compressed, trading
+     * some CPU time for less temporary disk space and I/O. Defaults to false.
+     *
+     * @since 34
+     */
+    public static final Key SORT_COMPRESSION = new Key(Boolean.class);
+
+    /**
+     * Key to control the number of partitions visited in parallel by aggregation visitors that can be split in partial
+     * calculations, on stores able to partition their contents. Defaults to 1, parallel visits are disabled unless
+     * the hint is set or the store is configured to read in parallel.
+     *
+     * @since 34
+     */
+    public static final Key VISITOR_PARALLELISM = new Key(Integer.class);
+
+    /**
+     * Key to enable approximate classification in the quantile, equal interval and Jenks classification functions.
+     * When set to a positive value the classes are computed from a quantile sketch of the given size, in bounded
+     * memory, instead of collecting all the values. A size of 200 gives a rank error of about 1.3%. Defaults to 0,
+     * exact classification.
+     *
+     * @since 34
+     */
+    public static final Key CLASSIFICATION_SKETCH_SIZE = new Key(Integer.class);
+
     /**
      * Asks a datastore having a vector pyramid (pre-generalized geometries) to return the geometry version whose points
      * have been generalized less than the specified distance (further generalization might be performed by the client
@@ -25,6 +25,7 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.data.csv.parse.CSVIterator;
 import org.geotools.data.csv.parse.CSVStrategy;
+import org.geotools.util.factory.Hints;
 
 public class CSVFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
 
@@ -39,6 +40,9 @@ public CSVFeatureReader(CSVStrategy csvStrategy) throws IOException {
     public CSVFeatureReader(CSVStrategy csvStrategy, Query query) throws IOException {
         this.featureType = csvStrategy.getFeatureType();
         this.iterator = csvStrategy.iterator();
+        if (query != null && Boolean.TRUE.equals(query.getHints().get(Hints.FEATURE_REUSE))) {
+            iterator.setFeatureReuse(true);
+        }
     }
 
     @Override
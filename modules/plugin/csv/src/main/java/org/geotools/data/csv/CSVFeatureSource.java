@@ -18,6 +18,7 @@
 package org.geotools.data.csv;
 
 import java.io.IOException;
+import java.util.Set;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -25,6 +26,7 @@
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.factory.Hints;
 
 public class CSVFeatureSource extends ContentFeatureSource {
 
@@ -44,6 +46,11 @@ public CSVFeatureSource(ContentEntry entry, Query query) {
         super(entry, query);
     }
 
+    @Override
+    protected void addHints(Set<Hints.Key> hints) {
+        hints.add(Hints.FEATURE_REUSE);
+    }
+
     @Override
     public CSVDataStore getDataStore() {
         return (CSVDataStore) super.getDataStore();
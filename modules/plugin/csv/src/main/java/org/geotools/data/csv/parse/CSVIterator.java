@@ -25,6 +25,7 @@
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.data.csv.CSVFileState;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
 
 public class CSVIterator implements Iterator<SimpleFeature>, Closeable {
 
@@ -36,6 +37,11 @@ public class CSVIterator implements Iterator<SimpleFeature>, Closeable {
 
     private final CSVStrategy csvStrategy;
 
+    /** Shared by all the records, created on first use */
+    private SimpleFeatureBuilder builder;
+
+    private boolean featureReuse;
+
     public CSVIterator(CSVFileState csvFileState, CSVStrategy csvStrategy) throws IOException {
         this.csvStrategy = csvStrategy;
         try {
@@ -47,9 +53,25 @@ public CSVIterator(CSVFileState csvFileState, CSVStrategy csvStrategy) throws IO
         next = null;
     }
 
+    /**
+     * Enables the reuse of the same feature instance for all the records, see
+     * {@link org.geotools.util.factory.Hints#FEATURE_REUSE}. Honoured by strategies decoding records with the provided
+     * builder.
+     */
+    public void setFeatureReuse(boolean featureReuse) {
+        this.featureReuse = featureReuse;
+        if (builder != null) {
+            builder.setReuse(featureReuse);
+        }
+    }
+
     private SimpleFeature buildFeature(String[] csvRecord) {
+        if (builder == null) {
+            builder = new SimpleFeatureBuilder(csvStrategy.getFeatureType());
+            builder.setReuse(featureReuse);
+        }
         String id = "fid" + idx;
-        SimpleFeature feature = csvStrategy.decode(id, csvRecord);
+        SimpleFeature feature = csvStrategy.decode(id, csvRecord, builder);
         idx++;
         return feature;
     }
@@ -168,8 +168,12 @@ public void createSchema(SimpleFeatureType featureType) throws IOException {
 
     @Override
     public SimpleFeature decode(String recordId, String[] csvRecord) {
+        return decode(recordId, csvRecord, new SimpleFeatureBuilder(getFeatureType()));
+    }
+
+    @Override
+    public SimpleFeature decode(String recordId, String[] csvRecord, SimpleFeatureBuilder builder) {
         SimpleFeatureType featureType = getFeatureType();
-        SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
         GeometryDescriptor geometryDescriptor = featureType.getGeometryDescriptor();
         GeometryFactory geometryFactory = new GeometryFactory();
         Double lat = null, lng = null;
@@ -202,6 +206,7 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
             } else {
                 LOGGER.warning("record had fewer values than header");
                 if (csvRecord.length == 1 && csvRecord[0].isEmpty()) {
+                    builder.reset();
                     return null;
                 }
                 builder.set(header, null); /* or ""? */
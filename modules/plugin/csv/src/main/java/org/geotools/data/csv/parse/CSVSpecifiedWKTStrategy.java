@@ -110,8 +110,12 @@ public String[] encode(SimpleFeature feature) {
 
     @Override
     public SimpleFeature decode(String recordId, String[] csvRecord) {
+        return decode(recordId, csvRecord, new SimpleFeatureBuilder(getFeatureType()));
+    }
+
+    @Override
+    public SimpleFeature decode(String recordId, String[] csvRecord, SimpleFeatureBuilder builder) {
         SimpleFeatureType featureType = getFeatureType();
-        SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
         GeometryDescriptor geometryDescriptor = featureType.getGeometryDescriptor();
         String[] headers = csvFileState.getCSVHeaders();
         for (int i = 0; i < headers.length; i++) {
@@ -134,6 +138,7 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
             } else {
                 LOGGER.warning("record had fewer values than header");
                 if (csvRecord.length == 1 && csvRecord[0].isEmpty()) {
+                    builder.reset();
                     return null;
                 }
                 builder.set(header, null);
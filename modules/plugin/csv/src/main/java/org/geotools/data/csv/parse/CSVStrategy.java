@@ -28,6 +28,7 @@
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.data.csv.CSVFileState;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 
 public abstract class CSVStrategy {
@@ -50,6 +51,15 @@ public CSVIterator iterator() throws IOException {
 
     public abstract SimpleFeature decode(String recordId, String[] csvRecord);
 
+    /**
+     * Decodes a record using the provided builder, shared among the records read by an iterator and possibly reusing
+     * the same feature for all of them. The default implementation ignores the builder and calls
+     * {@link #decode(String, String[])}, subclasses can override to avoid building a new feature for each record.
+     */
+    public SimpleFeature decode(String recordId, String[] csvRecord, SimpleFeatureBuilder builder) {
+        return decode(recordId, csvRecord);
+    }
+
     public abstract String[] encode(SimpleFeature feature);
 
     protected volatile SimpleFeatureType featureType = null;
@@ -0,0 +1,222 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import org.geotools.geometry.jts.CurvedGeometry;
+import org.geotools.geometry.jts.CurvedRing;
+import org.geotools.geometry.jts.WKTWriter2;
+import org.geotools.jdbc.BulkLoader;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBWriter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Loads rows with <code>COPY ... FROM STDIN</code> in text format. Geometries are sent as hex encoded EWKB, or EWKT for
+ * curves, and the other values in their text representation, letting the server parse them according to the column
+ * types.
+ *
+ * <p>Rows are accumulated in chunks of about {@link #CHUNK_SIZE} characters, each chunk being written to the server as
+ * soon as it is full. Writes block while the server is busy consuming the previous data, so memory usage stays bounded
+ * however many rows are loaded. The COPY command is only issued when the first chunk is written.
+ */
+final class PostGISBulkLoader implements BulkLoader {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    static final String NULL = "\\N";
+
+    /** Column types that can be loaded from their text representation */
+    static boolean isSupported(Class<?> binding) {
+        return CharSequence.class.isAssignableFrom(binding)
+                || binding == Character.class
+                || Number.class.isAssignableFrom(binding)
+                || binding == Boolean.class
+                || Date.class.isAssignableFrom(binding)
+                || binding == UUID.class
+                || binding == byte[].class
+                || Geometry.class.isAssignableFrom(binding);
+    }
+
+    private final PGConnection connection;
+
+    private final String sql;
+
+    private final String[] row;
+
+    private final StringBuilder chunk = new StringBuilder();
+
+    private CopyIn copy;
+
+    PostGISBulkLoader(PGConnection connection, String sql, int columns) {
+        this.connection = connection;
+        this.sql = sql;
+        this.row = new String[columns];
+        Arrays.fill(row, NULL);
+    }
+
+    @Override
+    public void setValue(Object value, int column) {
+        row[column] = encode(value);
+    }
+
+    @Override
+    public void setGeometryValue(Geometry g, int dimension, int srid, int column) {
+        row[column] = g == null ? NULL : encodeGeometry(g, dimension, srid);
+    }
+
+    @Override
+    public void addRow() throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                chunk.append('\t');
+            }
+            chunk.append(row[i]);
+            row[i] = NULL;
+        }
+        chunk.append('\n');
+        if (chunk.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (chunk.length() == 0) {
+            return;
+        }
+        if (copy == null) {
+            copy = connection.getCopyAPI().copyIn(sql);
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    @Override
+    public long execute() throws SQLException {
+        flush();
+        if (copy == null) {
+            return 0;
+        }
+        long rows = copy.endCopy();
+        copy = null;
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        chunk.setLength(0);
+        if (copy != null && copy.isActive()) {
+            copy.cancelCopy();
+        }
+        copy = null;
+    }
+
+    /** Encodes a value as a field of the COPY text format */
+    static String encode(Object value) {
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? "t" : "f";
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Number || value instanceof UUID) {
+            return value.toString();
+        } else if (value instanceof java.sql.Date || value instanceof Time) {
+            return value.toString();
+        } else if (value instanceof Date) {
+            // same wall clock time as the driver would send, with the offset for time zone aware columns
+            return OffsetDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toString();
+        } else if (value instanceof byte[]) {
+            // bytea hex format, with the backslash escaped for COPY
+            return "\\\\x" + WKBWriter.toHex((byte[]) value);
+        } else {
+            return escape(value.toString());
+        }
+    }
+
+    /** Escapes the characters having a special meaning in the COPY text format */
+    static String escape(String text) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "\\r";
+                    break;
+                case '\t':
+                    replacement = "\\t";
+                    break;
+                default:
+                    replacement = null;
+            }
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(text.length() + 16);
+                sb.append(text, 0, i);
+            }
+            if (replacement != null) {
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    /** Encodes a geometry as hex EWKB, or as EWKT for curves that WKB cannot represent */
+    static String encodeGeometry(Geometry g, int dimension, int srid) {
+        if (g instanceof CurvedGeometry) {
+            String wkt = new WKTWriter2(dimension).write(g);
+            return srid > 0 ? "SRID=" + srid + ";" + wkt : wkt;
+        }
+        if (g instanceof LinearRing && !(g instanceof CurvedRing)) {
+            // postgis does not handle linear rings, convert to just a line string
+            g = g.getFactory().createLineString(((LinearRing) g).getCoordinateSequence());
+        }
+        byte[] wkb = new WKBWriter(dimension, ByteOrderValues.BIG_ENDIAN).write(g);
+        if (srid > 0) {
+            // turn into EWKB, flagging the type and adding the srid after it
+            int type = ByteBuffer.wrap(wkb).getInt(1) | 0x20000000;
+            wkb = ByteBuffer.allocate(wkb.length + 4)
+                    .put(wkb[0])
+                    .putInt(type)
+                    .putInt(srid)
+                    .put(wkb, 5, wkb.length - 5)
+                    .array();
+        }
+        return WKBWriter.toHex(wkb);
+    }
+}
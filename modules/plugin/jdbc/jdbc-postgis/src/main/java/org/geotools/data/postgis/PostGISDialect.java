@@ -57,6 +57,7 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.WKTWriter2;
 import org.geotools.jdbc.BasicSQLDialect;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.referencing.CRS;
@@ -191,6 +192,8 @@ public PostGISDialect(JDBCDataStore dataStore) {
 
     boolean topologyPreserved = false;
 
+    boolean bulkInsertEnabled = false;
+
     // checkStandardConformingStrings will set this based on database configuration
     boolean escapeBackslash = true;
 
@@ -264,6 +267,15 @@ public void setTopologyPreserved(boolean topologyPreserved) {
         this.topologyPreserved = topologyPreserved;
     }
 
+    public boolean isBulkInsertEnabled() {
+        return bulkInsertEnabled;
+    }
+
+    /** @see PostgisNGDataStoreFactory#BULK_INSERT */
+    public void setBulkInsertEnabled(boolean bulkInsertEnabled) {
+        this.bulkInsertEnabled = bulkInsertEnabled;
+    }
+
     @Override
     public void initializeConnection(Connection cx) throws SQLException {
         super.initializeConnection(cx);
@@ -340,6 +352,26 @@ public Geometry decodeGeometryValue(
         }
     }
 
+    @Override
+    public boolean isRawGeometryDecodingSupported(GeometryDescriptor descriptor, Connection cx, Hints hints)
+            throws SQLException {
+        // TWKB is read straight from the result set
+        return !isTWKBTransferEnabled(cx, descriptor, hints);
+    }
+
+    @Override
+    public Object getRawGeometryValue(GeometryDescriptor descriptor, ResultSet rs, int column, Connection cx)
+            throws SQLException {
+        return rs.getBytes(column);
+    }
+
+    @Override
+    public Geometry decodeRawGeometryValue(
+            GeometryDescriptor descriptor, Object value, GeometryFactory factory, Hints hints) throws IOException {
+        // the readers are thread local, each decoding thread gets its own
+        return getWKBReader(factory).read((byte[]) value);
+    }
+
     private boolean isTWKBTransferEnabled(Connection cx, GeometryDescriptor descriptor, Hints hints)
             throws SQLException {
         Double distance = (Double) hints.get(Hints.GEOMETRY_SIMPLIFICATION);
@@ -979,6 +1011,56 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        try (Statement st = cx.createStatement()) {
+            String sql = "SELECT " + encodeNextSequenceValue(schemaName, sequenceName) + " FROM generate_series(1, "
+                    + count + ")";
+            dataStore.getLogger().fine(sql);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    values.add(rs.getLong(1));
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public BulkLoader createBulkLoader(
+            String schemaName, String tableName, List<String> columnNames, List<Class<?>> bindings, Connection cx)
+            throws SQLException {
+        if (!bulkInsertEnabled || !bindings.stream().allMatch(PostGISBulkLoader::isSupported)) {
+            return null;
+        }
+        PgConnection pg;
+        try {
+            pg = unwrapConnection(cx, PgConnection.class);
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Unable to get native connection, will use INSERT statements", e);
+            return null;
+        }
+
+        StringBuffer sql = new StringBuffer("COPY ");
+        if (schemaName != null && !schemaName.isEmpty()) {
+            encodeSchemaName(schemaName, sql);
+            sql.append(".");
+        }
+        encodeTableName(tableName, sql);
+        sql.append(" (");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            encodeColumnName(null, columnNames.get(i), sql);
+        }
+        sql.append(") FROM STDIN");
+        dataStore.getLogger().fine(sql.toString());
+        return new PostGISBulkLoader(pg, sql.toString(), columnNames.size());
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return "nextval('" + sequenceName + "')";
@@ -22,12 +22,14 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.PreparedFilterToSQL;
@@ -94,6 +96,24 @@ public Geometry decodeGeometryValue(
         return delegate.decodeGeometryValue(descriptor, rs, column, factory, cx, hints);
     }
 
+    @Override
+    public boolean isRawGeometryDecodingSupported(GeometryDescriptor descriptor, Connection cx, Hints hints)
+            throws SQLException {
+        return delegate.isRawGeometryDecodingSupported(descriptor, cx, hints);
+    }
+
+    @Override
+    public Object getRawGeometryValue(GeometryDescriptor descriptor, ResultSet rs, int column, Connection cx)
+            throws SQLException {
+        return delegate.getRawGeometryValue(descriptor, rs, column, cx);
+    }
+
+    @Override
+    public Geometry decodeRawGeometryValue(
+            GeometryDescriptor descriptor, Object value, GeometryFactory factory, Hints hints) throws IOException {
+        return delegate.decodeRawGeometryValue(descriptor, value, factory, hints);
+    }
+
     @Override
     public void encodeGeometryColumn(GeometryDescriptor gatt, String prefix, int srid, Hints hints, StringBuffer sql) {
         delegate.encodeGeometryColumn(gatt, prefix, srid, hints, sql);
@@ -152,6 +172,19 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return delegate.getNextSequenceValue(schemaName, sequenceName, cx);
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        return delegate.getNextSequenceValues(schemaName, sequenceName, count, cx);
+    }
+
+    @Override
+    public BulkLoader createBulkLoader(
+            String schemaName, String tableName, List<String> columnNames, List<Class<?>> bindings, Connection cx)
+            throws SQLException {
+        return delegate.createBulkLoader(schemaName, tableName, columnNames, bindings, cx);
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return delegate.encodeNextSequenceValue(schemaName, sequenceName);
@@ -251,6 +284,12 @@ public PreparedFilterToSQL createPreparedFilterToSQL() {
         return fts;
     }
 
+    @Override
+    public boolean isArrayIdBindingSupported() {
+        // see PostgisPSFilterToSql.writeInValues
+        return true;
+    }
+
     @Override
     public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
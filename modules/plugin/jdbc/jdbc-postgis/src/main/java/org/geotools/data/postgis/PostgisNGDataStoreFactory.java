@@ -137,6 +137,18 @@ public class PostgisNGDataStoreFactory extends JDBCDataStoreFactory {
             false,
             Boolean.FALSE);
 
+    /** Enables loading new features with COPY instead of INSERT statements */
+    public static final Param BULK_INSERT = new Param(
+            "Bulk insert",
+            Boolean.class,
+            "Insert new features with COPY FROM STDIN, much faster than INSERT statements for large loads. "
+                    + "Each batch of BATCH_INSERT_SIZE features is sent as a single COPY, so a large batch size "
+                    + "should be configured as well. Tables whose primary key values are only known after the "
+                    + "insert, and columns of unsupported types, keep using INSERT statements.",
+            false,
+            Boolean.FALSE,
+            new KVP(Param.LEVEL, "advanced"));
+
     @Override
     protected SQLDialect createSQLDialect(JDBCDataStore dataStore, Map<String, ?> params) {
         PostGISDialect dialect = new PostGISDialect(dataStore);
@@ -221,6 +233,9 @@ protected JDBCDataStore createDataStoreInternal(JDBCDataStore dataStore, Map<Str
         Boolean encodeFunctions = (Boolean) ENCODE_FUNCTIONS.lookUp(params);
         dialect.setFunctionEncodingEnabled(encodeFunctions == null || encodeFunctions);
 
+        // bulk loading of new features (off by default)
+        dialect.setBulkInsertEnabled(Boolean.TRUE.equals(BULK_INSERT.lookUp(params)));
+
         // setup the ps dialect if need be
         Boolean usePs = (Boolean) PREPARED_STATEMENTS.lookUp(params);
         if (Boolean.TRUE.equals(usePs)) {
@@ -273,6 +288,7 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(CREATE_DB_IF_MISSING.key, CREATE_DB_IF_MISSING);
         parameters.put(CREATE_PARAMS.key, CREATE_PARAMS);
         parameters.put(REWRITE_BATCHED_INSERTS.key, REWRITE_BATCHED_INSERTS);
+        parameters.put(BULK_INSERT.key, BULK_INSERT);
     }
 
     @Override
@@ -17,6 +17,12 @@
 package org.geotools.data.postgis;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.filter.BinaryComparisonOperator;
 import org.geotools.api.filter.PropertyIsBetween;
@@ -27,12 +33,28 @@
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.spatial.BinarySpatialOperator;
 import org.geotools.api.filter.spatial.DistanceBufferOperator;
+import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.filter.FilterCapabilities;
+import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.PreparedFilterToSQL;
 import org.geotools.util.Version;
 
 public class PostgisPSFilterToSql extends PreparedFilterToSQL {
 
+    /** Minimum number of values for an IN list to be bound as a single array parameter */
+    static final int MIN_ARRAY_SIZE = 8;
+
+    /** The native types of the values that can be bound as an array */
+    static final Map<Class<?>, String> ARRAY_TYPES = Map.ofEntries(
+            Map.entry(String.class, "text"),
+            Map.entry(Integer.class, "int4"),
+            Map.entry(Long.class, "int8"),
+            Map.entry(Short.class, "int2"),
+            Map.entry(Double.class, "float8"),
+            Map.entry(Float.class, "float4"),
+            Map.entry(Boolean.class, "bool"),
+            Map.entry(UUID.class, "uuid"));
+
     FilterToSqlHelper helper;
     boolean functionEncodingEnabled;
 
@@ -117,6 +139,57 @@ public Object visit(Function function, Object extraData) throws RuntimeException
         }
     }
 
+    /**
+     * Binds long lists of values as a single array, using <code>= ANY(?)</code>, keeping the statement short and its
+     * text independent of the number of values, and avoiding the limit on the number of parameters of a statement
+     */
+    @Override
+    protected void writeInValues(List<? extends Expression> values, Class<?> context, boolean negate)
+            throws IOException {
+        Object[] array = isPrepareEnabled() && values.size() >= MIN_ARRAY_SIZE ? toArray(values, context) : null;
+        if (array == null) {
+            super.writeInValues(values, context, negate);
+            return;
+        }
+        Class<?> componentType = array.getClass().getComponentType();
+        AttributeTypeBuilder builder = new AttributeTypeBuilder();
+        builder.setBinding(array.getClass());
+        AttributeDescriptor descriptor = builder.buildDescriptor("values");
+        descriptor.getUserData().put(JDBCDataStore.JDBC_NATIVE_TYPE, Types.ARRAY);
+        // the array component type is found by the dialect removing the leading underscore
+        descriptor.getUserData().put(JDBCDataStore.JDBC_NATIVE_TYPENAME, "_" + ARRAY_TYPES.get(componentType));
+
+        literalValues.add(array);
+        literalTypes.add(array.getClass());
+        SRIDs.add(-1);
+        dimensions.add(-1);
+        descriptors.add(descriptor);
+        out.write(negate ? " <> ALL(?)" : " = ANY(?)");
+    }
+
+    /** Converts the values to an array of a type supported by {@link #ARRAY_TYPES}, or returns null */
+    Object[] toArray(List<? extends Expression> values, Class<?> context) {
+        Class<?> componentType = context;
+        if (!ARRAY_TYPES.containsKey(componentType) && values.get(0) instanceof Literal) {
+            // no binding, as for feature ids, use the class of the values
+            Object value = ((Literal) values.get(0)).getValue();
+            componentType = value != null ? value.getClass() : null;
+        }
+        if (!ARRAY_TYPES.containsKey(componentType)) {
+            return null;
+        }
+        Object[] array = (Object[]) Array.newInstance(componentType, values.size());
+        for (int i = 0; i < array.length; i++) {
+            Expression value = values.get(i);
+            Object converted = value instanceof Literal ? evaluateLiteral((Literal) value, componentType) : null;
+            if (!componentType.isInstance(converted)) {
+                return null;
+            }
+            array[i] = converted;
+        }
+        return array;
+    }
+
     /**
      * Overrides base behavior to handler arrays
      *
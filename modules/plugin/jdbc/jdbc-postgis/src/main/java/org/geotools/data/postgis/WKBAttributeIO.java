@@ -105,18 +105,27 @@ public Object read(ResultSet rs, String columnName) throws IOException {
     /** @see org.geotools.data.jdbc.attributeio.AttributeIO#read(java.sql.ResultSet, int) */
     public Object read(ResultSet rs, int columnIndex) throws IOException {
         try {
-            byte[] bytes = rs.getBytes(columnIndex);
-            if (bytes == null) // ie. its a null column -> return a null geometry!
-            return null;
-            if (base64EncodingEnabled) {
-                bytes = Base64.decode(bytes);
-            }
-            return wkb2Geometry(bytes);
+            return read(rs.getBytes(columnIndex));
         } catch (SQLException e) {
             throw new DataSourceException("SQL exception occurred while reading the geometry.", e);
         }
     }
 
+    /**
+     * Decodes the bytes of a geometry column, as returned by {@link ResultSet#getBytes(int)}
+     *
+     * @param bytes the column bytes, possibly base64 encoded
+     * @return the geometry, or null if the bytes are null
+     */
+    public Geometry read(byte[] bytes) throws IOException {
+        if (bytes == null) // ie. its a null column -> return a null geometry!
+        return null;
+        if (base64EncodingEnabled) {
+            bytes = Base64.decode(bytes);
+        }
+        return wkb2Geometry(bytes);
+    }
+
     /** @see org.geotools.data.jdbc.attributeio.AttributeIO#write(java.sql.PreparedStatement, int, java.lang.Object) */
     public void write(PreparedStatement ps, int position, Object value) throws IOException {
         try {
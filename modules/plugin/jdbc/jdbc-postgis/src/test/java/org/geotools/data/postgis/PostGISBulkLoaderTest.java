@@ -0,0 +1,110 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.geotools.geometry.jts.CurvedGeometryFactory;
+import org.geotools.jdbc.JDBCDataStore;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+
+public class PostGISBulkLoaderTest {
+
+    GeometryFactory gf = new GeometryFactory();
+
+    @Test
+    public void testEncodeValues() {
+        assertEquals("\\N", PostGISBulkLoader.encode(null));
+        assertEquals("t", PostGISBulkLoader.encode(true));
+        assertEquals("f", PostGISBulkLoader.encode(Boolean.FALSE));
+        assertEquals("12", PostGISBulkLoader.encode(12));
+        assertEquals("1.5", PostGISBulkLoader.encode(1.5d));
+        assertEquals("NaN", PostGISBulkLoader.encode(Double.NaN));
+        assertEquals("1000", PostGISBulkLoader.encode(new BigDecimal("1E+3")));
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid.toString(), PostGISBulkLoader.encode(uuid));
+        assertEquals("2024-03-01", PostGISBulkLoader.encode(Date.valueOf("2024-03-01")));
+        assertEquals("10:20:30", PostGISBulkLoader.encode(Time.valueOf("10:20:30")));
+        Timestamp ts = Timestamp.valueOf("2024-03-01 10:20:30.123456");
+        assertEquals(ts.toInstant(), OffsetDateTime.parse(PostGISBulkLoader.encode(ts)).toInstant());
+        assertEquals("\\\\x01AB", PostGISBulkLoader.encode(new byte[] {1, (byte) 0xAB}));
+    }
+
+    @Test
+    public void testEscapeText() {
+        assertEquals("plain", PostGISBulkLoader.encode("plain"));
+        assertEquals("a\\tb\\\\c\\nd\\re", PostGISBulkLoader.encode("a\tb\\c\nd\re"));
+        // not mistaken for a null
+        assertEquals("\\\\N", PostGISBulkLoader.encode("\\N"));
+        assertEquals("x", PostGISBulkLoader.encode('x'));
+    }
+
+    @Test
+    public void testEncodeGeometries() {
+        assertEquals(
+                "0020000001000010E63FF00000000000004000000000000000",
+                PostGISBulkLoader.encodeGeometry(gf.createPoint(new Coordinate(1, 2)), 2, 4326));
+        // no srid, plain WKB
+        assertEquals(
+                "00000000013FF00000000000004000000000000000",
+                PostGISBulkLoader.encodeGeometry(gf.createPoint(new Coordinate(1, 2)), 2, 0));
+        // 3D, z flag and srid flag
+        assertEquals(
+                "00A0000001000010E63FF000000000000040000000000000004008000000000000",
+                PostGISBulkLoader.encodeGeometry(gf.createPoint(new Coordinate(1, 2, 3)), 3, 4326));
+        // linear rings are sent as lines
+        Coordinate[] ring = {new Coordinate(0, 0), new Coordinate(1, 0), new Coordinate(1, 1), new Coordinate(0, 0)};
+        assertEquals(
+                PostGISBulkLoader.encodeGeometry(gf.createLineString(ring), 2, 4326),
+                PostGISBulkLoader.encodeGeometry(gf.createLinearRing(ring), 2, 4326));
+        // curves as EWKT
+        LineString arc = new CurvedGeometryFactory(0.1).createCurvedGeometry(2, 0, 0, 1, 1, 2, 0);
+        assertTrue(PostGISBulkLoader.encodeGeometry(arc, 2, 4326).startsWith("SRID=4326;CIRCULARSTRING"));
+    }
+
+    @Test
+    public void testSupportedTypes() {
+        assertTrue(PostGISBulkLoader.isSupported(String.class));
+        assertTrue(PostGISBulkLoader.isSupported(Long.class));
+        assertTrue(PostGISBulkLoader.isSupported(Timestamp.class));
+        assertTrue(PostGISBulkLoader.isSupported(LineString.class));
+        assertTrue(PostGISBulkLoader.isSupported(byte[].class));
+        assertFalse(PostGISBulkLoader.isSupported(String[].class));
+        assertFalse(PostGISBulkLoader.isSupported(HStore.class));
+        assertFalse(PostGISBulkLoader.isSupported(Object.class));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        PostGISDialect dialect = new PostGISDialect(new JDBCDataStore());
+        assertFalse(dialect.isBulkInsertEnabled());
+        assertNull(dialect.createBulkLoader(null, "table", List.of("a"), List.of(String.class), null));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.shapefile.index.attribute.AttributeIndex;
+import org.geotools.data.shapefile.index.attribute.AttributeIndex.Column;
+import org.geotools.data.util.SortedIndexQuery;
+import org.geotools.filter.LikeMatcher;
+
+/**
+ * Evaluates a filter against an {@link AttributeIndex}, returning the zero based numbers of the records that might
+ * match it. Equality, range and between comparisons against literals are looked up in the index, as well as the fixed
+ * prefix of LIKE patterns. The result is a superset of the matching records, the filter still needs to be evaluated on
+ * the features read.
+ */
+class AttributeIndexQuery extends SortedIndexQuery {
+
+    AttributeIndex index;
+
+    SimpleFeatureType schema;
+
+    AttributeIndexQuery(AttributeIndex index, SimpleFeatureType schema) {
+        this.index = index;
+        this.schema = schema;
+    }
+
+    @Override
+    protected int[] queryOther(Filter filter) {
+        if (filter instanceof PropertyIsLike) {
+            PropertyIsLike like = (PropertyIsLike) filter;
+            Column column = getColumn(like.getExpression());
+            String prefix = like.isMatchingCase() ? LikeMatcher.get(like).getPrefix() : null;
+            if (column == null || column.isNumeric() || prefix == null) {
+                return null;
+            }
+            return column.startsWith(prefix);
+        }
+        return null;
+    }
+
+    @Override
+    protected Class<?> getRangeBinding(String property) {
+        Column column = getColumn(property);
+        if (column == null || !column.isNumeric()) {
+            return null;
+        }
+        return schema.getDescriptor(property).getType().getBinding();
+    }
+
+    @Override
+    protected int[] range(String property, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        return getColumn(property).range(min, minInclusive, max, maxInclusive);
+    }
+
+    @Override
+    protected int[] equalTo(String property, String value) {
+        Column column = getColumn(property);
+        return column == null || column.isNumeric() ? null : column.equalTo(value);
+    }
+
+    private Column getColumn(Expression expression) {
+        if (!(expression instanceof PropertyName)) {
+            return null;
+        }
+        return getColumn(((PropertyName) expression).getPropertyName());
+    }
+
+    private Column getColumn(String name) {
+        return schema.getDescriptor(name) != null ? index.getColumn(name) : null;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.logging.Logger;
+import org.geotools.api.util.ProgressListener;
+import org.geotools.data.shapefile.dbf.DbaseFileHeader;
+import org.geotools.data.shapefile.dbf.DbaseFileReader;
+import org.geotools.data.shapefile.dbf.DbaseFileReader.Row;
+import org.geotools.data.shapefile.files.FileWriter;
+import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.files.StorageFile;
+import org.geotools.data.shapefile.index.attribute.AttributeIndex;
+import org.geotools.data.shapefile.index.attribute.AttributeIndexBuilder;
+import org.geotools.data.util.NullProgressListener;
+import org.geotools.feature.type.BasicFeatureTypes;
+import org.geotools.util.URLs;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Builds the attribute index (.aix file) of a shapefile, indexing the values of the specified attributes, see
+ * {@link org.geotools.data.shapefile.index.attribute.AttributeIndex}. Character fields get string keys, numeric, date
+ * and logical fields get numeric ones.
+ */
+class AttributeIndexer implements FileWriter {
+    private static final Logger LOGGER = Logging.getLogger(AttributeIndexer.class);
+
+    private ShpFiles shpFiles;
+    private List<String> attributes = new ArrayList<>();
+    private Charset charset = ShapefileDataStore.DEFAULT_STRING_CHARSET;
+    private TimeZone timeZone = ShapefileDataStore.DEFAULT_TIMEZONE;
+
+    /**
+     * Indexes the attributes of the shapefile denoted by setShapeFileName(ShpFiles). Deleted records are not indexed.
+     *
+     * @return The number of indexed records
+     */
+    public int index(/*unused*/ ProgressListener listener) throws IOException {
+        if (this.shpFiles == null) {
+            throw new IOException("You have to set a shape file name!");
+        }
+
+        StorageFile storage = shpFiles.getStorageFile(ShpFileType.AIX);
+        int cnt = 0;
+        try (DbaseFileReader dbf = new DbaseFileReader(shpFiles, false, charset, timeZone)) {
+            LOGGER.fine("Building attribute index on " + attributes + " for file " + storage.getFile());
+            DbaseFileHeader header = dbf.getHeader();
+            Map<String, Integer> fields = getAttributeFields(header, shpFiles.exists(ShpFileType.SHP));
+            AttributeIndexBuilder builder = new AttributeIndexBuilder();
+            int[] dbfColumns = new int[attributes.size()];
+            boolean[] numeric = new boolean[attributes.size()];
+            for (int i = 0; i < attributes.size(); i++) {
+                String attribute = attributes.get(i);
+                Integer field = fields.get(attribute);
+                if (field == null) {
+                    throw new IllegalArgumentException("Attribute " + attribute + " not found in the dbf file");
+                }
+                Class<?> binding = header.getFieldClass(field);
+                if (String.class.equals(binding)) {
+                    builder.addStringColumn(attribute);
+                } else if (Number.class.isAssignableFrom(binding)
+                        || Date.class.isAssignableFrom(binding)
+                        || Boolean.class.equals(binding)) {
+                    builder.addNumericColumn(attribute);
+                    numeric[i] = true;
+                } else {
+                    throw new IllegalArgumentException(
+                            "Attribute " + attribute + " of type " + binding + " cannot be indexed");
+                }
+                dbfColumns[i] = field;
+            }
+
+            while (dbf.hasNext()) {
+                Row row = dbf.readRow();
+                int recno = cnt++;
+                if (row.isDeleted()) {
+                    continue;
+                }
+                for (int i = 0; i < dbfColumns.length; i++) {
+                    Object value = row.read(dbfColumns[i]);
+                    if (value == null) {
+                        continue;
+                    }
+                    if (numeric[i]) {
+                        builder.add(i, recno, toNumber(value));
+                    } else {
+                        builder.add(i, recno, value.toString());
+                    }
+                }
+            }
+            builder.write(storage.getFile());
+        }
+
+        // Final index file
+        storage.replaceOriginal();
+
+        return cnt;
+    }
+
+    /**
+     * Rebuilds the attribute index of a modified shapefile, if it has one, indexing the same attributes. Should the
+     * rebuild fail the index is removed, so that it cannot return out of date results.
+     */
+    static void update(ShpFiles shpFiles, Charset charset, TimeZone timeZone) throws IOException {
+        if (!shpFiles.isLocal() || !shpFiles.exists(ShpFileType.AIX)) {
+            return;
+        }
+        AttributeIndexer indexer = new AttributeIndexer();
+        URL url = shpFiles.acquireWrite(ShpFileType.AIX, indexer);
+        File file = URLs.urlToFile(url);
+        try {
+            List<String> attributes;
+            try (AttributeIndex index = AttributeIndex.open(file)) {
+                attributes = index.getAttributeNames();
+            }
+            indexer.setShapeFileName(shpFiles);
+            indexer.setAttributes(attributes);
+            indexer.setCharset(charset);
+            indexer.setTimeZone(timeZone);
+            indexer.index(new NullProgressListener());
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        } finally {
+            shpFiles.unlockWrite(url, indexer);
+        }
+    }
+
+    /** Turns a number, date or boolean into the double used as the index key */
+    static double toNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof Boolean) {
+            return ((Boolean) value) ? 1 : 0;
+        }
+        throw new IllegalArgumentException("Cannot index value " + value + " as a number");
+    }
+
+    /**
+     * Maps the feature attribute names to the dbf fields, renaming duplicate field names the same way {@link
+     * ShapefileFeatureSource} does when building the feature type
+     */
+    static Map<String, Integer> getAttributeFields(DbaseFileHeader header, boolean hasGeometry) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        if (hasGeometry) {
+            usedNames.add(BasicFeatureTypes.GEOMETRY_ATTRIBUTE_NAME);
+        }
+        for (int i = 0, ii = header.getNumFields(); i < ii; i++) {
+            String name = header.getFieldName(i);
+            if (usedNames.contains(name)) {
+                String original = name;
+                int count = 1;
+                name = name + count;
+                while (usedNames.contains(name)) {
+                    count++;
+                    name = original + count;
+                }
+            }
+            usedNames.add(name);
+            result.put(name, i);
+        }
+        return result;
+    }
+
+    public void setShapeFileName(ShpFiles shpFiles) {
+        this.shpFiles = shpFiles;
+    }
+
+    /** The names of the attributes to be indexed */
+    public void setAttributes(List<String> attributes) {
+        this.attributes = new ArrayList<>(attributes);
+    }
+
+    /** The charset used to decode the dbf character fields */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /** The time zone used to decode the dbf date fields */
+    public void setTimeZone(TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    @Override
+    public String id() {
+        return getClass().getName();
+    }
+}
@@ -16,7 +16,10 @@
  */
 package org.geotools.data.shapefile;
 
+import static org.geotools.data.shapefile.files.ShpFileType.AIX;
+import static org.geotools.data.shapefile.files.ShpFileType.DBF;
 import static org.geotools.data.shapefile.files.ShpFileType.FIX;
+import static org.geotools.data.shapefile.files.ShpFileType.HRX;
 import static org.geotools.data.shapefile.files.ShpFileType.QIX;
 import static org.geotools.data.shapefile.files.ShpFileType.SHP;
 import static org.geotools.data.shapefile.files.ShpFileType.SHX;
@@ -32,6 +35,8 @@
 import java.util.logging.Logger;
 import org.geotools.api.data.CloseableIterator;
 import org.geotools.api.data.DataSourceException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.identity.Identifier;
 import org.geotools.data.shapefile.fid.FidIndexer;
@@ -43,6 +48,8 @@
 import org.geotools.data.shapefile.index.Data;
 import org.geotools.data.shapefile.index.DataDefinition;
 import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.attribute.AttributeIndex;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTree;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
@@ -63,6 +70,12 @@ class IndexManager {
 
     static final int DEFAULT_MAX_QIX_CACHE_SIZE;
 
+    /**
+     * Maximum fraction of the records the attribute index can return for it to be used, above it reading the records
+     * in random order is slower than a sequential scan
+     */
+    static final double ATTRIBUTE_INDEX_MAX_SELECTIVITY = 0.5;
+
     ShpFiles shpFiles;
 
     int maxQixCacheSize = DEFAULT_MAX_QIX_CACHE_SIZE;
@@ -108,18 +121,37 @@ public IndexManager(ShpFiles shpFiles, ShapefileDataStore store) {
      *     the write lock on the QIX file is acquired, otherwise, it will do so only if the index is stale.
      */
     public boolean createSpatialIndex(boolean force) {
+        return createIndex(QIX, force);
+    }
+
+    /**
+     * Creates the packed Hilbert R-tree spatial index if appropriate. Once available, it will be preferred over the
+     * quadtree one.
+     *
+     * @param force Forces the index re-creation even if the spatial index seems to be up to date
+     * @return true if the spatial index has been created/updated
+     */
+    public boolean createHilbertIndex(boolean force) {
+        return createIndex(HRX, force);
+    }
+
+    private boolean createIndex(ShpFileType indexType, boolean force) {
         // create index as needed
         if (!shpFiles.isLocal()) {
             return false;
         }
         try {
-            if (isIndexStale(QIX) || force) {
-                // get a write lock on the .qix, waiting for other index builds
-                final URL treeURL = shpFiles.acquireWrite(QIX, writer);
+            if (isIndexStale(indexType) || force) {
+                // get a write lock on the index file, waiting for other index builds
+                final URL treeURL = shpFiles.acquireWrite(indexType, writer);
                 try {
                     // check again, may force be false and another thread just have created it
                     if (isIndexStale(treeURL) || force) {
-                        doCreateSpatialIndex();
+                        if (indexType == HRX) {
+                            doCreateHilbertIndex();
+                        } else {
+                            doCreateSpatialIndex();
+                        }
                         return true;
                     }
                 } finally {
@@ -140,6 +172,63 @@ protected void doCreateSpatialIndex() throws Exception {
         indexer.index(false, new NullProgressListener());
     }
 
+    protected void doCreateHilbertIndex() throws Exception {
+        ShapefileDataStoreFactory.LOGGER.fine("Creating Hilbert R-tree spatial index for " + shpFiles.get(SHP));
+
+        ShapeFileIndexer indexer = new ShapeFileIndexer();
+        indexer.setShapeFileName(shpFiles);
+        indexer.setIndexType(HRX);
+        indexer.index(false, new NullProgressListener());
+    }
+
+    /**
+     * Creates the attribute index if appropriate
+     *
+     * @param attributes The attributes to be indexed, or null to index the same attributes as the current index
+     * @param force Forces the index re-creation even if the index seems to be up to date
+     * @return true if the attribute index has been created/updated
+     */
+    public boolean createAttributeIndex(List<String> attributes, boolean force) {
+        if (!shpFiles.isLocal() || (attributes == null && !shpFiles.exists(AIX))) {
+            return false;
+        }
+        try {
+            if (isAttributeIndexStale() || force) {
+                // get a write lock on the index file, waiting for other index builds
+                final URL indexURL = shpFiles.acquireWrite(AIX, writer);
+                try {
+                    // check again, may force be false and another thread just have created it
+                    if (isAttributeIndexStale(indexURL) || force) {
+                        List<String> names = attributes;
+                        if (names == null) {
+                            try (AttributeIndex index = AttributeIndex.open(URLs.urlToFile(indexURL))) {
+                                names = index.getAttributeNames();
+                            }
+                        }
+                        doCreateAttributeIndex(names);
+                        return true;
+                    }
+                } finally {
+                    shpFiles.unlockWrite(indexURL, writer);
+                }
+            }
+        } catch (Throwable t) {
+            ShapefileDataStoreFactory.LOGGER.log(Level.SEVERE, t.getLocalizedMessage(), t);
+        }
+        return false;
+    }
+
+    protected void doCreateAttributeIndex(List<String> attributes) throws Exception {
+        ShapefileDataStoreFactory.LOGGER.fine("Creating attribute index for " + shpFiles.get(SHP));
+
+        AttributeIndexer indexer = new AttributeIndexer();
+        indexer.setShapeFileName(shpFiles);
+        indexer.setAttributes(attributes);
+        indexer.setCharset(store.getCharset());
+        indexer.setTimeZone(store.getTimeZone());
+        indexer.index(new NullProgressListener());
+    }
+
     /** If the fid index can be used and it is missing this method will try to create it */
     boolean hasFidIndex(boolean createIfMissing) {
         if (isIndexUseable(FIX)) {
@@ -184,7 +273,7 @@ boolean isIndexUseable(ShpFileType indexType) {
 
     /** Returns true if the index file is available */
     boolean isSpatialIndexAvailable() {
-        return shpFiles.isLocal() && shpFiles.exists(QIX);
+        return shpFiles.isLocal() && (shpFiles.exists(QIX) || shpFiles.exists(HRX));
     }
 
     /** Returns true if the specified index file is outdated compared to the shapefile .shp and .shx files */
@@ -203,6 +292,34 @@ boolean isIndexStale(ShpFileType indexType) {
         }
     }
 
+    /** Returns true if the attribute index file is outdated compared to the .shp, .shx and .dbf files */
+    boolean isAttributeIndexStale() {
+        final URL indexURL = shpFiles.acquireRead(AIX, writer);
+        try {
+            return isAttributeIndexStale(indexURL);
+        } finally {
+            if (indexURL != null) {
+                shpFiles.unlockRead(indexURL, writer);
+            }
+        }
+    }
+
+    /** The attribute index also needs to be rebuilt when only the attributes are modified */
+    private boolean isAttributeIndexStale(URL indexURL) {
+        if (isIndexStale(indexURL)) {
+            return true;
+        }
+        final URL dbfURL = shpFiles.acquireRead(DBF, writer);
+        try {
+            File dbfFile = URLs.urlToFile(dbfURL);
+            return dbfFile.exists() && URLs.urlToFile(indexURL).lastModified() < dbfFile.lastModified();
+        } finally {
+            if (dbfURL != null) {
+                shpFiles.unlockRead(dbfURL, writer);
+            }
+        }
+    }
+
     /**
      * Checks whether the index file addressed by {@code indexURL} is stale in relation to the {@code .shp/.shx} files
      * without needing to acquire a read-lock on the index URL itself, so it can be called from a method that already
@@ -284,11 +401,79 @@ List<Data> queryFidIndex(Id fidFilter) throws IOException {
         return records;
     }
 
+    /**
+     * Uses the attribute index, if available, to look up the records that might match the filter
+     *
+     * @param filter The query filter
+     * @param schema The feature type the filter refers to
+     * @return A list of Data objects, sorted by record number, or null if the index is not available, cannot be used
+     *     for the filter, or is not selective enough
+     */
+    List<Data> queryAttributeIndex(Filter filter, SimpleFeatureType schema) throws IOException {
+        if (!shpFiles.isLocal() || !shpFiles.exists(AIX) || !shpFiles.exists(SHX)) {
+            return null;
+        }
+        createAttributeIndex(null, false);
+        if (isAttributeIndexStale()) {
+            return null;
+        }
+
+        int[] recnos;
+        try (AttributeIndex index = openAttributeIndex()) {
+            if (index == null) {
+                return null;
+            }
+            recnos = new AttributeIndexQuery(index, schema).query(filter);
+        }
+        if (recnos == null) {
+            return null;
+        }
+
+        try (IndexFile shx = store.shpManager.openIndexFile()) {
+            if (recnos.length > shx.getRecordCount() * ATTRIBUTE_INDEX_MAX_SELECTIVITY) {
+                return null;
+            }
+            DataDefinition def = new DataDefinition("US-ASCII");
+            def.addField(Integer.class);
+            def.addField(Long.class);
+            List<Data> records = new ArrayList<>(recnos.length);
+            for (int recno : recnos) {
+                if (recno >= shx.getRecordCount()) {
+                    // should not happen with an up to date index
+                    continue;
+                }
+                try {
+                    Data data = new Data(def);
+                    data.addValue(Integer.valueOf(recno + 1));
+                    data.addValue(Long.valueOf(shx.getOffsetInBytes(recno)));
+                    records.add(data);
+                } catch (TreeException e) {
+                    throw new IOException(e);
+                }
+            }
+            return records;
+        }
+    }
+
     /** Queries the spatial index for features available in the specified bbox */
     protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
             throws DataSourceException, IOException, TreeException {
         CloseableIterator<Data> tmp = null;
 
+        // the Hilbert R-tree is only built on request, but once there it's preferred
+        if (shpFiles.isLocal() && shpFiles.exists(HRX)) {
+            createHilbertIndex(false);
+            @SuppressWarnings("PMD.CloseResource") // managed as part of the return
+            HilbertRTree hilbertTree = isIndexStale(HRX) ? null : openHilbertRTree();
+            if (hilbertTree != null) {
+                if (!bbox.contains(hilbertTree.getBounds())) {
+                    return hilbertTree.search(bbox);
+                }
+                hilbertTree.close();
+                return null;
+            }
+        }
+
         // check if the spatial index needs recreating
         createSpatialIndex(false);
 
@@ -368,6 +553,58 @@ protected QuadTree openQuadTree() throws StoreException {
         }
     }
 
+    /**
+     * Convenience method for opening the packed Hilbert R-tree index.
+     *
+     * @return A new HilbertRTree, or null if the index is not available
+     */
+    protected HilbertRTree openHilbertRTree() throws IOException {
+        if (!shpFiles.isLocal()) {
+            return null;
+        }
+        URL treeURL = shpFiles.acquireRead(HRX, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+
+            if (!treeFile.exists() || treeFile.length() == 0) {
+                return null;
+            }
+
+            return HilbertRTree.open(treeFile);
+        } catch (TreeException e) {
+            LOGGER.log(Level.WARNING, "Invalid Hilbert R-tree index " + treeURL + ", ignoring it", e);
+            return null;
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
+    /**
+     * Convenience method for opening the attribute index.
+     *
+     * @return A new AttributeIndex, or null if the index is not available
+     */
+    protected AttributeIndex openAttributeIndex() throws IOException {
+        if (!shpFiles.isLocal()) {
+            return null;
+        }
+        URL indexURL = shpFiles.acquireRead(AIX, writer);
+        try {
+            File indexFile = URLs.urlToFile(indexURL);
+
+            if (!indexFile.exists() || indexFile.length() == 0) {
+                return null;
+            }
+
+            return AttributeIndex.open(indexFile);
+        } catch (TreeException e) {
+            LOGGER.log(Level.WARNING, "Invalid attribute index " + indexURL + ", ignoring it", e);
+            return null;
+        } finally {
+            shpFiles.unlockRead(indexURL, writer);
+        }
+    }
+
     public void dispose() {
         this.cachedTree = null;
     }
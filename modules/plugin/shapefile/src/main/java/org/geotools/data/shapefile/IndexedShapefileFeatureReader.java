@@ -89,6 +89,9 @@ public boolean hasNext() throws IOException {
             if (dbf != null) {
                 ((IndexedDbaseFileReader) dbf).goTo(record.number);
                 row = dbf.readRow();
+                if (row.isDeleted() || (rawFilter != null && !rawFilter.accept(row))) {
+                    continue;
+                }
             } else {
                 row = null;
             }
@@ -107,6 +107,10 @@ public void close() throws IOException {
                 }
 
                 deleteFile(ShpFileType.QIX);
+                // the Hilbert R-tree is opt-in, rebuild it rather than dropping it
+                if (shpFiles.exists(ShpFileType.HRX)) {
+                    indexes.createHilbertIndex(true);
+                }
             }
         } catch (Throwable e) {
             ShapefileDataStoreFactory.LOGGER.log(Level.WARNING, "Error creating Spatial index", e);
@@ -0,0 +1,159 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.shapefile.dbf.DbaseFileHeader;
+import org.geotools.data.shapefile.dbf.DbaseFileReader;
+import org.geotools.data.shapefile.dbf.DbaseFileReader.Row;
+import org.geotools.filter.LikeMatcher;
+
+/**
+ * Pre-filters DBF rows evaluating string equality and LIKE prefix comparisons directly against the encoded bytes of
+ * character fields, before any field gets decoded. Only rows that cannot match are rejected, the full filter still
+ * needs to be evaluated on the accepted ones.
+ *
+ * <p>The comparisons are extracted from the top level filter, or from the children of a top level {@link And}.
+ */
+class RawDbfFilter {
+
+    int[] columns;
+
+    byte[][] values;
+
+    boolean[] prefixes;
+
+    private RawDbfFilter(List<Integer> columns, List<byte[]> values, List<Boolean> prefixes) {
+        int size = columns.size();
+        this.columns = new int[size];
+        this.values = new byte[size][];
+        this.prefixes = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            this.columns[i] = columns.get(i);
+            this.values[i] = values.get(i);
+            this.prefixes[i] = prefixes.get(i);
+        }
+    }
+
+    /**
+     * Builds a raw filter out of the comparisons found in the filter
+     *
+     * @param filter The filter to be evaluated on the features
+     * @param schema The schema of the features being read
+     * @param dbfindexes The dbf field of each schema attribute, -1 for the geometry
+     * @param dbf The reader the rows will be read from
+     * @return The raw filter, or null if the filter contains no comparison that can be evaluated on raw bytes
+     */
+    static RawDbfFilter build(Filter filter, SimpleFeatureType schema, int[] dbfindexes, DbaseFileReader dbf) {
+        if (filter == null || dbfindexes == null) {
+            return null;
+        }
+        List<Filter> candidates = new ArrayList<>();
+        if (filter instanceof And) {
+            candidates.addAll(((And) filter).getChildren());
+        } else {
+            candidates.add(filter);
+        }
+
+        List<Integer> columns = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        List<Boolean> prefixes = new ArrayList<>();
+        for (Filter candidate : candidates) {
+            String property = null;
+            String value = null;
+            boolean prefix = false;
+            if (candidate instanceof PropertyIsEqualTo) {
+                PropertyIsEqualTo equal = (PropertyIsEqualTo) candidate;
+                if (!equal.isMatchingCase()) {
+                    continue;
+                }
+                Expression e1 = equal.getExpression1();
+                Expression e2 = equal.getExpression2();
+                if (e1 instanceof Literal && e2 instanceof PropertyName) {
+                    Expression tmp = e1;
+                    e1 = e2;
+                    e2 = tmp;
+                }
+                if (e1 instanceof PropertyName && e2 instanceof Literal) {
+                    Object literal = ((Literal) e2).getValue();
+                    if (literal instanceof String) {
+                        property = ((PropertyName) e1).getPropertyName();
+                        value = (String) literal;
+                    }
+                }
+            } else if (candidate instanceof PropertyIsLike) {
+                PropertyIsLike like = (PropertyIsLike) candidate;
+                if (like.isMatchingCase() && like.getExpression() instanceof PropertyName) {
+                    // the literal text any matching value starts with
+                    value = LikeMatcher.get(like).getPrefix();
+                    if (value != null) {
+                        property = ((PropertyName) like.getExpression()).getPropertyName();
+                        prefix = true;
+                    }
+                }
+            }
+            if (property == null) {
+                continue;
+            }
+
+            int column = getCharacterColumn(property, schema, dbfindexes, dbf.getHeader());
+            byte[] encoded = column != -1 ? dbf.encode(value) : null;
+            if (encoded != null) {
+                columns.add(column);
+                values.add(encoded);
+                prefixes.add(prefix);
+            }
+        }
+
+        return columns.isEmpty() ? null : new RawDbfFilter(columns, values, prefixes);
+    }
+
+    /** Returns the dbf column of a String attribute stored in a character field, or -1 */
+    static int getCharacterColumn(String property, SimpleFeatureType schema, int[] dbfindexes, DbaseFileHeader header) {
+        int index = schema.indexOf(property);
+        if (index == -1 || dbfindexes[index] == -1) {
+            return -1;
+        }
+        AttributeDescriptor descriptor = schema.getDescriptor(index);
+        if (!String.class.equals(descriptor.getType().getBinding())) {
+            return -1;
+        }
+        int column = dbfindexes[index];
+        char type = header.getFieldType(column);
+        return type == 'C' || type == 'c' ? column : -1;
+    }
+
+    /** Returns false if the row cannot match the filter */
+    boolean accept(Row row) {
+        for (int i = 0; i < columns.length; i++) {
+            if (!row.matches(columns[i], values[i], prefixes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
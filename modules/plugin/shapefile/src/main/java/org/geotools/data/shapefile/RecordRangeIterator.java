@@ -0,0 +1,87 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.shp.IndexFile;
+
+/**
+ * Walks a contiguous range of records using the offsets stored in the .shx file, returning the same {@link Data}
+ * structure produced by the spatial and fid indexes (record number, offset in bytes), so that the range can be read
+ * with an {@link IndexedShapefileFeatureReader}.
+ */
+class RecordRangeIterator implements CloseableIterator<Data> {
+
+    static final DataDefinition DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DEFINITION.addField(Integer.class);
+        DEFINITION.addField(Long.class);
+    }
+
+    IndexFile shx;
+
+    int current;
+
+    int end;
+
+    /**
+     * Builds a new iterator
+     *
+     * @param shx The index file, will be closed along with this iterator
+     * @param start The first record, zero based, inclusive
+     * @param end The last record, zero based, exclusive
+     */
+    public RecordRangeIterator(IndexFile shx, int start, int end) {
+        this.shx = shx;
+        this.current = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current < end;
+    }
+
+    @Override
+    public Data next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records in range");
+        }
+        try {
+            Data data = new Data(DEFINITION);
+            data.addValue(Integer.valueOf(current + 1));
+            data.addValue(Long.valueOf(shx.getOffsetInBytes(current)));
+            current++;
+            return data;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read record " + current + " offset from the shx file", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (shx != null) {
+            shx.close();
+            shx = null;
+        }
+    }
+}
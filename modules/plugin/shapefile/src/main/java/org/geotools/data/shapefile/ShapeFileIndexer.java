@@ -36,12 +36,14 @@
 import org.geotools.data.shapefile.files.StorageFile;
 import org.geotools.data.shapefile.index.LockTimeoutException;
 import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTreeBuilder;
 import org.geotools.data.shapefile.index.quadtree.Node;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
 import org.geotools.data.shapefile.index.quadtree.fs.IndexHeader;
 import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapeType;
 import org.geotools.data.shapefile.shp.ShapefileHeader;
 import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.shapefile.shp.ShapefileReader.Record;
@@ -64,6 +66,7 @@ class ShapeFileIndexer implements FileWriter {
 
     private String byteOrder;
     private ShpFiles shpFiles;
+    private ShpFileType indexType = ShpFileType.QIX;
 
     public static void main(String[] args) throws IOException {
         if (args.length < 1 || (args.length - 1) % 2 != 0) {
@@ -76,9 +79,10 @@ public static void main(String[] args) throws IOException {
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("-t")) {
-                // idx.setIdxType(IndexType.valueOf(args[++i]));
-                // just skip it for backwards compatibility
-                i++;
+                // RTREE and QUADTREE are accepted for backwards compatibility, and map to the quadtree
+                if (ShpFileType.HRX.name().equalsIgnoreCase(args[++i])) {
+                    idx.setIndexType(ShpFileType.HRX);
+                }
             } else if (args[i].equals("-M")) {
                 idx.setMax(Integer.parseInt(args[++i]));
             } else if (args[i].equals("-s")) {
@@ -112,7 +116,7 @@ public static void main(String[] args) throws IOException {
 
     private static void usage() {
         System.out.println("Usage: ShapeFileIndexer "
-                + "-t <QIX> "
+                + "-t <QIX | HRX> "
                 + "[-M <max tree depth>] "
                 + "[-b <byte order NL | NM>] "
                 + "<shape file>"
@@ -121,7 +125,7 @@ private static void usage() {
         System.out.println();
 
         System.out.println("Options:");
-        System.out.println("\t-t Index type: RTREE or QUADTREE");
+        System.out.println("\t-t Index type: QIX (quadtree, default) or HRX (packed Hilbert R-tree)");
         System.out.println();
         System.out.println("Following options apllies only to QUADTREE:");
         System.out.println("\t-b byte order to use: NL = LSB; " + "NM = MSB (default)");
@@ -142,6 +146,10 @@ public int index(boolean verbose, /*unused*/ ProgressListener listener)
             throw new IOException("You have to set a shape file name!");
         }
 
+        if (indexType == ShpFileType.HRX) {
+            return indexHilbertRTree(verbose);
+        }
+
         int cnt = 0;
 
         // Temporary file for building...
@@ -162,6 +170,39 @@ public int index(boolean verbose, /*unused*/ ProgressListener listener)
         return cnt;
     }
 
+    /**
+     * Bulk loads a packed Hilbert R-tree from the record bounds, using the leaf size as the node size. Null shapes are
+     * not indexed, as they cannot match any bounding box.
+     */
+    private int indexHilbertRTree(boolean verbose) throws IOException {
+        StorageFile storage = shpFiles.getStorageFile(ShpFileType.HRX);
+        int cnt = 0;
+        try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory());
+                IndexFile shpIndex = new IndexFile(shpFiles, false)) {
+            LOGGER.fine("Building Hilbert R-tree spatial index for file " + storage.getFile());
+            HilbertRTreeBuilder builder = new HilbertRTreeBuilder(shpIndex.getRecordCount(), Math.max(2, leafSize));
+            while (reader.hasNext()) {
+                Record rec = reader.nextRecord();
+                int recno = cnt++;
+                if (rec.type != ShapeType.NULL) {
+                    builder.add(rec.minX, rec.minY, rec.maxX, rec.maxY, recno, shpIndex.getOffsetInBytes(recno));
+                }
+
+                if (verbose && cnt % 1_000 == 0) {
+                    System.out.print('.');
+                }
+            }
+            if (verbose) System.out.println("Storing the tree...");
+            builder.write(storage.getFile());
+            if (verbose) System.out.println("done");
+        }
+
+        // Final index file
+        storage.replaceOriginal();
+
+        return cnt;
+    }
+
     /**
      * Compute a reasonable index max depth, considering a fully developed 10 levels one already contains 200k index
      * nodes, good for indexing up to 3M features without consuming too much memory
@@ -380,6 +421,14 @@ public void setShapeFileName(ShpFiles shpFiles) {
         this.shpFiles = shpFiles;
     }
 
+    /** The type of index to build, either {@link ShpFileType#QIX} (the default) or {@link ShpFileType#HRX} */
+    public void setIndexType(ShpFileType indexType) {
+        if (indexType != ShpFileType.QIX && indexType != ShpFileType.HRX) {
+            throw new IllegalArgumentException("Unsupported spatial index type " + indexType);
+        }
+        this.indexType = indexType;
+    }
+
     /** @param byteOrder The byteOrder to set. */
     public void setByteOrder(String byteOrder) {
         this.byteOrder = byteOrder;
@@ -30,10 +30,12 @@
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.api.data.FeatureReader;
@@ -47,6 +49,8 @@
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.PartitionedFeatureReader;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.shapefile.dbf.DbaseFileException;
 import org.geotools.data.shapefile.dbf.DbaseFileHeader;
 import org.geotools.data.shapefile.files.ShpFileType;
@@ -60,6 +64,7 @@
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.NameImpl;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
@@ -83,12 +88,27 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     public static final TimeZone DEFAULT_TIMEZONE = (TimeZone) ShapefileDataStoreFactory.DBFTIMEZONE.getDefaultValue();
 
+    /**
+     * Query hint asking for geometries whose coordinate sequences read the ordinates lazily out of a memory mapping of
+     * the .shp file, instead of copying them. Meant for read only access where the geometries are discarded right after
+     * use, like rendering or bounding box filtering, it reduces allocation and garbage collection on large polygon and
+     * line layers. The sequences copy their ordinates on the first modification.
+     */
+    public static final Hints.Key LAZY_COORDINATES = new Hints.Key(Boolean.class);
+
     /**
      * When true, the stack trace that got a lock that wasn't released is recorded and then printed out when warning the
      * user about this.
      */
     protected static final Boolean TRACE_ENABLED = "true".equalsIgnoreCase(System.getProperty("gt2.shapefile.trace"));
 
+    /**
+     * The minimum number of records in a partition, files with fewer records than twice this value are always read
+     * sequentially
+     */
+    static final int DEFAULT_MIN_PARTITION_RECORDS =
+            Integer.getInteger("org.geotools.shapefile.minPartitionRecords", 10000);
+
     /** The stack trace used to track code that grabs the data store without disposing it */
     Exception trace;
 
@@ -118,6 +138,10 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     private boolean tryCPGFile = false;
 
+    int readThreads = 1;
+
+    int minPartitionRecords = DEFAULT_MIN_PARTITION_RECORDS;
+
     public ShapefileDataStore(URL url) {
         this(url, ShpFiles.DEFAULT_SKIP_SCAN);
     }
@@ -204,6 +228,28 @@ public void setIndexed(boolean indexed) {
         this.indexed = indexed;
     }
 
+    /**
+     * Builds, or rebuilds, the packed Hilbert R-tree spatial index (.hrx file). Once present it is used in place of
+     * the quadtree one, and kept up to date when the shapefile is modified.
+     *
+     * @return true if the index has been built
+     */
+    public boolean createHilbertIndex() {
+        return indexManager.createHilbertIndex(true);
+    }
+
+    /**
+     * Builds, or rebuilds, the attribute index (.aix file) on the specified attributes, replacing any previous one.
+     * Once present it is used to look up the records matching equality, IN and range filters on the indexed
+     * attributes, and kept up to date when the shapefile is modified.
+     *
+     * @param attributes The names of the attributes to be indexed
+     * @return true if the index has been built
+     */
+    public boolean createAttributeIndex(String... attributes) {
+        return indexManager.createAttributeIndex(Arrays.asList(attributes), true);
+    }
+
     /** The current max shapefile size */
     long getMaxShpSize() {
         return maxShpSize;
@@ -237,6 +283,56 @@ public void setTryCPGFile(boolean tryCPGFile) {
         this.tryCPGFile = tryCPGFile;
     }
 
+    /** Returns the number of threads used to scan the shapefile in parallel */
+    public int getReadThreads() {
+        return readThreads;
+    }
+
+    /**
+     * Sets the number of threads used to scan the shapefile in parallel. When greater than one, full scans and
+     * count/bounds/sum visitors will split the file in record ranges (using the offsets in the .shx file) and decode
+     * each range in a separate thread. The default value, one, disables parallel reads.
+     */
+    public void setReadThreads(int readThreads) {
+        if (readThreads < 1) {
+            throw new IllegalArgumentException("The number of read threads must be positive, but was " + readThreads);
+        }
+        this.readThreads = readThreads;
+    }
+
+    /**
+     * Returns record range partitions of the shapefile, located using the offsets in the .shx file, that can be read
+     * concurrently. Each partition reader must be opened, consumed and closed by the same thread, as it holds read
+     * locks on the files that are bound to the thread that acquired them. The query filter and property names are
+     * honored, sorting, paging and reprojection are not supported. The readers work in auto-commit mode.
+     *
+     * @param query The query
+     * @param partitions The desired number of partitions, fewer will be returned for small files, and a single one if
+     *     the file cannot be split (e.g., missing .shx or remote file)
+     * @return The partitions, following the natural order of the records
+     */
+    public List<Partition<SimpleFeatureType, SimpleFeature>> getFeatureReaderPartitions(Query query, int partitions)
+            throws IOException {
+        ShapefileFeatureSource source = new ShapefileFeatureSource(ensureEntry(getTypeName()), shpFiles);
+        return source.getPartitions(query, partitions);
+    }
+
+    /**
+     * Returns a reader merging the record range partitions of the shapefile, each one read by its own thread. See
+     * {@link #getFeatureReaderPartitions(Query, int)} for the limitations on the query.
+     *
+     * @param query The query
+     * @param partitions The desired number of partitions
+     * @param ordered If true the features are returned in natural order, otherwise in the order they get decoded
+     * @param executor The executor used to read the partitions, or null to use a shared default one
+     */
+    public FeatureReader<SimpleFeatureType, SimpleFeature> getPartitionedFeatureReader(
+            Query query, int partitions, boolean ordered, ExecutorService executor) throws IOException {
+        ShapefileFeatureSource source = new ShapefileFeatureSource(ensureEntry(getTypeName()), shpFiles);
+        return new PartitionedFeatureReader<>(
+                source.getResultSchema(query), source.getPartitions(query, partitions), executor, ordered);
+    }
+
     @Override
     public SimpleFeatureType getSchema() throws IOException {
         return getSchema(getTypeName());
@@ -466,6 +562,8 @@ public String toString() {
                 + indexed
                 + ", fidIndexed="
                 + fidIndexed
+                + ", readThreads="
+                + readThreads
                 + "]";
     }
 
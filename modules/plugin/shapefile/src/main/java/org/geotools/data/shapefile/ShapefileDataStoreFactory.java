@@ -177,6 +177,16 @@ public String text(Object value) {
             true,
             new KVP(Param.LEVEL, "advanced"));
 
+    /** Optional - number of threads used to scan the shapefile in parallel */
+    public static final Param READ_THREADS = new Param(
+            "read threads",
+            Integer.class,
+            "number of threads used to scan large shapefiles in parallel, splitting them in record ranges "
+                    + "(1 disables parallel reads)",
+            false,
+            1,
+            new KVP(Param.LEVEL, "advanced"));
+
     @Override
     public String getDisplayName() {
         return "Shapefile";
@@ -200,7 +210,8 @@ public Param[] getParametersInfo() {
             CACHE_MEMORY_MAPS,
             FILE_TYPE,
             FSTYPE,
-            SKIP_SCAN
+            SKIP_SCAN,
+            READ_THREADS
         };
     }
 
@@ -224,6 +235,7 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
         TimeZone dbfTimeZone = lookup(DBFTIMEZONE, params, TimeZone.class);
         Boolean isCreateSpatialIndex = lookup(CREATE_SPATIAL_INDEX, params, Boolean.class);
         Boolean skipScan = lookup(SKIP_SCAN, params, Boolean.class);
+        Integer readThreads = lookup(READ_THREADS, params, Integer.class);
         Boolean isEnableSpatialIndex = (Boolean) ENABLE_SPATIAL_INDEX.lookUp(params);
         if (isEnableSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -258,6 +270,7 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
             store.setTimeZone(dbfTimeZone);
             store.setIndexed(enableIndex);
             store.setIndexCreationEnabled(createIndex);
+            store.setReadThreads(readThreads);
             return store;
         }
     }
@@ -42,6 +42,11 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.data.DataUtilities;
+import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.files.StorageFile;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTreeBuilder;
+import org.geotools.data.shapefile.shp.IndexFile;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.store.FilteringFeatureCollection;
@@ -50,6 +55,7 @@
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.LineString;
@@ -86,6 +92,11 @@ private class StoreWriter {
 
         SimpleFeatureType schema;
 
+        /** Bounds of the records written in the current shapefile, used to build the spatial index */
+        double[] boxes = new double[64];
+
+        int records;
+
         /** */
         public StoreWriter(SimpleFeatureType schema) throws MalformedURLException, FileNotFoundException, IOException {
             // create the datastore for the current geom type
@@ -101,8 +112,7 @@ private void createStoreAndWriter(SimpleFeatureType schema)
 
         public void nextWriter() throws IOException {
             // close the old shapefile
-            this.writer.close();
-            this.dstore.dispose();
+            close();
 
             // prepare the new one
             currentFileId++;
@@ -114,10 +124,76 @@ public void nextWriter() throws IOException {
             // set it up at the current store and writer
             createStoreAndWriter(ft);
         }
+
+        /** Records the bounds of the feature just written, to build the spatial index */
+        public void written(SimpleFeature f) {
+            if (!spatialSort) {
+                return;
+            }
+            if (records * 4 == boxes.length) {
+                boxes = Arrays.copyOf(boxes, boxes.length * 2);
+            }
+            Geometry g = (Geometry) f.getDefaultGeometry();
+            int base = records * 4;
+            if (g == null || g.isEmpty()) {
+                // null shape, not indexed
+                boxes[base] = Double.NaN;
+            } else {
+                Envelope env = g.getEnvelopeInternal();
+                boxes[base] = env.getMinX();
+                boxes[base + 1] = env.getMinY();
+                boxes[base + 2] = env.getMaxX();
+                boxes[base + 3] = env.getMaxY();
+            }
+            records++;
+        }
+
+        /** Closes the writer and disposes the store, building the spatial index if the output is sorted */
+        public void close() throws IOException {
+            try {
+                writer.close();
+                if (spatialSort) {
+                    writeSpatialIndex();
+                }
+            } finally {
+                dstore.dispose();
+            }
+        }
+
+        /**
+         * Builds the Hilbert R-tree index from the bounds collected while writing, the record offsets are taken from
+         * the .shx file, so there is no need to read the .shp file back
+         */
+        private void writeSpatialIndex() throws IOException {
+            ShpFiles shpFiles = dstore.shpFiles;
+            StorageFile storage = shpFiles.getStorageFile(ShpFileType.HRX);
+            try (IndexFile shx = new IndexFile(shpFiles, false)) {
+                HilbertRTreeBuilder builder = new HilbertRTreeBuilder(records, SPATIAL_INDEX_NODE_SIZE);
+                for (int recno = 0; recno < records; recno++) {
+                    int base = recno * 4;
+                    if (!Double.isNaN(boxes[base])) {
+                        builder.add(
+                                boxes[base],
+                                boxes[base + 1],
+                                boxes[base + 2],
+                                boxes[base + 3],
+                                recno,
+                                shx.getOffsetInBytes(recno));
+                    }
+                }
+                builder.write(storage.getFile());
+            }
+            storage.replaceOriginal();
+            boxes = new double[64];
+            records = 0;
+        }
     }
 
     static final Logger LOGGER = Logging.getLogger(ShapefileDumper.class);
 
+    /** Node size of the spatial index built for spatially sorted output */
+    static final int SPATIAL_INDEX_NODE_SIZE = 16;
+
     File targetDirectory;
 
     long maxShpSize = ShapefileFeatureWriter.DEFAULT_MAX_SHAPE_SIZE;
@@ -128,6 +204,10 @@ public void nextWriter() throws IOException {
 
     Charset charset = (Charset) ShapefileDataStoreFactory.DBFCHARSET.getDefaultValue();
 
+    boolean spatialSort = false;
+
+    long sortMemoryBudget = SpatialSorter.DEFAULT_MEMORY_BUDGET;
+
     public ShapefileDumper(File targetDirectory) {
         this.targetDirectory = targetDirectory;
     }
@@ -179,6 +259,37 @@ public void setEmptyShapefileAllowed(boolean emptyShapefileAllowed) {
         this.emptyShapefileAllowed = emptyShapefileAllowed;
     }
 
+    /** Returns true if the features are sorted along a Hilbert curve before being written (false by default) */
+    public boolean isSpatialSort() {
+        return spatialSort;
+    }
+
+    /**
+     * Enables sorting the features along a Hilbert curve before writing them, so that features close in space are
+     * also close in the shp and dbf files, and bounding box reads touch fewer pages. The sort is an external merge sort
+     * spilling to temporary files past the {@link #setSortMemoryBudget(long) memory budget}, and each shapefile gets a
+     * packed Hilbert R-tree spatial index (.hrx file) built while writing it.
+     */
+    public void setSpatialSort(boolean spatialSort) {
+        this.spatialSort = spatialSort;
+    }
+
+    /** The approximate amount of memory, in bytes, used to hold features while sorting them */
+    public long getSortMemoryBudget() {
+        return sortMemoryBudget;
+    }
+
+    /**
+     * Sets the approximate amount of memory, in bytes, used to hold features while sorting them, past which sorted runs
+     * are spilled to disk. The default is 64MB.
+     */
+    public void setSortMemoryBudget(long sortMemoryBudget) {
+        if (sortMemoryBudget <= 0) {
+            throw new IllegalArgumentException("The memory budget must be positive, but was " + sortMemoryBudget);
+        }
+        this.sortMemoryBudget = sortMemoryBudget;
+    }
+
     /**
      * Dumps the collection into one or more shapefiles. Multiple files will be geneated when the input collection
      * contains multiple geometry types, or as the size limit for output files get reached
@@ -290,7 +401,7 @@ private boolean dumpSingleGeometry(String fileName, SimpleFeatureCollection fc,
         // we write all the features with no geometry type defined and NULL geometries to the same
         // file
         StoreWriter nullStoreWriter = null;
-        try (SimpleFeatureIterator it = fc.features()) {
+        try (SimpleFeatureIterator it = spatialSort ? new SpatialSorter(sortMemoryBudget).sort(fc) : fc.features()) {
             while (it.hasNext()) {
                 SimpleFeature f = it.next();
                 // if the geometry type is not defined and the geometry value is NULL we write it
@@ -316,6 +427,7 @@ private boolean dumpSingleGeometry(String fileName, SimpleFeatureCollection fc,
                     storeWriter.nextWriter();
                     writeToShapefile(f, storeWriter.writer);
                 }
+                storeWriter.written(f);
                 featuresWritten = true;
             }
 
@@ -348,8 +460,7 @@ private boolean dumpSingleGeometry(String fileName, SimpleFeatureCollection fc,
             for (StoreWriter sw : writersValues) {
                 try {
                     SimpleFeatureType writerSchema = sw.dstore.getSchema();
-                    sw.writer.close();
-                    sw.dstore.dispose();
+                    sw.close();
                     // notify subclasses that the file has been completed
                     shapefileDumped(writerSchema.getTypeName(), writerSchema);
                 } catch (IOException e) {
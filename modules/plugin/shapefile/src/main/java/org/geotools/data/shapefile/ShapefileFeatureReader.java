@@ -85,6 +85,9 @@ public String toString() {
 
     Filter filter;
 
+    /** Evaluates the string comparisons of the filter on the raw dbf bytes, may be null */
+    RawDbfFilter rawFilter;
+
     public ShapefileFeatureReader(
             SimpleFeatureType schema, ShapefileReader shp, DbaseFileReader dbf, IndexedFidReader fidReader)
             throws IOException {
@@ -178,7 +181,7 @@ public boolean hasNext() throws IOException {
                 Row row;
                 if (dbf != null) {
                     row = dbf.readRow();
-                    if (row.isDeleted()) {
+                    if (row.isDeleted() || (rawFilter != null && !rawFilter.accept(row))) {
                         continue;
                     }
                 } else {
@@ -340,6 +343,14 @@ public void setScreenMap(ScreenMap screenMap) {
         this.screenMap = screenMap;
     }
 
+    /**
+     * Enables the reuse of the same feature instance for all the records, see
+     * {@link org.geotools.util.factory.Hints#FEATURE_REUSE}
+     */
+    public void setFeatureReuse(boolean reuse) {
+        builder.setReuse(reuse);
+    }
+
     void disableShxUsage() throws IOException {
         this.shp.disableShxUsage();
     }
@@ -354,5 +365,6 @@ public Filter getFilter() {
 
     public void setFilter(Filter filter) {
         this.filter = filter;
+        this.rawFilter = dbf != null ? RawDbfFilter.build(filter, schema, dbfindexes, dbf) : null;
     }
 }
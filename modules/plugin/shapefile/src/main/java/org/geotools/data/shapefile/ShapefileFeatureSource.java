@@ -29,6 +29,7 @@
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.data.CloseableIterator;
@@ -36,12 +37,12 @@
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
-import org.geotools.api.feature.FeatureVisitor;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.feature.type.GeometryType;
+import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.expression.Expression;
@@ -57,6 +58,8 @@
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.EmptyFeatureReader;
+import org.geotools.data.PartitionedFeatureReader;
+import org.geotools.data.PartitionedFeatureReader.Partition;
 import org.geotools.data.PrjFileReader;
 import org.geotools.data.ReTypeFeatureReader;
 import org.geotools.data.shapefile.dbf.DbaseFileHeader;
@@ -71,6 +74,8 @@
 import org.geotools.data.shapefile.shp.JTSUtilities;
 import org.geotools.data.shapefile.shp.ShapefileHeader;
 import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.statistics.AttributeStatistics;
+import org.geotools.data.statistics.FeatureStatistics;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.data.util.ScreenMap;
@@ -79,6 +84,7 @@
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.feature.type.BasicFeatureTypes;
 import org.geotools.filter.FilterAttributeExtractor;
+import org.geotools.filter.visitor.CostBasedFilterOptimizer;
 import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.Classes;
@@ -197,6 +203,8 @@ public ShapefileFeatureSource(ContentEntry entry, ShpFiles shpFiles) {
         hints.add(Hints.JTS_COORDINATE_SEQUENCE_FACTORY);
         hints.add(Hints.GEOMETRY_DISTANCE);
         hints.add(Hints.SCREENMAP);
+        hints.add(ShapefileDataStore.LAZY_COORDINATES);
+        hints.add(Hints.FEATURE_REUSE);
         this.hints = Collections.unmodifiableSet(hints);
     }
 
@@ -277,26 +285,39 @@ protected int getCountInternal(Query query) throws IOException {
 
     @Override
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query q) throws IOException {
+        return getReaderInternal(q, true);
+    }
+
+    /**
+     * Returns the reader for the specified query
+     *
+     * @param q The query
+     * @param allowPartitioning When true, and the store is configured to read with multiple threads, full scans will
+     *     be split in record ranges read in parallel. When false a {@link ShapefileFeatureReader} is always returned
+     *     (possibly wrapped to perform retyping)
+     */
+    FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query q, boolean allowPartitioning)
+            throws IOException {
         SimpleFeatureType resultSchema = getResultSchema(q);
         SimpleFeatureType readSchema = getReadSchema(q);
-        GeometryFactory geometryFactory = getGeometryFactory(q);
 
         // grab the target bbox, if any
-        Envelope bbox = new ReferencedEnvelope();
-        if (q != null && q.getFilter() != null) {
-            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
-            if (bbox == null) {
-                bbox = new ReferencedEnvelope();
-            }
-        }
+        Envelope bbox = getTargetBBox(q);
 
         // see if we can use indexing to speedup the data access
         Filter filter = q != null ? q.getFilter() : null;
         IndexManager indexManager = getDataStore().indexManager;
         @SuppressWarnings("PMD.CloseResource") // eventually gets returned and managed in the reader
         CloseableIterator<Data> goodRecs = null;
-        if (getDataStore().isFidIndexed() && filter instanceof Id && indexManager.hasFidIndex(false)) {
-            Id fidFilter = (Id) filter;
+        // when statistics are available, pick the index reading the least records, and skip the spatial index if a
+        // sequential scan is cheaper (the estimate is NaN otherwise, and all comparisons with it are false)
+        FeatureStatistics statistics = getStatistics();
+        double spatialRecords = estimateRecords(statistics, bbox);
+        Id fidFilter = getIdFilter(filter);
+        if (getDataStore().isFidIndexed()
+                && fidFilter != null
+                && (fidFilter == filter || !(fidFilter.getIdentifiers().size() > spatialRecords))
+                && indexManager.hasFidIndex(false)) {
             if (indexManager.isIndexStale(ShpFileType.FIX)) {
                 indexManager.createFidIndex();
             }
@@ -304,7 +325,18 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             if (records != null) {
                 goodRecs = new CloseableIteratorWrapper<>(records.iterator());
             }
-        } else if (getDataStore().isIndexed()
+        }
+        // the attribute index is only built on request, returns null if missing or not selective enough
+        if (goodRecs == null && filter != null && filter != Filter.INCLUDE && getDataStore().isIndexed()) {
+            List<Data> records = indexManager.queryAttributeIndex(filter, getSchema());
+            if (records != null && !(records.size() > spatialRecords)) {
+                goodRecs = new CloseableIteratorWrapper<>(records.iterator());
+            }
+        }
+        if (goodRecs == null
+                && getDataStore().isIndexed()
+                && (statistics == null
+                        || !(spatialRecords > statistics.getCount() * IndexManager.ATTRIBUTE_INDEX_MAX_SELECTIVITY))
                 && !bbox.isNull()
                 && !Double.isInfinite(bbox.getWidth())
                 && !Double.isInfinite(bbox.getHeight())) {
@@ -323,6 +355,81 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             return new EmptyFeatureReader<>(resultSchema);
         }
 
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader = null;
+        if (goodRecs == null && allowPartitioning && canPartition(q)) {
+            // the features are buffered in queues, they cannot be reused
+            List<Partition<SimpleFeatureType, SimpleFeature>> partitions =
+                    getPartitions(withoutFeatureReuse(q), readSchema, bbox, getDataStore().getReadThreads());
+            if (partitions != null) {
+                reader = new PartitionedFeatureReader<>(readSchema, partitions, getExecutor(q), true);
+            }
+        }
+        if (reader == null) {
+            reader = openReader(q, readSchema, bbox, goodRecs);
+        }
+
+        // do the retyping
+        if (!FeatureTypes.equals(readSchema, resultSchema)) {
+            return new ReTypeFeatureReader(reader, resultSchema);
+        } else {
+            return reader;
+        }
+    }
+
+    /** Returns the id filter, either the filter itself or one of its AND children, if any */
+    static Id getIdFilter(Filter filter) {
+        if (filter instanceof Id) {
+            return (Id) filter;
+        } else if (filter instanceof And) {
+            for (Filter child : ((And) filter).getChildren()) {
+                if (child instanceof Id) {
+                    return (Id) child;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Estimates the number of records having a geometry intersecting the bounding box, or returns NaN if there are no
+     * statistics to base the estimate on
+     */
+    double estimateRecords(FeatureStatistics statistics, Envelope bbox) {
+        GeometryDescriptor geometry = getSchema().getGeometryDescriptor();
+        if (statistics == null || geometry == null || bbox.isNull()) {
+            return Double.NaN;
+        }
+        AttributeStatistics attribute = statistics.getAttribute(geometry.getLocalName());
+        return attribute == null ? Double.NaN : attribute.getBBoxSelectivity(bbox) * statistics.getCount();
+    }
+
+    /** Extracts the bounding box of the query filter, if any */
+    Envelope getTargetBBox(Query q) {
+        Envelope bbox = new ReferencedEnvelope();
+        if (q != null && q.getFilter() != null) {
+            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
+            if (bbox == null) {
+                bbox = new ReferencedEnvelope();
+            }
+        }
+        return bbox;
+    }
+
+    /**
+     * Opens a reader over the shapefile
+     *
+     * @param q The query
+     * @param readSchema The schema to be read
+     * @param bbox The target bbox, used to skip records quickly
+     * @param goodRecs The records to be read, or null to read the whole file sequentially
+     */
+    ShapefileFeatureReader openReader(
+            Query q, SimpleFeatureType readSchema, Envelope bbox, CloseableIterator<Data> goodRecs)
+            throws IOException {
+        Filter filter = q != null ? q.getFilter() : null;
+        IndexManager indexManager = getDataStore().indexManager;
+        GeometryFactory geometryFactory = getGeometryFactory(q);
+
         // get the .fix file reader, if we have a .fix file
         @SuppressWarnings("PMD.CloseResource") // wrapped and returned
         IndexedFidReader fidReader = null;
@@ -362,7 +469,7 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             reader = new ShapefileFeatureReader(readSchema, shapeReader, dbfReader, fidReader);
         }
         if (filter != null && !Filter.INCLUDE.equals(filter)) {
-            reader.setFilter(filter);
+            reader.setFilter(CostBasedFilterOptimizer.optimize(filter, getStatistics()));
         }
 
         // setup the target bbox if any, and the generalization hints if available
@@ -382,17 +489,132 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
                 if (Boolean.TRUE.equals(hints.get(Hints.FEATURE_2D))) {
                     shapeReader.setFlatGeometry(true);
                 }
+                if (shapeReader != null && Boolean.TRUE.equals(hints.get(ShapefileDataStore.LAZY_COORDINATES))) {
+                    shapeReader.setLazyCoordinates(true);
+                }
+                if (Boolean.TRUE.equals(hints.get(Hints.FEATURE_REUSE))) {
+                    reader.setFeatureReuse(true);
+                }
             }
         }
 
-        // do the retyping
-        if (!FeatureTypes.equals(readSchema, resultSchema)) {
-            return new ReTypeFeatureReader(reader, resultSchema);
-        } else {
-            return reader;
+        return reader;
+    }
+
+    /**
+     * Checks if the query can be read using record range partitions: the files need to be local, uncompressed, have a
+     * .shx file, and the query cannot use a screenmap (it's not thread safe)
+     */
+    boolean canPartition(Query q) {
+        ShpFiles files = getDataStore().shpManager.shpFiles;
+        return getDataStore().getReadThreads() > 1
+                && files.isLocal()
+                && !files.isGz()
+                && files.exists(ShpFileType.SHP)
+                && files.exists(ShpFileType.SHX)
+                && (q == null || q.getHints() == null || q.getHints().get(Hints.SCREENMAP) == null);
+    }
+
+    /**
+     * Splits the shapefile in record ranges, using the offsets in the .shx file, and returns a partition for each one.
+     * The partitions are opened by the thread reading them, as the file read locks are bound to the thread that
+     * acquired them.
+     *
+     * @param q The query
+     * @param readSchema The schema to be read
+     * @param bbox The target bbox, if any
+     * @param partitions The desired number of partitions
+     * @return The partitions, or null if the file is too small to be split
+     */
+    List<Partition<SimpleFeatureType, SimpleFeature>> getPartitions(
+            Query q, SimpleFeatureType readSchema, Envelope bbox, int partitions) throws IOException {
+        int records;
+        try (IndexFile shx = getDataStore().shpManager.openIndexFile()) {
+            if (shx == null) {
+                return null;
+            }
+            records = shx.getRecordCount();
+        }
+        partitions = Math.min(partitions, records / Math.max(1, getDataStore().minPartitionRecords));
+        if (partitions < 2) {
+            return null;
+        }
+
+        List<Partition<SimpleFeatureType, SimpleFeature>> result = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int start = (int) ((long) records * i / partitions);
+            int end = (int) ((long) records * (i + 1) / partitions);
+            result.add(() -> {
+                @SuppressWarnings("PMD.CloseResource") // managed by the returned reader
+                IndexFile shx = getDataStore().shpManager.openIndexFile();
+                if (shx == null) {
+                    throw new IOException("Could not open the .shx file for " + shpFiles.get(ShpFileType.SHP));
+                }
+                return openReader(q, readSchema, bbox, new RecordRangeIterator(shx, start, end));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Returns record range partitions of the shapefile. The query filter and property names are honored, sorting,
+     * paging and reprojection are not.
+     *
+     * @param q The query
+     * @param partitions The desired number of partitions (can be fewer, if the file is too small)
+     * @return The partitions, in natural order of the records, or a list with a single one if the file cannot be split
+     */
+    List<Partition<SimpleFeatureType, SimpleFeature>> getPartitions(Query q, int partitions) throws IOException {
+        checkPartitionableQuery(q);
+        SimpleFeatureType readSchema = getReadSchema(q);
+        Envelope bbox = getTargetBBox(q);
+        List<Partition<SimpleFeatureType, SimpleFeature>> result = null;
+        ShpFiles files = getDataStore().shpManager.shpFiles;
+        if (files.isLocal() && !files.isGz() && files.exists(ShpFileType.SHX)) {
+            result = getPartitions(q, readSchema, bbox, partitions);
+        }
+        if (result == null) {
+            result = new ArrayList<>();
+            result.add(() -> openReader(q, readSchema, bbox, null));
+        }
+        return retype(result, readSchema, getResultSchema(q));
+    }
+
+    /** Wraps the partitions so that they return the result schema, if it differs from the read one */
+    private List<Partition<SimpleFeatureType, SimpleFeature>> retype(
+            List<Partition<SimpleFeatureType, SimpleFeature>> partitions,
+            SimpleFeatureType readSchema,
+            SimpleFeatureType resultSchema) {
+        if (partitions == null || FeatureTypes.equals(readSchema, resultSchema)) {
+            return partitions;
+        }
+        List<Partition<SimpleFeatureType, SimpleFeature>> retyped = new ArrayList<>();
+        for (Partition<SimpleFeatureType, SimpleFeature> partition : partitions) {
+            retyped.add(() -> new ReTypeFeatureReader(partition.open(), resultSchema));
+        }
+        return retyped;
+    }
+
+    private void checkPartitionableQuery(Query q) {
+        if (q.getSortBy() != null && q.getSortBy().length > 0) {
+            throw new IllegalArgumentException("Partitioned reads do not support sorting");
+        }
+        if (q.getStartIndex() != null || !q.isMaxFeaturesUnlimited()) {
+            throw new IllegalArgumentException("Partitioned reads do not support paging");
+        }
+        if (q.getCoordinateSystemReproject() != null || q.getCoordinateSystem() != null) {
+            throw new IllegalArgumentException("Partitioned reads do not support reprojection");
         }
     }
 
+    /** Returns the executor service provided in the query hints, if any */
+    ExecutorService getExecutor(Query q) {
+        if (q != null && q.getHints() != null) {
+            return (ExecutorService) q.getHints().get(Hints.EXECUTOR_SERVICE);
+        }
+        return null;
+    }
+
     SimpleFeatureType getResultSchema(Query q) {
         if (q.getPropertyNames() == null) {
             return getSchema();
@@ -586,8 +808,27 @@ protected List<AttributeDescriptor> readAttributes() throws IOException {
         }
     }
 
+    /**
+     * Splits the file in record ranges, so that visitors that can be split in partial calculations are run in parallel.
+     * Only enabled when the store is configured to read with multiple threads.
+     */
     @Override
-    protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
-        return super.handleVisitor(query, visitor);
+    protected List<Partition<SimpleFeatureType, SimpleFeature>> getReaderPartitionsInternal(
+            Query query, int partitions) throws IOException {
+        if (!canPartition(query)) {
+            return null;
+        }
+        SimpleFeatureType readSchema = getReadSchema(query);
+        return retype(
+                getPartitions(query, readSchema, getTargetBBox(query), partitions), readSchema, getResultSchema(query));
+    }
+
+    /** Visits in parallel with as many partitions as read threads, unless the query hints say otherwise */
+    @Override
+    protected int getVisitorParallelism(Query query) {
+        if (query.getHints() != null && query.getHints().get(Hints.VISITOR_PARALLELISM) != null) {
+            return super.getVisitorParallelism(query);
+        }
+        return getDataStore().getReadThreads();
     }
 }
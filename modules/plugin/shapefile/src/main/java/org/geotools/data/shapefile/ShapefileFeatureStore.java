@@ -61,7 +61,7 @@ protected FeatureWriter<SimpleFeatureType, SimpleFeature> getWriterInternal(Quer
         }
 
         @SuppressWarnings("PMD.CloseResource") // managed as part of the writer
-        ShapefileFeatureReader reader = (ShapefileFeatureReader) delegate.getReaderInternal(Query.ALL);
+        ShapefileFeatureReader reader = (ShapefileFeatureReader) delegate.getReaderInternal(Query.ALL, false);
         ShapefileFeatureWriter writer;
         ShapefileDataStore ds = getDataStore();
         if (ds.indexManager.hasFidIndex(false) || ds.isFidIndexed() && ds.indexManager.hasFidIndex(true)) {
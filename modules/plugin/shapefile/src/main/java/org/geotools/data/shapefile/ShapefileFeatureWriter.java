@@ -26,6 +26,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.logging.Level;
 import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -265,6 +266,13 @@ public void close() throws IOException {
             doClose();
             clean();
         }
+
+        // keep the attribute index, if any, in synch with the new contents
+        try {
+            AttributeIndexer.update(shpFiles, dbfCharset, dbfTimeZone);
+        } catch (Throwable e) {
+            ShapefileDataStoreFactory.LOGGER.log(Level.WARNING, "Error updating the attribute index", e);
+        }
     }
 
     @SuppressWarnings("PMD.UseTryWithResources") // resources not created here
@@ -0,0 +1,315 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.geotools.data.shapefile.index.hilbert.HilbertRTreeBuilder.HILBERT_MAX;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTreeBuilder;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.sort.SimpleFeatureIO;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.Converters;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Returns the features of a collection sorted along a Hilbert curve laid over the collection bounds, so that features
+ * close in space end up close in the output. The sort is an external merge sort: features are accumulated in memory up
+ * to the memory budget, then sorted and spilled to a temporary file as a run, and the runs are finally merged while
+ * iterating. Features without a geometry are returned last, features with the same curve position keep their original
+ * order.
+ */
+class SpatialSorter {
+
+    static final Logger LOGGER = Logging.getLogger(SpatialSorter.class);
+
+    /** Default amount of memory used to hold features before spilling them to disk, 64MB */
+    static final long DEFAULT_MEMORY_BUDGET = 64 * 1024 * 1024;
+
+    /** Curve position of features without a geometry */
+    static final long NO_GEOMETRY = Long.MAX_VALUE;
+
+    long memoryBudget;
+
+    public SpatialSorter(long memoryBudget) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("The memory budget must be positive, but was " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    /** Returns an iterator over the sorted features, to be closed once done to remove the temporary files */
+    public SimpleFeatureIterator sort(SimpleFeatureCollection fc) throws IOException {
+        ReferencedEnvelope bounds = fc.getBounds();
+        if (bounds == null || bounds.isNull()) {
+            // nothing to sort on
+            return fc.features();
+        }
+
+        SimpleFeatureType schema = fc.getSchema();
+        List<Item> items = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        long used = 0;
+        long sequence = 0;
+        File file = null;
+        SimpleFeatureIO io = null;
+        boolean cleanFile = true;
+        try (SimpleFeatureIterator it = fc.features()) {
+            while (it.hasNext()) {
+                SimpleFeature f = it.next();
+                items.add(new Item(getCurvePosition(f, bounds), sequence++, f));
+                used += DataUtilities.estimateSize(f);
+                if (used >= memoryBudget) {
+                    if (io == null) {
+                        file = File.createTempFile("spatial", ".features");
+                        io = new SimpleFeatureIO(file, schema);
+                    }
+                    runs.add(storeRun(io, schema, items, runs.size()));
+                    items.clear();
+                    used = 0;
+                }
+            }
+
+            items.sort(Item.COMPARATOR);
+            if (io == null) {
+                // everything fit in memory
+                return new ListIterator(items);
+            }
+            if (!items.isEmpty()) {
+                runs.add(storeRun(io, schema, items, runs.size()));
+                items.clear();
+            }
+            cleanFile = false;
+            return new MergeIterator(io, runs, bounds);
+        } finally {
+            if (cleanFile && io != null) {
+                io.close(true);
+            }
+        }
+    }
+
+    /**
+     * Computes the position along the Hilbert curve of the feature geometry center, as an unsigned int, or
+     * {@link #NO_GEOMETRY}
+     */
+    static long getCurvePosition(SimpleFeature f, Envelope bounds) {
+        Geometry g = (Geometry) f.getDefaultGeometry();
+        if (g == null || g.isEmpty()) {
+            return NO_GEOMETRY;
+        }
+        Envelope env = g.getEnvelopeInternal();
+        int x = toCell((env.getMinX() + env.getMaxX()) / 2, bounds.getMinX(), bounds.getWidth());
+        int y = toCell((env.getMinY() + env.getMaxY()) / 2, bounds.getMinY(), bounds.getHeight());
+        return HilbertRTreeBuilder.hilbert(x, y) & 0xFFFFFFFFL;
+    }
+
+    private static int toCell(double ordinate, double min, double span) {
+        if (!(span > 0)) {
+            return 0;
+        }
+        int cell = (int) (HILBERT_MAX * (ordinate - min) / span);
+        return Math.max(0, Math.min(HILBERT_MAX, cell));
+    }
+
+    /** Sorts the items and appends them to the file as a new run */
+    private static Run storeRun(SimpleFeatureIO io, SimpleFeatureType schema, List<Item> items, int index)
+            throws IOException {
+        items.sort(Item.COMPARATOR);
+        long start = io.getOffset();
+        for (Item item : items) {
+            io.write(normalize(item.feature, schema));
+        }
+        return new Run(index, start, items.size());
+    }
+
+    /**
+     * {@link SimpleFeatureIO} relies on the attribute values being exactly of the class declared by the schema, convert
+     * the ones that are not
+     */
+    private static SimpleFeature normalize(SimpleFeature f, SimpleFeatureType schema) {
+        SimpleFeatureBuilder builder = null;
+        for (int i = 0; i < schema.getAttributeCount(); i++) {
+            Object value = f.getAttribute(i);
+            AttributeDescriptor descriptor = schema.getDescriptor(i);
+            Class<?> binding = descriptor.getType().getBinding();
+            if (value == null || value.getClass() == binding || binding.isInstance(value)) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new SimpleFeatureBuilder(schema);
+                builder.init(f);
+            }
+            builder.set(i, Converters.convert(value, binding));
+        }
+        return builder == null ? f : builder.buildFeature(f.getID());
+    }
+
+    /** A feature along with its sort key */
+    static class Item {
+
+        static final Comparator<Item> COMPARATOR =
+                Comparator.<Item>comparingLong(i -> i.position).thenComparingLong(i -> i.sequence);
+
+        long position;
+
+        long sequence;
+
+        SimpleFeature feature;
+
+        Item(long position, long sequence, SimpleFeature feature) {
+            this.position = position;
+            this.sequence = sequence;
+            this.feature = feature;
+        }
+    }
+
+    /** A sorted block of features in the temporary file */
+    static class Run {
+
+        /**
+         * Runs hold consecutive ranges of the input, comparing their index on ties keeps the original order across runs
+         */
+        static final Comparator<Run> COMPARATOR =
+                Comparator.<Run>comparingLong(r -> r.current.position).thenComparingInt(r -> r.index);
+
+        int index;
+
+        long offset;
+
+        int remaining;
+
+        Item current;
+
+        Run(int index, long offset, int count) {
+            this.index = index;
+            this.offset = offset;
+            this.remaining = count;
+        }
+    }
+
+    /** Iterates over the features that did fit in memory */
+    static class ListIterator implements SimpleFeatureIterator {
+
+        List<Item> items;
+
+        int next;
+
+        ListIterator(List<Item> items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < items.size();
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.get(next++).feature;
+        }
+
+        @Override
+        public void close() {
+            items = new ArrayList<>();
+        }
+    }
+
+    /** Merges the sorted runs, deleting the temporary file on close */
+    static class MergeIterator implements SimpleFeatureIterator {
+
+        SimpleFeatureIO io;
+
+        Envelope bounds;
+
+        PriorityQueue<Run> queue;
+
+        MergeIterator(SimpleFeatureIO io, List<Run> runs, Envelope bounds) throws IOException {
+            this.io = io;
+            this.bounds = bounds;
+            this.queue = new PriorityQueue<>(Math.max(1, runs.size()), Run.COMPARATOR);
+            for (Run run : runs) {
+                if (advance(run)) {
+                    queue.add(run);
+                }
+            }
+        }
+
+        private boolean advance(Run run) throws IOException {
+            if (run.remaining <= 0) {
+                run.current = null;
+                return false;
+            }
+            io.seek(run.offset);
+            SimpleFeature f = io.read();
+            run.offset = io.getOffset();
+            run.remaining--;
+            run.current = new Item(getCurvePosition(f, bounds), 0, f);
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            Run run = queue.poll();
+            if (run == null) {
+                throw new NoSuchElementException();
+            }
+            SimpleFeature result = run.current.feature;
+            try {
+                if (advance(run)) {
+                    queue.add(run);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read the sorted features back", e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            queue.clear();
+            try {
+                io.close(true);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to remove the temporary sort file", e);
+            }
+        }
+    }
+}
@@ -26,10 +26,13 @@
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import java.util.Locale;
@@ -78,6 +81,42 @@ public Object read(final int column) throws IOException {
             return readObject(offset, column);
         }
 
+        /**
+         * Compares the raw bytes of a character field with an encoded value, without decoding the field. Leading and
+         * trailing spaces are ignored, the same way they are when the field is read as a String.
+         *
+         * @param column The field number (zero based), must be a character field
+         * @param value The value, encoded with {@link DbaseFileReader#encode(String)}
+         * @param prefix If true checks the field starts with the value, otherwise checks it's equal to it
+         * @return True if the field matches, false if it does not match or is null
+         */
+        public boolean matches(final int column, final byte[] value, final boolean prefix) {
+            final int base = recordStart + fieldOffsets[column];
+            final int fieldLen = fieldLengths[column];
+            // a leading null terminator makes the value null
+            if (fieldLen == 0 || buffer.get(base) == '\0') {
+                return false;
+            }
+            int start = base;
+            int end = base + fieldLen;
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            final int length = end - start;
+            if (length < value.length || (!prefix && length != value.length)) {
+                return false;
+            }
+            for (int i = 0; i < value.length; i++) {
+                if (buffer.get(start + i) != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         public String toString() {
             final StringBuffer ret = new StringBuffer("DBF Row - ");
@@ -114,6 +153,9 @@ public boolean isDeleted() {
 
     int cnt = 1;
 
+    /** Position in the buffer of the current record, just after the deleted flag */
+    int recordStart;
+
     Row row;
 
     protected boolean useMemoryMappedBuffer;
@@ -127,6 +169,9 @@ public boolean isDeleted() {
 
     private boolean oneBytePerChar;
 
+    /** Whether the character fields can be compared in their encoded form, see {@link #encode(String)} */
+    private boolean rawComparable;
+
     private Calendar calendar;
 
     private final long MILLISECS_PER_DAY = 24 * 60 * 60 * 1000;
@@ -246,6 +291,7 @@ private void doInit(boolean useMemoryMappedBuffer, Charset charset, TimeZone tim
         // check if we working with a latin-1 char Charset
         final String cname = stringCharset.name();
         oneBytePerChar = "ISO-8859-1".equals(cname) || "US-ASCII".equals(cname);
+        rawComparable = oneBytePerChar || isRawComparable(stringCharset);
 
         row = new Row();
     }
@@ -394,11 +440,14 @@ public Object[] readEntry(final Object[] entry, final int offset) throws IOExcep
             return null;
         }
 
+        // all fields are needed, copy the whole record in one shot
+        buffer.get(recordStart, bytes, 0, bytes.length);
+
         // retrieve the record length
         final int numFields = header.getNumFields();
 
         for (int j = 0; j < numFields; j++) {
-            entry[j + offset] = readObject(fieldOffsets[j], j);
+            entry[j + offset] = decodeObject(fieldOffsets[j], j);
         }
 
         return entry;
@@ -429,23 +478,21 @@ public void transferTo(final DbaseFileWriter writer) throws IOException {
     /**
      * Reads the next record into memory. You need to use this directly when reading only a subset of the fields using
      * {@link #readField(int)}.
+     *
+     * <p>The record is not copied nor decoded, each field is copied out of the buffer and decoded only when read, so
+     * that the fields that are not requested are just skipped over. The fields are available until the next call to
+     * this method.
      */
     public void read() throws IOException {
-        boolean foundRecord = false;
-        while (!foundRecord) {
-
-            bufferCheck();
-
-            // read the deleted flag
-            final char deleted = (char) buffer.get();
-            row.deleted = deleted == '*';
+        bufferCheck();
 
-            buffer.limit(buffer.position() + header.getRecordLength() - 1);
-            buffer.get(bytes); // SK: There is a side-effect here!!!
-            buffer.limit(buffer.capacity());
+        // read the deleted flag
+        final char deleted = (char) buffer.get();
+        row.deleted = deleted == '*';
 
-            foundRecord = true;
-        }
+        // skip over the record, fields are copied lazily
+        recordStart = buffer.position();
+        buffer.position(recordStart + header.getRecordLength() - 1);
 
         cnt++;
     }
@@ -462,6 +509,14 @@ public Object[] readEntry(final Object[] entry) throws IOException {
     }
 
     private Object readObject(final int fieldOffset, final int fieldNum) throws IOException {
+        if (fieldLengths[fieldNum] > 0) {
+            buffer.get(recordStart + fieldOffset, bytes, fieldOffset, fieldLengths[fieldNum]);
+        }
+        return decodeObject(fieldOffset, fieldNum);
+    }
+
+    /** Decodes a field, assuming its bytes have already been copied in the {@link #bytes} array */
+    private Object decodeObject(final int fieldOffset, final int fieldNum) throws IOException {
         final char type = fieldTypes[fieldNum];
         final int fieldLen = fieldLengths[fieldNum];
         Object object = null;
@@ -604,6 +659,76 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
         return object;
     }
 
+    /**
+     * Encodes a string the same way character fields are stored in this file, allowing comparisons with
+     * {@link Row#matches(int, byte[], boolean)} that do not require decoding the fields.
+     *
+     * @param value The value to encode
+     * @return The encoded value, or null if the value cannot be compared in encoded form, because the charset is not
+     *     suitable, or the value contains characters the charset cannot represent
+     */
+    public byte[] encode(final String value) {
+        // the replacement char might match malformed input after decoding, cannot compare raw bytes
+        if (!rawComparable || value.indexOf('\uFFFD') >= 0) {
+            return null;
+        }
+        if (oneBytePerChar) {
+            // mirror fastParse, each byte is a char
+            final byte[] result = new byte[value.length()];
+            for (int i = 0; i < result.length; i++) {
+                final char c = value.charAt(i);
+                if (c > 0xFF) {
+                    return null;
+                }
+                result[i] = (byte) c;
+            }
+            return result;
+        }
+        try {
+            final ByteBuffer encoded = stringCharset
+                    .newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .encode(CharBuffer.wrap(value));
+            final byte[] result = new byte[encoded.remaining()];
+            encoded.get(result);
+            return result;
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if strings encoded in the charset can be compared byte by byte, and trimmed by looking at the bytes
+     * alone: UTF-8, and single byte charsets that are a superset of US-ASCII
+     */
+    static boolean isRawComparable(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return true;
+        }
+        try {
+            if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1) {
+                return false;
+            }
+            final char[] ascii = new char[128];
+            for (int i = 0; i < ascii.length; i++) {
+                ascii[i] = (char) i;
+            }
+            final byte[] encoded = new String(ascii).getBytes(charset);
+            if (encoded.length != ascii.length) {
+                return false;
+            }
+            for (int i = 0; i < encoded.length; i++) {
+                if (encoded[i] != i) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
     /**
      * Performs a faster byte[] to String conversion under the assumption the content is represented with one byte per
      * char
@@ -24,10 +24,13 @@
 import java.nio.channels.FileLock;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A FileChannel that delegates all calls to the underlying FileChannel but for {@link #implCloseChannel()} it also
- * calls ShapefileFiles.unlock method to release the lock on the URL.
+ * calls ShapefileFiles.unlock method to release the lock on the URL, and releases the memory mapped buffers obtained
+ * from the channel.
  *
  * @author jesse
  */
@@ -39,6 +42,7 @@ public class FileChannelDecorator extends FileChannel implements ReadableByteCha
     private final FileReader reader;
     private final FileWriter writer;
     private boolean closed;
+    private final List<MemoryMapCache.Mapping> mappings = new ArrayList<>();
 
     public FileChannelDecorator(FileChannel channel, ShpFiles shapefileFiles, URL url, FileReader requestor) {
         this.wrapped = channel;
@@ -70,7 +74,11 @@ public FileLock lock(long position, long size, boolean shared) throws IOExceptio
     @Override
     public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
         //    	return wrapped.map(mode, position, size)
-        return shapefileFiles.map(wrapped, url, mode, position, size);
+        MemoryMapCache.Mapping mapping = shapefileFiles.map(wrapped, url, mode, position, size);
+        synchronized (mappings) {
+            mappings.add(mapping);
+        }
+        return mapping.buffer;
     }
 
     @Override
@@ -143,6 +151,10 @@ protected void implCloseChannel() throws IOException {
         try {
             wrapped.close();
         } finally {
+            synchronized (mappings) {
+                mappings.forEach(shapefileFiles::release);
+                mappings.clear();
+            }
             if (!closed) {
                 closed = true;
                 if (reader != null) {
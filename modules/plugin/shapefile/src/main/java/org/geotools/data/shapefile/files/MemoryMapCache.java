@@ -24,57 +24,165 @@
 import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.util.NIOUtilities;
-import org.geotools.util.SoftValueHashMap;
-import org.geotools.util.SoftValueHashMap.ValueCleaner;
 import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
 
 /**
  * A cache for memory mapped buffers, used to avoid generating over and over read only memory mapped buffers. Mapping a
- * file is a synchronized operation, plus by generating light copies the same buffer can be shared by various threads
+ * file is a costly operation, plus by generating light copies the same buffer can be shared by various threads.
+ *
+ * <p>The cache is shared by all the shapefiles, and bounds the total amount of mapped bytes: when the limit is exceeded
+ * the least recently used buffers are unmapped right away, instead of waiting for the garbage collector. Each buffer
+ * handed out is tracked until the channel that requested it is closed, buffers still in use are never unmapped, so the
+ * limit can be temporarily exceeded if all the cached buffers are in use.
+ *
+ * <p>Misses lock only one of a set of lock stripes, chosen by file, so that different files can be mapped concurrently.
  *
  * @author Andrea Aime - OpenGeo
  */
-class MemoryMapCache {
+public class MemoryMapCache {
 
     static final Logger LOGGER = Logging.getLogger(MemoryMapCache.class);
 
-    SoftValueHashMap<MappingKey, MappedByteBuffer> buffers = new SoftValueHashMap<>(0, new BufferCleaner());
+    /** The default limit in bytes, configurable with the "org.geotools.shapefile.memoryMapCacheSize" system property */
+    static final long DEFAULT_MAX_SIZE = Long.getLong("org.geotools.shapefile.memoryMapCacheSize", 1024L * 1024 * 1024);
+
+    static final int LOCK_STRIPES = 32;
+
+    static final MemoryMapCache INSTANCE = new MemoryMapCache(DEFAULT_MAX_SIZE);
+
+    final Map<MappingKey, Entry> buffers = new ConcurrentHashMap<>();
+
+    final Object[] locks = new Object[LOCK_STRIPES];
+
+    volatile long maxSize;
+
+    final AtomicLong clock = new AtomicLong();
+
+    final AtomicLong mappedBytes = new AtomicLong();
+
+    final AtomicLong hits = new AtomicLong();
 
-    MappedByteBuffer map(FileChannel wrapped, URL url, MapMode mode, long position, long size) throws IOException {
+    final AtomicLong misses = new AtomicLong();
+
+    final AtomicLong evictions = new AtomicLong();
+
+    MemoryMapCache(long maxSize) {
+        this.maxSize = maxSize;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** Returns the cache shared by all the shapefiles */
+    public static MemoryMapCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Maps the specified portion of a file, reusing a cached mapping if possible
+     *
+     * @return The mapping, to be released once the buffer is no longer in use
+     */
+    Mapping map(FileChannel wrapped, URL url, MapMode mode, long position, long size) throws IOException {
         if (mode != MapMode.READ_ONLY) {
-            return wrapped.map(mode, position, size);
+            return new Mapping(wrapped.map(mode, position, size), null);
         }
 
         File file = URLs.urlToFile(url).getCanonicalFile();
         MappingKey mk = new MappingKey(file, position, size);
-        MappedByteBuffer buffer = buffers.get(mk);
-        if (buffer == null) {
-            synchronized (this) {
-                buffer = buffers.get(mk);
-                if (buffer == null) {
-                    buffer = wrapped.map(mode, position, size);
-                    buffers.put(mk, buffer);
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(Level.FINE, "Mapping and caching " + file.getAbsolutePath());
-                    }
+        Entry entry;
+        synchronized (getLock(file)) {
+            entry = buffers.get(mk);
+            if (entry == null) {
+                entry = new Entry(mk, wrapped.map(mode, position, size));
+                buffers.put(mk, entry);
+                mappedBytes.addAndGet(size);
+                misses.incrementAndGet();
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Mapping and caching " + file.getAbsolutePath());
+                }
+            } else {
+                hits.incrementAndGet();
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Using cached map for " + file.getAbsolutePath());
+                }
+            }
+            entry.users++;
+            entry.lastAccess = clock.incrementAndGet();
+        }
+        evict();
+
+        return new Mapping(MappedByteBuffer.class.cast(entry.buffer.duplicate()), entry);
+    }
+
+    private Object getLock(File file) {
+        return locks[(file.hashCode() & Integer.MAX_VALUE) % locks.length];
+    }
+
+    /** Releases a mapping handed out by {@link #map(FileChannel, URL, MapMode, long, long)} */
+    void release(Mapping mapping) {
+        Entry entry = mapping.entry;
+        if (entry == null) {
+            return;
+        }
+        synchronized (getLock(entry.key.file)) {
+            entry.users--;
+            if (entry.removed && entry.users == 0) {
+                unmap(entry);
+            }
+        }
+        evict();
+    }
+
+    /** Unmaps the least recently used buffers not in use, until the mapped bytes are within the limit */
+    void evict() {
+        while (mappedBytes.get() > maxSize) {
+            Entry lru = null;
+            for (Entry entry : buffers.values()) {
+                if (entry.users == 0 && (lru == null || entry.lastAccess < lru.lastAccess)) {
+                    lru = entry;
                 }
             }
-        } else {
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Using cached map for " + file.getAbsolutePath());
+            if (lru == null) {
+                // all buffers are in use
+                return;
+            }
+            synchronized (getLock(lru.key.file)) {
+                if (lru.users == 0 && !lru.removed) {
+                    remove(lru);
+                    evictions.incrementAndGet();
+                }
             }
         }
+    }
 
-        return MappedByteBuffer.class.cast(buffer.duplicate());
+    /** Removes the entry from the cache, unmapping it if not in use. Must be called holding the entry lock. */
+    private void remove(Entry entry) {
+        buffers.remove(entry.key);
+        entry.removed = true;
+        mappedBytes.addAndGet(-entry.key.size);
+        if (entry.users == 0) {
+            unmap(entry);
+        }
+    }
+
+    private void unmap(Entry entry) {
+        NIOUtilities.clean(entry.buffer, true);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Removed mapping for " + entry.key.file.getAbsolutePath());
+        }
     }
 
     /**
      * Cleans up all memory mapped regions for a specified file. It is necessary to call this method before any attempt
-     * to open a file for writing on Windows
+     * to open a file for writing on Windows. The regions still in use are unmapped once released.
      */
     void cleanFileCache(URL url) {
         try {
@@ -84,13 +192,10 @@ void cleanFileCache(URL url) {
                 return;
             }
             File file = rawFile.getCanonicalFile();
-            List<MappingKey> keys = new ArrayList<>(buffers.keySet());
-            for (MappingKey key : keys) {
-                if (key.file.equals(file)) {
-                    MappedByteBuffer buffer = buffers.remove(key);
-                    NIOUtilities.clean(buffer, true);
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(Level.FINE, "Removed mapping for " + file.getAbsolutePath());
+            synchronized (getLock(file)) {
+                for (Entry entry : new ArrayList<>(buffers.values())) {
+                    if (entry.key.file.equals(file)) {
+                        remove(entry);
                     }
                 }
             }
@@ -99,17 +204,94 @@ void cleanFileCache(URL url) {
         }
     }
 
-    void clean() {
-        List<MappingKey> keys = new ArrayList<>(buffers.keySet());
-        for (MappingKey key : keys) {
-            MappedByteBuffer buffer = buffers.remove(key);
-            NIOUtilities.clean(buffer, true);
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Removed mapping for " + key.file.getAbsolutePath());
+    /** Cleans up all the memory mapped regions. The regions still in use are unmapped once released. */
+    public void clean() {
+        List<Entry> entries = new ArrayList<>(buffers.values());
+        for (Entry entry : entries) {
+            synchronized (getLock(entry.key.file)) {
+                if (!entry.removed) {
+                    remove(entry);
+                }
             }
         }
     }
 
+    /** The maximum number of mapped bytes */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /** Sets the maximum number of mapped bytes, unmapping buffers not in use if needed */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /** The number of bytes currently mapped by the cache */
+    public long getMappedBytes() {
+        return mappedBytes.get();
+    }
+
+    /** The number of requests served by a cached mapping */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** The number of requests that required a new mapping */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** The number of mappings unmapped to stay within the size limit */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryMapCache[mappedBytes="
+                + getMappedBytes()
+                + ", maxSize="
+                + maxSize
+                + ", hits="
+                + getHits()
+                + ", misses="
+                + getMisses()
+                + ", evictions="
+                + getEvictions()
+                + "]";
+    }
+
+    /** A buffer handed out by the cache, along with the cache entry it comes from (null if not cached) */
+    static class Mapping {
+        final MappedByteBuffer buffer;
+
+        final Entry entry;
+
+        Mapping(MappedByteBuffer buffer, Entry entry) {
+            this.buffer = buffer;
+            this.entry = entry;
+        }
+    }
+
+    /** A cached mapping. The mutable fields are guarded by the lock of the file. */
+    static class Entry {
+        final MappingKey key;
+
+        final MappedByteBuffer buffer;
+
+        volatile int users;
+
+        volatile long lastAccess;
+
+        volatile boolean removed;
+
+        Entry(MappingKey key, MappedByteBuffer buffer) {
+            this.key = key;
+            this.buffer = buffer;
+        }
+    }
+
     /** Tracks a memory mapped region of a certain file */
     static class MappingKey {
         File file;
@@ -147,17 +329,4 @@ public boolean equals(Object obj) {
             return true;
         }
     }
-
-    /**
-     * Cleans up the buffers before the soft reference gets deallocated
-     *
-     * @author Andrea Aime
-     */
-    public static class BufferCleaner implements ValueCleaner<MappingKey, MappedByteBuffer> {
-
-        @Override
-        public void clean(MappingKey key, MappedByteBuffer buffer) {
-            NIOUtilities.clean(buffer, true);
-        }
-    }
 }
@@ -39,6 +39,13 @@ public enum ShpFileType {
      * generates
      */
     QIX("qix"),
+    /**
+     * the .hrx file, a packed Hilbert R-tree spatial index of the shapefile, used in place of the .qix one when
+     * available
+     */
+    HRX("hrx"),
+    /** the .aix file, sorted indexes on attribute values, used to look up records by equality and range filters */
+    AIX("aix"),
     /**
      * the .fix file, it contains all the Feature IDs for constant time lookup by fid also so that the fids stay
      * consistent across deletes and adds
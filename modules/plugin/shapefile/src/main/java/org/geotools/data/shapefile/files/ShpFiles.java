@@ -33,7 +33,6 @@
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
@@ -82,8 +81,8 @@ public class ShpFiles {
     /** The set of locker sources per thread. Used as a debugging aid and to upgrade/downgrade the locks */
     private final Map<Thread, Collection<ShpFilesLocker>> lockers = new ConcurrentHashMap<>();
 
-    /** A cache for read only memory mapped buffers */
-    private final MemoryMapCache mapCache = new MemoryMapCache();
+    /** A cache for read only memory mapped buffers, shared among all shapefiles */
+    private final MemoryMapCache mapCache = MemoryMapCache.getInstance();
 
     private boolean memoryMapCacheEnabled;
 
@@ -226,7 +225,14 @@ public void dispose() {
             logCurrentLockers(Level.SEVERE);
             lockers.clear(); // so as not to get this log again.
         }
-        mapCache.clean();
+        cleanMapCache();
+    }
+
+    /** Removes the memory mapped buffers of this shapefile from the shared cache */
+    private void cleanMapCache() {
+        for (URL url : urls.values()) {
+            mapCache.cleanFileCache(url);
+        }
     }
 
     /**
@@ -866,18 +872,29 @@ public String getTypeName() {
         return typeName;
     }
 
-    /** Internal method that the file channel decorators will call to allow reuse of the memory mapped buffers */
-    MappedByteBuffer map(FileChannel wrapped, URL url, MapMode mode, long position, long size) throws IOException {
+    /**
+     * Internal method that the file channel decorators will call to allow reuse of the memory mapped buffers. The
+     * returned mapping must be released once the buffer is no longer in use.
+     */
+    MemoryMapCache.Mapping map(FileChannel wrapped, URL url, MapMode mode, long position, long size)
+            throws IOException {
         if (memoryMapCacheEnabled) {
             return mapCache.map(wrapped, url, mode, position, size);
         } else {
-            return wrapped.map(mode, position, size);
+            return new MemoryMapCache.Mapping(wrapped.map(mode, position, size), null);
         }
     }
 
+    /** Internal method that the file channel decorators will call to release the buffers they mapped */
+    void release(MemoryMapCache.Mapping mapping) {
+        mapCache.release(mapping);
+    }
+
     /**
      * Returns the status of the memory map cache. When enabled the memory mapped portions of the files are cached and
      * shared (giving each thread a clone of it)
+     *
+     * @see MemoryMapCache#getInstance()
      */
     public boolean isMemoryMapCacheEnabled() {
         return memoryMapCacheEnabled;
@@ -890,7 +907,7 @@ public boolean isMemoryMapCacheEnabled() {
     public void setMemoryMapCacheEnabled(boolean memoryMapCacheEnabled) {
         this.memoryMapCacheEnabled = memoryMapCacheEnabled;
         if (!memoryMapCacheEnabled) {
-            mapCache.clean();
+            cleanMapCache();
         }
     }
 
@@ -0,0 +1,382 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.attribute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.util.NIOUtilities;
+
+/**
+ * Sorted indexes on attribute values, stored in a <code>.aix</code> file built by {@link AttributeIndexBuilder}.
+ *
+ * <p>The file contains an 8 bytes little endian header (magic, version, number of columns), followed by a directory
+ * describing each indexed column (name, key type, key size, number of entries, position of the entries) and by the
+ * entries themselves. The entries of each column are fixed size, a key followed by the zero based record number, and
+ * are sorted by key, then by record number, so that lookups are binary searches over the memory mapped file. Numeric
+ * keys (numbers, dates as milliseconds, booleans as 0 and 1) are stored as doubles, string keys as their UTF-8 encoding
+ * preceded by its length, padded to the longest value. Null values are not indexed.
+ */
+public class AttributeIndex implements AutoCloseable {
+
+    /** The magic bytes opening a .aix file */
+    static final byte[] MAGIC = {'A', 'I', 'X'};
+
+    /** The current file format version */
+    static final byte VERSION = 1;
+
+    /** Size of the file header in bytes */
+    static final int HEADER_SIZE = 8;
+
+    /** Key type of numeric columns */
+    static final byte NUMERIC = 0;
+
+    /** Key type of string columns */
+    static final byte STRING = 1;
+
+    ByteBuffer buffer;
+
+    boolean mapped;
+
+    Map<String, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * Memory maps the specified .aix file
+     *
+     * @param file The index file
+     * @return The index, to be closed once done to release the mapping
+     */
+    public static AttributeIndex open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new TreeException("Index file " + file + " is too large to be memory mapped");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                return new AttributeIndex(buffer, true);
+            } catch (IOException | RuntimeException e) {
+                NIOUtilities.clean(buffer, true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Builds an index reading from the specified buffer
+     *
+     * @param buffer The buffer containing the full index file
+     * @param mapped Whether the buffer is memory mapped, and should be released when the index is closed
+     */
+    public AttributeIndex(ByteBuffer buffer, boolean mapped) throws TreeException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.mapped = mapped;
+        try {
+            if (buffer.limit() < HEADER_SIZE) {
+                throw new TreeException("Invalid attribute index, the file is too short to contain a header");
+            }
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (buffer.get(i) != MAGIC[i]) {
+                    throw new TreeException("Invalid attribute index, unrecognized magic bytes");
+                }
+            }
+            if (buffer.get(3) != VERSION) {
+                throw new TreeException("Unsupported attribute index version " + buffer.get(3));
+            }
+            int numColumns = buffer.getInt(4);
+            int position = HEADER_SIZE;
+            for (int i = 0; i < numColumns; i++) {
+                int nameLength = buffer.getShort(position) & 0xFFFF;
+                byte[] name = new byte[nameLength];
+                for (int j = 0; j < nameLength; j++) {
+                    name[j] = buffer.get(position + 2 + j);
+                }
+                position += 2 + nameLength;
+                byte type = buffer.get(position);
+                int keySize = buffer.getInt(position + 1);
+                int count = buffer.getInt(position + 5);
+                long start = buffer.getLong(position + 9);
+                position += 17;
+                if ((type != NUMERIC && type != STRING)
+                        || keySize < 0
+                        || count < 0
+                        || start < 0
+                        || start + (long) count * (keySize + 4) > buffer.limit()) {
+                    throw new TreeException("Invalid attribute index, inconsistent directory entry " + i);
+                }
+                Column column =
+                        new Column(new String(name, StandardCharsets.UTF_8), type, keySize, count, (int) start);
+                columns.put(column.name, column);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new TreeException("Invalid attribute index, the file is truncated", e);
+        }
+    }
+
+    /** The names of the indexed attributes */
+    public List<String> getAttributeNames() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.keySet()));
+    }
+
+    /** Returns the index of the specified attribute, or null if the attribute is not indexed */
+    public Column getColumn(String attributeName) {
+        return columns.get(attributeName);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            if (mapped) {
+                NIOUtilities.clean(buffer, true);
+            }
+            buffer = null;
+        }
+    }
+
+    /** The index of a single attribute */
+    public class Column {
+
+        String name;
+
+        byte type;
+
+        int keySize;
+
+        int entrySize;
+
+        int count;
+
+        int start;
+
+        Column(String name, byte type, int keySize, int count, int start) {
+            this.name = name;
+            this.type = type;
+            this.keySize = keySize;
+            this.entrySize = keySize + 4;
+            this.count = count;
+            this.start = start;
+        }
+
+        /** The attribute name */
+        public String getName() {
+            return name;
+        }
+
+        /** Whether the keys are numeric, otherwise they are strings */
+        public boolean isNumeric() {
+            return type == NUMERIC;
+        }
+
+        /** The number of indexed (non null) values */
+        public int getCount() {
+            return count;
+        }
+
+        /** Returns the sorted numbers of the records whose value equals the specified one */
+        public int[] equalTo(double value) {
+            return range(value, true, value, true);
+        }
+
+        /**
+         * Returns the sorted numbers of the records whose value falls in the specified range. Use infinite values for
+         * open ranges.
+         */
+        public int[] range(double min, boolean minInclusive, double max, boolean maxInclusive) {
+            checkType(NUMERIC);
+            if (Double.isNaN(min) || Double.isNaN(max)) {
+                return new int[0];
+            }
+            // -0 and 0 compare equal in filters, but not with Double.compare
+            min += 0d;
+            max += 0d;
+            int from = minInclusive ? lowerBound(min) : upperBound(min);
+            int to = maxInclusive ? upperBound(max) : lowerBound(max);
+            return getRecords(from, to);
+        }
+
+        /** Returns the sorted numbers of the records whose value equals the specified one */
+        public int[] equalTo(String value) {
+            checkType(STRING);
+            byte[] key = value.getBytes(StandardCharsets.UTF_8);
+            if (key.length > keySize - 2) {
+                return new int[0];
+            }
+            return getRecords(lowerBound(key), upperBound(key));
+        }
+
+        /**
+         * Returns the sorted numbers of the records whose value starts with the specified prefix. The keys are sorted
+         * by their UTF-8 bytes, that is, by code point, so the matching keys are a contiguous range.
+         */
+        public int[] startsWith(String prefix) {
+            checkType(STRING);
+            byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+            if (key.length > keySize - 2) {
+                return new int[0];
+            }
+            return getRecords(lowerBound(key), prefixUpperBound(key));
+        }
+
+        private void checkType(byte expected) {
+            if (type != expected) {
+                String keys = isNumeric() ? "numeric" : "string";
+                throw new IllegalArgumentException("Attribute " + name + " has " + keys + " keys");
+            }
+        }
+
+        private double getNumber(int entry) {
+            return buffer.getDouble(start + entry * entrySize);
+        }
+
+        /** Compares the string key of an entry with the specified one, as unsigned bytes */
+        private int compare(int entry, byte[] key) {
+            int position = start + entry * entrySize;
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            for (int i = 0, n = Math.min(length, key.length); i < n; i++) {
+                int c = Integer.compare(buffer.get(position + i) & 0xFF, key[i] & 0xFF);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(length, key.length);
+        }
+
+        /** First entry whose key is greater or equal than the specified one */
+        private int lowerBound(double value) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(getNumber(mid), value) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** First entry whose key is greater than the specified one */
+        private int upperBound(double value) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(getNumber(mid), value) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBound(byte[] key) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int upperBound(byte[] key) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** First entry whose key is greater than the specified one and does not start with it */
+        private int prefixUpperBound(byte[] prefix) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(mid, prefix) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Compares the first bytes of the string key of an entry with the specified prefix, as unsigned bytes */
+        private int comparePrefix(int entry, byte[] prefix) {
+            int position = start + entry * entrySize;
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            for (int i = 0, n = Math.min(length, prefix.length); i < n; i++) {
+                int c = Integer.compare(buffer.get(position + i) & 0xFF, prefix[i] & 0xFF);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return length < prefix.length ? -1 : 0;
+        }
+
+        /** Collects the record numbers of the entries between from (inclusive) and to (exclusive), sorted */
+        private int[] getRecords(int from, int to) {
+            if (to <= from) {
+                return new int[0];
+            }
+            int[] records = new int[to - from];
+            for (int i = from; i < to; i++) {
+                records[i - from] = buffer.getInt(start + i * entrySize + keySize);
+            }
+            // entries with the same key are already sorted by record number
+            if (records.length > 1 && !isSorted(records)) {
+                Arrays.sort(records);
+            }
+            return records;
+        }
+
+        private boolean isSorted(int[] records) {
+            for (int i = 1; i < records.length; i++) {
+                if (records[i - 1] > records[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.attribute;
+
+import static org.geotools.data.shapefile.index.attribute.AttributeIndex.HEADER_SIZE;
+import static org.geotools.data.shapefile.index.attribute.AttributeIndex.MAGIC;
+import static org.geotools.data.shapefile.index.attribute.AttributeIndex.NUMERIC;
+import static org.geotools.data.shapefile.index.attribute.AttributeIndex.STRING;
+import static org.geotools.data.shapefile.index.attribute.AttributeIndex.VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds an {@link AttributeIndex}. The values of each column are accumulated in memory along with their record
+ * numbers, then sorted and written out in a single pass.
+ */
+public class AttributeIndexBuilder {
+
+    /** Size of the write buffer */
+    static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    List<ColumnBuilder> columns = new ArrayList<>();
+
+    /**
+     * Adds a column with numeric keys
+     *
+     * @param name The attribute name
+     * @return The column number, to be used when adding values
+     */
+    public int addNumericColumn(String name) {
+        columns.add(new ColumnBuilder(name, NUMERIC));
+        return columns.size() - 1;
+    }
+
+    /**
+     * Adds a column with string keys
+     *
+     * @param name The attribute name
+     * @return The column number, to be used when adding values
+     */
+    public int addStringColumn(String name) {
+        columns.add(new ColumnBuilder(name, STRING));
+        return columns.size() - 1;
+    }
+
+    /**
+     * Adds a value to a numeric column. Values should be added in record order, NaN values are not indexed.
+     *
+     * @param column The column number
+     * @param recno The zero based record number
+     * @param value The value
+     */
+    public void add(int column, int recno, double value) {
+        ColumnBuilder builder = columns.get(column);
+        if (builder.type != NUMERIC) {
+            throw new IllegalArgumentException("Column " + builder.name + " does not have numeric keys");
+        }
+        if (!Double.isNaN(value)) {
+            // normalize -0, it is equal to 0 in filters
+            builder.add(recno, value + 0d, null);
+        }
+    }
+
+    /**
+     * Adds a value to a string column. Values should be added in record order, null values are not indexed.
+     *
+     * @param column The column number
+     * @param recno The zero based record number
+     * @param value The value
+     */
+    public void add(int column, int recno, String value) {
+        ColumnBuilder builder = columns.get(column);
+        if (builder.type != STRING) {
+            throw new IllegalArgumentException("Column " + builder.name + " does not have string keys");
+        }
+        if (value != null) {
+            byte[] key = value.getBytes(StandardCharsets.UTF_8);
+            if (key.length > 0xFFFF) {
+                throw new IllegalArgumentException("Value too long to be indexed in column " + builder.name);
+            }
+            builder.add(recno, 0, key);
+        }
+    }
+
+    /** Writes the index to the specified file */
+    public void write(File file) throws IOException {
+        // compute the directory size, and from it, the position of the entries of each column
+        byte[][] names = new byte[columns.size()][];
+        long position = HEADER_SIZE;
+        for (int i = 0; i < columns.size(); i++) {
+            names[i] = columns.get(i).name.getBytes(StandardCharsets.UTF_8);
+            position += 2 + names[i].length + 17;
+        }
+        long[] starts = new long[columns.size()];
+        int bufferSize = WRITE_BUFFER_SIZE;
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnBuilder column = columns.get(i);
+            starts[i] = position;
+            position += (long) column.size * (column.getKeySize() + 4);
+            bufferSize = Math.max(bufferSize, Math.max(column.getKeySize() + 4, names[i].length + 19));
+        }
+
+        try (FileChannel channel = FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(MAGIC);
+            buffer.put(VERSION);
+            buffer.putInt(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnBuilder column = columns.get(i);
+                if (buffer.remaining() < names[i].length + 19) {
+                    flush(buffer, channel);
+                }
+                buffer.putShort((short) names[i].length);
+                buffer.put(names[i]);
+                buffer.put(column.type);
+                buffer.putInt(column.getKeySize());
+                buffer.putInt(column.size);
+                buffer.putLong(starts[i]);
+            }
+            for (ColumnBuilder column : columns) {
+                column.write(buffer, channel);
+            }
+            flush(buffer, channel);
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Accumulates the values of a column */
+    static class ColumnBuilder {
+
+        String name;
+
+        byte type;
+
+        int[] recnos = new int[16];
+
+        double[] numbers;
+
+        byte[][] strings;
+
+        int maxLength;
+
+        int size;
+
+        ColumnBuilder(String name, byte type) {
+            if (name.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+                throw new IllegalArgumentException("Attribute name too long: " + name);
+            }
+            this.name = name;
+            this.type = type;
+            if (type == NUMERIC) {
+                numbers = new double[16];
+            } else {
+                strings = new byte[16][];
+            }
+        }
+
+        void add(int recno, double number, byte[] string) {
+            if (size == recnos.length) {
+                int capacity = size * 2;
+                recnos = Arrays.copyOf(recnos, capacity);
+                if (numbers != null) {
+                    numbers = Arrays.copyOf(numbers, capacity);
+                } else {
+                    strings = Arrays.copyOf(strings, capacity);
+                }
+            }
+            recnos[size] = recno;
+            if (numbers != null) {
+                numbers[size] = number;
+            } else {
+                strings[size] = string;
+                maxLength = Math.max(maxLength, string.length);
+            }
+            size++;
+        }
+
+        int getKeySize() {
+            return type == NUMERIC ? 8 : maxLength + 2;
+        }
+
+        /** Returns the entry positions sorted by key, then by record number */
+        Integer[] sort() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Comparator<Integer> byKey;
+            if (numbers != null) {
+                byKey = (a, b) -> Double.compare(numbers[a], numbers[b]);
+            } else {
+                byKey = (a, b) -> Arrays.compareUnsigned(strings[a], strings[b]);
+            }
+            Arrays.sort(order, byKey.thenComparingInt(i -> recnos[i]));
+            return order;
+        }
+
+        void write(ByteBuffer buffer, FileChannel channel) throws IOException {
+            int keySize = getKeySize();
+            byte[] padding = new byte[keySize];
+            for (int entry : sort()) {
+                if (buffer.remaining() < keySize + 4) {
+                    flush(buffer, channel);
+                }
+                if (numbers != null) {
+                    buffer.putDouble(numbers[entry]);
+                } else {
+                    byte[] key = strings[entry];
+                    buffer.putShort((short) key.length);
+                    buffer.put(key);
+                    buffer.put(padding, 0, keySize - 2 - key.length);
+                }
+                buffer.putInt(recnos[entry]);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A static, packed Hilbert R-tree stored in a <code>.hrx</code> file, built by {@link HilbertRTreeBuilder}.
+ *
+ * <p>The file contains a 48 bytes little endian header (magic, version, node size, number of items, extent) followed
+ * by the tree nodes, root first and leaves last. Each node is 40 bytes: the bounding box as four doubles and a long
+ * reference. For internal nodes the reference is the position of the first child, for leaves it packs the zero based
+ * record number (high 32 bits) and the offset in bytes of the record in the .shp file (low 32 bits), so that the .shx
+ * file does not need to be accessed while searching.
+ *
+ * <p>The tree is accessed through a memory mapped buffer using absolute reads only, searching does not allocate any
+ * per node object.
+ */
+public class HilbertRTree implements AutoCloseable {
+
+    /** The magic bytes opening a .hrx file */
+    static final byte[] MAGIC = {'H', 'R', 'X'};
+
+    /** The current file format version */
+    static final byte VERSION = 1;
+
+    /** Size of the file header in bytes */
+    static final int HEADER_SIZE = 48;
+
+    /** Size of a tree node in bytes */
+    static final int NODE_ITEM_SIZE = 40;
+
+    /** The default number of children per node */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    /** The maximum number of children per node */
+    public static final int MAX_NODE_SIZE = 65535;
+
+    /** Maximum number of record references collected (and sorted) at a time by the search iterator */
+    static final int MAX_HITS = 32768;
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    ByteBuffer buffer;
+
+    boolean mapped;
+
+    int nodeSize;
+
+    int numItems;
+
+    Envelope bounds;
+
+    /** The end position (exclusive) of each level, the leaves are level 0 */
+    int[] levelEnds;
+
+    /**
+     * Memory maps the specified .hrx file
+     *
+     * @param file The index file
+     * @return The tree, to be closed once done to release the mapping
+     */
+    public static HilbertRTree open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new TreeException("Index file " + file + " is too large to be memory mapped");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                return new HilbertRTree(buffer, true);
+            } catch (IOException | RuntimeException e) {
+                NIOUtilities.clean(buffer, true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Builds a tree reading from the specified buffer
+     *
+     * @param buffer The buffer containing the full index file
+     * @param mapped Whether the buffer is memory mapped, and should be released when the tree is closed
+     */
+    public HilbertRTree(ByteBuffer buffer, boolean mapped) throws TreeException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.mapped = mapped;
+        if (buffer.limit() < HEADER_SIZE) {
+            throw new TreeException("Invalid Hilbert R-tree index, the file is too short to contain a header");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new TreeException("Invalid Hilbert R-tree index, unrecognized magic bytes");
+            }
+        }
+        if (buffer.get(3) != VERSION) {
+            throw new TreeException("Unsupported Hilbert R-tree index version " + buffer.get(3));
+        }
+        this.nodeSize = buffer.getInt(4);
+        this.numItems = buffer.getInt(8);
+        if (nodeSize < 2 || nodeSize > MAX_NODE_SIZE || numItems < 0) {
+            throw new TreeException(
+                    "Invalid Hilbert R-tree index, node size " + nodeSize + " and number of items " + numItems);
+        }
+        this.bounds =
+                new Envelope(buffer.getDouble(16), buffer.getDouble(32), buffer.getDouble(24), buffer.getDouble(40));
+        this.levelEnds = computeLevelEnds(numItems, nodeSize);
+        long expected = HEADER_SIZE + (long) getNumNodes(levelEnds) * NODE_ITEM_SIZE;
+        if (buffer.limit() != expected) {
+            throw new TreeException(
+                    "Invalid Hilbert R-tree index, expected " + expected + " bytes but found " + buffer.limit());
+        }
+    }
+
+    /**
+     * Computes the end position (exclusive) of each tree level, leaves first. Nodes are laid out root first, so the
+     * leaves occupy the last positions.
+     */
+    static int[] computeLevelEnds(int numItems, int nodeSize) {
+        if (numItems == 0) {
+            return new int[0];
+        }
+        // count the nodes of each level, bottom up
+        int[] levelSizes = new int[32];
+        int levels = 0;
+        int n = numItems;
+        long numNodes = n;
+        levelSizes[levels++] = n;
+        do {
+            n = (int) ((n + (long) nodeSize - 1) / nodeSize);
+            numNodes += n;
+            levelSizes[levels++] = n;
+        } while (n != 1);
+        if (numNodes * NODE_ITEM_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many items for a Hilbert R-tree index: " + numItems);
+        }
+
+        int[] levelEnds = new int[levels];
+        int end = (int) numNodes;
+        for (int i = 0; i < levels; i++) {
+            levelEnds[i] = end;
+            end -= levelSizes[i];
+        }
+        return levelEnds;
+    }
+
+    /** Returns the total number of nodes given the level ends computed by {@link #computeLevelEnds(int, int)} */
+    static int getNumNodes(int[] levelEnds) {
+        return levelEnds.length == 0 ? 0 : levelEnds[0];
+    }
+
+    /** The extent of the indexed items */
+    public Envelope getBounds() {
+        return new Envelope(bounds);
+    }
+
+    /** The number of indexed items */
+    public int getNumItems() {
+        return numItems;
+    }
+
+    /** The maximum number of children of each node */
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * Searches the tree for the items intersecting the specified bounding box. The records are returned in batches
+     * sorted by record number, to favour sequential access to the .shp and .dbf files.
+     *
+     * <p>Closing the iterator closes the tree as well, as it happens with the quadtree.
+     *
+     * @param bbox The search area
+     * @return An iterator returning, for each record, its number (one based) and offset in bytes in the .shp file
+     */
+    public SearchIterator search(Envelope bbox) {
+        return new SearchIterator(bbox);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            if (mapped) {
+                NIOUtilities.clean(buffer, true);
+            }
+            buffer = null;
+        }
+    }
+
+    /** Depth first search based on a stack of primitive arrays */
+    public class SearchIterator implements CloseableIterator<Data> {
+
+        double minX;
+
+        double minY;
+
+        double maxX;
+
+        double maxY;
+
+        int[] stackPositions = new int[64];
+
+        int[] stackLevels = new int[64];
+
+        int stackSize;
+
+        long[] hits = new long[MAX_HITS + nodeSize];
+
+        int hitCount;
+
+        int hitIndex;
+
+        int visited;
+
+        boolean closed;
+
+        SearchIterator(Envelope bbox) {
+            this.minX = bbox.getMinX();
+            this.minY = bbox.getMinY();
+            this.maxX = bbox.getMaxX();
+            this.maxY = bbox.getMaxY();
+            if (levelEnds.length > 0 && !bbox.isNull()) {
+                // start from the root
+                push(0, levelEnds.length - 1);
+            }
+        }
+
+        private void push(int position, int level) {
+            if (stackSize == stackPositions.length) {
+                stackPositions = Arrays.copyOf(stackPositions, stackSize * 2);
+                stackLevels = Arrays.copyOf(stackLevels, stackSize * 2);
+            }
+            stackPositions[stackSize] = position;
+            stackLevels[stackSize] = level;
+            stackSize++;
+        }
+
+        /** Collects the next batch of hits, returns false if the search is complete */
+        boolean fill() {
+            hitCount = 0;
+            hitIndex = 0;
+            while (stackSize > 0 && hitCount < MAX_HITS) {
+                stackSize--;
+                int position = stackPositions[stackSize];
+                int level = stackLevels[stackSize];
+                int end = Math.min(position + nodeSize, levelEnds[level]);
+                for (int pos = position; pos < end; pos++) {
+                    int offset = HEADER_SIZE + pos * NODE_ITEM_SIZE;
+                    visited++;
+                    if (buffer.getDouble(offset + 16) < minX
+                            || buffer.getDouble(offset + 24) < minY
+                            || buffer.getDouble(offset) > maxX
+                            || buffer.getDouble(offset + 8) > maxY) {
+                        continue;
+                    }
+                    long ref = buffer.getLong(offset + 32);
+                    if (level == 0) {
+                        hits[hitCount++] = ref;
+                    } else {
+                        push((int) ref, level - 1);
+                    }
+                }
+            }
+            // the record number is in the high bits, sorting the references sorts by record
+            Arrays.sort(hits, 0, hitCount);
+            return hitCount > 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                throw new IllegalStateException("Iterator has been closed!");
+            }
+            return hitIndex < hitCount || fill();
+        }
+
+        @Override
+        public Data next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements available");
+            }
+            long ref = hits[hitIndex++];
+            try {
+                Data data = new Data(DATA_DEFINITION);
+                data.addValue(Integer.valueOf((int) (ref >>> 32) + 1));
+                data.addValue(Long.valueOf(ref & 0xFFFFFFFFL));
+                return data;
+            } catch (TreeException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /** The number of nodes inspected so far, a measure of the I/O performed by the search */
+        public int getVisitedNodes() {
+            return visited;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            HilbertRTree.this.close();
+        }
+    }
+}
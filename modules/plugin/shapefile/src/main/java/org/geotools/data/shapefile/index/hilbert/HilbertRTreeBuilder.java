@@ -0,0 +1,281 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import static org.geotools.data.shapefile.index.hilbert.HilbertRTree.HEADER_SIZE;
+import static org.geotools.data.shapefile.index.hilbert.HilbertRTree.MAGIC;
+import static org.geotools.data.shapefile.index.hilbert.HilbertRTree.NODE_ITEM_SIZE;
+import static org.geotools.data.shapefile.index.hilbert.HilbertRTree.VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Bulk loads a {@link HilbertRTree}. The item bounds are accumulated in primitive arrays, then sorted along a Hilbert
+ * curve laid over the items extent, packed into full nodes, and written out in a single pass.
+ */
+public class HilbertRTreeBuilder {
+
+    /** The number of cells along each axis of the Hilbert curve grid, minus one */
+    public static final int HILBERT_MAX = (1 << 16) - 1;
+
+    /** Size of the write buffer */
+    static final int WRITE_BUFFER_SIZE = NODE_ITEM_SIZE * 4096;
+
+    int nodeSize;
+
+    /** The item bounds, four doubles (minx, miny, maxx, maxy) for each item */
+    double[] boxes;
+
+    /** The item references, record number and offset packed in a long */
+    long[] refs;
+
+    int size;
+
+    Envelope extent = new Envelope();
+
+    /**
+     * Builds a new tree builder
+     *
+     * @param expectedItems The expected number of items, used to size the internal arrays
+     * @param nodeSize The maximum number of children per node
+     */
+    public HilbertRTreeBuilder(int expectedItems, int nodeSize) {
+        if (nodeSize < 2 || nodeSize > HilbertRTree.MAX_NODE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Node size must be between 2 and " + HilbertRTree.MAX_NODE_SIZE + ", but was " + nodeSize);
+        }
+        int capacity = Math.max(expectedItems, 16);
+        this.nodeSize = nodeSize;
+        this.boxes = new double[capacity * 4];
+        this.refs = new long[capacity];
+    }
+
+    /**
+     * Adds an item to the tree
+     *
+     * @param minX The item minimum x
+     * @param minY The item minimum y
+     * @param maxX The item maximum x
+     * @param maxY The item maximum y
+     * @param recno The zero based record number
+     * @param offset The record offset in bytes in the .shp file
+     */
+    public void add(double minX, double minY, double maxX, double maxY, int recno, int offset) {
+        if (size == refs.length) {
+            int capacity = refs.length + (refs.length >> 1);
+            boxes = Arrays.copyOf(boxes, capacity * 4);
+            refs = Arrays.copyOf(refs, capacity);
+        }
+        int base = size * 4;
+        boxes[base] = minX;
+        boxes[base + 1] = minY;
+        boxes[base + 2] = maxX;
+        boxes[base + 3] = maxY;
+        refs[size] = ((long) recno << 32) | (offset & 0xFFFFFFFFL);
+        extent.expandToInclude(minX, minY);
+        extent.expandToInclude(maxX, maxY);
+        size++;
+    }
+
+    /** The number of items added so far */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sorts the items, builds the tree and writes it to the specified file
+     *
+     * @param file The target file, will be overwritten
+     */
+    public void write(File file) throws IOException {
+        int[] levelEnds = HilbertRTree.computeLevelEnds(size, nodeSize);
+        int numNodes = HilbertRTree.getNumNodes(levelEnds);
+
+        // the nodes, root first and leaves last
+        double[] nodeBoxes = new double[numNodes * 4];
+        long[] nodeRefs = new long[numNodes];
+
+        // sort the items along the curve and copy them in the leaves
+        int leafStart = numNodes - size;
+        long[] order = sortByHilbertValue();
+        for (int i = 0; i < size; i++) {
+            int item = (int) order[i];
+            System.arraycopy(boxes, item * 4, nodeBoxes, (leafStart + i) * 4, 4);
+            nodeRefs[leafStart + i] = refs[item];
+        }
+
+        // build the upper levels, each parent covering up to nodeSize consecutive children
+        for (int level = 0; level < levelEnds.length - 1; level++) {
+            int start = levelEnds[level + 1];
+            int end = levelEnds[level];
+            int parent = level + 2 < levelEnds.length ? levelEnds[level + 2] : 0;
+            for (int child = start; child < end; child += nodeSize, parent++) {
+                int last = Math.min(child + nodeSize, end);
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int i = child; i < last; i++) {
+                    minX = Math.min(minX, nodeBoxes[i * 4]);
+                    minY = Math.min(minY, nodeBoxes[i * 4 + 1]);
+                    maxX = Math.max(maxX, nodeBoxes[i * 4 + 2]);
+                    maxY = Math.max(maxY, nodeBoxes[i * 4 + 3]);
+                }
+                nodeBoxes[parent * 4] = minX;
+                nodeBoxes[parent * 4 + 1] = minY;
+                nodeBoxes[parent * 4 + 2] = maxX;
+                nodeBoxes[parent * 4 + 3] = maxY;
+                nodeRefs[parent] = child;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(MAGIC);
+            buffer.put(VERSION);
+            buffer.putInt(nodeSize);
+            buffer.putInt(size);
+            buffer.putInt(0);
+            if (extent.isNull()) {
+                buffer.putDouble(0).putDouble(0).putDouble(0).putDouble(0);
+            } else {
+                buffer.putDouble(extent.getMinX());
+                buffer.putDouble(extent.getMinY());
+                buffer.putDouble(extent.getMaxX());
+                buffer.putDouble(extent.getMaxY());
+            }
+            assert buffer.position() == HEADER_SIZE;
+            for (int i = 0; i < numNodes; i++) {
+                if (buffer.remaining() < NODE_ITEM_SIZE) {
+                    flush(buffer, channel);
+                }
+                buffer.putDouble(nodeBoxes[i * 4]);
+                buffer.putDouble(nodeBoxes[i * 4 + 1]);
+                buffer.putDouble(nodeBoxes[i * 4 + 2]);
+                buffer.putDouble(nodeBoxes[i * 4 + 3]);
+                buffer.putLong(nodeRefs[i]);
+            }
+            flush(buffer, channel);
+        }
+    }
+
+    private void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the item positions sorted by the Hilbert value of their center. Each entry packs the Hilbert value in
+     * the high 32 bits (with the sign bit flipped, so that signed comparison matches the unsigned one) and the item
+     * position in the low ones, allowing a plain primitive sort.
+     */
+    long[] sortByHilbertValue() {
+        double width = extent.getWidth();
+        double height = extent.getHeight();
+        double minX = extent.getMinX();
+        double minY = extent.getMinY();
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            int base = i * 4;
+            int x = width > 0 ? (int) (HILBERT_MAX * ((boxes[base] + boxes[base + 2]) / 2 - minX) / width) : 0;
+            int y = height > 0 ? (int) (HILBERT_MAX * ((boxes[base + 1] + boxes[base + 3]) / 2 - minY) / height) : 0;
+            long h = hilbert(x, y) & 0xFFFFFFFFL;
+            keys[i] = ((h << 32) | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            keys[i] = keys[i] & 0xFFFFFFFFL;
+        }
+        return keys;
+    }
+
+    /**
+     * Computes the position along a Hilbert curve of order 16 of the specified cell, using the bit twiddling approach
+     * described in "Hacker's Delight" and popularized by the flatbush library. The result must be considered unsigned.
+     *
+     * @param x The cell column, between 0 and 65535
+     * @param y The cell row, between 0 and 65535
+     */
+    public static int hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int aa = a | (b >>> 1);
+        int bb = (a >>> 1) ^ a;
+        int cc = ((c >>> 1) ^ (b & (d >>> 1))) ^ c;
+        int dd = ((a & (c >>> 1)) ^ (d >>> 1)) ^ d;
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        aa = (a & (a >>> 2)) ^ (b & (b >>> 2));
+        bb = (a & (b >>> 2)) ^ (b & ((a ^ b) >>> 2));
+        cc ^= (a & (c >>> 2)) ^ (b & (d >>> 2));
+        dd ^= (b & (c >>> 2)) ^ ((a ^ b) & (d >>> 2));
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        aa = (a & (a >>> 4)) ^ (b & (b >>> 4));
+        bb = (a & (b >>> 4)) ^ (b & ((a ^ b) >>> 4));
+        cc ^= (a & (c >>> 4)) ^ (b & (d >>> 4));
+        dd ^= (b & (c >>> 4)) ^ ((a ^ b) & (d >>> 4));
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        cc ^= (a & (c >>> 8)) ^ (b & (d >>> 8));
+        dd ^= (b & (c >>> 8)) ^ ((a ^ b) & (d >>> 8));
+
+        a = cc ^ (cc >>> 1);
+        b = dd ^ (dd >>> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+
+        i0 = (i0 | (i0 << 8)) & 0x00FF00FF;
+        i0 = (i0 | (i0 << 4)) & 0x0F0F0F0F;
+        i0 = (i0 | (i0 << 2)) & 0x33333333;
+        i0 = (i0 | (i0 << 1)) & 0x55555555;
+
+        i1 = (i1 | (i1 << 8)) & 0x00FF00FF;
+        i1 = (i1 | (i1 << 4)) & 0x0F0F0F0F;
+        i1 = (i1 | (i1 << 2)) & 0x33333333;
+        i1 = (i1 | (i1 << 1)) & 0x55555555;
+
+        return (i1 << 1) | i0;
+    }
+}
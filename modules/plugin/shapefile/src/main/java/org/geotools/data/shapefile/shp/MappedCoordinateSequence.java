@@ -0,0 +1,222 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.shp;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateXY;
+import org.locationtech.jts.geom.CoordinateXYM;
+import org.locationtech.jts.geom.CoordinateXYZM;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * A coordinate sequence reading its ordinates lazily out of a buffer containing a .shp file, usually memory mapped,
+ * instead of copying them in a Java array. The x/y pairs, the z values and the m values are read from the three blocks
+ * they are stored in by the shapefile format.
+ *
+ * <p>The buffer is not modified, and must not be unmapped nor changed as long as the sequence is in use. The first
+ * modification copies the ordinates in a private array (copy on write), {@link #copy()} returns a sequence detached
+ * from the buffer.
+ */
+public class MappedCoordinateSequence extends PackedCoordinateSequence {
+
+    private static final long serialVersionUID = -2372947412563584325L;
+
+    /** Values lower than this are "no data" measures according to the shapefile specification */
+    static final double NO_DATA = -10e38;
+
+    transient ByteBuffer buffer;
+
+    /** Position of the first x in the buffer */
+    int xyPosition;
+
+    /** Position of the first z in the buffer, or -1 if not available */
+    int zPosition;
+
+    /** Position of the first m in the buffer, or -1 if not available, in which case the measures are zero */
+    int mPosition;
+
+    /** The number of coordinates stored in the buffer */
+    int stored;
+
+    /** Whether the first coordinate is repeated at the end, to close rings or to turn a single point into a line */
+    boolean repeatFirst;
+
+    /** The private copy of the ordinates, created on the first modification */
+    double[] ordinates;
+
+    /**
+     * Builds a new sequence
+     *
+     * @param buffer The buffer to read from, it will be accessed with absolute reads in little endian order
+     * @param xyPosition The position of the first x in the buffer
+     * @param zPosition The position of the first z in the buffer, -1 if not available
+     * @param mPosition The position of the first m in the buffer, -1 if not available (all measures will be zero)
+     * @param stored The number of coordinates stored in the buffer
+     * @param repeatFirst Whether to repeat the first coordinate at the end of the sequence
+     * @param dimension The sequence dimension
+     * @param measures The number of measures, zero or one
+     */
+    public MappedCoordinateSequence(
+            ByteBuffer buffer,
+            int xyPosition,
+            int zPosition,
+            int mPosition,
+            int stored,
+            boolean repeatFirst,
+            int dimension,
+            int measures) {
+        super(dimension, measures);
+        if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("The buffer must use little endian byte order");
+        }
+        this.buffer = buffer;
+        this.xyPosition = xyPosition;
+        this.zPosition = zPosition;
+        this.mPosition = mPosition;
+        this.stored = stored;
+        this.repeatFirst = repeatFirst;
+    }
+
+    /**
+     * Returns a little endian view of the whole buffer, independent of its position, limit and byte order, that the
+     * sequences can share and read from using positions relative to the beginning of the file
+     */
+    static ByteBuffer getSource(ByteBuffer buffer) {
+        ByteBuffer source = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        source.clear();
+        return source;
+    }
+
+    /** Maps the coordinate index to the position in the buffer blocks */
+    private int stored(int index) {
+        return index < stored ? index : 0;
+    }
+
+    @Override
+    public int size() {
+        return repeatFirst && stored > 0 ? stored + 1 : stored;
+    }
+
+    @Override
+    public double getX(int index) {
+        if (ordinates != null) {
+            return ordinates[index * dimension];
+        }
+        return buffer.getDouble(xyPosition + stored(index) * 16);
+    }
+
+    @Override
+    public double getY(int index) {
+        if (ordinates != null) {
+            return ordinates[index * dimension + 1];
+        }
+        return buffer.getDouble(xyPosition + stored(index) * 16 + 8);
+    }
+
+    @Override
+    public double getZ(int index) {
+        return hasZ() ? getOrdinate(index, 2) : Double.NaN;
+    }
+
+    @Override
+    public double getM(int index) {
+        return hasM() ? getOrdinate(index, dimension - measures) : Double.NaN;
+    }
+
+    @Override
+    public double getOrdinate(int index, int ordinate) {
+        if (ordinates != null) {
+            return ordinates[index * dimension + ordinate];
+        }
+        if (ordinate == 0) {
+            return getX(index);
+        } else if (ordinate == 1) {
+            return getY(index);
+        } else if (measures > 0 && ordinate == dimension - measures) {
+            if (mPosition < 0) {
+                return 0;
+            }
+            double m = buffer.getDouble(mPosition + stored(index) * 8);
+            return m < NO_DATA ? Double.NaN : m;
+        } else if (ordinate == 2 && zPosition >= 0) {
+            return buffer.getDouble(zPosition + stored(index) * 8);
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void setOrdinate(int index, int ordinate, double value) {
+        if (ordinates == null) {
+            ordinates = toOrdinateArray();
+        }
+        coordRef = null;
+        ordinates[index * dimension + ordinate] = value;
+    }
+
+    @Override
+    protected Coordinate getCoordinateInternal(int index) {
+        double x = getX(index);
+        double y = getY(index);
+        if (dimension == 2) {
+            return new CoordinateXY(x, y);
+        } else if (dimension == 3 && measures == 0) {
+            return new Coordinate(x, y, getOrdinate(index, 2));
+        } else if (dimension == 3 && measures == 1) {
+            return new CoordinateXYM(x, y, getOrdinate(index, 2));
+        }
+        return new CoordinateXYZM(x, y, getOrdinate(index, 2), getOrdinate(index, 3));
+    }
+
+    /** Returns the ordinates packed in a new array */
+    double[] toOrdinateArray() {
+        int size = size();
+        double[] result = new double[size * dimension];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < dimension; j++) {
+                result[i * dimension + j] = getOrdinate(i, j);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public PackedCoordinateSequence copy() {
+        return new PackedCoordinateSequence.Double(toOrdinateArray(), dimension, measures);
+    }
+
+    @Override
+    @Deprecated
+    public Object clone() {
+        return copy();
+    }
+
+    @Override
+    public Envelope expandEnvelope(Envelope env) {
+        for (int i = 0, size = size(); i < size; i++) {
+            env.expandToInclude(getX(i), getY(i));
+        }
+        return env;
+    }
+
+    /** Serializes a copy detached from the buffer */
+    private Object writeReplace() {
+        return copy();
+    }
+}
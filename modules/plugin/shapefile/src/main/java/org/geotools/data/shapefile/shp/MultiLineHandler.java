@@ -247,6 +247,66 @@ public Object read(ByteBuffer buffer, ShapeType type, boolean flatGeometry) {
         return geometryFactory.createMultiLineString(lineStrings);
     }
 
+    @Override
+    public Object readLazy(ByteBuffer buffer, ShapeType type, boolean flatGeometry) {
+        if (type == ShapeType.NULL) {
+            return createNull();
+        }
+        // read bounding box (not needed)
+        buffer.position(buffer.position() + 4 * 8);
+
+        int numParts = buffer.getInt();
+        int numPoints = buffer.getInt(); // total number of points
+
+        int[] partOffsets = new int[numParts];
+
+        for (int i = 0; i < numParts; i++) {
+            partOffsets[i] = buffer.getInt();
+        }
+
+        // locate the x/y, z and m blocks, each z and m block is preceded by its range
+        ByteBuffer source = MappedCoordinateSequence.getSource(buffer);
+        int xy = buffer.position();
+        int z = -1;
+        int m = -1;
+        int dimension = 2;
+        int measures = 0;
+        if (!flatGeometry && shapeType == ShapeType.ARCZ) {
+            dimension = 4;
+            measures = 1;
+            z = xy + 16 * numPoints + 16;
+            int mRange = z + 8 * numPoints;
+            if (buffer.limit() - mRange >= 8 * (numPoints + 2)) {
+                m = mRange + 16;
+            }
+        } else if (!flatGeometry && shapeType == ShapeType.ARCM) {
+            dimension = 4;
+            measures = 1;
+            m = xy + 16 * numPoints + 16;
+        }
+
+        LineString[] lineStrings = new LineString[numParts];
+        for (int part = 0; part < numParts; part++) {
+            int start = partOffsets[part];
+            int finish = part == numParts - 1 ? numPoints : partOffsets[part + 1];
+            int length = finish - start;
+
+            // a single point is repeated to build a valid line
+            CoordinateSequence cs = new MappedCoordinateSequence(
+                    source,
+                    xy + 16 * start,
+                    z < 0 ? -1 : z + 8 * start,
+                    m < 0 ? -1 : m + 8 * start,
+                    length,
+                    length == 1,
+                    dimension,
+                    measures);
+            lineStrings[part] = geometryFactory.createLineString(cs);
+        }
+
+        return geometryFactory.createMultiLineString(lineStrings);
+    }
+
     @Override
     public void write(ByteBuffer buffer, Object geometry) {
         MultiLineString multi = (MultiLineString) geometry;
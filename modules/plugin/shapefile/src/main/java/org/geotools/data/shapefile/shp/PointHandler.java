@@ -109,6 +109,26 @@ public Object read(ByteBuffer buffer, ShapeType type, boolean flatGeometry) {
         return geometryFactory.createPoint(c);
     }
 
+    @Override
+    public Object readLazy(ByteBuffer buffer, ShapeType type, boolean flatGeometry) {
+        if (type == ShapeType.NULL) {
+            return createNull();
+        }
+
+        int xy = buffer.position();
+        ByteBuffer source = MappedCoordinateSequence.getSource(buffer);
+        MappedCoordinateSequence cs;
+        if (shapeType == ShapeType.POINTZ && !flatGeometry) {
+            int m = buffer.limit() - xy >= 32 ? xy + 24 : -1;
+            cs = new MappedCoordinateSequence(source, xy, xy + 16, m, 1, false, 4, 1);
+        } else if (shapeType == ShapeType.POINTM && !flatGeometry) {
+            cs = new MappedCoordinateSequence(source, xy, -1, xy + 16, 1, false, 3, 1);
+        } else {
+            cs = new MappedCoordinateSequence(source, xy, -1, -1, 1, false, 2, 0);
+        }
+        return geometryFactory.createPoint(cs);
+    }
+
     private Object createNull() {
         return geometryFactory.createPoint(new Coordinate(Double.NaN, Double.NaN, Double.NaN));
     }
@@ -219,6 +219,88 @@ public Object read(ByteBuffer buffer, ShapeType type, boolean flatFeature) {
             }
         }
 
+        return buildPolygons(shells, holes);
+    }
+
+    @Override
+    public Object readLazy(ByteBuffer buffer, ShapeType type, boolean flatFeature) {
+        if (type == ShapeType.NULL) {
+            return createNull();
+        }
+        // bounds
+        buffer.position(buffer.position() + 4 * 8);
+
+        int numParts = buffer.getInt();
+        int numPoints = buffer.getInt();
+
+        int[] partOffsets = new int[numParts];
+
+        for (int i = 0; i < numParts; i++) {
+            partOffsets[i] = buffer.getInt();
+        }
+
+        // locate the x/y, z and m blocks, each z and m block is preceded by its range
+        ByteBuffer source = MappedCoordinateSequence.getSource(buffer);
+        int xy = buffer.position();
+        int z = -1;
+        int m = -1;
+        int dimension = 2;
+        int measures = 0;
+        if (!flatFeature && shapeType == ShapeType.POLYGONZ) {
+            dimension = 4;
+            measures = 1;
+            z = xy + 16 * numPoints + 16;
+            int mRange = z + 8 * numPoints;
+            if (buffer.limit() - mRange >= 8 * (numPoints + 2)) {
+                m = mRange + 16;
+            }
+        } else if (!flatFeature && shapeType == ShapeType.POLYGONM) {
+            dimension = 3;
+            measures = 1;
+            m = xy + 16 * numPoints + 16;
+        }
+
+        ArrayList<LinearRing> shells = new ArrayList<>();
+        ArrayList<LinearRing> holes = new ArrayList<>();
+        for (int part = 0; part < numParts; part++) {
+            int start = partOffsets[part];
+            int finish = part == numParts - 1 ? numPoints : partOffsets[part + 1];
+            int length = finish - start;
+
+            // the ring is closed by repeating the first coordinate, if needed
+            boolean close = length > 0
+                    && (source.getDouble(xy + 16 * start) != source.getDouble(xy + 16 * (finish - 1))
+                            || source.getDouble(xy + 16 * start + 8) != source.getDouble(xy + 16 * (finish - 1) + 8));
+            CoordinateSequence csRing = new MappedCoordinateSequence(
+                    source,
+                    xy + 16 * start,
+                    z < 0 ? -1 : z + 8 * start,
+                    m < 0 ? -1 : m + 8 * start,
+                    length,
+                    close,
+                    dimension,
+                    measures);
+
+            // REVISIT: polygons with only 1 or 2 points are not polygons -
+            // geometryFactory will bomb so we skip if we find one.
+            if (csRing.size() == 0 || csRing.size() > 3) {
+                LinearRing ring = geometryFactory.createLinearRing(csRing);
+
+                if (CoordinateSequences.isCCW(csRing)) {
+                    // counter-clockwise
+                    holes.add(ring);
+                } else {
+                    // clockwise
+                    shells.add(ring);
+                }
+            }
+        }
+
+        return buildPolygons(shells, holes);
+    }
+
+    /** Assembles the rings into a multipolygon, assigning the holes to their shells */
+    private Geometry buildPolygons(ArrayList<LinearRing> shells, ArrayList<LinearRing> holes) {
         // quick optimization: if there's only one shell no need to check
         // for holes inclusion
         if (shells.size() == 1) {
@@ -42,6 +42,20 @@ public interface ShapeHandler {
      */
     public Object read(ByteBuffer buffer, ShapeType type, boolean flatGeometry);
 
+    /**
+     * Read a geometry from the ByteBuffer, building coordinate sequences that read the ordinates lazily from the
+     * buffer instead of copying them, see {@link MappedCoordinateSequence}. The buffer position is set at the beginning
+     * of the record content and its limit at its end, but the buffer must hold the whole file, and stay unchanged for
+     * the lifetime of the returned geometry. Handlers not supporting lazy reads just return {@link #read(ByteBuffer,
+     * ShapeType, boolean)}.
+     *
+     * @param buffer The ByteBuffer to read from, in little endian order
+     * @return A geometry object.
+     */
+    public default Object readLazy(ByteBuffer buffer, ShapeType type, boolean flatGeometry) {
+        return read(buffer, type, flatGeometry);
+    }
+
     /**
      * Write the geometry into the ByteBuffer. The position, byteOrder, and limit are all set. The handler is not
      * responsible for writing the record or shape type integer.
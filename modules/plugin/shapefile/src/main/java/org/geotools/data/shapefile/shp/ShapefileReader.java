@@ -17,11 +17,14 @@
 package org.geotools.data.shapefile.shp;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.data.DataSourceException;
@@ -32,6 +35,7 @@
 import org.geotools.data.util.ScreenMap;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.util.NIOUtilities;
+import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
@@ -107,6 +111,10 @@ public Object shape() {
                 buffer.order(ByteOrder.LITTLE_ENDIAN);
                 if (type == ShapeType.NULL) {
                     shape = null;
+                } else if (lazyBuffer != null) {
+                    lazyBuffer.clear();
+                    lazyBuffer.position(toFileOffset(start)).limit(end);
+                    shape = handler.readLazy(lazyBuffer, type, flatGeometry);
                 } else {
                     shape = handler.read(buffer, type, flatGeometry);
                 }
@@ -208,6 +216,15 @@ public Object getSimplifiedShape(ScreenMap sm) {
 
     private boolean flatGeometry;
 
+    private ShpFiles shapefileFiles;
+
+    /**
+     * A private memory mapping of the whole file, used to build lazy coordinate sequences. It is never explicitly
+     * unmapped, as the geometries built on top of it might outlive the reader, the mapping is released by the garbage
+     * collector once they are all gone.
+     */
+    private ByteBuffer lazyBuffer;
+
     /**
      * Creates a new instance of ShapeFile.
      *
@@ -264,6 +281,7 @@ private void doInit(
             boolean onlyRandomAccess)
             throws IOException, ShapefileException {
         this.useMemoryMappedBuffer = useMemoryMapped;
+        this.shapefileFiles = shapefileFiles;
         streamLogger.open();
         randomAccessEnabled = channel instanceof FileChannel;
         if (!onlyRandomAccess) {
@@ -393,6 +411,7 @@ public void close() throws IOException {
         shxReader = null;
         channel = null;
         header = null;
+        lazyBuffer = null;
     }
 
     public boolean supportsRandomAccess() {
@@ -747,4 +766,31 @@ public String id() {
     public void setFlatGeometry(boolean flatGeometry) {
         this.flatGeometry = flatGeometry;
     }
+
+    /**
+     * Enables lazy coordinate sequences, reading the ordinates straight out of a memory mapping of the .shp file
+     * instead of copying them, see {@link MappedCoordinateSequence}. Meant for read only access, such as rendering,
+     * where the geometries are discarded soon after being read, it cuts down allocation and garbage collection.
+     *
+     * <p>The mapping is released only once all the geometries referencing it are garbage collected, on Windows the file
+     * cannot be modified or deleted until then. Lazy sequences are not available for remote or compressed files, in
+     * that case the call is ignored.
+     *
+     * @param lazyCoordinates True to enable lazy coordinate sequences
+     * @return True if lazy coordinate sequences are enabled
+     */
+    public boolean setLazyCoordinates(boolean lazyCoordinates) throws IOException {
+        if (!lazyCoordinates) {
+            lazyBuffer = null;
+        } else if (lazyBuffer == null && shapefileFiles.isLocal() && !shapefileFiles.isGz()) {
+            File file = URLs.urlToFile(new URL(shapefileFiles.get(ShpFileType.SHP)));
+            // map the file on a channel of our own, bypassing the memory map cache, which eagerly unmaps the buffers
+            try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                if (fc.size() <= Integer.MAX_VALUE) {
+                    lazyBuffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+        }
+        return lazyBuffer != null;
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.geotools.data.shapefile.files.ShpFileType.AIX;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+
+public class ShapefileAttributeIndexTest extends TestCaseSupport {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Test
+    public void testCreateIndex() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(copyShapefiles(STATE_POP).toURI().toURL());
+        try {
+            assertFalse(ds.shpFiles.exists(AIX));
+            assertTrue(ds.createAttributeIndex("STATE_NAME", "PERSONS"));
+            assertTrue(ds.shpFiles.exists(AIX));
+            assertFalse(ds.indexManager.isAttributeIndexStale());
+
+            Filter filter = FF.equals(FF.property("STATE_NAME"), FF.literal("Texas"));
+            List<Data> records = ds.indexManager.queryAttributeIndex(filter, ds.getSchema());
+            assertEquals(1, records.size());
+            assertEquals(1, getIds(ds, filter).size());
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+        File shp = copyShapefiles(STATE_POP);
+        ShapefileDataStore indexed = new ShapefileDataStore(shp.toURI().toURL());
+        ShapefileDataStore plain = new ShapefileDataStore(shp.toURI().toURL());
+        plain.setIndexed(false);
+        try {
+            assertTrue(indexed.createAttributeIndex("STATE_NAME", "STATE_ABBR", "PERSONS"));
+            assertQueries(indexed, plain);
+        } finally {
+            indexed.dispose();
+            plain.dispose();
+        }
+    }
+
+    @Test
+    public void testUnselectiveQueries() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(copyShapefiles(STATE_POP).toURI().toURL());
+        try {
+            ds.createAttributeIndex("STATE_NAME", "PERSONS");
+            // matches all records, a sequential scan is better
+            Filter all = FF.greater(FF.property("PERSONS"), FF.literal(0));
+            assertNull(ds.indexManager.queryAttributeIndex(all, ds.getSchema()));
+            // not indexed
+            Filter other = FF.equals(FF.property("STATE_ABBR"), FF.literal("TX"));
+            assertNull(ds.indexManager.queryAttributeIndex(other, ds.getSchema()));
+            // case insensitive
+            Filter nocase = FF.equal(FF.property("STATE_NAME"), FF.literal("texas"), false);
+            assertNull(ds.indexManager.queryAttributeIndex(nocase, ds.getSchema()));
+            // like patterns need a fixed prefix
+            Filter prefix = FF.like(FF.property("STATE_NAME"), "New*", "*", "?", "\\", true);
+            assertEquals(4, ds.indexManager.queryAttributeIndex(prefix, ds.getSchema()).size());
+            Filter suffix = FF.like(FF.property("STATE_NAME"), "*York", "*", "?", "\\", true);
+            assertNull(ds.indexManager.queryAttributeIndex(suffix, ds.getSchema()));
+            // and have to match case
+            Filter nocaseLike = FF.like(FF.property("STATE_NAME"), "New*");
+            assertNull(ds.indexManager.queryAttributeIndex(nocaseLike, ds.getSchema()));
+            // an indexed child of an And is enough
+            Filter and = FF.and(FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")), other);
+            assertNotNull(ds.indexManager.queryAttributeIndex(and, ds.getSchema()));
+            // all children of an Or need to be indexed
+            Filter or = FF.or(FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")), other);
+            assertNull(ds.indexManager.queryAttributeIndex(or, ds.getSchema()));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testIndexRebuiltOnWrite() throws Exception {
+        File shp = copyShapefiles(STATE_POP);
+        ShapefileDataStore indexed = new ShapefileDataStore(shp.toURI().toURL());
+        ShapefileDataStore plain = new ShapefileDataStore(shp.toURI().toURL());
+        plain.setIndexed(false);
+        try {
+            indexed.createAttributeIndex("STATE_NAME", "STATE_ABBR", "PERSONS");
+            SimpleFeatureStore store = (SimpleFeatureStore) indexed.getFeatureSource();
+            store.removeFeatures(FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")));
+            store.modifyFeatures(
+                    "STATE_NAME", "Renamed", FF.equals(FF.property("STATE_NAME"), FF.literal("Illinois")));
+
+            assertTrue(indexed.shpFiles.exists(AIX));
+            assertFalse(indexed.indexManager.isAttributeIndexStale());
+            assertQueries(indexed, plain);
+            Filter renamed = FF.equals(FF.property("STATE_NAME"), FF.literal("Renamed"));
+            assertEquals(1, getIds(indexed, renamed).size());
+        } finally {
+            indexed.dispose();
+            plain.dispose();
+        }
+    }
+
+    @Test
+    public void testSetOperations() {
+        assertArrayEquals(new int[] {2, 5}, AttributeIndexQuery.intersect(new int[] {1, 2, 5, 7}, new int[] {2, 3, 5}));
+        assertArrayEquals(new int[0], AttributeIndexQuery.intersect(new int[] {1}, new int[0]));
+        assertArrayEquals(
+                new int[] {1, 2, 3, 5, 7}, AttributeIndexQuery.union(new int[] {1, 2, 5, 7}, new int[] {2, 3, 5}));
+        assertArrayEquals(new int[] {1}, AttributeIndexQuery.union(new int[0], new int[] {1}));
+    }
+
+    private void assertQueries(ShapefileDataStore indexed, ShapefileDataStore plain) throws Exception {
+        List<Filter> filters = Arrays.asList(
+                FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")),
+                FF.equals(FF.literal("Ohio"), FF.property("STATE_NAME")),
+                FF.equals(FF.property("STATE_NAME"), FF.literal("Atlantis")),
+                FF.or(Arrays.asList(
+                        FF.equals(FF.property("STATE_ABBR"), FF.literal("CA")),
+                        FF.equals(FF.property("STATE_ABBR"), FF.literal("NY")),
+                        FF.equals(FF.property("STATE_ABBR"), FF.literal("FL")))),
+                FF.greater(FF.property("PERSONS"), FF.literal(10_000_000)),
+                FF.greaterOrEqual(FF.property("PERSONS"), FF.literal("10847115")),
+                FF.less(FF.property("PERSONS"), FF.literal(1_000_000)),
+                FF.lessOrEqual(FF.literal(10_000_000), FF.property("PERSONS")),
+                FF.between(FF.property("PERSONS"), FF.literal(2_000_000), FF.literal(3_000_000)),
+                FF.like(FF.property("STATE_NAME"), "New*", "*", "?", "\\", true),
+                FF.like(FF.property("STATE_NAME"), "North*ta", "*", "?", "\\", true),
+                FF.like(FF.property("STATE_NAME"), "Ne?ada", "*", "?", "\\", true),
+                FF.and(
+                        FF.greater(FF.property("PERSONS"), FF.literal(5_000_000)),
+                        FF.like(FF.property("STATE_NAME"), "N*", "*", "?", "\\", true)));
+        for (Filter filter : filters) {
+            assertEquals(filter.toString(), getIds(plain, filter), getIds(indexed, filter));
+        }
+    }
+
+    private Set<String> getIds(ShapefileDataStore ds, Filter filter) throws Exception {
+        Set<String> ids = new TreeSet<>();
+        try (SimpleFeatureIterator it = ds.getFeatureSource().getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        return ids;
+    }
+}
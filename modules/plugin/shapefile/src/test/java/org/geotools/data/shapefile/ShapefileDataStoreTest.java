@@ -21,6 +21,7 @@
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -71,6 +72,7 @@
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.filter.identity.Identifier;
+import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.api.geometry.BoundingBox;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.DataUtilities;
@@ -93,6 +95,7 @@
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.util.URLs;
 import org.geotools.util.factory.FactoryRegistryException;
+import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
@@ -488,6 +491,54 @@ public void testSelectionQuery() throws Exception {
         ds.dispose();
     }
 
+    @Test
+    public void testFeatureReuse() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        SimpleFeatureSource featureSource = ds.getFeatureSource();
+        assertTrue(featureSource.getSupportedHints().contains(Hints.FEATURE_REUSE));
+        List<SimpleFeature> expected = DataUtilities.list(featureSource.getFeatures());
+
+        Query query = new Query(ds.getTypeNames()[0]);
+        query.getHints().put(Hints.FEATURE_REUSE, true);
+        SimpleFeature previous = null;
+        int count = 0;
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                ds.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                if (previous != null) {
+                    assertSame(previous, feature);
+                }
+                assertEquals(expected.get(count).getID(), feature.getID());
+                assertEquals(expected.get(count).getAttributes(), feature.getAttributes());
+                previous = feature;
+                count++;
+            }
+        }
+        assertEquals(expected.size(), count);
+
+        // sorting in memory needs to keep the features, the hint is ignored
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory(null);
+        query.setSortBy(ff.sort("STATE_NAME", SortOrder.DESCENDING));
+        List<String> names = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                ds.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            previous = null;
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                assertNotSame(previous, feature);
+                names.add((String) feature.getAttribute("STATE_NAME"));
+                previous = feature;
+            }
+        }
+        assertEquals(expected.size(), names.size());
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(Collections.reverseOrder());
+        assertEquals(sorted, names);
+        ds.dispose();
+    }
+
     @Test
     public void testQueryBboxNonGeomAttributes() throws Exception {
         File shpFile = copyShapefiles(STATE_POP);
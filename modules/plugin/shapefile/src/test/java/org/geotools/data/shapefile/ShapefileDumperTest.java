@@ -25,6 +25,7 @@
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -33,7 +34,9 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
@@ -41,15 +44,21 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.Filter;
 import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.property.PropertyDataStore;
+import org.geotools.data.shapefile.files.ShpFileType;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.util.URLs;
 import org.hamcrest.CoreMatchers;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.MultiLineString;
 import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
@@ -310,6 +319,47 @@ public void testSplitOverThree() throws Exception {
         testBasicPolygonCollection(1, BASIC_POLYGONS + "2");
     }
 
+    @Test
+    public void testSpatialSort() throws Exception {
+        // a shuffled grid of points
+        SimpleFeatureType type = DataUtilities.createType("spatial", "the_geom:Point:srid=4326,id:Integer");
+        GeometryFactory gf = new GeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Point p = gf.createPoint(new Coordinate(i % 40, i / 40));
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {p, i}, null));
+        }
+        Collections.shuffle(features, new Random(42));
+        ShapefileDumper dumper = new ShapefileDumper(dumperFolder);
+        dumper.setSpatialSort(true);
+        // small enough to force several sorted runs on disk
+        dumper.setSortMemoryBudget(8 * 1024);
+        dumper.dump(new ListFeatureCollection(type, features));
+
+        // all the features are there, sorted along the curve
+        SimpleFeatureCollection actual = getFeaturesFromShapefile("spatial");
+        Set<Object> ids = new HashSet<>();
+        long previous = -1;
+        try (SimpleFeatureIterator it = actual.features()) {
+            while (it.hasNext()) {
+                SimpleFeature f = it.next();
+                ids.add(f.getAttribute("id"));
+                long position = SpatialSorter.getCurvePosition(f, actual.getBounds());
+                assertTrue(position >= previous);
+                previous = position;
+            }
+        }
+        assertEquals(1000, ids.size());
+
+        // the spatial index got built along with the file, and answers bbox queries
+        ShapefileDataStore ds = shapefileStores.get(0);
+        assertTrue(ds.shpFiles.exists(ShpFileType.HRX));
+        assertFalse(ds.indexManager.isIndexStale(ShpFileType.HRX));
+        Filter bbox = CommonFactoryFinder.getFilterFactory().bbox("the_geom", 10.5, 5.5, 20.5, 10.5, "EPSG:4326");
+        assertEquals(50, ds.getFeatureSource().getFeatures(bbox).size());
+        assertEquals(50, DataUtilities.list(ds.getFeatureSource().getFeatures(bbox)).size());
+    }
+
     /** Verifies the contents of the CST file are the expected ones */
     private void assertCst(String typeName, String expectedCharset) throws IOException {
         File cst = new File(dumperFolder, typeName + ".cst");
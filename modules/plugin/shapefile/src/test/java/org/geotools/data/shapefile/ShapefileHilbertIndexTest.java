@@ -0,0 +1,146 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.geotools.data.shapefile.files.ShpFileType.HRX;
+import static org.geotools.data.shapefile.files.ShpFileType.QIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTree;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class ShapefileHilbertIndexTest extends TestCaseSupport {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    final String[] files = {
+        "shapes/statepop.shp", "shapes/polygontest.shp", "shapes/pointtest.shp", "shapes/streams.shp"
+    };
+
+    @Test
+    public void testCreateIndex() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(copyShapefiles(STATE_POP).toURI().toURL());
+        try {
+            assertFalse(ds.shpFiles.exists(HRX));
+            assertTrue(ds.createHilbertIndex());
+            assertTrue(ds.shpFiles.exists(HRX));
+            assertTrue(ds.indexManager.isSpatialIndexAvailable());
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testIndexPreferred() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(copyShapefiles(STATE_POP).toURI().toURL());
+        try {
+            ds.createHilbertIndex();
+            ReferencedEnvelope bounds = ds.getFeatureSource().getBounds();
+            Envelope bbox = new Envelope(
+                    bounds.getMinX(), bounds.getMinX() + bounds.getWidth() / 4, bounds.getMinY(), bounds.getMaxY());
+            try (CloseableIterator<Data> it = ds.indexManager.querySpatialIndex(bbox)) {
+                assertTrue(it instanceof HilbertRTree.SearchIterator);
+                int previous = 0;
+                while (it.hasNext()) {
+                    int recno = (Integer) it.next().getValue(0);
+                    assertTrue("records should be sorted", recno > previous);
+                    previous = recno;
+                }
+            }
+            // the quadtree has not been built
+            assertFalse(ds.shpFiles.exists(QIX));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testBBoxQueries() throws Exception {
+        for (String file : files) {
+            File shp = copyShapefiles(file);
+            ShapefileDataStore indexed = new ShapefileDataStore(shp.toURI().toURL());
+            ShapefileDataStore plain = new ShapefileDataStore(shp.toURI().toURL());
+            plain.setIndexed(false);
+            try {
+                assertTrue(indexed.createHilbertIndex());
+                assertBBoxQueries(indexed, plain);
+            } finally {
+                indexed.dispose();
+                plain.dispose();
+            }
+        }
+    }
+
+    @Test
+    public void testIndexRebuiltOnWrite() throws Exception {
+        File shp = copyShapefiles(STATE_POP);
+        ShapefileDataStore indexed = new ShapefileDataStore(shp.toURI().toURL());
+        ShapefileDataStore plain = new ShapefileDataStore(shp.toURI().toURL());
+        plain.setIndexed(false);
+        try {
+            indexed.createHilbertIndex();
+            SimpleFeatureStore store = (SimpleFeatureStore) indexed.getFeatureSource();
+            store.removeFeatures(FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")));
+
+            assertTrue(indexed.shpFiles.exists(HRX));
+            assertFalse(indexed.indexManager.isIndexStale(HRX));
+            assertBBoxQueries(indexed, plain);
+        } finally {
+            indexed.dispose();
+            plain.dispose();
+        }
+    }
+
+    private void assertBBoxQueries(ShapefileDataStore indexed, ShapefileDataStore plain) throws Exception {
+        String geometry = indexed.getSchema().getGeometryDescriptor().getLocalName();
+        ReferencedEnvelope bounds = plain.getFeatureSource().getBounds();
+        Random random = new Random(0);
+        for (int i = 0; i < 20; i++) {
+            double x = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+            double y = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+            double w = random.nextDouble() * bounds.getWidth() / 2;
+            double h = random.nextDouble() * bounds.getHeight() / 2;
+            Filter filter = FF.bbox(geometry, x, y, x + w, y + h, null);
+            assertEquals(getIds(plain, filter), getIds(indexed, filter));
+        }
+    }
+
+    private Set<String> getIds(ShapefileDataStore ds, Filter filter) throws Exception {
+        Set<String> ids = new TreeSet<>();
+        try (SimpleFeatureIterator it = ds.getFeatureSource().getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        return ids;
+    }
+}
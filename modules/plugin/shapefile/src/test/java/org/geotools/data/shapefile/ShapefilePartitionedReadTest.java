@@ -0,0 +1,224 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.PartitionedFeatureReader;
+import org.geotools.data.PartitionedFeatureReader.Partition;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.visitor.BoundsVisitor;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.SumVisitor;
+import org.geotools.util.factory.Hints;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShapefilePartitionedReadTest extends TestCaseSupport {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    ShapefileDataStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        File shp = copyShapefiles(STATE_POP);
+        store = new ShapefileDataStore(shp.toURI().toURL());
+        // statepop has 49 records, make sure it gets split
+        store.minPartitionRecords = 5;
+    }
+
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        store.dispose();
+        super.tearDown();
+    }
+
+    @Test
+    public void testPartitions() throws Exception {
+        List<Partition<SimpleFeatureType, SimpleFeature>> partitions =
+                store.getFeatureReaderPartitions(new Query(store.getTypeName().getLocalPart()), 4);
+        assertEquals(4, partitions.size());
+        List<String> ids = new ArrayList<>();
+        for (Partition<SimpleFeatureType, SimpleFeature> partition : partitions) {
+            ids.addAll(readIds(partition.open()));
+        }
+        assertEquals(readSequentialIds(Query.ALL), ids);
+        assertEquals(0, store.shpFiles.numberOfLocks());
+    }
+
+    @Test
+    public void testLocksReleasedOnReadingThreads() throws Exception {
+        Query query = new Query(store.getTypeName().getLocalPart());
+        List<String> expected = readSequentialIds(query);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // fully drained
+            try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    store.getPartitionedFeatureReader(query, 4, true, executor)) {
+                assertEquals(expected, readIds(reader));
+            }
+            assertEquals(0, store.shpFiles.numberOfLocks());
+
+            // closed while the partitions are still being read
+            try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    store.getPartitionedFeatureReader(query, 4, false, executor)) {
+                assertTrue(reader.hasNext());
+                reader.next();
+            }
+            assertEquals(0, store.shpFiles.numberOfLocks());
+
+            // the partitioned full scan of the store
+            store.setReadThreads(2);
+            Query hinted = new Query(query);
+            hinted.setHints(new Hints(Hints.EXECUTOR_SERVICE, executor));
+            try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    store.getFeatureReader(hinted, Transaction.AUTO_COMMIT)) {
+                assertEquals(expected, readIds(reader));
+            }
+            assertEquals(0, store.shpFiles.numberOfLocks());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOrderedReader() throws Exception {
+        Query query = new Query(store.getTypeName().getLocalPart());
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getPartitionedFeatureReader(query, 3, true, null)) {
+            assertEquals(readSequentialIds(query), readIds(reader));
+        }
+    }
+
+    @Test
+    public void testUnorderedReader() throws Exception {
+        Query query = new Query(store.getTypeName().getLocalPart());
+        query.setPropertyNames("STATE_NAME");
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getPartitionedFeatureReader(query, 3, false, null)) {
+            assertEquals(1, reader.getFeatureType().getAttributeCount());
+            assertEquals(new HashSet<>(readSequentialIds(query)), new HashSet<>(readIds(reader)));
+        }
+    }
+
+    @Test
+    public void testFilteredFullScan() throws Exception {
+        Filter filter = FF.greater(FF.property("PERSONS"), FF.literal(5000000));
+        Query query = new Query(store.getTypeName().getLocalPart(), filter);
+        List<String> expected = readSequentialIds(query);
+
+        store.setReadThreads(4);
+        List<String> actual = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            actual.addAll(readIds(reader));
+        }
+        assertEquals(expected, actual);
+        assertTrue(expected.size() > 0);
+    }
+
+    @Test
+    public void testPartitionedReaderUsed() throws Exception {
+        store.setReadThreads(4);
+        ShapefileFeatureSource source = (ShapefileFeatureSource) store.getFeatureSource();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = source.getReaderInternal(Query.ALL)) {
+            assertTrue(reader instanceof PartitionedFeatureReader);
+        }
+    }
+
+    @Test
+    public void testVisitors() throws Exception {
+        SimpleFeatureCollection fc = store.getFeatureSource().getFeatures();
+        CountVisitor expectedCount = new CountVisitor();
+        BoundsVisitor expectedBounds = new BoundsVisitor();
+        SumVisitor expectedSum = new SumVisitor(FF.property("PERSONS"));
+        fc.accepts(expectedCount, null);
+        fc.accepts(expectedBounds, null);
+        fc.accepts(expectedSum, null);
+
+        store.setReadThreads(4);
+        fc = store.getFeatureSource().getFeatures();
+        CountVisitor count = new CountVisitor();
+        BoundsVisitor bounds = new BoundsVisitor();
+        SumVisitor sum = new SumVisitor(FF.property("PERSONS"));
+        fc.accepts(count, null);
+        fc.accepts(bounds, null);
+        fc.accepts(sum, null);
+
+        assertEquals(expectedCount.getCount(), count.getCount());
+        assertEquals(expectedBounds.getBounds(), bounds.getBounds());
+        assertEquals(((Number) expectedSum.getSum()).doubleValue(), ((Number) sum.getSum()).doubleValue(), 0d);
+    }
+
+    @Test
+    public void testVisitorLocksReleasedOnVisitingThreads() throws Exception {
+        SumVisitor expected = new SumVisitor(FF.property("PERSONS"));
+        store.getFeatureSource().getFeatures().accepts(expected, null);
+
+        store.setReadThreads(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Query query = new Query(store.getTypeName().getLocalPart());
+            query.setHints(new Hints(Hints.EXECUTOR_SERVICE, executor));
+            SumVisitor sum = new SumVisitor(FF.property("PERSONS"));
+            store.getFeatureSource().getFeatures(query).accepts(sum, null);
+            assertEquals(((Number) expected.getSum()).doubleValue(), ((Number) sum.getSum()).doubleValue(), 0d);
+            assertEquals(0, store.shpFiles.numberOfLocks());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<String> readSequentialIds(Query query) throws IOException {
+        store.setReadThreads(1);
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            return readIds(reader);
+        }
+    }
+
+    private List<String> readIds(FeatureReader<SimpleFeatureType, SimpleFeature> reader) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try {
+            while (reader.hasNext()) {
+                ids.add(reader.next().getID());
+            }
+        } finally {
+            reader.close();
+        }
+        return ids;
+    }
+}
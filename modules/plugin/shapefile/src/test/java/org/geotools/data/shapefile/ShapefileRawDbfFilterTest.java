@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.TestData;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+
+public class ShapefileRawDbfFilterTest extends TestCaseSupport {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Test
+    public void testFilters() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(TestData.url(STATE_POP));
+        try {
+            assertFilter(ds, FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")), 1);
+            assertFilter(ds, FF.equals(FF.literal("Texas"), FF.property("STATE_NAME")), 1);
+            assertFilter(ds, FF.equals(FF.property("STATE_NAME"), FF.literal("Tex")), 0);
+            assertFilter(ds, FF.like(FF.property("STATE_NAME"), "New%", "%", "_", "\\", true), 4);
+            assertFilter(ds, FF.like(FF.property("STATE_NAME"), "new%", "%", "_", "\\", false), 4);
+            assertFilter(
+                    ds,
+                    FF.and(
+                            FF.like(FF.property("STATE_NAME"), "New%", "%", "_", "\\", true),
+                            FF.equals(FF.property("STATE_ABBR"), FF.literal("NY"))),
+                    1);
+            assertFilter(
+                    ds,
+                    FF.or(
+                            FF.equals(FF.property("STATE_NAME"), FF.literal("Texas")),
+                            FF.equals(FF.property("STATE_NAME"), FF.literal("Ohio"))),
+                    2);
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testBuild() throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(TestData.url(STATE_POP));
+        ShapefileFeatureStore store = (ShapefileFeatureStore) ds.getFeatureSource();
+        ShapefileFeatureReader reader = (ShapefileFeatureReader) store.delegate.getReaderInternal(Query.ALL, false);
+        try {
+            reader.setFilter(FF.like(FF.property("STATE_NAME"), "New%", "%", "_", "\\", true));
+            assertNotNull(reader.rawFilter);
+            // not case sensitive
+            reader.setFilter(FF.equal(FF.property("STATE_NAME"), FF.literal("texas"), false));
+            assertNull(reader.rawFilter);
+            // not a prefix pattern
+            reader.setFilter(FF.like(FF.property("STATE_NAME"), "%York", "%", "_", "\\", true));
+            assertNull(reader.rawFilter);
+            // numeric field
+            reader.setFilter(FF.equals(FF.property("PERSONS"), FF.literal("100")));
+            assertNull(reader.rawFilter);
+        } finally {
+            reader.close();
+            ds.dispose();
+        }
+    }
+
+    private void assertFilter(ShapefileDataStore ds, Filter filter, int expected) throws Exception {
+        Set<String> filtered = new TreeSet<>();
+        try (SimpleFeatureIterator it = ds.getFeatureSource().getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                filtered.add(it.next().getID());
+            }
+        }
+        Set<String> evaluated = new TreeSet<>();
+        try (SimpleFeatureIterator it = ds.getFeatureSource().getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                if (filter.evaluate(feature)) {
+                    evaluated.add(feature.getID());
+                }
+            }
+        }
+        assertEquals(expected, filtered.size());
+        assertEquals(evaluated, filtered);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.geotools.data.shapefile.files.ShpFileType.HRX;
+import static org.geotools.data.shapefile.files.ShpFileType.QIX;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Random;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTree;
+import org.geotools.data.shapefile.index.quadtree.QuadTree;
+import org.geotools.util.URLs;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Compares bounding box query latency and I/O between the quadtree (.qix) and the packed Hilbert R-tree (.hrx)
+ * indexes, on skewed point and polygon datasets: most features are packed in a few dense gaussian clusters, the rest is
+ * spread uniformly.
+ *
+ * <p>The I/O is reported as the number of candidate records returned by the index, each one of them being a random
+ * read in the .shp and .dbf files. The Hilbert R-tree leaves hold the exact record bounds, so its candidates are also
+ * the true bounding box hits, while the quadtree returns all the records of the matching nodes.
+ *
+ * <p>Usage: <code>SpatialIndexBenchmark [features] [queries]</code>
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public class SpatialIndexBenchmark {
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    public static void main(String[] args) throws Exception {
+        int features = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        File dir = Files.createTempDirectory("spatial-index-benchmark").toFile();
+        try {
+            benchmark(createDataset(dir, "points", features, false), queries);
+            benchmark(createDataset(dir, "polygons", features, true), queries);
+        } finally {
+            for (File f : dir.listFiles()) {
+                f.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    static File createDataset(File dir, String name, int features, boolean polygons) throws Exception {
+        File file = new File(dir, name + ".shp");
+        ShapefileDataStore ds = new ShapefileDataStore(URLs.fileToUrl(file));
+        try {
+            SimpleFeatureType type =
+                    DataUtilities.createType(name, (polygons ? "geom:Polygon" : "geom:Point") + ",id:Integer");
+            ds.createSchema(type);
+            Random random = new Random(42);
+            double[][] clusters = new double[8][];
+            for (int i = 0; i < clusters.length; i++) {
+                clusters[i] = new double[] {random.nextDouble() * 360 - 180, random.nextDouble() * 180 - 90};
+            }
+            try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                    ds.getFeatureWriterAppend(Transaction.AUTO_COMMIT)) {
+                for (int i = 0; i < features; i++) {
+                    double x;
+                    double y;
+                    if (random.nextDouble() < 0.9) {
+                        double[] cluster = clusters[random.nextInt(clusters.length)];
+                        x = cluster[0] + random.nextGaussian() * 0.5;
+                        y = cluster[1] + random.nextGaussian() * 0.5;
+                    } else {
+                        x = random.nextDouble() * 360 - 180;
+                        y = random.nextDouble() * 180 - 90;
+                    }
+                    SimpleFeature feature = writer.next();
+                    if (polygons) {
+                        double size = 0.001 + Math.abs(random.nextGaussian()) * 0.01;
+                        feature.setDefaultGeometry(GF.toGeometry(new Envelope(x, x + size, y, y + size)));
+                    } else {
+                        feature.setDefaultGeometry(GF.createPoint(new Coordinate(x, y)));
+                    }
+                    feature.setAttribute("id", i);
+                    writer.write();
+                }
+            }
+        } finally {
+            ds.dispose();
+        }
+        return file;
+    }
+
+    static void benchmark(File file, int queries) throws Exception {
+        ShapefileDataStore ds = new ShapefileDataStore(URLs.fileToUrl(file));
+        try {
+            IndexManager indexes = ds.indexManager;
+            long start = System.nanoTime();
+            indexes.createSpatialIndex(true);
+            long qixBuild = System.nanoTime() - start;
+            start = System.nanoTime();
+            indexes.createHilbertIndex(true);
+            long hrxBuild = System.nanoTime() - start;
+
+            System.out.println(file.getName());
+            System.out.printf("  build time: qix %d ms, hrx %d ms%n", qixBuild / 1_000_000, hrxBuild / 1_000_000);
+            System.out.printf(
+                    "  index size: qix %d KB, hrx %d KB%n",
+                    URLs.urlToFile(new URL(ds.shpFiles.get(QIX))).length() / 1024,
+                    URLs.urlToFile(new URL(ds.shpFiles.get(HRX))).length() / 1024);
+
+            // uniformly placed queries, sized from 0.01 to 10 degrees, will hit both dense and sparse areas
+            Envelope[] boxes = new Envelope[queries];
+            Random random = new Random(0);
+            try (HilbertRTree tree = indexes.openHilbertRTree()) {
+                Envelope bounds = tree.getBounds();
+                for (int i = 0; i < queries; i++) {
+                    double x = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+                    double y = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+                    double size = Math.pow(10, -2 + random.nextDouble() * 3);
+                    boxes[i] = new Envelope(x, x + size, y, y + size);
+                }
+            }
+
+            // two rounds, the first one is a warm up
+            for (int round = 0; round < 2; round++) {
+                long qixTime = 0;
+                long qixCandidates = 0;
+                long hrxTime = 0;
+                long hrxCandidates = 0;
+                long hrxNodes = 0;
+                for (Envelope box : boxes) {
+                    start = System.nanoTime();
+                    try (QuadTree quadTree = indexes.openQuadTree();
+                            CloseableIterator<Data> it = quadTree.search(box)) {
+                        while (it.hasNext()) {
+                            it.next();
+                            qixCandidates++;
+                        }
+                    }
+                    qixTime += System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    try (HilbertRTree.SearchIterator it = indexes.openHilbertRTree().search(box)) {
+                        while (it.hasNext()) {
+                            it.next();
+                            hrxCandidates++;
+                        }
+                        hrxNodes += it.getVisitedNodes();
+                    }
+                    hrxTime += System.nanoTime() - start;
+                }
+                if (round == 1) {
+                    System.out.printf(
+                            "  qix: %.1f us/query, %d candidates/query%n",
+                            qixTime / 1000d / queries, qixCandidates / queries);
+                    System.out.printf(
+                            "  hrx: %.1f us/query, %d candidates/query, %d nodes visited/query%n",
+                            hrxTime / 1000d / queries, hrxCandidates / queries, hrxNodes / queries);
+                }
+            }
+        } finally {
+            ds.dispose();
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 import java.io.InputStream;
 import java.nio.channels.Channels;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -57,4 +58,12 @@ public void test() throws Exception {
             assertThat(records.get(98245L), nullValue()); // this fails with 0.0
         }
     }
+
+    @Test
+    public void testRawComparable() throws Exception {
+        assertThat(DbaseFileReader.isRawComparable(StandardCharsets.UTF_8), is(true));
+        assertThat(DbaseFileReader.isRawComparable(StandardCharsets.ISO_8859_1), is(true));
+        assertThat(DbaseFileReader.isRawComparable(Charset.forName("windows-1252")), is(true));
+        assertThat(DbaseFileReader.isRawComparable(StandardCharsets.UTF_16), is(false));
+    }
 }
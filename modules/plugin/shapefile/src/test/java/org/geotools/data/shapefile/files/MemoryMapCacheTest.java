@@ -0,0 +1,148 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.geotools.util.URLs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemoryMapCacheTest {
+
+    File file;
+
+    URL url;
+
+    FileChannel channel;
+
+    MemoryMapCache cache = new MemoryMapCache(200);
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("mmap", ".shp");
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Files.write(file.toPath(), data);
+        url = URLs.fileToUrl(file);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.clean();
+        channel.close();
+        file.delete();
+    }
+
+    @Test
+    public void testHitsAndMisses() throws IOException {
+        MemoryMapCache.Mapping m1 = cache.map(channel, url, MapMode.READ_ONLY, 0, 100);
+        MemoryMapCache.Mapping m2 = cache.map(channel, url, MapMode.READ_ONLY, 0, 100);
+        assertSame(m1.entry, m2.entry);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(100, cache.getMappedBytes());
+        assertEquals(2, m1.entry.users);
+
+        // the buffers are independent copies
+        m1.buffer.position(10);
+        assertEquals(0, m2.buffer.position());
+        assertEquals(10, m1.buffer.get());
+
+        cache.release(m1);
+        cache.release(m2);
+        assertEquals(0, m2.entry.users);
+        assertEquals(100, cache.getMappedBytes());
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        cache.release(cache.map(channel, url, MapMode.READ_ONLY, 0, 100));
+        cache.release(cache.map(channel, url, MapMode.READ_ONLY, 100, 100));
+        // touch the first one, making the second the least recently used
+        MemoryMapCache.Mapping first = cache.map(channel, url, MapMode.READ_ONLY, 0, 100);
+        cache.release(first);
+        assertEquals(0, cache.getEvictions());
+
+        MemoryMapCache.Mapping third = cache.map(channel, url, MapMode.READ_ONLY, 200, 100);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(200, cache.getMappedBytes());
+        assertTrue(cache.buffers.containsKey(first.entry.key));
+        assertFalse(cache.buffers.containsKey(new MemoryMapCache.MappingKey(file.getCanonicalFile(), 100, 100)));
+        cache.release(third);
+    }
+
+    @Test
+    public void testBuffersInUseNotEvicted() throws IOException {
+        MemoryMapCache.Mapping m1 = cache.map(channel, url, MapMode.READ_ONLY, 0, 150);
+        MemoryMapCache.Mapping m2 = cache.map(channel, url, MapMode.READ_ONLY, 150, 150);
+        // over the limit, but both in use
+        assertEquals(300, cache.getMappedBytes());
+        assertEquals(0, cache.getEvictions());
+        assertEquals((byte) 150, m2.buffer.get(0));
+
+        // releasing one allows it to be evicted
+        cache.release(m1);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(150, cache.getMappedBytes());
+        assertTrue(m1.entry.removed);
+        assertFalse(m2.entry.removed);
+        cache.release(m2);
+    }
+
+    @Test
+    public void testCleanFileCache() throws IOException {
+        MemoryMapCache.Mapping m1 = cache.map(channel, url, MapMode.READ_ONLY, 0, 100);
+        cache.release(cache.map(channel, url, MapMode.READ_ONLY, 100, 50));
+        cache.cleanFileCache(url);
+        assertEquals(0, cache.getMappedBytes());
+        assertTrue(cache.buffers.isEmpty());
+        assertEquals(0, cache.getEvictions());
+
+        // still usable until released
+        assertEquals(5, m1.buffer.get(5));
+        cache.release(m1);
+
+        // a new request maps again
+        MemoryMapCache.Mapping m2 = cache.map(channel, url, MapMode.READ_ONLY, 0, 100);
+        assertEquals(3, cache.getMisses());
+        cache.release(m2);
+    }
+
+    @Test
+    public void testSetMaxSize() throws IOException {
+        cache.release(cache.map(channel, url, MapMode.READ_ONLY, 0, 100));
+        cache.release(cache.map(channel, url, MapMode.READ_ONLY, 100, 100));
+        cache.setMaxSize(50);
+        assertEquals(2, cache.getEvictions());
+        assertEquals(0, cache.getMappedBytes());
+    }
+}
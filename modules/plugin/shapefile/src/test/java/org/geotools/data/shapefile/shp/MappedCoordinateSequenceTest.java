@@ -0,0 +1,169 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.shp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.test.TestData;
+import org.geotools.util.factory.Hints;
+import org.junit.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+public class MappedCoordinateSequenceTest {
+
+    static final String[] FILES = {
+        "mzvalues/zmpoints.shp",
+        "mzvalues/mpoints.shp",
+        "mzvalues/pointZ.shp",
+        "mzvalues/linez.shp",
+        "mzvalues/mlines.shp",
+        "mzvalues/mzlines.shp",
+        "mzvalues/zlines.shp",
+        "mzvalues/mpolygons.shp",
+        "mzvalues/mzpolygons.shp",
+        "mzvalues/polygonz.shp",
+        "mzvalues/zpolygons.shp",
+        "lsOnePoint/lsOnePoint.shp"
+    };
+
+    @Test
+    public void testSameGeometries() throws IOException {
+        for (String file : FILES) {
+            List<Geometry> expected = readGeometries(file, false, false);
+            List<Geometry> lazy = readGeometries(file, true, false);
+            assertEquals(file, expected.size(), lazy.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameCoordinates(file, expected.get(i), lazy.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSameFlatGeometries() throws IOException {
+        for (String file : FILES) {
+            List<Geometry> expected = readGeometries(file, false, true);
+            List<Geometry> lazy = readGeometries(file, true, true);
+            assertEquals(file, expected.size(), lazy.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameCoordinates(file, expected.get(i), lazy.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLazySequences() throws IOException {
+        for (String file : FILES) {
+            for (Geometry geometry : readGeometries(file, true, false)) {
+                for (CoordinateSequence cs : getSequences(geometry)) {
+                    assertTrue(file, cs instanceof MappedCoordinateSequence);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyOnWrite() throws IOException {
+        String file = "mzvalues/mzpolygons.shp";
+        Geometry geometry = readGeometries(file, true, false).get(0);
+        CoordinateSequence cs = getSequences(geometry).get(0);
+        double x = cs.getX(1);
+        double m = cs.getM(1);
+
+        CoordinateSequence copy = cs.copy();
+        assertFalse(copy instanceof MappedCoordinateSequence);
+        cs.setOrdinate(1, CoordinateSequence.X, x + 1);
+        assertEquals(x + 1, cs.getX(1), 0d);
+        assertEquals(m, cs.getM(1), 0d);
+        assertEquals(x, copy.getX(1), 0d);
+
+        // the file has not been touched
+        Geometry reread = readGeometries(file, true, false).get(0);
+        assertEquals(x, getSequences(reread).get(0).getX(1), 0d);
+    }
+
+    private List<Geometry> readGeometries(String file, boolean lazy, boolean flat) throws IOException {
+        URL url = TestData.url(ShapefileDataStore.class, file);
+        ShapefileDataStore store = new ShapefileDataStore(url);
+        try {
+            Query q = new Query(store.getTypeNames()[0]);
+            Hints hints = new Hints();
+            hints.put(ShapefileDataStore.LAZY_COORDINATES, lazy);
+            hints.put(Hints.FEATURE_2D, flat);
+            q.setHints(hints);
+            List<Geometry> geometries = new ArrayList<>();
+            try (SimpleFeatureIterator it = store.getFeatureSource().getFeatures(q).features()) {
+                while (it.hasNext()) {
+                    geometries.add((Geometry) it.next().getDefaultGeometry());
+                }
+            }
+            return geometries;
+        } finally {
+            store.dispose();
+        }
+    }
+
+    private void assertSameCoordinates(String file, Geometry expected, Geometry actual) {
+        List<CoordinateSequence> expectedSequences = getSequences(expected);
+        List<CoordinateSequence> actualSequences = getSequences(actual);
+        assertEquals(file, expectedSequences.size(), actualSequences.size());
+        for (int i = 0; i < expectedSequences.size(); i++) {
+            CoordinateSequence es = expectedSequences.get(i);
+            CoordinateSequence as = actualSequences.get(i);
+            assertEquals(file, es.size(), as.size());
+            assertEquals(file, es.getDimension(), as.getDimension());
+            assertEquals(file, es.getMeasures(), as.getMeasures());
+            for (int j = 0; j < es.size(); j++) {
+                assertEquals(file, es.getX(j), as.getX(j), 0d);
+                assertEquals(file, es.getY(j), as.getY(j), 0d);
+                assertEquals(file, es.getZ(j), as.getZ(j), 0d);
+                assertEquals(file, es.getM(j), as.getM(j), 0d);
+            }
+        }
+    }
+
+    private List<CoordinateSequence> getSequences(Geometry geometry) {
+        List<CoordinateSequence> result = new ArrayList<>();
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Geometry g = geometry.getGeometryN(i);
+            if (g instanceof Point) {
+                result.add(((Point) g).getCoordinateSequence());
+            } else if (g instanceof LineString) {
+                result.add(((LineString) g).getCoordinateSequence());
+            } else if (g instanceof Polygon) {
+                Polygon p = (Polygon) g;
+                result.add(p.getExteriorRing().getCoordinateSequence());
+                for (int j = 0; j < p.getNumInteriorRing(); j++) {
+                    result.add(p.getInteriorRingN(j).getCoordinateSequence());
+                }
+            }
+        }
+        return result;
+    }
+}
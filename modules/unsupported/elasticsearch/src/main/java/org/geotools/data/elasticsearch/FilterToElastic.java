@@ -29,6 +29,7 @@
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -434,11 +435,58 @@ private Object visit(BinaryLogicOperator filter, Object extraData) {
         if (extraData.equals("AND")) {
             queryBuilder = ImmutableMap.of("bool", ImmutableMap.of("must", filters));
         } else if (extraData.equals("OR")) {
-            queryBuilder = ImmutableMap.of("bool", ImmutableMap.of("should", filters));
+            queryBuilder = ImmutableMap.of("bool", ImmutableMap.of("should", mergeTerms(filters)));
         }
         return extraData;
     }
 
+    /**
+     * Merges the term queries on the same field of a disjunction into a single terms query, so that long lists of
+     * equalities are matched with a single lookup instead of one clause each
+     */
+    private List<Map<String, Object>> mergeTerms(List<Map<String, Object>> filters) {
+        Map<String, List<Object>> terms = new LinkedHashMap<>();
+        for (Map<String, Object> filter : filters) {
+            String key = getTermKey(filter);
+            if (key != null) {
+                terms.computeIfAbsent(key, k -> new ArrayList<>()).add(getTerm(filter).get(key));
+            }
+        }
+        if (terms.values().stream().allMatch(values -> values.size() < 2)) {
+            return filters;
+        }
+
+        final List<Map<String, Object>> merged = new ArrayList<>();
+        for (Map<String, Object> filter : filters) {
+            String key = getTermKey(filter);
+            List<Object> values = key != null ? terms.get(key) : null;
+            if (values == null || values.size() < 2) {
+                merged.add(filter);
+            } else if (terms.remove(key) != null) {
+                // the merged query takes the place of the first term on the field
+                merged.add(ImmutableMap.of("terms", ImmutableMap.of(key, values)));
+            }
+        }
+        return merged;
+    }
+
+    /** Returns the field of a single valued term query, or null if the filter is not one */
+    private String getTermKey(Map<String, Object> filter) {
+        Map<String, Object> term = getTerm(filter);
+        if (term == null || term.size() != 1) {
+            return null;
+        }
+        Map.Entry<String, Object> entry = term.entrySet().iterator().next();
+        return entry.getValue() instanceof Map || entry.getValue() instanceof List ? null : entry.getKey();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getTerm(Map<String, Object> filter) {
+        return filter.size() == 1 && filter.get("term") instanceof Map
+                ? (Map<String, Object>) filter.get("term")
+                : null;
+    }
+
     /**
      * Write the FilterBuilder for this kind of filter
      *
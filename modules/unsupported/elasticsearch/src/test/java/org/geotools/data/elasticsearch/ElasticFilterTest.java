@@ -33,6 +33,7 @@
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -252,6 +253,27 @@ public void testOr() {
         assertEquals(expected, builder.getQueryBuilder());
     }
 
+    @Test
+    public void testOrTerms() {
+        final Or filter = ff.or(Arrays.asList(
+                ff.equals(ff.property("stringAttr"), ff.literal("a")),
+                ff.equals(ff.property("doubleAttr"), ff.literal(1.5)),
+                ff.equals(ff.property("stringAttr"), ff.literal("b")),
+                ff.equals(ff.property("stringAttr"), ff.literal("c"))));
+        Map<String, Object> expected = ImmutableMap.of(
+                "bool",
+                ImmutableMap.of(
+                        "should",
+                        ImmutableList.of(
+                                ImmutableMap.of(
+                                        "terms", ImmutableMap.of("stringAttr", ImmutableList.of("a", "b", "c"))),
+                                ImmutableMap.of("term", ImmutableMap.of("doubleAttr", 1.5)))));
+
+        builder.visit(filter, null);
+        assertTrue(builder.createCapabilities().fullySupports(filter));
+        assertEquals(expected, builder.getQueryBuilder());
+    }
+
     @Test
     public void testNot() {
         Not filter = ff.not(ff.id(ff.featureId("id")));
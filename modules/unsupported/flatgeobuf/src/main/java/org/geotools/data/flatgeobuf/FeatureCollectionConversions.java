@@ -92,7 +92,11 @@ public static Iterable<SimpleFeature> deserialize(InputStream stream, long[] fid
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, long[] fids) throws IOException {
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
+        return deserialize(stream, headerMeta, new SimpleFeatureBuilder(ft), fids);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, SimpleFeatureBuilder fb, long[] fids) throws IOException {
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
         Iterable<SimpleFeature> it = new ReadFidsIterable(fb, fids, headerMeta, data);
         return it;
@@ -107,8 +111,12 @@ private static int getTreeSize(HeaderMeta headerMeta) {
 
     public static Iterable<SimpleFeature> deserialize(InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft)
             throws IOException {
+        return deserialize(stream, headerMeta, new SimpleFeatureBuilder(ft));
+    }
+
+    static Iterable<SimpleFeature> deserialize(InputStream stream, HeaderMeta headerMeta, SimpleFeatureBuilder fb)
+            throws IOException {
         int treeSize = getTreeSize(headerMeta);
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
 
         Iterable<SimpleFeature> iterable;
@@ -120,8 +128,12 @@ public static Iterable<SimpleFeature> deserialize(InputStream stream, HeaderMeta
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, int startIndex) throws IOException {
+        return deserialize(stream, headerMeta, new SimpleFeatureBuilder(ft), startIndex);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, SimpleFeatureBuilder fb, int startIndex) throws IOException {
         int treeSize = getTreeSize(headerMeta);
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
         if (treeSize > 0) {
             if (startIndex >= headerMeta.featuresCount) throw new IndexOutOfBoundsException();
@@ -136,9 +148,13 @@ public static Iterable<SimpleFeature> deserialize(
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, Envelope rect) throws IOException {
+        return deserialize(stream, headerMeta, new SimpleFeatureBuilder(ft), rect);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, SimpleFeatureBuilder fb, Envelope rect) throws IOException {
         int treeSize = getTreeSize(headerMeta);
         int featuresOffset = headerMeta.offset + treeSize;
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
         Iterable<SimpleFeature> iterable;
         if (headerMeta.indexNodeSize > 1) {
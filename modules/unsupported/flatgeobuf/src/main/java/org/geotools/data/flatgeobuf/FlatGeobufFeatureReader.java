@@ -32,8 +32,10 @@
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.identity.Identifier;
 import org.geotools.data.store.ContentState;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.wololo.flatgeobuf.HeaderMeta;
 
@@ -98,9 +100,12 @@ public class FlatGeobufFeatureReader implements FeatureReader<SimpleFeatureType,
                 || Double.isInfinite(bbox.getHeight())) {
             bbox = null;
         }
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(featureType);
+        if (Boolean.TRUE.equals(q.getHints().get(Hints.FEATURE_REUSE))) {
+            fb.setReuse(true);
+        }
         if (bbox != null)
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, bbox)
-                    .iterator();
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, fb, bbox).iterator();
         else if (id != null) {
             long featuresCount = headerMeta.featuresCount;
             long[] fids = id.getIdentifiers().stream()
@@ -108,14 +113,11 @@ else if (id != null) {
                     .filter(l -> l >= 0 && l < featuresCount)
                     .toArray();
             Arrays.sort(fids);
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, fids)
-                    .iterator();
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, fb, fids).iterator();
         } else if (startIndex != null && startIndex > 0) {
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, q.getStartIndex())
-                    .iterator();
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, fb, q.getStartIndex()).iterator();
         } else {
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType)
-                    .iterator();
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, fb).iterator();
         }
     }
 